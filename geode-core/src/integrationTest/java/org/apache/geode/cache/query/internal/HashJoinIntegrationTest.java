@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.query.CacheUtils;
+import org.apache.geode.cache.query.IndexType;
+import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.data.Numbers;
+import org.apache.geode.cache.query.data.Portfolio;
+import org.apache.geode.test.junit.categories.OQLQueryTest;
+
+@Category({OQLQueryTest.class})
+public class HashJoinIntegrationTest {
+
+  private final int defaultMaxBuildSize = CompiledSelect.HASH_JOIN_MAX_BUILD_SIZE;
+
+  private QueryService queryService;
+  private HashJoinObserver observer;
+
+  @Before
+  public void setUp() {
+    CacheUtils.startCache();
+    Region portfolios = CacheUtils.createRegion("portfolios", Portfolio.class);
+    for (int i = 0; i < 100; i++) {
+      portfolios.put(i, new Portfolio(i));
+    }
+    Region evenPortfolios = CacheUtils.createRegion("evenPortfolios", Portfolio.class);
+    for (int i = 0; i < 100; i += 2) {
+      evenPortfolios.put(i, new Portfolio(i));
+    }
+    Region numbers = CacheUtils.createRegion("numbers", Numbers.class);
+    for (int i = 0; i < 30; i++) {
+      numbers.put(i, new Numbers(i));
+    }
+    queryService = CacheUtils.getQueryService();
+    observer = new HashJoinObserver();
+    QueryObserverHolder.setInstance(observer);
+  }
+
+  @After
+  public void tearDown() {
+    CacheUtils.closeCache();
+    CompiledSelect.HASH_JOIN_MAX_BUILD_SIZE = defaultMaxBuildSize;
+    QueryObserverHolder.reset();
+  }
+
+  @Test
+  public void joinsOnEqualityWithTheSmallerCollectionInTheHashTable() throws Exception {
+    List<Object> results = executeAndCompareWithNestedLoops(
+        "select p.ID, e.pkid from /portfolios p, /evenPortfolios e where p.ID = e.ID");
+
+    assertThat(results).hasSize(50);
+    assertThat(observer.buildIterator.getName()).isEqualTo("e");
+    assertThat(observer.probeIterator.getName()).isEqualTo("p");
+    assertThat(observer.buildPasses).isEqualTo(1);
+  }
+
+  @Test
+  public void joinsOnEqualityInAConjunction() throws Exception {
+    List<Object> results = executeAndCompareWithNestedLoops(
+        "select * from /evenPortfolios e, /portfolios p where e.pkid = p.pkid and p.ID < 10");
+
+    assertThat(results).hasSize(5);
+    assertThat(observer.buildIterator).isNotNull();
+  }
+
+  @Test
+  public void joinsNullValues() throws Exception {
+    List<Object> results = executeAndCompareWithNestedLoops(
+        "select p.ID, e.ID from /portfolios p, /evenPortfolios e where p.description = e.description");
+
+    // the descriptions of even portfolios are null
+    assertThat(results).hasSize(50 * 50);
+  }
+
+  @Test
+  public void joinsNumbersOfDifferentTypes() throws Exception {
+    List<Object> results = executeAndCompareWithNestedLoops(
+        "select n.id, p.ID from /numbers n, /portfolios p where n.max1 = p.ID");
+    assertThat(results).hasSize(30);
+
+    results = executeAndCompareWithNestedLoops(
+        "select n.id, p.ID from /numbers n, /portfolios p where p.ID = n.range");
+    assertThat(results).hasSize(30);
+  }
+
+  @Test
+  public void loadsTheHashTableInSeveralPassesIfItIsTooLarge() throws Exception {
+    CompiledSelect.HASH_JOIN_MAX_BUILD_SIZE = 7;
+
+    List<Object> results = execute(
+        "select distinct p.ID from /portfolios p, /evenPortfolios e where p.ID = e.ID order by p.ID");
+
+    assertThat(results).hasSize(50);
+    assertThat(results.get(49)).isEqualTo(98);
+    assertThat(observer.buildPasses).isEqualTo(8);
+  }
+
+  @Test
+  public void stopsAtTheLimit() throws Exception {
+    CompiledSelect.HASH_JOIN_MAX_BUILD_SIZE = 7;
+
+    List<Object> results =
+        execute("select p.ID from /portfolios p, /evenPortfolios e where p.ID = e.ID limit 3");
+
+    assertThat(results).hasSize(3);
+    assertThat(observer.buildPasses).isEqualTo(1);
+  }
+
+  @Test
+  public void doesNotHashJoinDependentIterators() throws Exception {
+    execute("select * from /portfolios p, p.positions.values pos where pos.secId = p.pkid");
+
+    assertThat(observer.buildIterator).isNull();
+  }
+
+  @Test
+  public void doesNotHashJoinWhenIndexesAreUsed() throws Exception {
+    queryService.createIndex("idIndex", IndexType.FUNCTIONAL, "p.ID", "/portfolios p");
+    queryService.createIndex("evenIdIndex", IndexType.FUNCTIONAL, "e.ID", "/evenPortfolios e");
+
+    List<Object> results =
+        execute("select p.ID from /portfolios p, /evenPortfolios e where p.ID = e.ID");
+
+    assertThat(results).hasSize(50);
+    assertThat(observer.buildIterator).isNull();
+  }
+
+  /**
+   * Executes the query with a hash join and checks that nested loops find the same results.
+   */
+  private List<Object> executeAndCompareWithNestedLoops(String query) throws Exception {
+    CompiledSelect.HASH_JOIN_MAX_BUILD_SIZE = 0;
+    List<Object> nestedLoopResults = execute(query);
+    assertThat(observer.buildIterator).isNull();
+    CompiledSelect.HASH_JOIN_MAX_BUILD_SIZE = defaultMaxBuildSize;
+
+    List<Object> results = execute(query);
+    assertThat(observer.buildIterator).isNotNull();
+    assertThat(results).containsExactlyInAnyOrderElementsOf(nestedLoopResults);
+    return results;
+  }
+
+  private List<Object> execute(String query) throws Exception {
+    observer.reset();
+    return ((SelectResults<Object>) queryService.newQuery(query).execute()).asList();
+  }
+
+  private static class HashJoinObserver extends QueryObserverAdapter {
+    private RuntimeIterator buildIterator;
+    private RuntimeIterator probeIterator;
+    private int buildPasses;
+
+    void reset() {
+      buildIterator = null;
+      probeIterator = null;
+      buildPasses = 0;
+    }
+
+    @Override
+    public void beforeHashJoinOfIterators(RuntimeIterator buildIterator,
+        RuntimeIterator probeIterator, CompiledValue joinCondition) {
+      this.buildIterator = buildIterator;
+      this.probeIterator = probeIterator;
+    }
+
+    @Override
+    public void afterHashJoinOfIterators(int buildPasses, Collection finalResult) {
+      this.buildPasses = buildPasses;
+    }
+  }
+}
@@ -220,6 +220,21 @@ public class QueryObserverCallbackJUnitTest {
         inst.beforeRangeJunctionDoubleCondnIndexLookup);
   }
 
+  @Test
+  public void testBeforeAndAfterHashJoinOfIterators() throws Exception {
+    Region r4 = CacheUtils.createRegion("portfolio1", Portfolio.class);
+    for (int i = 0; i < 4; i++) {
+      r4.put(i + "", new Portfolio(i));
+    }
+    Query query =
+        qs.newQuery("select distinct * from /portfolio p, /portfolio1 p1 where p.ID = p1.ID");
+    MyQueryObserverImpl inst = new MyQueryObserverImpl();
+    QueryObserverHolder.setInstance(inst);
+    query.execute();
+    assertTrue("beforeHashJoinOfIterators callbak not received", inst.bfrHashJoinOfIterators);
+    assertTrue("afterHashJoinOfIterators callbak not received", inst.aftHashJoinOfIterators);
+  }
+
   private static class MyQueryObserverImpl implements QueryObserver {
 
     private boolean aftCartesianOfGroupJunctionsInAnAllGroupJunctionOfType_AND = false;
@@ -232,6 +247,8 @@ public class QueryObserverCallbackJUnitTest {
     private boolean aftMergeJoinOfDoubleIndexResults = false;
     private boolean bfrIterJoinOfSingleIndexResults = false;
     private boolean aftIterJoinOfSingleIndexResults = false;
+    private boolean bfrHashJoinOfIterators = false;
+    private boolean aftHashJoinOfIterators = false;
     private boolean beforeRangeJunctionDoubleCondnIndexLookup = false;
     private Index usedIndx = null;
     private Index unusedIndx = null;
@@ -351,6 +368,17 @@ public class QueryObserverCallbackJUnitTest {
       aftIterJoinOfSingleIndexResults = true;
     }
 
+    @Override
+    public void beforeHashJoinOfIterators(RuntimeIterator buildIterator,
+        RuntimeIterator probeIterator, CompiledValue joinCondition) {
+      bfrHashJoinOfIterators = true;
+    }
+
+    @Override
+    public void afterHashJoinOfIterators(int buildPasses, Collection finalResult) {
+      aftHashJoinOfIterators = true;
+    }
+
     @Override
     public void beforeIndexLookup(Index index, int lowerBoundOperator, Object lowerBoundKey,
         int upperBoundOperator, Object upperBoundKey, Set NotEqualKeys) {
@@ -16,7 +16,11 @@ package org.apache.geode.cache.query.partitioned;
 
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -26,9 +30,12 @@ import org.apache.geode.LogWriter;
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.query.Query;
 import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.Struct;
 import org.apache.geode.cache.query.data.PortfolioData;
+import org.apache.geode.cache.query.internal.DefaultQuery;
 import org.apache.geode.internal.Assert;
 import org.apache.geode.internal.cache.PRQueryProcessor;
+import org.apache.geode.internal.cache.PartitionedRegion;
 import org.apache.geode.internal.cache.PartitionedRegionTestHelper;
 import org.apache.geode.test.junit.categories.OQLQueryTest;
 
@@ -136,6 +143,51 @@ public class PRQueryNumThreadsJUnitTest {
     }
   }
 
+  /**
+   * Verifies that a data store sends one row per group, with the partial aggregates of all its
+   * buckets combined, whether the buckets are queried sequentially or in parallel.
+   */
+  @Test
+  public void testGroupByQuery() throws Exception {
+    PartitionedRegion region = (PartitionedRegion) PartitionedRegionTestHelper
+        .createPartitionedRegion(regionName, "100", 0);
+    PortfolioData[] portfolios = new PortfolioData[100];
+    for (int j = 0; j < 100; j++) {
+      portfolios[j] = new PortfolioData(j);
+    }
+    String queryString = "select p.status, count(*), sum(p.ID), avg(p.ID), "
+        + "count(distinct p.getType()), max(p.ID) from /" + region.getName()
+        + " p group by p.status";
+    try {
+      populateData(region, portfolios);
+      for (int numThreads : new int[] {0, 10}) {
+        PRQueryProcessor.TEST_NUM_THREADS = numThreads;
+
+        List<Integer> buckets = new ArrayList<>(region.getDataStore().getAllLocalBucketIds());
+        Assert.assertTrue(buckets.size() > 2);
+        DefaultQuery query = new DefaultQuery(queryString, region.getCache(), false);
+        List<Collection> resultCollector = new ArrayList<>();
+        new PRQueryProcessor(region, query, null, buckets).executeQuery(resultCollector);
+        Assert.assertTrue(resultCollector.size() == 1);
+        Assert.assertTrue(resultCollector.get(0).size() == 2);
+
+        SelectResults<Struct> sr = (SelectResults<Struct>) region.getCache().getQueryService()
+            .newQuery(queryString).execute();
+        Assert.assertTrue(sr.size() == 2);
+        for (Struct row : sr) {
+          boolean active = row.get("status").equals("active");
+          Assert.assertTrue(Arrays.asList(row.getFieldValues())
+              .equals(active ? Arrays.asList("active", 50, 2450, 49, 3, 98)
+                  : Arrays.asList("inactive", 50, 2500, 50, 3, 99)),
+              Arrays.toString(row.getFieldValues()));
+        }
+      }
+    } finally {
+      PRQueryProcessor.TEST_NUM_THREADS = 0;
+      region.close();
+    }
+  }
+
   /**
    * Populates the region with the Objects stores in the data Object array.
    *
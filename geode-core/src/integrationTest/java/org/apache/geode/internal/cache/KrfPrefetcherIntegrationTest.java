@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.contrib.java.lang.system.RestoreSystemProperties;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+
+public class KrfPrefetcherIntegrationTest {
+
+  private static final String DISK_STORE_NAME = "krfPrefetcherDiskStore";
+  private static final String REGION_NAME = "krfPrefetcherRegion";
+  private static final int ENTRIES = 20000;
+
+  @Rule
+  public RestoreSystemProperties restoreSystemProperties = new RestoreSystemProperties();
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File diskDir;
+  private Cache cache;
+
+  @Before
+  public void setUp() throws Exception {
+    System.setProperty(DiskStoreImpl.RECOVERY_THREADS_PROPERTY_NAME, "2");
+    diskDir = temporaryFolder.newFolder();
+  }
+
+  @After
+  public void tearDown() {
+    if (cache != null && !cache.isClosed()) {
+      cache.close();
+    }
+  }
+
+  @Test
+  public void entriesAreRecoveredFromPrefetchedKrfs() {
+    Region<Integer, String> region = createRegion();
+    for (int i = 0; i < ENTRIES; i++) {
+      region.put(i, "value-" + i);
+    }
+    for (int i = 0; i < ENTRIES; i += 3) {
+      region.put(i, "updated-" + i);
+    }
+    for (int i = 0; i < ENTRIES; i += 7) {
+      region.destroy(i);
+    }
+    // roll the last oplog so that every oplog has a krf
+    ((DiskStoreImpl) cache.findDiskStore(DISK_STORE_NAME)).forceRoll();
+    cache.close();
+
+    Region<Integer, String> recovered = createRegion();
+
+    DiskStoreStats stats = ((DiskStoreImpl) cache.findDiskStore(DISK_STORE_NAME)).getStats();
+    assertThat(stats.getStats().getInt("krfPrefetches")).isGreaterThan(1);
+    for (int i = 0; i < ENTRIES; i++) {
+      String expected = i % 7 == 0 ? null : (i % 3 == 0 ? "updated-" : "value-") + i;
+      assertThat(recovered.get(i)).isEqualTo(expected);
+    }
+  }
+
+  private Region<Integer, String> createRegion() {
+    cache = new CacheFactory().set(LOCATORS, "").set(MCAST_PORT, "0").create();
+    cache.createDiskStoreFactory().setDiskDirs(new File[] {diskDir}).setMaxOplogSize(1)
+        .create(DISK_STORE_NAME);
+    return cache.<Integer, String>createRegionFactory(RegionShortcut.LOCAL_PERSISTENT)
+        .setDiskStoreName(DISK_STORE_NAME).create(REGION_NAME);
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+import static org.apache.geode.test.awaitility.GeodeAwaitility.await;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.contrib.java.lang.system.RestoreSystemProperties;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+
+public class OplogCompactionRateLimitIntegrationTest {
+
+  private static final String DISK_STORE_NAME = "rateLimitedDiskStore";
+  private static final String REGION_NAME = "rateLimitedRegion";
+  private static final String OTHER_REGION_NAME = "otherRegion";
+  private static final int ENTRIES = 2000;
+  private static final int VALUE_SIZE = 1024;
+
+  @Rule
+  public RestoreSystemProperties restoreSystemProperties = new RestoreSystemProperties();
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Cache cache;
+
+  @Before
+  public void setUp() {
+    System.setProperty(DiskStoreImpl.COMPACTION_MAX_BYTES_PER_SECOND_PROPERTY_NAME,
+        Integer.toString(1024 * 1024));
+  }
+
+  @After
+  public void tearDown() {
+    if (cache != null && !cache.isClosed()) {
+      cache.close();
+    }
+  }
+
+  @Test
+  public void compactionCopiesLiveEntriesAtTheLimitedRate() throws Exception {
+    cache = new CacheFactory().set(LOCATORS, "").set(MCAST_PORT, "0").create();
+    DiskStoreImpl diskStore = (DiskStoreImpl) cache.createDiskStoreFactory()
+        .setDiskDirs(new File[] {temporaryFolder.newFolder()}).setAutoCompact(false)
+        .setAllowForceCompaction(true).setCompactionThreshold(90).create(DISK_STORE_NAME);
+    Region<Integer, byte[]> region =
+        cache.<Integer, byte[]>createRegionFactory(RegionShortcut.LOCAL_PERSISTENT)
+            .setDiskStoreName(DISK_STORE_NAME).create(REGION_NAME);
+    for (int i = 0; i < ENTRIES; i++) {
+      region.put(i, new byte[VALUE_SIZE]);
+    }
+    for (int i = 0; i < ENTRIES; i += 2) {
+      region.destroy(i);
+    }
+    diskStore.forceRoll();
+
+    long start = System.nanoTime();
+    assertThat(diskStore.forceCompaction()).isTrue();
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+    // the live half of the entries is about a megabyte, copied at a megabyte per second
+    assertThat(elapsedMillis).isGreaterThan(500);
+    assertThat(diskStore.getStats().getStats().getLong("compactReclaimedBytes"))
+        .isGreaterThan((long) ENTRIES / 2 * VALUE_SIZE);
+    for (int i = 1; i < ENTRIES; i += 2) {
+      assertThat(region.get(i)).hasSize(VALUE_SIZE);
+    }
+  }
+
+  @Test
+  public void regionCloseIsNotBlockedByAThrottledCompaction() throws Exception {
+    cache = new CacheFactory().set(LOCATORS, "").set(MCAST_PORT, "0").create();
+    DiskStoreImpl diskStore = (DiskStoreImpl) cache.createDiskStoreFactory()
+        .setDiskDirs(new File[] {temporaryFolder.newFolder()}).setAutoCompact(false)
+        .setAllowForceCompaction(true).setCompactionThreshold(90).create(DISK_STORE_NAME);
+    Region<Integer, byte[]> region =
+        cache.<Integer, byte[]>createRegionFactory(RegionShortcut.LOCAL_PERSISTENT)
+            .setDiskStoreName(DISK_STORE_NAME).create(REGION_NAME);
+    Region<Integer, byte[]> otherRegion =
+        cache.<Integer, byte[]>createRegionFactory(RegionShortcut.LOCAL_PERSISTENT)
+            .setDiskStoreName(DISK_STORE_NAME).create(OTHER_REGION_NAME);
+    otherRegion.put(0, new byte[VALUE_SIZE]);
+    for (int i = 0; i < ENTRIES; i++) {
+      region.put(i, new byte[VALUE_SIZE]);
+    }
+    for (int i = 0; i < ENTRIES; i += 2) {
+      region.destroy(i);
+    }
+    diskStore.forceRoll();
+
+    CompletableFuture<Boolean> compaction =
+        CompletableFuture.supplyAsync(diskStore::forceCompaction);
+    await().until(() -> diskStore.getStats().getStats().getLong("compactUpdates") > 0);
+    otherRegion.close();
+
+    // the compaction takes about a second, closing the region only waits for one pause
+    assertThat(compaction).isNotDone();
+    assertThat(compaction.get()).isTrue();
+    for (int i = 1; i < ENTRIES; i += 2) {
+      assertThat(region.get(i)).hasSize(VALUE_SIZE);
+    }
+  }
+
+  @Test
+  public void regionReopenedDuringAThrottledPauseKeepsItsEntries() throws Exception {
+    // the first 64KB are copied at once, then the compactor pauses for two seconds
+    System.setProperty(DiskStoreImpl.COMPACTION_MAX_BYTES_PER_SECOND_PROPERTY_NAME,
+        Integer.toString(32 * 1024));
+    File diskDir = temporaryFolder.newFolder();
+    int entries = 400;
+    cache = new CacheFactory().set(LOCATORS, "").set(MCAST_PORT, "0").create();
+    DiskStoreImpl diskStore = (DiskStoreImpl) cache.createDiskStoreFactory()
+        .setDiskDirs(new File[] {diskDir}).setAutoCompact(false).setAllowForceCompaction(true)
+        .setCompactionThreshold(90).create(DISK_STORE_NAME);
+    Region<Integer, byte[]> region = createRegion();
+    for (int i = 0; i < entries; i++) {
+      region.put(i, new byte[VALUE_SIZE]);
+    }
+    for (int i = 0; i < entries; i += 2) {
+      region.destroy(i);
+    }
+    Oplog oplog = diskStore.getPersistentOplogSet().getChild();
+    diskStore.forceRoll();
+
+    CompletableFuture<Boolean> compaction =
+        CompletableFuture.supplyAsync(diskStore::forceCompaction);
+    await().until(() -> diskStore.getStats().getStats().getLong("compactUpdates") > 0);
+    region.close();
+    region = createRegion();
+    assertThat(compaction).isNotDone();
+    compaction.get();
+    // the pass was abandoned, so the oplog still counts the entries it was copying
+    assertThat(oplog.getTotalLiveCount().get()).isGreaterThan(0);
+
+    for (int i = 1; i < entries; i += 2) {
+      assertThat(region.get(i)).hasSize(VALUE_SIZE);
+    }
+    cache.close();
+    cache = new CacheFactory().set(LOCATORS, "").set(MCAST_PORT, "0").create();
+    cache.createDiskStoreFactory().setDiskDirs(new File[] {diskDir}).create(DISK_STORE_NAME);
+    region = createRegion();
+    assertThat(region.size()).isEqualTo(entries / 2);
+    for (int i = 1; i < entries; i += 2) {
+      assertThat(region.get(i)).hasSize(VALUE_SIZE);
+    }
+  }
+
+  private Region<Integer, byte[]> createRegion() {
+    return cache.<Integer, byte[]>createRegionFactory(RegionShortcut.LOCAL_PERSISTENT)
+        .setDiskStoreName(DISK_STORE_NAME).create(REGION_NAME);
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.contrib.java.lang.system.RestoreSystemProperties;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.EvictionAction;
+import org.apache.geode.cache.EvictionAttributes;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.internal.cache.persistence.DirectFileWriter;
+
+/**
+ * Oplogs written with direct I/O are recovered like any other. Where the JVM or the file system
+ * does not support direct I/O the files are written through the page cache.
+ */
+public class OplogDirectWritesIntegrationTest {
+
+  private static final String DISK_STORE_NAME = "directWritesDiskStore";
+  private static final String REGION_NAME = "directWritesRegion";
+  private static final int ENTRIES = 5000;
+
+  @Rule
+  public RestoreSystemProperties restoreSystemProperties = new RestoreSystemProperties();
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File diskDir;
+  private Cache cache;
+
+  @Before
+  public void setUp() throws Exception {
+    System.setProperty(DiskStoreImpl.DIRECT_WRITES_PROPERTY_NAME, "true");
+    diskDir = temporaryFolder.newFolder();
+  }
+
+  @After
+  public void tearDown() {
+    if (cache != null && !cache.isClosed()) {
+      cache.close();
+    }
+  }
+
+  @Test
+  public void directWritesAreUsedWhenSupported() {
+    createRegion();
+
+    DiskStoreImpl diskStore = (DiskStoreImpl) cache.findDiskStore(DISK_STORE_NAME);
+    assertThat(diskStore.getDirectIOBuffers() != null).isEqualTo(DirectFileWriter.isSupported());
+  }
+
+  @Test
+  public void entriesWrittenWithDirectWritesAreRecovered() {
+    Region<Integer, String> region = createRegion();
+    for (int i = 0; i < ENTRIES; i++) {
+      region.put(i, "value-" + i);
+    }
+    for (int i = 0; i < ENTRIES; i += 3) {
+      region.put(i, "updated-" + i);
+    }
+    for (int i = 0; i < ENTRIES; i += 7) {
+      region.destroy(i);
+    }
+    // a value larger than the direct I/O buffer
+    region.put(ENTRIES, new String(new char[300 * 1024]).replace('\0', 'x'));
+    cache.close();
+
+    Region<Integer, String> recovered = createRegion();
+
+    for (int i = 0; i < ENTRIES; i++) {
+      String expected = i % 7 == 0 ? null : (i % 3 == 0 ? "updated-" : "value-") + i;
+      assertThat(recovered.get(i)).isEqualTo(expected);
+    }
+    assertThat(recovered.get(ENTRIES)).hasSize(300 * 1024);
+  }
+
+  @Test
+  public void valuesAreReadBackWhileTheOplogIsBeingWritten() {
+    Region<Integer, String> region = createOverflowRegion();
+    for (int i = 0; i < ENTRIES; i++) {
+      region.put(i, "value-" + i);
+    }
+
+    for (int i = 0; i < ENTRIES; i++) {
+      assertThat(region.get(i)).isEqualTo("value-" + i);
+    }
+  }
+
+  private Region<Integer, String> createRegion() {
+    createDiskStore();
+    return cache.<Integer, String>createRegionFactory(RegionShortcut.LOCAL_PERSISTENT)
+        .setDiskStoreName(DISK_STORE_NAME).create(REGION_NAME);
+  }
+
+  private Region<Integer, String> createOverflowRegion() {
+    createDiskStore();
+    return cache.<Integer, String>createRegionFactory(RegionShortcut.LOCAL_PERSISTENT)
+        .setEvictionAttributes(
+            EvictionAttributes.createLRUEntryAttributes(100, EvictionAction.OVERFLOW_TO_DISK))
+        .setDiskStoreName(DISK_STORE_NAME).create(REGION_NAME);
+  }
+
+  private void createDiskStore() {
+    cache = new CacheFactory().set(LOCATORS, "").set(MCAST_PORT, "0").create();
+    cache.createDiskStoreFactory().setDiskDirs(new File[] {diskDir}).setMaxOplogSize(1)
+        .create(DISK_STORE_NAME);
+  }
+}
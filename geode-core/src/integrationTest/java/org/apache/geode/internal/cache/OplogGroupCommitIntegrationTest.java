@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.contrib.java.lang.system.RestoreSystemProperties;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+
+public class OplogGroupCommitIntegrationTest {
+
+  private static final String DISK_STORE_NAME = "groupCommitDiskStore";
+  private static final String REGION_NAME = "groupCommitRegion";
+  private static final int THREADS = 8;
+  private static final int OPERATIONS_PER_THREAD = 2000;
+
+  @Rule
+  public RestoreSystemProperties restoreSystemProperties = new RestoreSystemProperties();
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File diskDir;
+  private Cache cache;
+
+  @Before
+  public void setUp() throws Exception {
+    System.setProperty(DiskStoreImpl.GROUP_COMMIT_PROPERTY_NAME, "true");
+    diskDir = temporaryFolder.newFolder();
+  }
+
+  @After
+  public void tearDown() {
+    LocalRegion.ISSUE_CALLBACKS_TO_CACHE_OBSERVER = false;
+    CacheObserverHolder.setInstance(null);
+    if (cache != null && !cache.isClosed()) {
+      cache.close();
+    }
+  }
+
+  @Test
+  public void diskStoreUsesGroupCommit() {
+    createRegion();
+
+    assertThat(((DiskStoreImpl) cache.findDiskStore(DISK_STORE_NAME)).isGroupCommit()).isTrue();
+  }
+
+  @Test
+  public void synchronousPutIsWrittenToTheCrfBeforeItReturns() throws Exception {
+    Region<String, String> region = createRegion();
+
+    region.put("key", "groupCommittedValue");
+
+    assertThat(readCrfs()).contains("groupCommittedValue");
+    assertThat(getChild(region).isForcedForTest()).isTrue();
+  }
+
+  @Test
+  public void writerWaitingForGroupCommitWhileOplogRollsIsAcknowledgedAfterAForce()
+      throws Exception {
+    Region<String, String> region = createRegion();
+    Oplog rolledOplog = getChild(region);
+    CountDownLatch waiting = new CountDownLatch(1);
+    CountDownLatch rolled = new CountDownLatch(1);
+    LocalRegion.ISSUE_CALLBACKS_TO_CACHE_OBSERVER = true;
+    CacheObserverHolder.setInstance(new CacheObserverAdapter() {
+      @Override
+      public void beforeWaitingForGroupCommit() {
+        if (waiting.getCount() > 0) {
+          waiting.countDown();
+          try {
+            rolled.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      }
+    });
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<?> put = executor.submit(() -> region.put("key", "groupCommittedValue"));
+      assertThat(waiting.await(1, TimeUnit.MINUTES)).isTrue();
+
+      // roll the oplog and close its crf as the delayed close does, before the writer is committed
+      ((DiskStoreImpl) cache.findDiskStore(DISK_STORE_NAME)).forceRoll();
+      rolledOplog.closeRAF();
+      rolled.countDown();
+      put.get(1, TimeUnit.MINUTES);
+    } finally {
+      rolled.countDown();
+      executor.shutdownNow();
+    }
+
+    assertThat(getChild(region)).isNotSameAs(rolledOplog);
+    assertThat(rolledOplog.isForcedForTest()).isTrue();
+  }
+
+  @Test
+  public void concurrentSynchronousWritesAreRecovered() throws Exception {
+    Region<String, String> region = createRegion();
+    Map<String, String> expected = new ConcurrentHashMap<>();
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        final int thread = t;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+            String key = thread + "-" + (i % 500);
+            if (i % 7 == 0) {
+              region.remove(key);
+              expected.remove(key);
+            } else {
+              String value = key + "-" + i + "-" + new String(new char[512]).replace('\0', 'x');
+              region.put(key, value);
+              expected.put(key, value);
+            }
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    cache.close();
+    Region<String, String> recovered = createRegion();
+
+    assertThat(recovered.size()).isEqualTo(expected.size());
+    for (Map.Entry<String, String> entry : expected.entrySet()) {
+      assertThat(recovered.get(entry.getKey())).isEqualTo(entry.getValue());
+    }
+  }
+
+  private Region<String, String> createRegion() {
+    cache = new CacheFactory().set(LOCATORS, "").set(MCAST_PORT, "0").create();
+    cache.createDiskStoreFactory().setDiskDirs(new File[] {diskDir}).setMaxOplogSize(1)
+        .create(DISK_STORE_NAME);
+    return cache.<String, String>createRegionFactory(RegionShortcut.REPLICATE_PERSISTENT)
+        .setDiskStoreName(DISK_STORE_NAME).setDiskSynchronous(true).create(REGION_NAME);
+  }
+
+  private Oplog getChild(Region<String, String> region) {
+    return ((LocalRegion) region).getDiskRegion().testHook_getChild();
+  }
+
+  private String readCrfs() throws Exception {
+    StringBuilder contents = new StringBuilder();
+    for (File file : diskDir.listFiles((dir, name) -> name.endsWith(".crf"))) {
+      contents.append(new String(Files.readAllBytes(file.toPath()), StandardCharsets.ISO_8859_1));
+    }
+    return contents.toString();
+  }
+}
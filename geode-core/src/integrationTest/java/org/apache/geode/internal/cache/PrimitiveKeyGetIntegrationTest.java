@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.CacheTransactionManager;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+
+public class PrimitiveKeyGetIntegrationTest {
+
+  private InternalCache cache;
+
+  @Before
+  public void setUp() {
+    cache = (InternalCache) new CacheFactory().set(LOCATORS, "").set(MCAST_PORT, "0").create();
+  }
+
+  @After
+  public void tearDown() {
+    cache.close();
+  }
+
+  @Test
+  public void getLongReturnsTheValueOfTheLongKey() {
+    Region<Long, String> region = createRegion(RegionShortcut.LOCAL);
+    region.put(1L, "one");
+    region.put(1L << 40, "big");
+    region.put(3L, "three");
+    region.invalidate(3L);
+
+    InternalRegion internalRegion = (InternalRegion) region;
+    assertThat(internalRegion.getLong(1)).isEqualTo("one");
+    assertThat(internalRegion.getLong(1L << 40)).isEqualTo("big");
+    assertThat(internalRegion.getLong(2)).isNull();
+    assertThat(internalRegion.getLong(3)).isNull();
+    assertThat(internalRegion.getInt(1)).isNull();
+  }
+
+  @Test
+  public void getIntReturnsTheValueOfTheIntegerKey() {
+    Region<Integer, String> region = createRegion(RegionShortcut.LOCAL);
+    region.put(1, "one");
+
+    InternalRegion internalRegion = (InternalRegion) region;
+    assertThat(internalRegion.getInt(1)).isEqualTo("one");
+    assertThat(internalRegion.getInt(2)).isNull();
+    assertThat(internalRegion.getLong(1)).isNull();
+  }
+
+  @Test
+  public void getLongCountsHitsAndMisses() {
+    Region<Long, String> region = createRegion(RegionShortcut.LOCAL);
+    region.put(1L, "one");
+    CachePerfStats stats = ((InternalRegion) region).getCachePerfStats();
+    long gets = stats.getGets();
+    long misses = stats.getMisses();
+
+    ((InternalRegion) region).getLong(1);
+    ((InternalRegion) region).getLong(2);
+
+    assertThat(stats.getGets()).isEqualTo(gets + 2);
+    assertThat(stats.getMisses()).isEqualTo(misses + 1);
+  }
+
+  @Test
+  public void getLongLoadsAMissingValue() {
+    Region<Long, String> region = cache.<Long, String>createRegionFactory(RegionShortcut.LOCAL)
+        .setCacheLoader(helper -> "loaded-" + helper.getKey()).create("region");
+
+    assertThat(((InternalRegion) region).getLong(5)).isEqualTo("loaded-5");
+    assertThat(region.get(5L)).isEqualTo("loaded-5");
+  }
+
+  @Test
+  public void getLongSeesTheTransactionalValue() {
+    Region<Long, String> region = createRegion(RegionShortcut.LOCAL);
+    region.put(1L, "committed");
+    CacheTransactionManager txManager = cache.getCacheTransactionManager();
+
+    txManager.begin();
+    try {
+      region.put(1L, "transactional");
+      assertThat(((InternalRegion) region).getLong(1)).isEqualTo("transactional");
+    } finally {
+      txManager.rollback();
+    }
+    assertThat(((InternalRegion) region).getLong(1)).isEqualTo("committed");
+  }
+
+  @Test
+  public void getLongFindsTheValueInAPartitionedRegion() {
+    Region<Long, String> region = createRegion(RegionShortcut.PARTITION);
+    region.put(1L, "one");
+
+    assertThat(((InternalRegion) region).getLong(1)).isEqualTo("one");
+    assertThat(((InternalRegion) region).getLong(2)).isNull();
+  }
+
+  private <K> Region<K, String> createRegion(RegionShortcut shortcut) {
+    return cache.<K, String>createRegionFactory(shortcut).create("region");
+  }
+}
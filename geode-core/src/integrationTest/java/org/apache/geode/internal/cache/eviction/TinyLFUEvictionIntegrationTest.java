@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.contrib.java.lang.system.RestoreSystemProperties;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.Statistics;
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.EvictionAction;
+import org.apache.geode.cache.EvictionAttributes;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.internal.cache.InternalRegion;
+import org.apache.geode.internal.lang.SystemPropertyHelper;
+import org.apache.geode.test.junit.categories.EvictionTest;
+
+/**
+ * A scan over keys that are each used once does not evict entries that are used often when
+ * frequency-based admission is enabled.
+ */
+@Category({EvictionTest.class})
+public class TinyLFUEvictionIntegrationTest {
+
+  private static final int MAX_ENTRIES = 100;
+
+  @Rule
+  public RestoreSystemProperties restoreSystemProperties = new RestoreSystemProperties();
+
+  private Cache cache;
+  private Region<Integer, String> region;
+
+  @Before
+  public void setUp() {
+    System.setProperty(
+        SystemPropertyHelper.GEODE_PREFIX + SystemPropertyHelper.EVICTION_FREQUENCY_ADMISSION,
+        "true");
+    cache = new CacheFactory().set(LOCATORS, "").set(MCAST_PORT, "0").create();
+    region = cache.<Integer, String>createRegionFactory(RegionShortcut.LOCAL)
+        .setEvictionAttributes(
+            EvictionAttributes.createLRUEntryAttributes(MAX_ENTRIES, EvictionAction.LOCAL_DESTROY))
+        .create("region");
+  }
+
+  @After
+  public void tearDown() {
+    cache.close();
+  }
+
+  @Test
+  public void scanDoesNotEvictFrequentlyUsedEntries() {
+    for (int i = 0; i < MAX_ENTRIES; i++) {
+      region.put(i, "value-" + i);
+    }
+
+    for (int scanKey = 1000; scanKey < 3000; scanKey++) {
+      for (int hotKey = 0; hotKey < MAX_ENTRIES / 2; hotKey++) {
+        region.get(hotKey);
+      }
+      region.put(scanKey, "scanned");
+    }
+
+    assertThat(region.size()).isEqualTo(MAX_ENTRIES);
+    for (int hotKey = 0; hotKey < MAX_ENTRIES / 2; hotKey++) {
+      assertThat(region.containsKey(hotKey)).as("hot key %s", hotKey).isTrue();
+    }
+    assertThat(getStatistics().getLong("lruAdmissionRejections")).isGreaterThan(0);
+  }
+
+  @Test
+  public void keyThatKeepsComingBackIsAdmitted() {
+    for (int i = 0; i < MAX_ENTRIES; i++) {
+      region.put(i, "value-" + i);
+    }
+
+    for (int i = 0; i < 20 && !region.containsKey(5000); i++) {
+      region.put(5000, "returning");
+    }
+
+    assertThat(region.containsKey(5000)).isTrue();
+    assertThat(region.size()).isEqualTo(MAX_ENTRIES);
+    assertThat(getStatistics().getLong("lruAdmissions")).isGreaterThan(0);
+  }
+
+  private Statistics getStatistics() {
+    return ((InternalRegion) region).getEvictionController().getCounters().getStatistics();
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+import static org.apache.geode.distributed.ConfigurationProperties.SSL_ENABLED_COMPONENTS;
+import static org.apache.geode.distributed.ConfigurationProperties.SSL_KEYSTORE;
+import static org.apache.geode.distributed.ConfigurationProperties.SSL_KEYSTORE_PASSWORD;
+import static org.apache.geode.distributed.ConfigurationProperties.SSL_KEYSTORE_TYPE;
+import static org.apache.geode.distributed.ConfigurationProperties.SSL_TRUSTSTORE;
+import static org.apache.geode.distributed.ConfigurationProperties.SSL_TRUSTSTORE_PASSWORD;
+import static org.apache.geode.test.util.ResourceUtils.createTempFileFromResource;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.client.PoolManager;
+import org.apache.geode.cache.client.internal.Connection;
+import org.apache.geode.cache.client.internal.PoolImpl;
+import org.apache.geode.cache.client.internal.ServerRegionProxy;
+import org.apache.geode.cache.server.CacheServer;
+import org.apache.geode.internal.cache.CacheServerImpl;
+import org.apache.geode.internal.cache.EventID;
+import org.apache.geode.internal.net.SSLConfigurationFactory;
+import org.apache.geode.internal.net.SocketCreatorFactory;
+import org.apache.geode.test.junit.categories.ClientServerTest;
+
+/**
+ * Client operations against a cache server that uses a thread pool (aka selector) and TLS.
+ */
+@Category({ClientServerTest.class})
+public class CacheServerSelectorSSLIntegrationTest {
+
+  private static final String REGION_NAME = "region1";
+
+  private Cache cache;
+
+  private CacheServer server;
+
+  private Region<Object, Object> region;
+
+  private PoolImpl pool;
+
+  @Before
+  public void setUp() throws Exception {
+    String keyStore = createTempFileFromResource(CacheServerSelectorSSLIntegrationTest.class,
+        "/ssl/trusted.keystore").getAbsolutePath();
+    Properties properties = new Properties();
+    properties.setProperty(MCAST_PORT, "0");
+    properties.setProperty(LOCATORS, "");
+    properties.setProperty(SSL_ENABLED_COMPONENTS, "server");
+    properties.setProperty(SSL_KEYSTORE_TYPE, "jks");
+    properties.setProperty(SSL_KEYSTORE, keyStore);
+    properties.setProperty(SSL_KEYSTORE_PASSWORD, "password");
+    properties.setProperty(SSL_TRUSTSTORE, keyStore);
+    properties.setProperty(SSL_TRUSTSTORE_PASSWORD, "password");
+    cache = new CacheFactory(properties).create();
+    region = cache.createRegionFactory(RegionShortcut.REPLICATE).create(REGION_NAME);
+
+    server = cache.addCacheServer();
+    server.setPort(0);
+    server.setMaxThreads(2);
+    server.start();
+
+    pool = (PoolImpl) PoolManager.createFactory().addServer("localhost", server.getPort())
+        .setMinConnections(0).setReadTimeout(10000).setPRSingleHopEnabled(false)
+        .create("sslPool");
+  }
+
+  @After
+  public void tearDown() {
+    if (pool != null) {
+      pool.destroy();
+    }
+    if (cache != null) {
+      cache.close();
+    }
+    SSLConfigurationFactory.close();
+    SocketCreatorFactory.close();
+  }
+
+  @Test
+  public void clientOperationsSucceedOverTLS() throws Exception {
+    assertThat(((CacheServerImpl) server).getAcceptor().isSelector()).isTrue();
+    ServerRegionProxy proxy = new ServerRegionProxy(REGION_NAME, pool);
+
+    // each connection goes back to the selector between its messages
+    List<CompletableFuture<Void>> clients = new ArrayList<>();
+    for (int thread = 0; thread < 4; thread++) {
+      int threadId = thread;
+      clients.add(CompletableFuture.runAsync(() -> {
+        Connection connection = pool.acquireConnection();
+        try {
+          for (int i = 0; i < 50; i++) {
+            proxy.putOnForTestsOnly(connection, "key-" + threadId + "-" + i, "value-" + i,
+                new EventID(new byte[] {(byte) threadId}, threadId, i), null);
+          }
+        } finally {
+          pool.returnConnection(connection);
+        }
+      }));
+    }
+    for (CompletableFuture<Void> client : clients) {
+      client.get();
+    }
+
+    // larger than a TLS record
+    byte[] largeValue = new byte[100_000];
+    Connection connection = pool.acquireConnection();
+    try {
+      proxy.putOnForTestsOnly(connection, "large", largeValue, new EventID(new byte[] {9}, 9, 0),
+          null);
+    } finally {
+      pool.returnConnection(connection);
+    }
+
+    assertThat(region.size()).isEqualTo(201);
+    assertThat(region.get("key-3-49")).isEqualTo("value-49");
+    assertThat((byte[]) region.get("large")).hasSize(largeValue.length);
+    assertThat(proxy.size()).isEqualTo(201);
+    assertThat(proxy.keySet()).hasSize(201).contains("key-0-0", "large");
+    assertThat(proxy.containsKey("key-2-10")).isTrue();
+    assertThat(proxy.containsKey("missing")).isFalse();
+  }
+}
@@ -30,12 +30,14 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.mock;
 
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
 import java.net.ConnectException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
@@ -48,11 +50,13 @@ import java.nio.ByteBuffer;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLException;
 
 import org.apache.commons.io.FileUtils;
@@ -231,6 +235,98 @@ public class SSLSocketIntegrationTest {
     // assertThat(this.messageFromClient.get()).isEqualTo(MESSAGE);
   }
 
+  @Test
+  public void nioSslSocketShouldExchangeMessagesWithSSLSocket() throws Exception {
+    ServerSocketChannel serverChannel = ServerSocketChannel.open();
+    serverSocket = serverChannel.socket();
+    serverSocket.bind(new InetSocketAddress(localHost, 0), 10);
+    int serverPort = this.serverSocket.getLocalPort();
+
+    this.serverThread = new Thread(new MyThreadGroup(this.testName.getMethodName()), () -> {
+      try (Socket socket = acceptNioSslSocket(serverChannel, 15000)) {
+        DataInputStream input = new DataInputStream(socket.getInputStream());
+        assertThat(input.readUTF()).isEqualTo("Hello world");
+        // the other messages were decrypted along with the first one
+        assertThat(((NioSslSocket) socket).hasBufferedInput()).isTrue();
+        assertThat(input.readUTF()).isEqualTo("Hello world");
+        assertThat(input.readUTF()).isEqualTo("Hello world");
+        assertThat(((NioSslSocket) socket).hasBufferedInput()).isFalse();
+
+        DataOutputStream output = new DataOutputStream(socket.getOutputStream());
+        output.writeUTF(MESSAGE);
+        output.flush();
+        messageFromClient.set(input.readUTF());
+      } catch (Throwable throwable) {
+        throwable.printStackTrace(System.out);
+        serverException = throwable;
+      }
+    }, this.testName.getMethodName() + "-server");
+    this.serverThread.start();
+
+    this.clientSocket = this.socketCreator.connectForServer(this.localHost, serverPort);
+    ByteArrayOutputStream messages = new ByteArrayOutputStream();
+    DataOutputStream dos = new DataOutputStream(messages);
+    dos.writeUTF("Hello world");
+    dos.writeUTF("Hello world");
+    dos.writeUTF("Hello world");
+    // a single write becomes a single TLS record
+    this.clientSocket.getOutputStream().write(messages.toByteArray());
+    this.clientSocket.getOutputStream().flush();
+
+    DataInputStream input = new DataInputStream(this.clientSocket.getInputStream());
+    assertThat(input.readUTF()).isEqualTo(MESSAGE);
+    DataOutputStream output = new DataOutputStream(this.clientSocket.getOutputStream());
+    output.writeUTF(MESSAGE);
+    output.flush();
+
+    await().until(() -> !serverThread.isAlive());
+    assertNull(serverException);
+    assertThat(this.messageFromClient.get()).isEqualTo(MESSAGE);
+  }
+
+  @Test
+  public void nioSslSocketCanBeClosedWhileAReadIsBlocked() throws Exception {
+    ServerSocketChannel serverChannel = ServerSocketChannel.open();
+    serverSocket = serverChannel.socket();
+    serverSocket.bind(new InetSocketAddress(localHost, 0), 10);
+    int serverPort = this.serverSocket.getLocalPort();
+
+    AtomicReference<NioSslSocket> acceptedSocket = new AtomicReference<>();
+    this.serverThread = new Thread(new MyThreadGroup(this.testName.getMethodName()), () -> {
+      try (NioSslSocket socket = acceptNioSslSocket(serverChannel, 15000)) {
+        acceptedSocket.set(socket);
+        // the client never sends anything
+        socket.getInputStream().read();
+      } catch (Throwable expected) {
+        // the socket was closed by the test
+      }
+    }, this.testName.getMethodName() + "-server");
+    this.serverThread.start();
+
+    this.clientSocket = this.socketCreator.connectForServer(this.localHost, serverPort);
+    await().until(() -> acceptedSocket.get() != null);
+
+    CompletableFuture.runAsync(() -> {
+      try {
+        acceptedSocket.get().close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }).get(30, TimeUnit.SECONDS);
+    await().until(() -> !serverThread.isAlive());
+  }
+
+  private NioSslSocket acceptNioSslSocket(ServerSocketChannel serverChannel, int timeoutMillis)
+      throws IOException {
+    SocketChannel channel = serverChannel.accept();
+    SocketCreator sc = SocketCreatorFactory.getSocketCreatorForComponent(CLUSTER);
+    SSLEngine sslEngine = sc.createServerSSLEngine("localhost", 1234);
+    ByteBuffer peerNetBuffer = ByteBuffer.allocate(sslEngine.getSession().getPacketBufferSize());
+    NioSslEngine engine = sc.handshakeSSLSocketChannel(channel, sslEngine, timeoutMillis, false,
+        peerNetBuffer, new BufferPool(mock(DMStats.class)));
+    return new NioSslSocket(channel, engine, peerNetBuffer);
+  }
+
   private void writeMessageToNIOSSLServer(SocketChannel clientChannel, NioSslEngine engine)
       throws IOException {
     System.out.println("client sending Hello World message to server");
@@ -41,8 +41,10 @@ import org.apache.geode.internal.lang.SystemPropertyHelper;
 public class EvictionMultiThreadedPerformanceBenchmark {
   private static final int MAX_ENTRIES = 1_000_000;
 
-  @Param({"true", "false"})
-  public String useAsync;
+  private static final String STRIPES = "32";
+
+  @Param({"async", "sync", "striped"})
+  public String evictionList;
 
   Cache cache;
   Region<String, String> region;
@@ -50,7 +52,10 @@ public class EvictionMultiThreadedPerformanceBenchmark {
 
   @Setup(Level.Trial)
   public void setup() {
-    System.setProperty("geode." + SystemPropertyHelper.EVICTION_SCAN_ASYNC, useAsync);
+    System.setProperty("geode." + SystemPropertyHelper.EVICTION_SCAN_ASYNC,
+        Boolean.toString(!evictionList.equals("sync")));
+    System.setProperty("geode." + SystemPropertyHelper.EVICTION_LIST_STRIPES,
+        evictionList.equals("striped") ? STRIPES : "0");
     cache = new CacheFactory().set(LOG_LEVEL, "warn").create();
     region = createRegion(cache, MAX_ENTRIES);
   }
@@ -115,6 +120,28 @@ public class EvictionMultiThreadedPerformanceBenchmark {
     return region.put(key, "value");
   }
 
+  @Benchmark
+  @Measurement(time = 5, iterations = 10)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @Threads(32)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public String evictingCreate32Threads() {
+    String key = Integer.toString(nextKey.incrementAndGet());
+    return region.put(key, "value");
+  }
+
+  @Benchmark
+  @Measurement(time = 5, iterations = 10)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @Threads(64)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public String evictingCreate64Threads() {
+    String key = Integer.toString(nextKey.incrementAndGet());
+    return region.put(key, "value");
+  }
+
   private Region<String, String> createRegion(Cache cache, int maxSize) {
     Region<String, String> region = cache.<String, String>createRegionFactory(RegionShortcut.LOCAL)
         .setEvictionAttributes(
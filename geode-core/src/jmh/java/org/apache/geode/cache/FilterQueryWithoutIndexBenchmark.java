@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.cache.query.Query;
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.pdx.PdxInstance;
+
+/**
+ * Measures a query that filters a million entries on attribute paths without an index, so every
+ * attribute of the path is read from every entry. The values are either domain objects, read by
+ * reflection, or PdxInstances.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xmx2g", "-Xms2g"})
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FilterQueryWithoutIndexBenchmark {
+
+  private static final int ENTRIES = 1_000_000;
+
+  private static final int CITIES = 100;
+
+  @Param({"object", "pdx"})
+  public String valueFormat;
+
+  private Cache cache;
+  private Query query;
+
+  @Setup
+  public void setup() throws Exception {
+    cache = new CacheFactory().set(LOG_LEVEL, "warn").create();
+    Region<Integer, Object> region =
+        cache.<Integer, Object>createRegionFactory(RegionShortcut.LOCAL).create("region");
+    for (int i = 0; i < ENTRIES; i++) {
+      String city = "city" + i % CITIES;
+      region.put(i, valueFormat.equals("pdx") ? createPdxPerson(i, city)
+          : new Person(i, new Address(city)));
+    }
+    query = cache.getQueryService().newQuery(
+        "select count(*) from /region p where p.address.city = 'city7' and p.age >= 50");
+
+    // make sure the query returns what is expected
+    assertEquals(ENTRIES / CITIES / 2, (int) filter());
+  }
+
+  @TearDown
+  public void tearDown() {
+    cache.close();
+  }
+
+  @Benchmark
+  public Object filter() throws Exception {
+    return ((SelectResults) query.execute()).asList().get(0);
+  }
+
+  private PdxInstance createPdxPerson(int id, String city) {
+    PdxInstance address = cache.createPdxInstanceFactory(Address.class.getName())
+        .writeString("city", city).create();
+    return cache.createPdxInstanceFactory(Person.class.getName()).writeInt("age", id / CITIES % 100)
+        .writeObject("address", address).create();
+  }
+
+  public static class Person {
+    private final int age;
+    private final Address address;
+
+    public Person(int id, Address address) {
+      this.age = id / CITIES % 100;
+      this.address = address;
+    }
+
+    public int getAge() {
+      return age;
+    }
+
+    public Address getAddress() {
+      return address;
+    }
+  }
+
+  public static class Address {
+    private final String city;
+
+    public Address(String city) {
+      this.city = city;
+    }
+
+    public String getCity() {
+      return city;
+    }
+  }
+}
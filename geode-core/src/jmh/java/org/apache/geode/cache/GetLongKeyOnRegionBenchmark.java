@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.internal.cache.InternalRegion;
+
+/**
+ * This benchmark compares gets of long keys on a region through {@link Region#get(Object)}, which
+ * boxes the key, with {@link InternalRegion#getLong(long)}, which does not
+ */
+@State(Scope.Thread)
+@Fork(1)
+public class GetLongKeyOnRegionBenchmark {
+  private static final int ENTRIES = 1_000_000;
+
+  Cache cache;
+  Region<Long, String> region;
+  InternalRegion internalRegion;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    cache = new CacheFactory().set(LOG_LEVEL, "warn").create();
+    region = createRegion(cache);
+    internalRegion = (InternalRegion) region;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    cache.close();
+  }
+
+  @State(Scope.Thread)
+  public static class MyState {
+    Random random = new Random();
+  }
+
+  @Benchmark
+  @Measurement(iterations = 50)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public String getBoxedKey(MyState state) {
+    long key = state.random.nextInt(ENTRIES);
+    return region.get(key);
+  }
+
+  @Benchmark
+  @Measurement(iterations = 50)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public Object getLongKey(MyState state) {
+    long key = state.random.nextInt(ENTRIES);
+    return internalRegion.getLong(key);
+  }
+
+  private Region<Long, String> createRegion(Cache cache) {
+    Region<Long, String> region =
+        cache.<Long, String>createRegionFactory(RegionShortcut.LOCAL).create("testRegion");
+    for (long i = 0; i < ENTRIES; i++) {
+      region.put(i, "value");
+    }
+    return region;
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency distribution of creates into a heap LRU region that is kept at the eviction
+ * threshold, with and without proactive heap eviction. Compare the p0.99 and p0.999 percentiles.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xmx512m", "-Xms512m"})
+public class HeapEvictionWriteLatencyBenchmark {
+
+  private static final int VALUE_SIZE = 1024;
+
+  private static final float EVICTION_HEAP_PERCENTAGE = 60;
+
+  @Param({"false", "true"})
+  public String proactiveEviction;
+
+  Cache cache;
+  Region<Integer, byte[]> region;
+  AtomicInteger nextKey = new AtomicInteger();
+
+  @Setup(Level.Trial)
+  public void setup() {
+    System.setProperty("gemfire.HeapLRUCapacityController.proactiveEviction", proactiveEviction);
+    cache = new CacheFactory().set(LOG_LEVEL, "warn").create();
+    cache.getResourceManager().setEvictionHeapPercentage(EVICTION_HEAP_PERCENTAGE);
+    region = cache.<Integer, byte[]>createRegionFactory(RegionShortcut.LOCAL_HEAP_LRU)
+        .create("testRegion");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    cache.close();
+  }
+
+  @Benchmark
+  @Measurement(time = 10, iterations = 5)
+  @Warmup(time = 10, iterations = 3)
+  @BenchmarkMode(Mode.SampleTime)
+  @Threads(4)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public byte[] evictingCreate() {
+    return region.put(nextKey.incrementAndGet(), new byte[VALUE_SIZE]);
+  }
+}
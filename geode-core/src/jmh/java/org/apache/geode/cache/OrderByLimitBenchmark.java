@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+import static org.junit.Assert.assertEquals;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.cache.query.Query;
+import org.apache.geode.cache.query.SelectResults;
+
+/**
+ * Measures an ORDER BY ... LIMIT query over the entries of a partitioned region, without an index
+ * on the sort key, so every bucket sorts all its entries but keeps only the first LIMIT of them.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xmx2g", "-Xms2g"})
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OrderByLimitBenchmark {
+
+  private static final int ENTRIES = 1_000_000;
+
+  private static final int LIMIT = 100;
+
+  @Param({"", "distinct"})
+  public String distinct;
+
+  private Cache cache;
+  private Query query;
+
+  @Setup
+  public void setup() throws Exception {
+    cache = new CacheFactory().set(LOG_LEVEL, "warn").create();
+    Region<Integer, Product> region =
+        cache.<Integer, Product>createRegionFactory(RegionShortcut.PARTITION).create("region");
+    for (int i = 0; i < ENTRIES; i++) {
+      region.put(i, new Product(i, (i * 7919L) % ENTRIES));
+    }
+    query = cache.getQueryService().newQuery("select " + distinct
+        + " p.id, p.price from /region p order by p.price desc limit " + LIMIT);
+
+    // make sure the query returns what is expected
+    assertEquals(LIMIT, topProducts().size());
+  }
+
+  @TearDown
+  public void tearDown() {
+    cache.close();
+  }
+
+  @Benchmark
+  public SelectResults topProducts() throws Exception {
+    return (SelectResults) query.execute();
+  }
+
+  public static class Product implements Serializable {
+    private final int id;
+    private final long price;
+
+    public Product(int id, long price) {
+      this.id = id;
+      this.price = price;
+    }
+
+    public int getId() {
+      return id;
+    }
+
+    public long getPrice() {
+      return price;
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+import static org.junit.Assert.assertEquals;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.query.Query;
+import org.apache.geode.cache.query.SelectResults;
+
+/**
+ * Measures a query that joins two regions on an equality without indexes, with a hash join or with
+ * nested loops over all the pairs of entries.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xmx2g", "-Xms2g"})
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HashJoinBenchmark {
+
+  private static final int ORDERS_PER_CUSTOMER = 10;
+
+  @Param({"1000", "10000"})
+  public int customers;
+
+  @Param({"hashJoin", "nestedLoops"})
+  public String join;
+
+  private Cache cache;
+  private Query query;
+
+  @Setup
+  public void setup() throws Exception {
+    CompiledSelect.HASH_JOIN_MAX_BUILD_SIZE = join.equals("hashJoin") ? 1000000 : 0;
+    cache = new CacheFactory().set(LOG_LEVEL, "warn").create();
+    Region<Integer, Customer> customerRegion =
+        cache.<Integer, Customer>createRegionFactory(RegionShortcut.REPLICATE).create("customers");
+    Region<Integer, Order> orderRegion =
+        cache.<Integer, Order>createRegionFactory(RegionShortcut.REPLICATE).create("orders");
+    for (int i = 0; i < customers; i++) {
+      customerRegion.put(i, new Customer(i));
+    }
+    for (int i = 0; i < customers * ORDERS_PER_CUSTOMER; i++) {
+      orderRegion.put(i, new Order(i, i % customers));
+    }
+    query = cache.getQueryService().newQuery(
+        "select c.id, o.id from /customers c, /orders o where c.id = o.customerId");
+
+    // make sure the query returns what is expected
+    assertEquals(customers * ORDERS_PER_CUSTOMER, join().size());
+  }
+
+  @TearDown
+  public void tearDown() {
+    cache.close();
+  }
+
+  @Benchmark
+  public SelectResults join() throws Exception {
+    return (SelectResults) query.execute();
+  }
+
+  public static class Customer implements Serializable {
+    private final int id;
+
+    public Customer(int id) {
+      this.id = id;
+    }
+
+    public int getId() {
+      return id;
+    }
+  }
+
+  public static class Order implements Serializable {
+    private final int id;
+    private final int customerId;
+
+    public Order(int id, int customerId) {
+      this.id = id;
+      this.customerId = customerId;
+    }
+
+    public int getId() {
+      return id;
+    }
+
+    public int getCustomerId() {
+      return customerId;
+    }
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.Timer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.cache.ExpirationAttributes;
+
+/**
+ * Measures the cost of scheduling and cancelling entry expiration tasks while millions of them are
+ * pending, in the java.util.Timer that ExpirationScheduler uses by default and in an
+ * {@link ExpiryTimingWheel}, and how many tasks the timing wheel expires per second.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xmx4g", "-Xms4g"})
+@Measurement(iterations = 5)
+@Warmup(iterations = 3)
+public class ExpirySchedulingBenchmark {
+
+  /** The time to live of the tasks, they are due evenly spread over this much time */
+  private static final long TIME_TO_LIVE = TimeUnit.HOURS.toMillis(1);
+
+  private static final long TICK = 10;
+
+  /** As in ExpirationScheduler, the Timer is purged after this many cancellations */
+  private static final int MAX_PENDING_CANCELS = 10000;
+
+  @Param({"1000000", "10000000"})
+  public int pendingTasks;
+
+  @Param({"timer", "timingWheel"})
+  public String scheduler;
+
+  private Timer timer;
+  private ExpiryTimingWheel wheel;
+  private ExpiryTask[] tasks;
+  private long now;
+  private int pendingCancels;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    now = System.currentTimeMillis();
+    if (scheduler.equals("timer")) {
+      timer = new Timer(true);
+    } else {
+      wheel = new ExpiryTimingWheel(TICK, now);
+    }
+    tasks = new ExpiryTask[pendingTasks];
+    for (int i = 0; i < pendingTasks; i++) {
+      tasks[i] = schedule(TIME_TO_LIVE * i / pendingTasks);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (timer != null) {
+      timer.cancel();
+    }
+    tasks = null;
+  }
+
+  /**
+   * Cancels a pending task and schedules a new one in its place, as an update of an entry with a
+   * custom expiration does.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public void scheduleAndCancel() {
+    int index = ThreadLocalRandom.current().nextInt(pendingTasks);
+    cancel(tasks[index]);
+    tasks[index] = schedule(TIME_TO_LIVE / 2 + ThreadLocalRandom.current().nextLong(TIME_TO_LIVE));
+  }
+
+  /**
+   * Expires the tasks of the next tick of the timing wheel; each of them schedules a new task as an
+   * expiration of an entry that is not expired yet does. Only measures the timing wheel, the
+   * java.util.Timer runs its tasks in its own thread.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public int expireTick() {
+    if (wheel == null) {
+      return 0;
+    }
+    now += TICK;
+    return wheel.expire(now);
+  }
+
+  private ExpiryTask schedule(long delay) {
+    ExpiryTask task = new RescheduleTask();
+    if (timer != null) {
+      timer.schedule(task, delay);
+    } else {
+      wheel.schedule(task, now + delay);
+    }
+    return task;
+  }
+
+  private void cancel(ExpiryTask task) {
+    if (task.cancel() && timer != null && ++pendingCancels > MAX_PENDING_CANCELS) {
+      pendingCancels = 0;
+      timer.purge();
+    }
+  }
+
+  /**
+   * A task that only schedules a new task in the timing wheel when it runs.
+   */
+  private class RescheduleTask extends ExpiryTask {
+
+    RescheduleTask() {
+      super(null);
+    }
+
+    @Override
+    public void run2() {
+      if (wheel != null) {
+        wheel.schedule(new RescheduleTask(), now + TIME_TO_LIVE);
+      }
+    }
+
+    @Override
+    protected ExpirationAttributes getIdleAttributes() {
+      return null;
+    }
+
+    @Override
+    protected ExpirationAttributes getTTLAttributes() {
+      return null;
+    }
+
+    @Override
+    protected void basicPerformTimeout(boolean isPending) {}
+
+    @Override
+    protected void reschedule() {}
+
+    @Override
+    protected long getLastModifiedTime() {
+      return 0;
+    }
+
+    @Override
+    protected long getLastAccessedTime() {
+      return 0;
+    }
+
+    @Override
+    protected boolean invalidate() {
+      return false;
+    }
+
+    @Override
+    protected boolean destroy(boolean isPending) {
+      return false;
+    }
+
+    @Override
+    protected boolean localInvalidate() {
+      return false;
+    }
+
+    @Override
+    protected boolean localDestroy() {
+      return false;
+    }
+
+    @Override
+    protected void addExpiryTask() {}
+
+    @Override
+    public boolean isPending() {
+      return true;
+    }
+
+    @Override
+    public Object getKey() {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.distributed.internal.DistributionConfig;
+
+/**
+ * Measures the throughput of durable puts on a synchronous persistent region. Without group commit
+ * every record is written with its own synchronous write ("gemfire.syncWrites"), with group commit
+ * concurrent writers share the force of the oplog files.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class OplogGroupCommitBenchmark {
+  private static final int KEYS = 100_000;
+
+  @Param({"false", "true"})
+  public String groupCommit;
+
+  private File diskDir;
+  private Cache cache;
+  private Region<Integer, byte[]> region;
+  private final byte[] value = new byte[256];
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    System.setProperty(DistributionConfig.GEMFIRE_PREFIX + "syncWrites", "true");
+    System.setProperty(DiskStoreImpl.GROUP_COMMIT_PROPERTY_NAME, groupCommit);
+    diskDir = Files.createTempDirectory("OplogGroupCommitBenchmark").toFile();
+    cache = new CacheFactory().set(LOG_LEVEL, "warn").create();
+    cache.createDiskStoreFactory().setDiskDirs(new File[] {diskDir}).create("diskStore");
+    region = cache.<Integer, byte[]>createRegionFactory(RegionShortcut.LOCAL_PERSISTENT)
+        .setDiskStoreName("diskStore").setDiskSynchronous(true).create("region");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    cache.close();
+    FileUtils.deleteDirectory(diskDir);
+  }
+
+  @Benchmark
+  @Measurement(time = 5, iterations = 5)
+  @Warmup(iterations = 2)
+  @BenchmarkMode(Mode.Throughput)
+  @Threads(1)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public byte[] put1Thread() {
+    return put();
+  }
+
+  @Benchmark
+  @Measurement(time = 5, iterations = 5)
+  @Warmup(iterations = 2)
+  @BenchmarkMode(Mode.Throughput)
+  @Threads(4)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public byte[] put4Threads() {
+    return put();
+  }
+
+  @Benchmark
+  @Measurement(time = 5, iterations = 5)
+  @Warmup(iterations = 2)
+  @BenchmarkMode(Mode.Throughput)
+  @Threads(16)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public byte[] put16Threads() {
+    return put();
+  }
+
+  @Benchmark
+  @Measurement(time = 5, iterations = 5)
+  @Warmup(iterations = 2)
+  @BenchmarkMode(Mode.Throughput)
+  @Threads(64)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public byte[] put64Threads() {
+    return put();
+  }
+
+  private byte[] put() {
+    return region.put(ThreadLocalRandom.current().nextInt(KEYS), value);
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.client.ClientCache;
+import org.apache.geode.cache.client.ClientCacheFactory;
+import org.apache.geode.cache.client.ClientRegionShortcut;
+import org.apache.geode.cache.client.internal.PoolImpl;
+import org.apache.geode.cache.server.CacheServer;
+import org.apache.geode.internal.logging.VirtualThreadFactory;
+
+/**
+ * Measures the latency of client operations on a cache server that also holds many idle client
+ * connections, with the thread per connection acceptor running platform or virtual threads. The
+ * server runs in its own JVM so that the benchmark JVM only pays for the client side of the
+ * connections, which have no thread of their own.
+ * <p>
+ * Virtual threads need JDK 21 or later for the server JVM, older JVMs fall back to platform
+ * threads. 50,000 connections need a file descriptor limit above that on both sides.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class ClientConnectionScalabilityBenchmark {
+
+  private static final int ENTRIES = 1000;
+
+  private static final String REGION_NAME = "region";
+
+  private static final String READY = "server ready on port ";
+
+  @Param({"1000", "10000", "50000"})
+  public int connections;
+
+  @Param({"false", "true"})
+  public boolean virtualThreads;
+
+  private Process server;
+
+  private ClientCache clientCache;
+
+  private Region<Integer, String> region;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    String java = System.getProperty("java.home") + File.separator + "bin" + File.separator
+        + "java";
+    server = new ProcessBuilder(java, "-Xss256k",
+        "-D" + VirtualThreadFactory.USE_VIRTUAL_THREADS_PROPERTY + "=" + virtualThreads,
+        "-cp", System.getProperty("java.class.path"), Server.class.getName(),
+        Integer.toString(connections))
+            .redirectErrorStream(true).start();
+    int port = waitForServer();
+
+    clientCache = new ClientCacheFactory().set(LOG_LEVEL, "warn")
+        .addPoolServer("localhost", port)
+        .setPoolMinConnections(connections)
+        .setPoolMaxConnections(connections)
+        .setPoolIdleTimeout(-1)
+        .setPoolPingInterval(Integer.MAX_VALUE)
+        .create();
+    region = clientCache.<Integer, String>createClientRegionFactory(ClientRegionShortcut.PROXY)
+        .create(REGION_NAME);
+    for (int i = 0; i < ENTRIES; i++) {
+      region.put(i, "value");
+    }
+
+    // the pool opens its minimum connections in the background
+    PoolImpl pool = (PoolImpl) clientCache.getDefaultPool();
+    long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(10);
+    while (pool.getConnectionCount() < connections) {
+      if (System.nanoTime() > deadline) {
+        throw new IllegalStateException(
+            "Only " + pool.getConnectionCount() + " connections could be opened");
+      }
+      Thread.sleep(100);
+    }
+  }
+
+  /**
+   * @return the port of the cache server
+   */
+  private int waitForServer() throws IOException {
+    BufferedReader output = new BufferedReader(
+        new InputStreamReader(server.getInputStream(), StandardCharsets.UTF_8));
+    String line;
+    while ((line = output.readLine()) != null) {
+      int index = line.indexOf(READY);
+      if (index >= 0) {
+        Thread drainer = new Thread(() -> drain(output), "server output drainer");
+        drainer.setDaemon(true);
+        drainer.start();
+        return Integer.parseInt(line.substring(index + READY.length()).trim());
+      }
+    }
+    throw new IllegalStateException("Cache server exited before it was ready");
+  }
+
+  private static void drain(BufferedReader output) {
+    try {
+      while (output.readLine() != null) {
+        // keep the server from blocking on a full pipe
+      }
+    } catch (IOException ignored) {
+      // the server is gone
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    if (clientCache != null) {
+      clientCache.close();
+    }
+    server.destroy();
+    server.waitFor();
+  }
+
+  @State(Scope.Thread)
+  public static class KeyState {
+    Random random = new Random();
+  }
+
+  @Benchmark
+  @Threads(8)
+  @Measurement(iterations = 5)
+  @Warmup(iterations = 2)
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public String get(KeyState state) {
+    return region.get(state.random.nextInt(ENTRIES));
+  }
+
+  @Benchmark
+  @Threads(8)
+  @Measurement(iterations = 5)
+  @Warmup(iterations = 2)
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public String put(KeyState state) {
+    return region.put(state.random.nextInt(ENTRIES), "value");
+  }
+
+  /**
+   * Runs the cache server with the thread per connection acceptor
+   */
+  public static class Server {
+    public static void main(String[] args) throws Exception {
+      int connections = Integer.parseInt(args[0]);
+      Cache cache = new CacheFactory().set(LOG_LEVEL, "warn").create();
+      cache.<Integer, String>createRegionFactory(RegionShortcut.REPLICATE).create(REGION_NAME);
+      CacheServer cacheServer = cache.addCacheServer();
+      cacheServer.setPort(0);
+      cacheServer.setMaxThreads(0);
+      cacheServer.setMaxConnections(connections * 2);
+      cacheServer.start();
+      System.out.println(READY + cacheServer.getPort());
+      System.out.flush();
+      Thread.sleep(Long.MAX_VALUE);
+    }
+  }
+}
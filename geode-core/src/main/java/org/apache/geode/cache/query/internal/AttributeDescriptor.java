@@ -15,14 +15,15 @@
 
 package org.apache.geode.cache.query.internal;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
+import java.lang.reflect.Modifier;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -38,6 +39,8 @@ import org.apache.geode.internal.util.JavaWorkarounds;
 import org.apache.geode.pdx.JSONFormatter;
 import org.apache.geode.pdx.PdxSerializationException;
 import org.apache.geode.pdx.internal.InternalPdxInstance;
+import org.apache.geode.pdx.internal.PdxField;
+import org.apache.geode.pdx.internal.PdxInstanceImpl;
 import org.apache.geode.pdx.internal.PdxType;
 import org.apache.geode.pdx.internal.TypeRegistry;
 
@@ -52,9 +55,20 @@ public class AttributeDescriptor {
   private final String _name;
   private final MethodInvocationAuthorizer _methodInvocationAuthorizer;
   private final TypeRegistry _pdxRegistry;
-  /** cache for remembering the correct Member for a class and attribute */
+  /**
+   * cache for remembering the compiled accessor for a class and attribute. The accessors of a class
+   * go away with the class, so the accessors of a reloaded class are compiled again.
+   */
   @MakeNotStatic
-  private static final ConcurrentMap<List, Member> _localCache = new ConcurrentHashMap();
+  private static final ClassValue<ConcurrentMap<String, Accessor>> _localCache =
+      new ClassValue<ConcurrentMap<String, Accessor>>() {
+        @Override
+        protected ConcurrentMap<String, Accessor> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  private static final MethodType READ_TYPE = MethodType.methodType(Object.class, Object.class);
 
 
 
@@ -98,78 +112,51 @@ public class AttributeDescriptor {
       return QueryService.UNDEFINED;
     }
 
-    Class resolutionClass = target.getClass();
-    Member m = getReadMember(resolutionClass);
+    Accessor accessor = getAccessor(target.getClass());
+    Member m = accessor.member;
+    if (accessor.handle == null) {
+      throw new NameNotFoundException(
+          String.format("%s ' %s ' in class ' %s ' is not accessible to the query processor",
+              new Object[] {m instanceof Method ? "Method" : "Field", m.getName(),
+                  target.getClass().getName()}));
+    }
+    if (m instanceof Method) {
+      _methodInvocationAuthorizer.authorizeMethodInvocation((Method) m, target);
+    }
     try {
-      if (m instanceof Method) {
-        try {
-          _methodInvocationAuthorizer.authorizeMethodInvocation((Method) m, target);
-          return ((Method) m).invoke(target, (Object[]) null);
-        } catch (EntryDestroyedException e) {
-          // eat the Exception
-          return QueryService.UNDEFINED;
-        } catch (IllegalAccessException e) {
-          throw new NameNotFoundException(
-              String.format(
-                  "Method ' %s ' in class ' %s ' is not accessible to the query processor",
-                  new Object[] {m.getName(), target.getClass().getName()}),
-              e);
-        } catch (InvocationTargetException e) {
-          // if the target exception is Exception, wrap that,
-          // otherwise wrap the InvocationTargetException itself
-          Throwable t = e.getTargetException();
-          if ((t instanceof EntryDestroyedException)) {
-            // eat the exception
-            return QueryService.UNDEFINED;
-          }
-          if (t instanceof Exception)
-            throw new QueryInvocationTargetException(t);
-          throw new QueryInvocationTargetException(e);
-        }
-      } else {
-        try {
-          return ((Field) m).get(target);
-        } catch (IllegalAccessException e) {
-          throw new NameNotFoundException(
-              String.format(
-                  "Field ' %s ' in class ' %s ' is not accessible to the query processor",
-                  new Object[] {m.getName(), target.getClass().getName()}),
-              e);
-        } catch (EntryDestroyedException e) {
-          return QueryService.UNDEFINED;
-        }
-      }
+      return accessor.handle.invokeExact(target);
     } catch (EntryDestroyedException e) {
       // eat the exception
       return QueryService.UNDEFINED;
+    } catch (VirtualMachineError e) {
+      throw e;
+    } catch (Throwable t) {
+      // the handle throws what the method throws, without an InvocationTargetException
+      throw new QueryInvocationTargetException(t);
     }
   }
 
   Member getReadMember(Class targetClass) throws NameNotFoundException {
+    return getAccessor(targetClass).member;
+  }
 
+  private Accessor getAccessor(Class<?> targetClass) throws NameNotFoundException {
     // mapping: public field (same name), method (getAttribute()),
     // method (attribute())
-    List key = new ArrayList();
-    key.add(targetClass);
-    key.add(_name);
-
-    Member m = JavaWorkarounds.computeIfAbsent(_localCache, key, k -> {
-      Member member = getReadField(targetClass);
-      return member == null ? getReadMethod(targetClass) : member;
-    });
+    Accessor accessor =
+        JavaWorkarounds.computeIfAbsent(_localCache.get(targetClass), _name, k -> {
+          Member member = getReadField(targetClass);
+          return new Accessor(member == null ? getReadMethod(targetClass) : member);
+        });
 
-    if (m == null) {
+    if (accessor.member == null) {
       throw new NameNotFoundException(
           String.format("No public attribute named ' %s ' was found in class %s",
               new Object[] {_name, targetClass.getName()}));
     }
-
-    // override security for nonpublic derived classes with public members
-    ((AccessibleObject) m).setAccessible(true);
-    return m;
+    return accessor;
   }
 
-
   private Field getReadField(Class targetType) {
     try {
       return targetType.getField(_name);
@@ -210,6 +197,14 @@ public class AttributeDescriptor {
    */
   private Object readPdx(InternalPdxInstance pdxInstance)
       throws NameNotFoundException, QueryInvocationTargetException {
+    if (pdxInstance.getClass() == PdxInstanceImpl.class) {
+      // look the field up once instead of once for each step of hasField and getRawField
+      PdxInstanceImpl pdxInstanceImpl = (PdxInstanceImpl) pdxInstance;
+      PdxField field = pdxInstanceImpl.getPdxType().getPdxField(_name);
+      if (field != null) {
+        return pdxInstanceImpl.getRawField(field);
+      }
+    }
     // if the field is present in the pdxinstance
     if (pdxInstance.hasField(_name)) {
       // return PdxString if field is a String otherwise invoke readField
@@ -298,6 +293,42 @@ public class AttributeDescriptor {
     return false;
   }
 
+  /**
+   * The member that an attribute resolves to in a class, with a method handle that reads it from an
+   * instance of the class. Both are null if the class has no such attribute.
+   */
+  private static class Accessor {
+    private final Member member;
+
+    /** Takes and returns Objects; null if the member is not accessible */
+    private final MethodHandle handle;
+
+    Accessor(Member member) {
+      this.member = member;
+      this.handle = member == null ? null : compile(member);
+    }
+
+    private static MethodHandle compile(Member member) {
+      // override security for nonpublic derived classes with public members
+      ((AccessibleObject) member).setAccessible(true);
+      MethodHandle handle;
+      try {
+        if (member instanceof Method) {
+          handle = MethodHandles.lookup().unreflect((Method) member);
+        } else {
+          handle = MethodHandles.lookup().unreflectGetter((Field) member);
+        }
+      } catch (IllegalAccessException e) {
+        return null;
+      }
+      if (Modifier.isStatic(member.getModifiers())) {
+        // like Method.invoke and Field.get ignore the target of a static member
+        handle = MethodHandles.dropArguments(handle, 0, Object.class);
+      }
+      return handle.asType(READ_TYPE);
+    }
+  }
+
 
 
 }
@@ -23,12 +23,14 @@ import org.apache.geode.cache.query.internal.aggregate.Avg;
 import org.apache.geode.cache.query.internal.aggregate.AvgBucketNode;
 import org.apache.geode.cache.query.internal.aggregate.AvgDistinct;
 import org.apache.geode.cache.query.internal.aggregate.AvgDistinctPRQueryNode;
+import org.apache.geode.cache.query.internal.aggregate.AvgMemberNode;
 import org.apache.geode.cache.query.internal.aggregate.AvgPRQueryNode;
 import org.apache.geode.cache.query.internal.aggregate.Count;
 import org.apache.geode.cache.query.internal.aggregate.CountDistinct;
 import org.apache.geode.cache.query.internal.aggregate.CountDistinctPRQueryNode;
 import org.apache.geode.cache.query.internal.aggregate.CountPRQueryNode;
 import org.apache.geode.cache.query.internal.aggregate.DistinctAggregator;
+import org.apache.geode.cache.query.internal.aggregate.DistinctMemberNode;
 import org.apache.geode.cache.query.internal.aggregate.MaxMin;
 import org.apache.geode.cache.query.internal.aggregate.Sum;
 import org.apache.geode.cache.query.internal.aggregate.SumDistinct;
@@ -63,12 +65,15 @@ public class CompiledAggregateFunction extends AbstractCompiledValue {
   public Object evaluate(ExecutionContext context) throws FunctionDomainException,
       TypeMismatchException, NameResolutionException, QueryInvocationTargetException {
     boolean isPRQueryNode = context.getIsPRQueryNode();
+    boolean isMemberNode = context.getIsPRMemberNode();
     boolean isBucketNode = context.getBucketList() != null;
     switch (this.aggFuncType) {
 
       case OQLLexerTokenTypes.SUM:
         if (isPRQueryNode) {
           return this.distinctOnly ? new SumDistinctPRQueryNode() : new Sum();
+        } else if (isMemberNode) {
+          return this.distinctOnly ? new DistinctMemberNode() : new Sum();
         } else {
           return this.distinctOnly ? (isBucketNode ? new DistinctAggregator() : new SumDistinct())
               : new Sum();
@@ -83,6 +88,8 @@ public class CompiledAggregateFunction extends AbstractCompiledValue {
       case OQLLexerTokenTypes.AVG:
         if (isPRQueryNode) {
           return this.distinctOnly ? new AvgDistinctPRQueryNode() : new AvgPRQueryNode();
+        } else if (isMemberNode) {
+          return this.distinctOnly ? new DistinctMemberNode() : new AvgMemberNode();
         } else {
           return this.distinctOnly ? (isBucketNode ? new DistinctAggregator() : new AvgDistinct())
               : (isBucketNode ? new AvgBucketNode() : new Avg());
@@ -91,6 +98,8 @@ public class CompiledAggregateFunction extends AbstractCompiledValue {
       case OQLLexerTokenTypes.COUNT:
         if (isPRQueryNode) {
           return this.distinctOnly ? new CountDistinctPRQueryNode() : new CountPRQueryNode();
+        } else if (isMemberNode) {
+          return this.distinctOnly ? new DistinctMemberNode() : new CountPRQueryNode();
         } else {
           return this.distinctOnly ? (isBucketNode ? new DistinctAggregator() : new CountDistinct())
               : new Count();
@@ -192,6 +192,22 @@ public class CompiledGroupBySelect extends CompiledSelect {
     return newResults;
   }
 
+  /**
+   * Combines the rows computed on the buckets of a data store into one row per group, so that the
+   * data store sends one row per group to the PR query node instead of one per bucket. The rows of
+   * the buckets must be sorted on the group by columns, and the context must have the bucket list.
+   */
+  public SelectResults combineBucketResults(SelectResults bucketResults, ExecutionContext context)
+      throws FunctionDomainException, TypeMismatchException, NameResolutionException,
+      QueryInvocationTargetException {
+    context.setIsPRMemberNode(true);
+    try {
+      return applyAggregateAndGroupBy(bucketResults, context);
+    } finally {
+      context.setIsPRMemberNode(false);
+    }
+  }
+
   private SelectResults createResultSet(ExecutionContext context, ObjectType elementType,
       boolean isStruct, boolean createOrderedResults) {
     elementType = createNewElementType(elementType, isStruct);
@@ -17,10 +17,12 @@ package org.apache.geode.cache.query.internal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
+import org.apache.geode.annotations.internal.MutableForTesting;
 import org.apache.geode.cache.Cache;
 import org.apache.geode.cache.CacheClosedException;
 import org.apache.geode.cache.EntryDestroyedException;
@@ -46,12 +48,22 @@ import org.apache.geode.cache.query.internal.types.TypeUtils;
 import org.apache.geode.cache.query.types.CollectionType;
 import org.apache.geode.cache.query.types.ObjectType;
 import org.apache.geode.cache.query.types.StructType;
+import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.internal.cache.InternalCache;
 import org.apache.geode.pdx.PdxInstance;
 import org.apache.geode.pdx.internal.PdxString;
 
 public class CompiledSelect extends AbstractCompiledValue {
 
+  /**
+   * The maximum number of elements loaded in the hash table of a hash join at a time. The elements
+   * of a larger collection are loaded in several parts and the other collection is iterated once
+   * for each part. 0 disables hash joins.
+   */
+  @MutableForTesting
+  static int HASH_JOIN_MAX_BUILD_SIZE = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "Query.HASH_JOIN_MAX_BUILD_SIZE", 1000000);
+
   protected List<CompiledSortCriterion> orderByAttrs; // order by attributes: list of CompiledValue
   private CompiledValue whereClause; // can be null if there isn't one
   private List iterators; // fromClause: list of CompiledIteratorDefs
@@ -695,6 +707,11 @@ public class CompiledSelect extends AbstractCompiledValue {
         }
         return results;
       }
+      CompiledComparison joinCondition = getHashJoinCondition(context);
+      if (joinCondition != null) {
+        doHashJoin(joinCondition, results, context);
+        return results;
+      }
     }
     int numElementsInResult = 0;
     try {
@@ -768,44 +785,9 @@ public class CompiledSelect extends AbstractCompiledValue {
       QueryInvocationTargetException, CompiledSelect.NullIteratorException {
     List iterList = context.getCurrentIterators();
     if (level == iterList.size()) {
-      boolean addToResults = true;
-      if (evaluateWhereClause) {
-        Object result = this.whereClause.evaluate(context);
-        QueryObserver observer = QueryObserverHolder.getInstance();
-        observer.afterIterationEvaluation(result);
-        if (result == null) {
-          addToResults = false;
-        } else if (result instanceof Boolean) {
-          addToResults = (Boolean) result;
-        } else if (result == QueryService.UNDEFINED) {
-          // add UNDEFINED to results only for NOT EQUALS queries
-          if (this.whereClause.getType() == COMPARISON) {
-            int operator = ((Filter) this.whereClause).getOperator();
-            if ((operator != TOK_NE && operator != TOK_NE_ALT)) {
-              addToResults = false;
-            }
-          } else {
-            addToResults = false;
-          }
-        } else {
-          throw new TypeMismatchException(
-              String.format("The WHERE clause was type ' %s ' instead of boolean",
-                  result.getClass().getName()));
-        }
-      }
-      if (addToResults) {
-        int occurrence =
-            applyProjectionAndAddToResultSet(context, results, this.orderByAttrs == null);
-        // If the occurrence is greater than 1, then only in case of
-        // non distinct query should it be treated as contributing to size
-        // else duplication will be eliminated when making it distinct using
-        // ResultsCollectionWrapper and we will fall short of limit
-        if (occurrence == 1 || (occurrence > 1 && !this.distinct)) {
-          // (Unique i.e first time occurrence) or subsequent occurrence
-          // for non distinct query
-          ++numElementsInResult;
-        }
-      }
+      numElementsInResult =
+          applyWhereClauseAndAddToResultSet(results, context, evaluateWhereClause,
+              numElementsInResult);
     } else {
       RuntimeIterator rIter = (RuntimeIterator) iterList.get(level);
       SelectResults sr = rIter.evaluateCollection(context);
@@ -822,13 +804,7 @@ public class CompiledSelect extends AbstractCompiledValue {
         return 1;
       }
 
-      // #44807: select * query should not deserialize objects
-      // In case of "select *" queries we can keep the results in serialized
-      // form and send it to the client.
-      if (context.getQuery() != null && ((DefaultQuery) context.getQuery()).isKeepSerialized()
-          && sr instanceof QRegion) {
-        ((QRegion) sr).setKeepSerialized(true);
-      }
+      keepSerializedIfSelectAll(sr, context);
 
       // Iterate through the data set.
       for (Object aSr : sr) {
@@ -850,6 +826,173 @@ public class CompiledSelect extends AbstractCompiledValue {
     return numElementsInResult;
   }
 
+  /**
+   * Returns the equality of the where clause to hash join the two iterators of the current scope
+   * on: an equality between an expression of each iterator, alone or in a conjunction. Returns null
+   * if there are not exactly two independent region iterators or if there is no such equality.
+   */
+  private CompiledComparison getHashJoinCondition(ExecutionContext context) {
+    List iterList = context.getCurrentIterators();
+    if (HASH_JOIN_MAX_BUILD_SIZE <= 0 || iterList.size() != 2 || context.isCqQueryContext()
+        || !context.getAllIndependentIteratorsOfCurrentScope().containsAll(iterList)) {
+      return null;
+    }
+    List conditions = Collections.singletonList(this.whereClause);
+    if (this.whereClause instanceof CompiledJunction
+        && ((CompiledJunction) this.whereClause).getOperator() == LITERAL_and) {
+      conditions = this.whereClause.getChildren();
+    }
+    for (Object condition : conditions) {
+      if (condition instanceof CompiledComparison
+          && ((CompiledComparison) condition).getOperator() == TOK_EQ) {
+        CompiledComparison comparison = (CompiledComparison) condition;
+        Set leftIterators =
+            QueryUtils.getCurrentScopeUltimateRuntimeIteratorsIfAny(comparison._left, context);
+        Set rightIterators =
+            QueryUtils.getCurrentScopeUltimateRuntimeIteratorsIfAny(comparison._right, context);
+        if (leftIterators.size() == 1 && rightIterators.size() == 1
+            && !leftIterators.equals(rightIterators)) {
+          return comparison;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Joins the two iterators of the current scope on the given equality without iterating over all
+   * the pairs of their elements. The elements of the smaller collection are loaded in a hash table
+   * on the value of their side of the equality, then the elements of the other collection are
+   * looked up in it. The where clause is evaluated for each pair found.
+   */
+  private void doHashJoin(CompiledComparison joinCondition, SelectResults results,
+      ExecutionContext context) throws TypeMismatchException, FunctionDomainException,
+      NameResolutionException, QueryInvocationTargetException {
+    List iterList = context.getCurrentIterators();
+    RuntimeIterator leftIterator = (RuntimeIterator) QueryUtils
+        .getCurrentScopeUltimateRuntimeIteratorsIfAny(joinCondition._left, context).iterator()
+        .next();
+    RuntimeIterator rightIterator =
+        (RuntimeIterator) (iterList.get(0) == leftIterator ? iterList.get(1) : iterList.get(0));
+    SelectResults leftCollection = leftIterator.evaluateCollection(context);
+    SelectResults rightCollection = rightIterator.evaluateCollection(context);
+    if (leftCollection == null || rightCollection == null) {
+      return;
+    }
+    keepSerializedIfSelectAll(leftCollection, context);
+    keepSerializedIfSelectAll(rightCollection, context);
+
+    boolean buildLeft = leftCollection.size() <= rightCollection.size();
+    RuntimeIterator buildIterator = buildLeft ? leftIterator : rightIterator;
+    RuntimeIterator probeIterator = buildLeft ? rightIterator : leftIterator;
+    CompiledValue buildJoinValue = buildLeft ? joinCondition._left : joinCondition._right;
+    CompiledValue probeJoinValue = buildLeft ? joinCondition._right : joinCondition._left;
+    SelectResults probeCollection = buildLeft ? rightCollection : leftCollection;
+    Iterator buildElements = (buildLeft ? leftCollection : rightCollection).iterator();
+
+    QueryObserver observer = QueryObserverHolder.getInstance();
+    observer.beforeHashJoinOfIterators(buildIterator, probeIterator, joinCondition);
+    Integer limitValue = evaluateLimitValue(context, this.limit);
+    HashJoinTable table = new HashJoinTable();
+    int numElementsInResult = 0;
+    int buildPasses = 0;
+    boolean limitReached = false;
+    while (!limitReached && buildElements.hasNext()) {
+      table.clear();
+      while (table.size() < HASH_JOIN_MAX_BUILD_SIZE && buildElements.hasNext()) {
+        // Check if query execution on this thread is canceled.
+        QueryMonitor.throwExceptionIfQueryOnCurrentThreadIsCanceled();
+
+        Object buildElement = buildElements.next();
+        buildIterator.setCurrent(buildElement);
+        observer.beforeIterationEvaluation(buildIterator, buildElement);
+        table.add(buildJoinValue.evaluate(context), buildElement);
+      }
+      buildPasses++;
+
+      Iterator probeElements = probeCollection.iterator();
+      while (!limitReached && probeElements.hasNext()) {
+        QueryMonitor.throwExceptionIfQueryOnCurrentThreadIsCanceled();
+
+        Object probeElement = probeElements.next();
+        probeIterator.setCurrent(probeElement);
+        observer.beforeIterationEvaluation(probeIterator, probeElement);
+        for (Object buildElement : table.getMatches(probeJoinValue.evaluate(context))) {
+          buildIterator.setCurrent(buildElement);
+          numElementsInResult =
+              applyWhereClauseAndAddToResultSet(results, context, true, numElementsInResult);
+          if (this.orderByAttrs == null && limitValue > -1
+              && numElementsInResult == limitValue) {
+            limitReached = true;
+            break;
+          }
+        }
+      }
+    }
+    observer.afterHashJoinOfIterators(buildPasses, results);
+  }
+
+  /**
+   * #44807: select * query should not deserialize objects. In case of "select *" queries we can
+   * keep the results in serialized form and send it to the client.
+   */
+  private void keepSerializedIfSelectAll(SelectResults collection, ExecutionContext context) {
+    if (context.getQuery() != null && ((DefaultQuery) context.getQuery()).isKeepSerialized()
+        && collection instanceof QRegion) {
+      ((QRegion) collection).setKeepSerialized(true);
+    }
+  }
+
+  /**
+   * Adds the projection of the current elements of the iterators to the results if the where clause
+   * is true for them.
+   *
+   * @return the number of elements in the results, counting the duplicates only if they are kept
+   */
+  private int applyWhereClauseAndAddToResultSet(SelectResults results, ExecutionContext context,
+      boolean evaluateWhereClause, int numElementsInResult) throws TypeMismatchException,
+      FunctionDomainException, NameResolutionException, QueryInvocationTargetException {
+    boolean addToResults = true;
+    if (evaluateWhereClause) {
+      Object result = this.whereClause.evaluate(context);
+      QueryObserver observer = QueryObserverHolder.getInstance();
+      observer.afterIterationEvaluation(result);
+      if (result == null) {
+        addToResults = false;
+      } else if (result instanceof Boolean) {
+        addToResults = (Boolean) result;
+      } else if (result == QueryService.UNDEFINED) {
+        // add UNDEFINED to results only for NOT EQUALS queries
+        if (this.whereClause.getType() == COMPARISON) {
+          int operator = ((Filter) this.whereClause).getOperator();
+          if ((operator != TOK_NE && operator != TOK_NE_ALT)) {
+            addToResults = false;
+          }
+        } else {
+          addToResults = false;
+        }
+      } else {
+        throw new TypeMismatchException(
+            String.format("The WHERE clause was type ' %s ' instead of boolean",
+                result.getClass().getName()));
+      }
+    }
+    if (addToResults) {
+      int occurrence =
+          applyProjectionAndAddToResultSet(context, results, this.orderByAttrs == null);
+      // If the occurrence is greater than 1, then only in case of
+      // non distinct query should it be treated as contributing to size
+      // else duplication will be eliminated when making it distinct using
+      // ResultsCollectionWrapper and we will fall short of limit
+      if (occurrence == 1 || (occurrence > 1 && !this.distinct)) {
+        // (Unique i.e first time occurrence) or subsequent occurrence
+        // for non distinct query
+        ++numElementsInResult;
+      }
+    }
+    return numElementsInResult;
+  }
+
   private SelectResults applyProjectionOnCollection(SelectResults resultSet,
       ExecutionContext context, boolean ignoreOrderBy) throws TypeMismatchException,
       FunctionDomainException, NameResolutionException, QueryInvocationTargetException {
@@ -955,7 +1098,8 @@ public class CompiledSelect extends AbstractCompiledValue {
   }
 
   private SelectResults prepareEmptyResultSet(ExecutionContext context, boolean ignoreOrderBy)
-      throws TypeMismatchException, AmbiguousNameException {
+      throws FunctionDomainException, TypeMismatchException, NameResolutionException,
+      QueryInvocationTargetException {
     // If no projection attributes or '*' as projection attribute & more than one/RunTimeIterator
     // then create a StructSet.
     // If attribute is null or '*' & only one RuntimeIterator then create a ResultSet.
@@ -979,6 +1123,9 @@ public class CompiledSelect extends AbstractCompiledValue {
     boolean nullValuesAtStart = orderByAttrs != null && !orderByAttrs.get(0).getCriterion();
     OrderByComparator comparator;
     boolean isOrdered = this.orderByAttrs != null;
+    // the sorted results keep only the first rows up to the limit while they are added
+    int maxSize = isOrdered ? evaluateLimitValue(context, this.limit) : -1;
+    SortedResultsBag sortedResultsBag;
 
     switch (DataContainerType.determineDataContainerType(isOrdered, distinct,
         elementType.isStructType(), ignoreOrderBy)) {
@@ -999,12 +1146,18 @@ public class CompiledSelect extends AbstractCompiledValue {
         comparator = this.hasUnmappedOrderByCols
             ? new OrderByComparatorMapped(this.orderByAttrs, elementType, context)
             : new OrderByComparator(this.orderByAttrs, elementType, context);
-        return new SortedStructSet(comparator, (StructTypeImpl) elementType);
+        SortedStructSet sortedStructSet =
+            new SortedStructSet(comparator, (StructTypeImpl) elementType);
+        sortedStructSet.setMaxSize(maxSize);
+        return sortedStructSet;
       case ORDERED_INDISTINCT_STRUCT_UNIGNORED:
         comparator = this.hasUnmappedOrderByCols
             ? new OrderByComparatorMapped(this.orderByAttrs, elementType, context)
             : new OrderByComparator(this.orderByAttrs, elementType, context);
-        return new SortedStructBag(comparator, (StructType) elementType, nullValuesAtStart);
+        sortedResultsBag =
+            new SortedStructBag(comparator, (StructType) elementType, nullValuesAtStart);
+        sortedResultsBag.setMaxSize(maxSize);
+        return sortedResultsBag;
       case ORDERED_DISTINCT_RESULTS_IGNORED:
         results = new LinkedResultSet();
         results.setElementType(elementType);
@@ -1017,16 +1170,18 @@ public class CompiledSelect extends AbstractCompiledValue {
         comparator = this.hasUnmappedOrderByCols
             ? new OrderByComparatorMapped(this.orderByAttrs, elementType, context)
             : new OrderByComparator(this.orderByAttrs, elementType, context);
-        results = new SortedResultSet(comparator);
-        results.setElementType(elementType);
-        return results;
+        SortedResultSet sortedResultSet = new SortedResultSet(comparator);
+        sortedResultSet.setElementType(elementType);
+        sortedResultSet.setMaxSize(maxSize);
+        return sortedResultSet;
       case ORDERED_INDISTINCT_RESULTS_UNIGNORED:
         comparator = this.hasUnmappedOrderByCols
             ? new OrderByComparatorMapped(this.orderByAttrs, elementType, context)
             : new OrderByComparator(this.orderByAttrs, elementType, context);
-        results = new SortedResultsBag(comparator, nullValuesAtStart);
-        results.setElementType(elementType);
-        return results;
+        sortedResultsBag = new SortedResultsBag(comparator, nullValuesAtStart);
+        sortedResultsBag.setElementType(elementType);
+        sortedResultsBag.setMaxSize(maxSize);
+        return sortedResultsBag;
     }
     throw new TypeMismatchException("Logical inconsistency in CompiledSelect");
   }
@@ -58,6 +58,9 @@ public class ExecutionContext {
 
   private final InternalCache cache;
 
+  /** The authorizer of the query service, looked up once instead of for every attribute read */
+  private MethodInvocationAuthorizer methodInvocationAuthorizer;
+
   /**
    * a Sequentially increasing number identifying a scope & also indicating whether a given scope
    * came prior or later to another scope. It is needed to distiguish between two scopes having same
@@ -95,6 +98,7 @@ public class ExecutionContext {
   private boolean distinct = false;
   private Object currentProjectionField = null;
   private boolean isPRQueryNode = false;
+  private boolean isPRMemberNode = false;
 
   private Optional<ScheduledFuture> cancelationTask;
   private volatile CacheRuntimeException canceledException;
@@ -311,6 +315,13 @@ public class ExecutionContext {
     return cache;
   }
 
+  public MethodInvocationAuthorizer getMethodInvocationAuthorizer() {
+    if (methodInvocationAuthorizer == null) {
+      methodInvocationAuthorizer = cache.getQueryService().getMethodInvocationAuthorizer();
+    }
+    return methodInvocationAuthorizer;
+  }
+
   private CompiledValue resolveImplicitPath(String name) throws AmbiguousNameException {
     CompiledValue result = resolveImplicitOperationName(name, 0, false);
     return (result == null) ? null : new CompiledPath(result, name);
@@ -647,6 +658,18 @@ public class ExecutionContext {
     return isPRQueryNode;
   }
 
+  /**
+   * Set while the results of the buckets of a data store are combined, before they are sent to the
+   * PR query node.
+   */
+  void setIsPRMemberNode(boolean isPRMemberNode) {
+    this.isPRMemberNode = isPRMemberNode;
+  }
+
+  boolean getIsPRMemberNode() {
+    return isPRMemberNode;
+  }
+
   /**
    * Check to see if the query execution was canceled. The query gets canceled by the QueryMonitor
    * if it takes more than the max query execution time or low memory situations
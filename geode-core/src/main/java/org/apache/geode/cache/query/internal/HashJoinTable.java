@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.pdx.internal.PdxString;
+
+/**
+ * The build side of a hash join: the elements of one collection of an equi-join, grouped by the
+ * value of their join expression, so that the elements of the other collection whose join value
+ * may be equal are found with a single lookup.
+ *
+ * The join values are hashed on a normalized form that is the same for any two values that the
+ * OQL '=' operator considers equal: numbers of different types compare equal when their values do,
+ * PdxStrings compare equal to Strings. Values whose OQL equality is not consistent with a hash,
+ * like PdxInstances or arbitrary Comparables, are kept apart and match every value. The lookup can
+ * return elements whose join value is not equal, the join condition still has to be evaluated on
+ * every pair found.
+ */
+class HashJoinTable {
+
+  private final Map<Object, List<Object>> elementsByKey = new HashMap<>();
+
+  /** The elements whose join value can not be hashed, they match any join value */
+  private final List<Object> unhashedElements = new ArrayList<>();
+
+  private int size;
+
+  void add(Object joinValue, Object element) {
+    Object key = hashKey(joinValue);
+    if (key == null) {
+      unhashedElements.add(element);
+    } else {
+      elementsByKey.computeIfAbsent(key, k -> new ArrayList<>(1)).add(element);
+    }
+    size++;
+  }
+
+  /**
+   * Returns the elements whose join value may be equal to the given one. The elements are not
+   * copied, the returned view is only valid until the table is changed.
+   */
+  Iterable<Object> getMatches(Object joinValue) {
+    Object key = hashKey(joinValue);
+    if (key == null) {
+      return () -> Stream.concat(elementsByKey.values().stream().flatMap(List::stream),
+          unhashedElements.stream()).iterator();
+    }
+    List<Object> matches = elementsByKey.getOrDefault(key, Collections.emptyList());
+    if (unhashedElements.isEmpty()) {
+      return matches;
+    }
+    return () -> Stream.concat(matches.stream(), unhashedElements.stream()).iterator();
+  }
+
+  int size() {
+    return size;
+  }
+
+  void clear() {
+    elementsByKey.clear();
+    unhashedElements.clear();
+    size = 0;
+  }
+
+  /**
+   * Returns the key to hash the join value on, or null if it can not be hashed.
+   */
+  static Object hashKey(Object joinValue) {
+    if (joinValue == null) {
+      return NullKey.INSTANCE;
+    }
+    Class<?> type = joinValue.getClass();
+    if (type == Integer.class || type == Long.class || type == Double.class
+        || type == Float.class || type == Short.class || type == Byte.class) {
+      // numbers of different types are compared with the precision of the less precise one, the
+      // precision of a float is the least of all
+      return (float) ((Number) joinValue).doubleValue();
+    }
+    if (joinValue instanceof String || joinValue instanceof Boolean
+        || joinValue instanceof Character || joinValue instanceof Enum
+        || joinValue == QueryService.UNDEFINED) {
+      return joinValue;
+    }
+    if (joinValue instanceof PdxString) {
+      return joinValue.toString();
+    }
+    if (joinValue instanceof Date) {
+      // the milliseconds as TemporalComparator computes them, the remaining nanoseconds of
+      // Timestamps only make the key less selective
+      long time = ((Date) joinValue).getTime();
+      if (joinValue instanceof Timestamp) {
+        time += ((Timestamp) joinValue).getNanos() / 1000000;
+      }
+      return time;
+    }
+    return null;
+  }
+
+  /** The key of the null join values, as the keys of the elements are never null */
+  private enum NullKey {
+    INSTANCE
+  }
+}
@@ -139,6 +139,20 @@ public class OrderByComparator implements Comparator {
     // No op
   }
 
+  /**
+   * Called when sorted results that are bounded by a LIMIT dropped a row, so that the sort criteria
+   * evaluated for it are not held until the end of the query.
+   */
+  void removeEvaluatedSortCriteria(Object row) {
+    // No op
+  }
+
+  static void removeEvaluatedSortCriteria(Comparator comparator, Object row) {
+    if (comparator instanceof OrderByComparator) {
+      ((OrderByComparator) comparator).removeEvaluatedSortCriteria(row);
+    }
+  }
+
   private int compareHelperMethod(Object obj1, Object obj2) {
     if (obj1 == null || obj2 == null) {
       return compareIfOneOrMoreNull(obj1, obj2);
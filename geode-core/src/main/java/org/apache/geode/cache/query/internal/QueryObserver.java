@@ -268,6 +268,27 @@ public interface QueryObserver {
    */
   void afterIterJoinOfSingleIndexResults(Collection finalResult);
 
+  /**
+   * Invoked before two region iterators are joined on an equality without using indexes, by loading
+   * the elements of one of them in a hash table and looking up the elements of the other.
+   *
+   * @param buildIterator The iterator whose elements are loaded in the hash table
+   * @param probeIterator The iterator whose elements are looked up in the hash table
+   * @param joinCondition The equality the iterators are joined on
+   */
+  void beforeHashJoinOfIterators(RuntimeIterator buildIterator, RuntimeIterator probeIterator,
+      CompiledValue joinCondition);
+
+  /**
+   * Invoked after two region iterators were joined with a hash join.
+   *
+   * @param buildPasses The number of times the hash table was loaded, more than one if the elements
+   *        of the build iterator did not fit in it at once
+   * @param finalResult The results of the query, with the pairs of elements that satisfy the where
+   *        clause
+   */
+  void afterHashJoinOfIterators(int buildPasses, Collection finalResult);
+
   void beforeApplyingProjectionOnFilterEvaluatedResults(Object preProjectionAppliedResult);
 
   void invokedQueryUtilsUnion(SelectResults sr1, SelectResults sr2);
@@ -184,7 +184,7 @@ public class RuntimeIterator extends AbstractCompiledValue {
     // AttributeDescriptor
     // to see if there's a match
     return new AttributeDescriptor(context.getCache().getPdxRegistry(),
-        context.getCache().getQueryService().getMethodInvocationAuthorizer(), name)
+        context.getMethodInvocationAuthorizer(), name)
             .validateReadType(clazz);
   }
 
@@ -47,6 +47,9 @@ public class SortedResultSet extends TreeSet
 
   private ObjectType elementType;
 
+  /** If positive, only this many of the first elements in sort order are kept */
+  private int maxSize;
+
   public SortedResultSet() {}
 
   SortedResultSet(Collection c) {
@@ -114,6 +117,33 @@ public class SortedResultSet extends TreeSet
     return true;
   }
 
+  /**
+   * Keeps only the given number of the first elements in sort order, as the LIMIT of an ORDER BY
+   * query does. Once the set is full an added element replaces the last one if it sorts before it,
+   * else it is dropped, so the set never holds more elements than the LIMIT.
+   */
+  void setMaxSize(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  @Override
+  public boolean add(Object element) {
+    if (this.maxSize <= 0 || size() < this.maxSize) {
+      return super.add(element);
+    }
+    int result = comparator().compare(element, last());
+    if (result > 0) {
+      OrderByComparator.removeEvaluatedSortCriteria(comparator(), element);
+      return false;
+    }
+    if (result == 0 || !super.add(element)) {
+      // an equal element is kept
+      return false;
+    }
+    OrderByComparator.removeEvaluatedSortCriteria(comparator(), pollLast());
+    return true;
+  }
+
   @Override
   public int occurrences(Object element) {
     return contains(element) ? 1 : 0;
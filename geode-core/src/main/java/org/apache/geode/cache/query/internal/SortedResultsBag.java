@@ -41,6 +41,9 @@ public class SortedResultsBag<E> extends Bag implements Ordered {
   private final boolean orderedDataAddition;
   private final boolean emitNullAtStart;
 
+  /** If positive, only this many of the first elements in sort order are kept */
+  private int maxSize;
+
   /**
    * Constructor for unordered input
    *
@@ -140,6 +143,71 @@ public class SortedResultsBag<E> extends Bag implements Ordered {
     return false;
   }
 
+  /**
+   * Keeps only the given number of the first elements in sort order, as the LIMIT of an ORDER BY
+   * query does. Once the bag is full an added element replaces the last one if it sorts before it,
+   * else it is dropped, so the bag never holds more elements than the LIMIT.
+   */
+  void setMaxSize(int maxSize) {
+    assert !this.orderedDataAddition;
+    this.maxSize = maxSize;
+  }
+
+  @Override
+  public boolean add(Object element) {
+    return makeRoomFor(element) && super.add(element);
+  }
+
+  @Override
+  public int addAndGetOccurence(Object element) {
+    return makeRoomFor(element) ? super.addAndGetOccurence(element) : 0;
+  }
+
+  /**
+   * Removes the last element if the bag is full and the given element sorts before it.
+   *
+   * @return false if the bag is full and the element does not sort before its last element
+   */
+  private boolean makeRoomFor(Object element) {
+    if (this.maxSize <= 0 || this.size < this.maxSize) {
+      return true;
+    }
+    if (this.numNulls > 0 && !this.emitNullAtStart) {
+      // the nulls are last
+      if (element == null) {
+        return false;
+      }
+      this.numNulls--;
+      this.size--;
+      return true;
+    }
+    TreeMap<E, Integer> map = (TreeMap<E, Integer>) this.sortedMap;
+    if (element == null) {
+      if (map.isEmpty() || !this.emitNullAtStart) {
+        return false;
+      }
+    } else {
+      int result = map.isEmpty() ? 1 : map.comparator().compare((E) element, map.lastKey());
+      if (result > 0) {
+        OrderByComparator.removeEvaluatedSortCriteria(map.comparator(), element);
+        return false;
+      }
+      if (result == 0) {
+        // an equal element is kept
+        return false;
+      }
+    }
+    Map.Entry<E, Integer> last = map.lastEntry();
+    if (last.getValue() > 1) {
+      map.put(last.getKey(), last.getValue() - 1);
+    } else {
+      map.pollLastEntry();
+      OrderByComparator.removeEvaluatedSortCriteria(map.comparator(), last.getKey());
+    }
+    this.size--;
+    return true;
+  }
+
   @Override
   protected int mapGet(Object element) {
     Integer count = this.sortedMap.get(element);
@@ -53,6 +53,9 @@ public class SortedStructSet extends TreeSet
    */
   private boolean modifiable = true;
 
+  /** If positive, only this many of the first structs in sort order are kept */
+  private int maxSize;
+
   /** Creates a new instance of StructSet */
   public SortedStructSet() {};
 
@@ -117,7 +120,29 @@ public class SortedStructSet extends TreeSet
    */
   @Override
   public boolean addFieldValues(Object[] fieldValues) {
-    return super.add(fieldValues);
+    if (this.maxSize <= 0 || size() < this.maxSize) {
+      return super.add(fieldValues);
+    }
+    int result = comparator().compare(fieldValues, last());
+    if (result > 0) {
+      OrderByComparator.removeEvaluatedSortCriteria(comparator(), fieldValues);
+      return false;
+    }
+    if (result == 0 || !super.add(fieldValues)) {
+      // an equal struct is kept
+      return false;
+    }
+    OrderByComparator.removeEvaluatedSortCriteria(comparator(), pollLast());
+    return true;
+  }
+
+  /**
+   * Keeps only the given number of the first structs in sort order, as the LIMIT of an ORDER BY
+   * query does. Once the set is full an added struct replaces the last one if it sorts before it,
+   * else it is dropped, so the set never holds more structs than the LIMIT.
+   */
+  void setMaxSize(int maxSize) {
+    this.maxSize = maxSize;
   }
 
   /**
@@ -0,0 +1,32 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.aggregate;
+
+/**
+ * Combines the non distinct averages computed on the bucket nodes of a data store, so that the data
+ * store sends one partial average per group to the PR query node instead of one per bucket. It
+ * accumulates the bucket results as {@link AvgPRQueryNode} does.
+ */
+public class AvgMemberNode extends AvgPRQueryNode {
+
+  /**
+   * Returns a two element array of the total number of values & the computed sum of the values, as
+   * {@link AvgBucketNode} does.
+   */
+  @Override
+  public Object terminate() {
+    return new Object[] {getCount(), downCast(getResult())};
+  }
+}
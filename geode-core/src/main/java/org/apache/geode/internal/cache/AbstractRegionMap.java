@@ -259,6 +259,16 @@ public abstract class AbstractRegionMap extends BaseRegionMap
     return re;
   }
 
+  @Override
+  public RegionEntry getEntryForLongKey(long key) {
+    return (RegionEntry) getCustomEntryConcurrentHashMap().getLong(key);
+  }
+
+  @Override
+  public RegionEntry getEntryForIntKey(int key) {
+    return (RegionEntry) getCustomEntryConcurrentHashMap().getInt(key);
+  }
+
   @Override
   public RegionEntry getEntry(EntryEventImpl event) {
     return getEntry(event.getKey());
@@ -84,6 +84,11 @@ abstract class BaseRegionMap implements RegionMap {
     return 0;
   }
 
+  @Override
+  public int centralizedLruUpdateCallback(boolean proactive) {
+    return 0;
+  }
+
   @Override
   public void updateEvictionCounter() {}
 
@@ -70,6 +70,16 @@ public class BytesAndBitsForCompactor {
     return this.validLength;
   }
 
+  /**
+   * Returns the number of bytes of the data, whether it is on or off heap.
+   */
+  public int getSize() {
+    if (this.offHeapData != null) {
+      return this.offHeapData.getDataSize();
+    }
+    return this.validLength;
+  }
+
   public boolean isReusable() {
     return this.isReusable;
   }
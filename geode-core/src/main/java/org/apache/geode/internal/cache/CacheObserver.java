@@ -107,6 +107,12 @@ public interface CacheObserver {
    */
   void afterSwitchingOplog();
 
+  /**
+   * Callback given by a thread performing a synchronous disk write in group commit mode, after its
+   * record was appended to the Oplog and before it waits for the record to be forced to disk.
+   */
+  void beforeWaitingForGroupCommit();
+
   /**
    * Callback given by the thread which creates krfs.
    */
@@ -92,6 +92,9 @@ public class CacheObserverAdapter implements CacheObserver {
     // TODO Auto-generated method stub
   }
 
+  @Override
+  public void beforeWaitingForGroupCommit() {}
+
   @Override
   public void afterKrfCreated() {
 
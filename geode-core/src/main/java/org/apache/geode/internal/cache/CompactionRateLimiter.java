@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the rate at which the compactor copies live entries forward. The copied bytes are counted
+ * in increments and the compactor pauses after an increment that was copied faster than the rate
+ * allows, so that compaction spreads its writes out instead of competing with other writers for the
+ * disk in bursts. An increment is a twentieth of a second's worth of bytes so that a pause is
+ * short.
+ * <p>
+ * Only used by the compactor thread.
+ */
+class CompactionRateLimiter {
+  private static final long MIN_INCREMENT_BYTES = 64 * 1024;
+
+  private final long bytesPerSecond;
+
+  private final long incrementBytes;
+
+  private final LongSupplier nanoClock;
+
+  private long incrementStart;
+
+  private long bytesInIncrement;
+
+  /**
+   * @param bytesPerSecond the rate limit, zero or less for no limit
+   */
+  CompactionRateLimiter(long bytesPerSecond) {
+    this(bytesPerSecond, System::nanoTime);
+  }
+
+  CompactionRateLimiter(long bytesPerSecond, LongSupplier nanoClock) {
+    this.bytesPerSecond = bytesPerSecond;
+    this.incrementBytes = Math.max(MIN_INCREMENT_BYTES, bytesPerSecond / 20);
+    this.nanoClock = nanoClock;
+  }
+
+  boolean isLimited() {
+    return this.bytesPerSecond > 0;
+  }
+
+  /**
+   * Records that the given number of bytes were copied forward.
+   *
+   * @return the number of nanoseconds the compactor should pause before copying more
+   */
+  long copied(long bytes) {
+    if (!isLimited()) {
+      return 0;
+    }
+    long now = this.nanoClock.getAsLong();
+    if (this.bytesInIncrement == 0) {
+      this.incrementStart = now;
+    }
+    this.bytesInIncrement += bytes;
+    if (this.bytesInIncrement < this.incrementBytes) {
+      return 0;
+    }
+    long allowedNanos = this.bytesInIncrement * TimeUnit.SECONDS.toNanos(1) / this.bytesPerSecond;
+    this.bytesInIncrement = 0;
+    return Math.max(0, allowedNanos - (now - this.incrementStart));
+  }
+}
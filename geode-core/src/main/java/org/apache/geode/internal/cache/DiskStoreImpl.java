@@ -56,6 +56,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
@@ -99,6 +100,8 @@ import org.apache.geode.internal.cache.entries.DiskEntry.RecoveredEntry;
 import org.apache.geode.internal.cache.eviction.AbstractEvictionController;
 import org.apache.geode.internal.cache.eviction.EvictionController;
 import org.apache.geode.internal.cache.persistence.BytesAndBits;
+import org.apache.geode.internal.cache.persistence.DirectFileWriter;
+import org.apache.geode.internal.cache.persistence.DirectIOBufferPool;
 import org.apache.geode.internal.cache.persistence.DiskRecoveryStore;
 import org.apache.geode.internal.cache.persistence.DiskRegionView;
 import org.apache.geode.internal.cache.persistence.DiskStoreFilter;
@@ -174,6 +177,41 @@ public class DiskStoreImpl implements DiskStore {
   private static final boolean ENABLE_NOTIFY_TO_ROLL =
       Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "ENABLE_NOTIFY_TO_ROLL");
 
+  /**
+   * The number of threads that load krf files during recovery, ahead of the oplog whose entries are
+   * being recovered. Zero reads each krf only when its oplog is recovered.
+   */
+  public static final String RECOVERY_THREADS_PROPERTY_NAME =
+      DistributionConfig.GEMFIRE_PREFIX + "disk.recoveryThreads";
+
+  /**
+   * Makes a synchronous write durable before it is acknowledged. Concurrent writers share a single
+   * force of the oplog files instead of each forcing its own record.
+   */
+  public static final String GROUP_COMMIT_PROPERTY_NAME =
+      DistributionConfig.GEMFIRE_PREFIX + "disk.groupCommit";
+
+  /**
+   * Writes the oplog files with direct I/O so that they do not fill the page cache. Requires Java 10
+   * or later and a file system that supports direct I/O; otherwise the files are written through the
+   * page cache.
+   */
+  public static final String DIRECT_WRITES_PROPERTY_NAME =
+      DistributionConfig.GEMFIRE_PREFIX + "disk.directWrites";
+
+  /**
+   * The block size, in bytes, that direct writes are aligned to. Must be a power of two and a
+   * multiple of the block size of the device.
+   */
+  public static final String DIRECT_IO_BLOCK_SIZE_PROPERTY_NAME =
+      DistributionConfig.GEMFIRE_PREFIX + "disk.directIOBlockSize";
+
+  /**
+   * The size of the aligned buffer of each oplog file written with direct I/O. Records that do not
+   * fit are written a buffer at a time.
+   */
+  private static final int DIRECT_IO_BUFFER_SIZE = 128 * 1024;
+
   public static final String RECOVER_VALUE_PROPERTY_NAME =
       DistributionConfig.GEMFIRE_PREFIX + "disk.recoverValues";
 
@@ -197,6 +235,13 @@ public class DiskStoreImpl implements DiskStore {
   final boolean RECOVER_LRU_VALUES =
       getBoolean(DiskStoreImpl.RECOVER_LRU_VALUES_PROPERTY_NAME, false);
 
+  private final boolean groupCommit = getBoolean(GROUP_COMMIT_PROPERTY_NAME, false);
+
+  private final DirectIOBufferPool directIOBuffers = createDirectIOBuffers();
+
+  final int RECOVERY_THREADS = Integer.getInteger(RECOVERY_THREADS_PROPERTY_NAME,
+      Math.min(4, Runtime.getRuntime().availableProcessors()));
+
   public static boolean getBoolean(String sysProp, boolean def) {
     return Boolean.valueOf(System.getProperty(sysProp, Boolean.valueOf(def).toString()));
   }
@@ -222,6 +267,15 @@ public class DiskStoreImpl implements DiskStore {
       DistributionConfig.GEMFIRE_PREFIX + "MAX_OPLOGS_PER_COMPACTION",
       Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "MAX_OPLOGS_PER_ROLL", 1).intValue());
 
+  /**
+   * The number of bytes per second the compactor may copy forward. Zero or less does not limit it.
+   */
+  public static final String COMPACTION_MAX_BYTES_PER_SECOND_PROPERTY_NAME =
+      DistributionConfig.GEMFIRE_PREFIX + "disk.compactionMaxBytesPerSecond";
+
+  private final long COMPACTION_MAX_BYTES_PER_SECOND =
+      Long.getLong(COMPACTION_MAX_BYTES_PER_SECOND_PROPERTY_NAME, 0);
+
   public static final int MAX_CONCURRENT_COMPACTIONS = Integer.getInteger(
       DistributionConfig.GEMFIRE_PREFIX + "MAX_CONCURRENT_COMPACTIONS",
       Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "MAX_CONCURRENT_ROLLS", 1).intValue());
@@ -2115,6 +2169,37 @@ public class DiskStoreImpl implements DiskStore {
     return getAutoCompact();
   }
 
+  /**
+   * @return true if synchronous writes are forced to disk in batches before being acknowledged
+   * @see #GROUP_COMMIT_PROPERTY_NAME
+   */
+  boolean isGroupCommit() {
+    return this.groupCommit;
+  }
+
+  /**
+   * @return the buffers to write the oplog files with, or null if they are written through the page
+   *         cache
+   * @see #DIRECT_WRITES_PROPERTY_NAME
+   */
+  DirectIOBufferPool getDirectIOBuffers() {
+    return this.directIOBuffers;
+  }
+
+  private static DirectIOBufferPool createDirectIOBuffers() {
+    if (!getBoolean(DIRECT_WRITES_PROPERTY_NAME, false)) {
+      return null;
+    }
+    if (!DirectFileWriter.isSupported()) {
+      logger.warn("{} requires Java 10 or later, oplogs will be written through the page cache",
+          DIRECT_WRITES_PROPERTY_NAME);
+      return null;
+    }
+    // the crf and drf of the oplog being written and of the next one
+    return new DirectIOBufferPool(DIRECT_IO_BUFFER_SIZE,
+        Integer.getInteger(DIRECT_IO_BLOCK_SIZE_PROPERTY_NAME, 4096), 4);
+  }
+
   @Override
   public int getCompactionThreshold() {
     return this.compactionThreshold;
@@ -2823,9 +2908,12 @@ public class DiskStoreImpl implements DiskStore {
 
     private final boolean compactionCompletionRequired;
 
+    private final CompactionRateLimiter rateLimiter;
+
     OplogCompactor() {
       this.compactionCompletionRequired =
           Boolean.getBoolean(COMPLETE_COMPACTION_BEFORE_TERMINATION_PROPERTY_NAME);
+      this.rateLimiter = new CompactionRateLimiter(COMPACTION_MAX_BYTES_PER_SECOND);
     }
 
     /** Creates a new thread and starts the thread* */
@@ -3020,6 +3108,36 @@ public class DiskStoreImpl implements DiskStore {
     boolean keepCompactorRunning() {
       return this.compactorEnabled || this.compactionCompletionRequired;
     }
+
+    /**
+     * Called by an oplog after it copied an entry forward. Returns how many nanoseconds the
+     * compactor should {@link #pause} for if it is copying faster than
+     * {@link #COMPACTION_MAX_BYTES_PER_SECOND_PROPERTY_NAME} allows, zero otherwise.
+     */
+    long copiedForward(int bytes) {
+      return this.rateLimiter.copied(bytes);
+    }
+
+    /**
+     * Pauses a compaction for the time returned by {@link #copiedForward}. The compactor read lock
+     * and the given oplog compactor lock are released while it sleeps so that backups, region close
+     * and krf creation are not held up by the throttle, and are held again when this returns. The
+     * caller must expect the oplog's regions to have changed in the meantime.
+     */
+    void pause(long pauseNanos, Lock oplogCompactorLock) {
+      oplogCompactorLock.unlock();
+      releaseCompactorReadLock();
+      long start = getStats().startCompactionThrottle();
+      try {
+        TimeUnit.NANOSECONDS.sleep(pauseNanos);
+      } catch (InterruptedException ignore) {
+        Thread.currentThread().interrupt();
+      } finally {
+        getStats().endCompactionThrottle(start);
+        acquireCompactorReadLock();
+        oplogCompactorLock.lock();
+      }
+    }
   }
 
   /**
@@ -63,6 +63,9 @@ public class DiskStoreStats {
   private static final int oplogRecoveriesId;
   private static final int oplogRecoveryTimeId;
   private static final int oplogRecoveredBytesId;
+  private static final int krfPrefetchesId;
+  private static final int krfPrefetchTimeId;
+  private static final int krfPrefetchWaitTimeId;
   private static final int bytesReadId;
   private static final int removesId;
   private static final int removeTimeId;
@@ -74,6 +77,8 @@ public class DiskStoreStats {
   private static final int compactUpdateTimeId;
   private static final int compactDeletesId;
   private static final int compactDeleteTimeId;
+  private static final int compactThrottleTimeId;
+  private static final int compactReclaimedBytesId;
 
   private static final int openOplogsId;
   private static final int inactiveOplogsId;
@@ -154,6 +159,14 @@ public class DiskStoreStats {
             f.createIntCounter("oplogRecoveries", oplogRecoveriesDesc, "ops"),
             f.createLongCounter("oplogRecoveryTime", oplogRecoveryTimeDesc, "nanoseconds"),
             f.createLongCounter("oplogRecoveredBytes", oplogRecoveredBytesDesc, "bytes"),
+            f.createIntCounter("krfPrefetches",
+                "The total number of krf files that have been loaded ahead of their oplog recovery",
+                "files"),
+            f.createLongCounter("krfPrefetchTime",
+                "The total amount of time recovery threads spent loading krf files", "nanoseconds"),
+            f.createLongCounter("krfPrefetchWaitTime",
+                "The total amount of time oplog recovery waited for a krf file to be loaded",
+                "nanoseconds"),
             f.createLongCounter("removes", removesDesc, "ops"),
             f.createLongCounter("removeTime", removeTimeDesc, "nanoseconds"),
             f.createIntGauge("queueSize", queueSizeDesc, "entries"),
@@ -172,6 +185,12 @@ public class DiskStoreStats {
             f.createLongCounter("compactDeleteTime",
                 "Total amount of time, in nanoseconds, spent doing deletes during a compact",
                 "nanoseconds"),
+            f.createLongCounter("compactThrottleTime",
+                "Total amount of time, in nanoseconds, compaction paused to stay within its rate limit",
+                "nanoseconds"),
+            f.createLongCounter("compactReclaimedBytes",
+                "Total number of oplog bytes compaction freed by not copying them forward",
+                "bytes"),
             f.createIntGauge("compactsInProgress",
                 "current number of oplog compacts that are in progress", "compacts"),
             f.createIntGauge("writesInProgress",
@@ -223,12 +242,17 @@ public class DiskStoreStats {
     oplogRecoveriesId = type.nameToId("oplogRecoveries");
     oplogRecoveryTimeId = type.nameToId("oplogRecoveryTime");
     oplogRecoveredBytesId = type.nameToId("oplogRecoveredBytes");
+    krfPrefetchesId = type.nameToId("krfPrefetches");
+    krfPrefetchTimeId = type.nameToId("krfPrefetchTime");
+    krfPrefetchWaitTimeId = type.nameToId("krfPrefetchWaitTime");
     removesId = type.nameToId("removes");
     removeTimeId = type.nameToId("removeTime");
     queueSizeId = type.nameToId("queueSize");
 
     compactDeletesId = type.nameToId("compactDeletes");
     compactDeleteTimeId = type.nameToId("compactDeleteTime");
+    compactThrottleTimeId = type.nameToId("compactThrottleTime");
+    compactReclaimedBytesId = type.nameToId("compactReclaimedBytes");
     compactInsertsId = type.nameToId("compactInserts");
     compactInsertTimeId = type.nameToId("compactInsertTime");
     compactUpdatesId = type.nameToId("compactUpdates");
@@ -468,6 +492,23 @@ public class DiskStoreStats {
     this.stats.incLong(oplogRecoveredBytesId, bytesRead);
   }
 
+  public long startKrfPrefetch() {
+    return getTime();
+  }
+
+  public void endKrfPrefetch(long start) {
+    this.stats.incInt(krfPrefetchesId, 1);
+    this.stats.incLong(krfPrefetchTimeId, getTime() - start);
+  }
+
+  public long startKrfPrefetchWait() {
+    return getTime();
+  }
+
+  public void endKrfPrefetchWait(long start) {
+    this.stats.incLong(krfPrefetchWaitTimeId, getTime() - start);
+  }
+
   public void incRecoveredEntryCreates() {
     this.stats.incLong(recoveredEntryCreatesId, 1);
   }
@@ -542,6 +583,18 @@ public class DiskStoreStats {
     this.stats.incLong(compactUpdateTimeId, getStatTime() - start);
   }
 
+  public long startCompactionThrottle() {
+    return getTime();
+  }
+
+  public void endCompactionThrottle(long start) {
+    this.stats.incLong(compactThrottleTimeId, getTime() - start);
+  }
+
+  public void incCompactReclaimedBytes(long bytes) {
+    this.stats.incLong(compactReclaimedBytesId, bytes);
+  }
+
   public long getStatTime() {
     return getTime();
   }
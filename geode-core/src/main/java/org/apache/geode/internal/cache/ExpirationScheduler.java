@@ -14,6 +14,8 @@
  */
 package org.apache.geode.internal.cache;
 
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.logging.log4j.Logger;
@@ -23,10 +25,13 @@ import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.distributed.internal.InternalDistributedSystem;
 import org.apache.geode.internal.SystemTimer;
 import org.apache.geode.internal.logging.LogService;
+import org.apache.geode.internal.logging.LoggingExecutors;
 
 /**
  * ExpirationScheduler uses a single instance of java.util.Timer (and therefore a single thread) per
- * VM to schedule and execute region and entry expiration tasks.
+ * VM to schedule and execute region and entry expiration tasks. If
+ * {@link #EXPIRY_TIMING_WHEEL_TICK} is set entry expiration tasks are instead kept in an
+ * {@link ExpiryTimingWheel} that is advanced by its own thread.
  */
 
 public class ExpirationScheduler {
@@ -37,8 +42,48 @@ public class ExpirationScheduler {
   private static final int MAX_PENDING_CANCELS = Integer
       .getInteger(DistributionConfig.GEMFIRE_PREFIX + "MAX_PENDING_CANCELS", 10000).intValue();
 
+  /**
+   * The resolution in milliseconds of the timing wheel that entry expiration tasks are scheduled
+   * in. Entries expire up to this much later than their expiration time. The default of 0 schedules
+   * them in the java.util.Timer, whose cost grows with the log of the number of tasks and which
+   * needs purging after cancellations.
+   */
+  static final long EXPIRY_TIMING_WHEEL_TICK =
+      Long.getLong(DistributionConfig.GEMFIRE_PREFIX + "EXPIRY_TIMING_WHEEL_TICK", 0);
+
+  private final ExpiryTimingWheel timingWheel;
+
+  private final ScheduledExecutorService timingWheelExecutor;
+
   public ExpirationScheduler(InternalDistributedSystem ds) {
     this.timer = new SystemTimer(ds, true);
+    if (EXPIRY_TIMING_WHEEL_TICK > 0) {
+      this.timingWheel = new ExpiryTimingWheel(EXPIRY_TIMING_WHEEL_TICK, nowMillis());
+      this.timingWheelExecutor =
+          LoggingExecutors.newSingleThreadScheduledExecutor("ExpiryTimingWheel");
+      this.timingWheelExecutor.scheduleWithFixedDelay(this::expireEntries,
+          EXPIRY_TIMING_WHEEL_TICK, EXPIRY_TIMING_WHEEL_TICK, TimeUnit.MILLISECONDS);
+    } else {
+      this.timingWheel = null;
+      this.timingWheelExecutor = null;
+    }
+  }
+
+  /**
+   * The clock of the timing wheel. Like the relative delays given to the timer it does not depend
+   * on the wall clock.
+   */
+  private static long nowMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+  }
+
+  private void expireEntries() {
+    try {
+      timingWheel.expire(nowMillis());
+    } catch (RuntimeException e) {
+      // the tasks handle their own exceptions; keep the wheel turning whatever happens
+      logger.warn("Exception while expiring entries", e);
+    }
   }
 
   public void forcePurge() {
@@ -91,11 +136,28 @@ public class ExpirationScheduler {
 
   /** schedules the given entry expiration task and returns true; returns false if not scheduled */
   public boolean addEntryExpiryTask(EntryExpiryTask task) {
-    return addExpiryTask(task) != null;
+    if (timingWheel == null) {
+      return addExpiryTask(task) != null;
+    }
+    try {
+      long expiryMillis = task.getExpiryMillis();
+      if (logger.isTraceEnabled()) {
+        logger.trace("Scheduling  {}  to fire in  {}  ms", task, expiryMillis);
+      }
+      return timingWheel.schedule(task, nowMillis() + expiryMillis);
+    } catch (EntryNotFoundException e) {
+      // ignore - there are unsynchronized paths that allow an entry to
+      // be destroyed out from under us.
+      return false;
+    }
   }
 
   /** @see java.util.Timer#cancel() */
   public void cancel() {
     timer.cancel();
+    if (timingWheel != null) {
+      timingWheelExecutor.shutdownNow();
+      timingWheel.clear();
+    }
   }
 }
@@ -45,6 +45,17 @@ public abstract class ExpiryTask extends SystemTimer.SystemTimerTask {
 
   private LocalRegion region; // no longer final so cancel can null it out see bug 37574
 
+  /*
+   * The state of this task in an ExpiryTimingWheel and the links of the slot it is in. Only the
+   * wheel uses these; all but the state are guarded by it.
+   */
+  volatile int timingWheelState;
+  ExpiryTimingWheel timingWheel;
+  ExpiryTask timingWheelPrev;
+  ExpiryTask timingWheelNext;
+  long timingWheelDeadline;
+  int timingWheelSlot;
+
   @MakeNotStatic
   private static final ExecutorService executor;
 
@@ -306,7 +317,8 @@ public abstract class ExpiryTask extends SystemTimer.SystemTimerTask {
    */
   @Override
   public boolean cancel() {
-    boolean superCancel = super.cancel();
+    // entry tasks are scheduled either in the SystemTimer or in a timing wheel
+    boolean superCancel = ExpiryTimingWheel.cancel(this) | super.cancel();
     LocalRegion lr = getLocalRegion();
     if (lr != null) {
       if (superCancel) {
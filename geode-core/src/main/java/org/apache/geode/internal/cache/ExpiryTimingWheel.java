@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * A hierarchical timing wheel of {@link ExpiryTask}s. Scheduling and cancelling a task take
+ * constant time, unlike the binary heap of a java.util.Timer, and cancelled tasks are unlinked
+ * right away so they never need to be purged.
+ *
+ * Time is divided in ticks. The wheel has {@link #LEVELS} levels of {@link #SLOTS} slots; a slot
+ * of level n holds the tasks that are due in the same span of SLOTS^n ticks. When the wheel gets
+ * to the start of such a span the tasks of its slot are moved to the lower levels, so a task is
+ * moved at most LEVELS - 1 times. Tasks are due at the end of the tick their deadline falls in, so
+ * they never fire early. All the tasks of a tick are unlinked in one batch and run after the lock
+ * of the wheel is released.
+ *
+ * The lists of a slot are linked through fields of the tasks themselves, so the wheel allocates
+ * nothing per task.
+ */
+class ExpiryTimingWheel {
+
+  static final int LEVELS = 4;
+
+  static final int SLOT_BITS = 8;
+
+  static final int SLOTS = 1 << SLOT_BITS;
+
+  private static final int SLOT_MASK = SLOTS - 1;
+
+  /** The number of ticks ahead covered by the whole wheel */
+  private static final long RANGE = 1L << (LEVELS * SLOT_BITS);
+
+  static final int UNSCHEDULED = 0;
+
+  static final int SCHEDULED = 1;
+
+  static final int EXECUTED = 2;
+
+  static final int CANCELLED = 3;
+
+  private static final AtomicIntegerFieldUpdater<ExpiryTask> stateUpdater =
+      AtomicIntegerFieldUpdater.newUpdater(ExpiryTask.class, "timingWheelState");
+
+  private final long tickMillis;
+
+  private final long startMillis;
+
+  /** The heads of the lists of all slots, level by level. Guarded by this */
+  private final ExpiryTask[] slots = new ExpiryTask[LEVELS * SLOTS];
+
+  /** The number of tasks in each level. Guarded by this */
+  private final int[] levelSizes = new int[LEVELS];
+
+  /** The last tick whose tasks were collected. Guarded by this */
+  private long currentTick;
+
+  /**
+   * @param tickMillis the resolution of the wheel in milliseconds
+   * @param startMillis the time in milliseconds of the first tick
+   */
+  ExpiryTimingWheel(long tickMillis, long startMillis) {
+    if (tickMillis <= 0) {
+      throw new IllegalArgumentException("tickMillis must be > 0 but was " + tickMillis);
+    }
+    this.tickMillis = tickMillis;
+    this.startMillis = startMillis;
+  }
+
+  long getTickMillis() {
+    return tickMillis;
+  }
+
+  /**
+   * Schedules the task to run at the given time in milliseconds, or at the next tick if that time
+   * has passed.
+   *
+   * @return false if the task was already scheduled or cancelled
+   */
+  synchronized boolean schedule(ExpiryTask task, long deadlineMillis) {
+    // set before the state so that cancel finds the wheel once it sees the task scheduled
+    task.timingWheel = this;
+    if (!stateUpdater.compareAndSet(task, UNSCHEDULED, SCHEDULED)) {
+      return false;
+    }
+    long deadline = deadlineMillis - startMillis;
+    long deadlineTick = deadline / tickMillis + (deadline % tickMillis > 0 ? 1 : 0);
+    task.timingWheelDeadline = Math.max(deadlineTick, currentTick + 1);
+    link(task);
+    return true;
+  }
+
+  /**
+   * Cancels the task. A task that is cancelled before it is scheduled will never be scheduled.
+   *
+   * @return true if the task was scheduled in a wheel and will no longer run
+   */
+  static boolean cancel(ExpiryTask task) {
+    if (stateUpdater.compareAndSet(task, UNSCHEDULED, CANCELLED)) {
+      return false;
+    }
+    if (!stateUpdater.compareAndSet(task, SCHEDULED, CANCELLED)) {
+      return false;
+    }
+    ExpiryTimingWheel wheel = task.timingWheel;
+    synchronized (wheel) {
+      // the task is no longer linked if it was collected by expire but not run yet
+      if (task.timingWheelSlot != 0) {
+        wheel.unlink(task);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Runs, in the calling thread, all the tasks that are due at the given time in milliseconds.
+   *
+   * @return the number of tasks run
+   */
+  int expire(long nowMillis) {
+    List<ExpiryTask> dueTasks = collectDueTasks((nowMillis - startMillis) / tickMillis);
+    int count = 0;
+    for (ExpiryTask task : dueTasks) {
+      if (stateUpdater.compareAndSet(task, SCHEDULED, EXECUTED)) {
+        task.timingWheel = null;
+        task.run();
+        count++;
+      }
+    }
+    return count;
+  }
+
+  synchronized int size() {
+    int size = 0;
+    for (int levelSize : levelSizes) {
+      size += levelSize;
+    }
+    return size;
+  }
+
+  /**
+   * Drops all the tasks without running them.
+   */
+  synchronized void clear() {
+    for (int i = 0; i < slots.length; i++) {
+      ExpiryTask task = slots[i];
+      slots[i] = null;
+      while (task != null) {
+        ExpiryTask next = task.timingWheelNext;
+        task.timingWheelNext = null;
+        task.timingWheelPrev = null;
+        task.timingWheelSlot = 0;
+        task = next;
+      }
+    }
+    for (int level = 0; level < LEVELS; level++) {
+      levelSizes[level] = 0;
+    }
+  }
+
+  private synchronized List<ExpiryTask> collectDueTasks(long targetTick) {
+    List<ExpiryTask> dueTasks = new ArrayList<>();
+    while (currentTick < targetTick) {
+      currentTick = nextTick(targetTick);
+      // cascade the highest level first, it can move tasks to every lower level
+      for (int level = LEVELS - 1; level > 0; level--) {
+        if ((currentTick & ((1L << (level * SLOT_BITS)) - 1)) == 0) {
+          cascade(level, slotIndex(level, currentTick));
+        }
+      }
+      ExpiryTask task = unlinkSlot(0, slotIndex(0, currentTick));
+      while (task != null) {
+        dueTasks.add(task);
+        ExpiryTask next = task.timingWheelNext;
+        task.timingWheelNext = null;
+        task = next;
+      }
+    }
+    return dueTasks;
+  }
+
+  /**
+   * Returns the next tick at which tasks can be due or moved. While the lowest levels are empty
+   * nothing happens until the next slot of the lowest level with tasks is moved.
+   */
+  private long nextTick(long targetTick) {
+    int emptyLevels = 0;
+    while (emptyLevels < LEVELS && levelSizes[emptyLevels] == 0) {
+      emptyLevels++;
+    }
+    if (emptyLevels == 0) {
+      return currentTick + 1;
+    }
+    if (emptyLevels == LEVELS) {
+      return targetTick;
+    }
+    long span = 1L << (emptyLevels * SLOT_BITS);
+    long next = (currentTick + span) & -span;
+    return Math.min(next, targetTick);
+  }
+
+  private void cascade(int level, int slot) {
+    ExpiryTask task = unlinkSlot(level, slot);
+    while (task != null) {
+      ExpiryTask next = task.timingWheelNext;
+      link(task);
+      task = next;
+    }
+  }
+
+  private void link(ExpiryTask task) {
+    long ticks = task.timingWheelDeadline - currentTick;
+    int level = 0;
+    while (level < LEVELS - 1 && ticks >= 1L << ((level + 1) * SLOT_BITS)) {
+      level++;
+    }
+    // a task beyond the range of the wheel waits in the last slot and is placed again from there
+    long tick = Math.min(task.timingWheelDeadline, currentTick + RANGE - 1);
+    int index = level * SLOTS + slotIndex(level, tick);
+    ExpiryTask head = slots[index];
+    task.timingWheelPrev = null;
+    task.timingWheelNext = head;
+    if (head != null) {
+      head.timingWheelPrev = task;
+    }
+    slots[index] = task;
+    task.timingWheelSlot = index + 1;
+    levelSizes[level]++;
+  }
+
+  private void unlink(ExpiryTask task) {
+    int index = task.timingWheelSlot - 1;
+    ExpiryTask prev = task.timingWheelPrev;
+    ExpiryTask next = task.timingWheelNext;
+    if (prev == null) {
+      slots[index] = next;
+    } else {
+      prev.timingWheelNext = next;
+    }
+    if (next != null) {
+      next.timingWheelPrev = prev;
+    }
+    task.timingWheelPrev = null;
+    task.timingWheelNext = null;
+    task.timingWheelSlot = 0;
+    levelSizes[index / SLOTS]--;
+  }
+
+  /**
+   * Empties a slot and returns its first task. The tasks stay linked through timingWheelNext.
+   */
+  private ExpiryTask unlinkSlot(int level, int slot) {
+    int index = level * SLOTS + slot;
+    ExpiryTask head = slots[index];
+    slots[index] = null;
+    for (ExpiryTask task = head; task != null; task = task.timingWheelNext) {
+      task.timingWheelPrev = null;
+      task.timingWheelSlot = 0;
+      levelSizes[level]--;
+    }
+    return head;
+  }
+
+  private static int slotIndex(int level, long tick) {
+    return (int) (tick >>> (level * SLOT_BITS)) & SLOT_MASK;
+  }
+}
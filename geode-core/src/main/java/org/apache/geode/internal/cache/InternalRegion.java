@@ -77,6 +77,22 @@ public interface InternalRegion extends Region, HasCachePerfStats, RegionEntryCo
 
   RegionEntry getRegionEntry(Object key);
 
+  /**
+   * Same as {@code get(Long.valueOf(key))}. A value that is in this member is found without boxing
+   * the key.
+   */
+  default Object getLong(long key) {
+    return get(key);
+  }
+
+  /**
+   * Same as {@code get(Integer.valueOf(key))}. A value that is in this member is found without
+   * boxing the key.
+   */
+  default Object getInt(int key) {
+    return get(key);
+  }
+
   RegionVersionVector getVersionVector();
 
   long cacheTimeMillis();
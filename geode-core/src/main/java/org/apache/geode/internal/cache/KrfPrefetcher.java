@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.internal.logging.LogService;
+import org.apache.geode.internal.logging.LoggingExecutors;
+
+/**
+ * Loads the krf files of the oplogs being recovered on a pool of threads, ahead of the oplog whose
+ * entries are being added to the region maps. The files are memory mapped so loading one faults
+ * its pages in without copying it to the heap.
+ * <p>
+ * Entries are still added one oplog at a time, newest oplog first, because that order decides
+ * which record wins for a key that is in more than one oplog. A krf that could not be loaded is
+ * read from the file as before.
+ */
+class KrfPrefetcher implements AutoCloseable {
+  private static final Logger logger = LogService.getLogger();
+
+  private final DiskStoreStats stats;
+
+  private final ExecutorService executor;
+
+  /**
+   * The oplogs, in recovery order, whose krf has not been submitted yet
+   */
+  private final Deque<Oplog> pending;
+
+  private final Map<Oplog, Future<MappedByteBuffer>> prefetches = new HashMap<>();
+
+  /**
+   * @param oplogs the oplogs in the order they will be recovered
+   * @param threads the number of krf files loaded at the same time, zero disables prefetching
+   */
+  KrfPrefetcher(String diskStoreName, Iterable<Oplog> oplogs, int threads,
+      DiskStoreStats stats) {
+    this.stats = stats;
+    this.pending = new ArrayDeque<>();
+    if (threads > 0) {
+      for (Oplog oplog : oplogs) {
+        this.pending.add(oplog);
+      }
+      this.executor =
+          LoggingExecutors.newFixedThreadPool("Krf Prefetcher for " + diskStoreName, true, threads);
+      for (int i = 0; i < threads; i++) {
+        submitNext();
+      }
+    } else {
+      this.executor = null;
+    }
+  }
+
+  /**
+   * Returns the loaded krf of the given oplog, waiting for it if it is still being loaded, and
+   * starts loading the krf of the next oplog. Returns null if the krf was not prefetched, in which
+   * case the oplog reads it from the file. The buffer must be given back to {@link #release}.
+   */
+  ByteBuffer take(Oplog oplog) {
+    Future<MappedByteBuffer> prefetch = this.prefetches.remove(oplog);
+    submitNext();
+    if (prefetch == null) {
+      return null;
+    }
+    long start = this.stats.startKrfPrefetchWait();
+    try {
+      return prefetch.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (ExecutionException e) {
+      logger.info("Could not prefetch the krf of {}, it will be read from the file", oplog,
+          e.getCause());
+      return null;
+    } finally {
+      this.stats.endKrfPrefetchWait(start);
+    }
+  }
+
+  /**
+   * Unmaps a buffer returned by {@link #take} once its oplog has been recovered.
+   */
+  void release(ByteBuffer krf) {
+    if (krf != null) {
+      unmap(krf);
+    }
+  }
+
+  @Override
+  public void close() {
+    if (this.executor == null) {
+      return;
+    }
+    this.pending.clear();
+    this.executor.shutdown();
+    for (Future<MappedByteBuffer> prefetch : this.prefetches.values()) {
+      if (!prefetch.cancel(false)) {
+        try {
+          release(prefetch.get());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } catch (ExecutionException ignore) {
+          // nothing was mapped
+        }
+      }
+    }
+    this.prefetches.clear();
+  }
+
+  private void submitNext() {
+    while (!this.pending.isEmpty()) {
+      Oplog oplog = this.pending.poll();
+      File krf = oplog.getRecoverableKrfFile();
+      if (krf != null) {
+        this.prefetches.put(oplog, this.executor.submit(() -> load(krf)));
+        return;
+      }
+    }
+  }
+
+  private MappedByteBuffer load(File krf) throws IOException {
+    long start = this.stats.startKrfPrefetch();
+    try (FileChannel channel = FileChannel.open(krf.toPath(), StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+      buffer.load();
+      return buffer;
+    } finally {
+      this.stats.endKrfPrefetch(start);
+    }
+  }
+
+  /**
+   * Unmaps the buffer now instead of when it is garbage collected, so that the krf can later be
+   * deleted on platforms that do not allow deleting a mapped file. The buffer must not be read
+   * afterwards.
+   */
+  private static void unmap(ByteBuffer buffer) {
+    try {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Method invokeCleaner;
+      try {
+        invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      } catch (NoSuchMethodException e) {
+        // before JDK 9 the cleaner is only available from the buffer itself
+        Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+        cleanerMethod.setAccessible(true);
+        Object cleaner = cleanerMethod.invoke(buffer);
+        if (cleaner != null) {
+          cleaner.getClass().getMethod("clean").invoke(cleaner);
+        }
+        return;
+      }
+      Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      invokeCleaner.invoke(theUnsafe.get(null), buffer);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      // the mapping is released when the buffer is garbage collected
+      if (logger.isDebugEnabled()) {
+        logger.debug("Could not unmap a prefetched krf", e);
+      }
+    }
+  }
+
+  /**
+   * Returns an InputStream that reads the remaining bytes of the given buffer and, unlike
+   * {@link org.apache.geode.internal.tcp.ByteBufferInputStream}, reports the end of the buffer as
+   * the end of the stream.
+   */
+  static InputStream newInputStream(ByteBuffer buffer) {
+    return new InputStream() {
+      @Override
+      public int read() {
+        return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) {
+        if (len == 0) {
+          return 0;
+        }
+        if (!buffer.hasRemaining()) {
+          return -1;
+        }
+        int count = Math.min(len, buffer.remaining());
+        buffer.get(b, off, count);
+        return count;
+      }
+
+      @Override
+      public long skip(long n) {
+        int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+        buffer.position(buffer.position() + count);
+        return count;
+      }
+
+      @Override
+      public int available() {
+        return buffer.remaining();
+      }
+    };
+  }
+}
@@ -1210,7 +1210,7 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
       if (logger.isTraceEnabled() && !(this instanceof HARegion)) {
         logger.trace(
             "getDeserializedValue for {} returning version: {} returnTombstones: {} value: {}",
-            keyInfo.getKey(), regionEntry.getVersionStamp() == null ? "null"
+            regionEntry.getKey(), regionEntry.getVersionStamp() == null ? "null"
                 : regionEntry.getVersionStamp().asVersionTag(),
             returnTombstones, value);
       }
@@ -1298,6 +1298,63 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     return result;
   }
 
+  @Override
+  public Object getLong(long key) {
+    if (canGetInVMWithoutBoxing(Long.class)) {
+      long start = startGet();
+      Object value = getHitWithoutBoxing(entries.getEntryForLongKey(key));
+      if (value != null) {
+        endGet(start, false);
+        return value;
+      }
+    }
+    return get(key);
+  }
+
+  @Override
+  public Object getInt(int key) {
+    if (canGetInVMWithoutBoxing(Integer.class)) {
+      long start = startGet();
+      Object value = getHitWithoutBoxing(entries.getEntryForIntKey(key));
+      if (value != null) {
+        endGet(start, false);
+        return value;
+      }
+    }
+    return get(key);
+  }
+
+  /**
+   * Returns true if a get of a key of the given class can look for the entry in this member
+   * without boxing the key. Transactional and partitioned gets, and keys that the key constraint
+   * rejects, go through {@link #get(Object)}.
+   */
+  private boolean canGetInVMWithoutBoxing(Class<?> keyClass) {
+    if (keyConstraint != null && !keyConstraint.isAssignableFrom(keyClass)) {
+      return false;
+    }
+    checkReadiness();
+    checkForNoAccess();
+    discoverJTA();
+    return !isTX() && !getDataPolicy().withPartitioning();
+  }
+
+  /**
+   * Returns the value of the given entry if it is in this member and is a hit, or null if the get
+   * has to go through {@link #get(Object)}, for example to be loaded.
+   */
+  private Object getHitWithoutBoxing(RegionEntry entry) {
+    if (entry == null) {
+      return null;
+    }
+    Object value = getDeserializedValue(entry, null, false, false, false, null, false, false);
+    if (value == null || Token.isInvalid(value) || value == Token.TOMBSTONE) {
+      return null;
+    }
+    updateStatsForGet(entry, true);
+    return value;
+  }
+
   /**
    * @see BucketRegion#getSerialized(KeyInfo, boolean, boolean, ClientProxyMembershipID,
    *      EntryEventImpl, boolean)
@@ -26,6 +26,7 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
@@ -519,6 +520,23 @@ public class Oplog implements CompactableOplog, Flushable {
 
   final ByteBuffer[] bbArray = new ByteBuffer[2];
 
+  /**
+   * In group commit mode, the number of synchronous records appended to this oplog. Guarded by
+   * lock.
+   */
+  private long groupCommitAppended;
+
+  /**
+   * In group commit mode, the number of synchronous records known to be on disk. Only written
+   * while holding groupCommitLock.
+   */
+  private volatile long groupCommitSynced;
+
+  /**
+   * Held by the thread that flushes and forces the records of a group commit.
+   */
+  private final Object groupCommitLock = new Object();
+
   private boolean lockedForKRFcreate = false;
 
   /**
@@ -1071,7 +1089,8 @@ public class Oplog implements CompactableOplog, Flushable {
     }
     this.crf.f = f;
     preblow(this.crf, getMaxCrfSize());
-    this.crf.raf = new UninterruptibleRandomAccessFile(f, SYNC_WRITES ? "rwd" : "rw");
+    this.crf.raf =
+        new UninterruptibleRandomAccessFile(f, getFileMode(), getParent().getDirectIOBuffers());
     this.crf.RAFClosed = false;
     oplogSet.crfCreate(this.oplogId);
     this.crf.writeBuf = allocateWriteBuf(prevOlf);
@@ -1111,7 +1130,8 @@ public class Oplog implements CompactableOplog, Flushable {
       logger.debug("Creating operation log file {}", f);
     }
     preblow(this.drf, getMaxDrfSize());
-    this.drf.raf = new UninterruptibleRandomAccessFile(f, SYNC_WRITES ? "rwd" : "rw");
+    this.drf.raf =
+        new UninterruptibleRandomAccessFile(f, getFileMode(), getParent().getDirectIOBuffers());
     this.drf.RAFClosed = false;
     this.oplogSet.drfCreate(this.oplogId);
     this.drf.writeBuf = allocateWriteBuf(prevOlf);
@@ -1130,6 +1150,17 @@ public class Oplog implements CompactableOplog, Flushable {
     return this.stats;
   }
 
+  /**
+   * Returns true if every byte flushed to the crf and the drf has been forced to disk. Used by
+   * tests of group commit.
+   */
+  boolean isForcedForTest() {
+    synchronized (this.lock) {
+      return this.crf.bytesSynced >= this.crf.bytesFlushed
+          && this.drf.bytesSynced >= this.drf.bytesFlushed;
+    }
+  }
+
   /**
    * Test Method to be used only for testing purposes. Gets the underlying File object for the Oplog
    * . Oplog class uses this File object to obtain the RandomAccessFile object. Before returning the
@@ -1611,7 +1642,8 @@ public class Oplog implements CompactableOplog, Flushable {
   private OplogEntryIdMap skippedKeyBytes;
 
   private boolean readKrf(OplogEntryIdSet deletedIds, boolean recoverValues,
-      boolean recoverValuesSync, Set<Oplog> oplogsNeedingValueRecovery, boolean latestOplog) {
+      boolean recoverValuesSync, Set<Oplog> oplogsNeedingValueRecovery, boolean latestOplog,
+      ByteBuffer prefetchedKrf) {
     File f = new File(this.diskFile.getPath() + KRF_FILE_EXT);
     if (!f.exists()) {
       return false;
@@ -1631,9 +1663,9 @@ public class Oplog implements CompactableOplog, Flushable {
       return false;
     }
 
-    FileInputStream fis;
+    InputStream fis;
     try {
-      fis = new FileInputStream(f);
+      fis = openKrf(f, prefetchedKrf);
     } catch (FileNotFoundException ignore) {
       return false;
     }
@@ -1648,7 +1680,7 @@ public class Oplog implements CompactableOplog, Flushable {
       this.recoverModEntryIdHWM = DiskStoreImpl.INVALID_ID;
       long oplogKeyIdHWM = DiskStoreImpl.INVALID_ID;
       int krfEntryCount = 0;
-      DataInputStream dis = new DataInputStream(new BufferedInputStream(fis, 1024 * 1024));
+      DataInputStream dis = new DataInputStream(fis);
       final Version version = getProductVersionIfOld();
       final ByteArrayDataInput in = new ByteArrayDataInput();
       try {
@@ -1664,16 +1696,16 @@ public class Oplog implements CompactableOplog, Flushable {
           // beginning or this is not a valid file at all. Try reading it as a
           // file in old format
           fis.close();
-          fis = new FileInputStream(f);
-          dis = new DataInputStream(new BufferedInputStream(fis, 1024 * 1024));
+          fis = openKrf(f, prefetchedKrf);
+          dis = new DataInputStream(fis);
           readDiskStoreRecord(dis, f);
         } catch (IllegalStateException ignore) {
           // Failed to read the file. There are two possibilities. Either this
           // is in new format which has a magic seq in the beginning or this is
           // not a valid file at all
           fis.close();
-          fis = new FileInputStream(f);
-          dis = new DataInputStream(new BufferedInputStream(fis, 1024 * 1024));
+          fis = openKrf(f, prefetchedKrf);
+          dis = new DataInputStream(fis);
           readDiskStoreRecord(dis, f);
         }
 
@@ -1814,6 +1846,28 @@ public class Oplog implements CompactableOplog, Flushable {
     return true;
   }
 
+  /**
+   * Returns the krf of this recovered oplog if it is complete, otherwise null.
+   */
+  File getRecoverableKrfFile() {
+    File f = new File(this.drf.f.getParentFile(), oplogSet.getPrefix() + getParent().getName()
+        + "_" + this.oplogId + KRF_FILE_EXT);
+    if (!getParent().getDiskInitFile().hasKrf(this.oplogId) || !f.exists()) {
+      return null;
+    }
+    return f;
+  }
+
+  /**
+   * Opens the krf, reading it from the buffer it was mapped into if recovery prefetched it.
+   */
+  private InputStream openKrf(File f, ByteBuffer prefetchedKrf) throws FileNotFoundException {
+    if (prefetchedKrf != null) {
+      return KrfPrefetcher.newInputStream(prefetchedKrf.duplicate());
+    }
+    return new BufferedInputStream(new FileInputStream(f), 1024 * 1024);
+  }
+
   private void validateOpcode(DataInputStream dis, byte expect) throws IOException {
     byte opCode = dis.readByte();
     if (opCode != expect) {
@@ -2185,6 +2239,19 @@ public class Oplog implements CompactableOplog, Flushable {
    */
   long recoverCrf(OplogEntryIdSet deletedIds, boolean recoverValues, boolean recoverValuesSync,
       boolean alreadyRecoveredOnce, Set<Oplog> oplogsNeedingValueRecovery, boolean latestOplog) {
+    return recoverCrf(deletedIds, recoverValues, recoverValuesSync, alreadyRecoveredOnce,
+        oplogsNeedingValueRecovery, latestOplog, null);
+  }
+
+  /**
+   * Recovers one oplog
+   *
+   * @param latestOplog - true if this oplog is the latest oplog in the disk store.
+   * @param prefetchedKrf - the krf of this oplog if it has been loaded by a {@link KrfPrefetcher}
+   */
+  long recoverCrf(OplogEntryIdSet deletedIds, boolean recoverValues, boolean recoverValuesSync,
+      boolean alreadyRecoveredOnce, Set<Oplog> oplogsNeedingValueRecovery, boolean latestOplog,
+      ByteBuffer prefetchedKrf) {
     // crf might not exist; but drf always will
     this.diskFile = new File(this.drf.f.getParentFile(),
         oplogSet.getPrefix() + getParent().getName() + "_" + this.oplogId);
@@ -2209,7 +2276,7 @@ public class Oplog implements CompactableOplog, Flushable {
       // if we have a KRF then read it and delay reading the CRF.
       // Unless we are in synchronous recovery mode
       if (!readKrf(deletedIds, recoverValues, recoverValuesSync, oplogsNeedingValueRecovery,
-          latestOplog)) {
+          latestOplog, prefetchedKrf)) {
         logger.info("Recovering {} {} for disk store {}.",
             new Object[] {toString(), crfFile.getAbsolutePath(), getParent().getName()});
         byteCount = readCrf(deletedIds, recoverValues, latestOplog);
@@ -3223,6 +3290,7 @@ public class Oplog implements CompactableOplog, Flushable {
     // No need to get the backup lock prior to synchronizing (correct lock order) since the
     // synchronized block does not attempt to get the backup lock (incorrect lock order)
     synchronized (this.lock/* crf */) {
+      forceBeforeClose();
       unpreblow(this.crf, getMaxCrfSize());
       if (!this.crf.RAFClosed) {
         try {
@@ -3483,6 +3551,7 @@ public class Oplog implements CompactableOplog, Flushable {
       boolean async) throws IOException, InterruptedException {
     DiskId id = entry.getDiskId();
     boolean useNextOplog = false;
+    long groupCommitSequence = 0;
     long startPosForSynchOp = -1;
     if (DiskStoreImpl.KRF_DEBUG) {
       // wait for cache close to create krf
@@ -3552,7 +3621,8 @@ public class Oplog implements CompactableOplog, Flushable {
           id.setOplogId(getOplogId());
           // do the io while holding lock so that switch can set doneAppending
           // Write the data to the opLog for the synch mode
-          startPosForSynchOp = writeOpLogBytes(this.crf, async, true);
+          startPosForSynchOp = writeOpLogBytes(this.crf, async, !isGroupCommit());
+          groupCommitSequence = nextGroupCommitSequence(async);
           // if (this.crf.currSize != startPosForSynchOp) {
           // assert false;
           // }
@@ -3608,6 +3678,7 @@ public class Oplog implements CompactableOplog, Flushable {
     } finally {
       getParent().getBackupLock().unlock();
     }
+    waitForGroupCommit(groupCommitSequence);
     if (useNextOplog) {
       if (LocalRegion.ISSUE_CALLBACKS_TO_CACHE_OBSERVER) {
         CacheObserverHolder.getInstance().afterSwitchingOplog();
@@ -3683,6 +3754,7 @@ public class Oplog implements CompactableOplog, Flushable {
       drName = getParent().getName();
     }
     flushAll(); // needed in case of async
+    forceBeforeClose();
     lengthOfOperationCausingSwitch += 20; // for worstcase overhead of writing
                                           // first record
 
@@ -4487,6 +4559,7 @@ public class Oplog implements CompactableOplog, Flushable {
       boolean async, boolean calledByCompactor) throws IOException, InterruptedException {
     DiskId id = entry.getDiskId();
     boolean useNextOplog = false;
+    long groupCommitSequence = 0;
     long startPosForSynchOp = -1L;
     int adjustment = 0;
     Oplog emptyOplog = null;
@@ -4521,7 +4594,8 @@ public class Oplog implements CompactableOplog, Flushable {
             long oldOplogId;
             // do the io while holding lock so that switch can set doneAppending
             // Write the data to the opLog for the synch mode
-            startPosForSynchOp = writeOpLogBytes(this.crf, async, true);
+            startPosForSynchOp = writeOpLogBytes(this.crf, async, !isGroupCommit());
+            groupCommitSequence = nextGroupCommitSequence(async);
             this.crf.currSize = temp;
             startPosForSynchOp += getOpStateValueOffset();
             if (logger.isTraceEnabled(LogMarker.PERSIST_WRITES_VERBOSE)) {
@@ -4592,6 +4666,7 @@ public class Oplog implements CompactableOplog, Flushable {
     } finally {
       getParent().getBackupLock().unlock();
     }
+    waitForGroupCommit(groupCommitSequence);
     if (useNextOplog) {
       if (LocalRegion.ISSUE_CALLBACKS_TO_CACHE_OBSERVER) {
         CacheObserverHolder.getInstance().afterSwitchingOplog();
@@ -4623,6 +4698,7 @@ public class Oplog implements CompactableOplog, Flushable {
   private void basicSaveConflictVersionTag(DiskRegionView dr, VersionTag tag, boolean async)
       throws IOException, InterruptedException {
     boolean useNextOplog = false;
+    long groupCommitSequence = 0;
     int adjustment = 0;
     getParent().getBackupLock().lock();
     try {
@@ -4646,7 +4722,8 @@ public class Oplog implements CompactableOplog, Flushable {
               throw cce;
             }
             this.firstRecord = false;
-            writeOpLogBytes(this.crf, async, true);
+            writeOpLogBytes(this.crf, async, !isGroupCommit());
+            groupCommitSequence = nextGroupCommitSequence(async);
             this.crf.currSize = temp;
             if (logger.isTraceEnabled(LogMarker.PERSIST_WRITES_VERBOSE)) {
               logger.trace(LogMarker.PERSIST_WRITES_VERBOSE,
@@ -4668,6 +4745,7 @@ public class Oplog implements CompactableOplog, Flushable {
     } finally {
       getParent().getBackupLock().unlock();
     }
+    waitForGroupCommit(groupCommitSequence);
     if (useNextOplog) {
       if (LocalRegion.ISSUE_CALLBACKS_TO_CACHE_OBSERVER) {
         CacheObserverHolder.getInstance().afterSwitchingOplog();
@@ -4944,6 +5022,7 @@ public class Oplog implements CompactableOplog, Flushable {
     DiskId id = entry.getDiskId();
 
     boolean useNextOplog = false;
+    long groupCommitSequence = 0;
     long startPosForSynchOp = -1;
     Oplog emptyOplog = null;
     if (DiskStoreImpl.KRF_DEBUG) {
@@ -4994,7 +5073,8 @@ public class Oplog implements CompactableOplog, Flushable {
             // before we flush the crf.
             // However we can't have removes by async if we are doing a sync write
             // because we might be killed right after we do this write.
-            startPosForSynchOp = writeOpLogBytes(this.drf, async, true);
+            startPosForSynchOp = writeOpLogBytes(this.drf, async, !isGroupCommit());
+            groupCommitSequence = nextGroupCommitSequence(async);
             setHasDeletes(true);
             if (logger.isDebugEnabled(LogMarker.PERSIST_WRITES_VERBOSE)) {
               logger.debug("basicRemove: id=<{}> key=<{}> drId={} oplog#{}", abs(id.getKeyId()),
@@ -5026,6 +5106,7 @@ public class Oplog implements CompactableOplog, Flushable {
     } finally {
       getParent().getBackupLock().unlock();
     }
+    waitForGroupCommit(groupCommitSequence);
     if (useNextOplog) {
       if (LocalRegion.ISSUE_CALLBACKS_TO_CACHE_OBSERVER) {
         CacheObserverHolder.getInstance().afterSwitchingOplog();
@@ -5074,6 +5155,124 @@ public class Oplog implements CompactableOplog, Flushable {
     flushAll(false);
   }
 
+  private boolean isGroupCommit() {
+    return getParent().isGroupCommit();
+  }
+
+  private String getFileMode() {
+    // a group commit forces the files itself; rwd would sync every write
+    return SYNC_WRITES && !isGroupCommit() ? "rwd" : "rw";
+  }
+
+  /**
+   * Must be called while holding lock after a record has been appended without being flushed.
+   *
+   * @return the sequence to pass to {@link #waitForGroupCommit(long)} once lock has been released,
+   *         or 0 if the record does not need to be committed
+   */
+  private long nextGroupCommitSequence(boolean async) {
+    if (async || !isGroupCommit()) {
+      return 0;
+    }
+    return ++this.groupCommitAppended;
+  }
+
+  /**
+   * Blocks until the record with the given group commit sequence is on disk. The thread that gets
+   * groupCommitLock first flushes and forces every record appended so far, so a single force
+   * acknowledges all the writers that appended while the previous force was running.
+   */
+  private void waitForGroupCommit(long sequence) throws IOException {
+    if (sequence <= this.groupCommitSynced) {
+      return;
+    }
+    if (LocalRegion.ISSUE_CALLBACKS_TO_CACHE_OBSERVER) {
+      CacheObserverHolder.getInstance().beforeWaitingForGroupCommit();
+    }
+    synchronized (this.groupCommitLock) {
+      if (sequence <= this.groupCommitSynced) {
+        // committed by the force this thread waited for
+        return;
+      }
+      long appended;
+      long drfFlushed;
+      long crfFlushed;
+      synchronized (this.lock) {
+        appended = this.groupCommitAppended;
+        // the drf is flushed before the crf, just like flushAll does
+        flush(this.drf, false);
+        flush(this.crf, false);
+        if (hasUnflushedRecords(this.drf) || hasUnflushedRecords(this.crf)) {
+          // the oplog was closed before these records could be written
+          throw new ClosedChannelException();
+        }
+        drfFlushed = this.drf.bytesFlushed;
+        crfFlushed = this.crf.bytesFlushed;
+      }
+      // other writers keep appending to the write buffers while we wait for the disk
+      force(this.drf, drfFlushed);
+      force(this.crf, crfFlushed);
+      this.groupCommitSynced = appended;
+    }
+  }
+
+  /**
+   * Forces the bytes flushed to the file. Fails if the file was closed before they were forced,
+   * instead of acknowledging records that may not be on disk.
+   */
+  private void force(OplogFile olf, long bytesFlushed) throws IOException {
+    if (olf.bytesSynced >= bytesFlushed) {
+      return;
+    }
+    if (olf.RAFClosed) {
+      throw new ClosedChannelException();
+    }
+    try {
+      olf.channel.force(false);
+    } catch (ClosedChannelException ex) {
+      // a switch or close forces the file before closing it, see forceBeforeClose
+      if (olf.bytesSynced >= bytesFlushed) {
+        return;
+      }
+      throw ex;
+    }
+    // No need to get the backup lock prior to synchronizing (correct lock order) since the
+    // synchronized block does not attempt to get the backup lock (incorrect lock order)
+    synchronized (this.lock/* olf */) {
+      if (bytesFlushed > olf.bytesSynced) {
+        olf.bytesSynced = bytesFlushed;
+      }
+    }
+  }
+
+  /**
+   * In group commit mode, forces the files of this oplog before a switch or close lets them be
+   * closed, so that the writers still waiting for a group commit of their records are released by
+   * this force. Must be called while holding lock once the write buffers have been flushed.
+   */
+  private void forceBeforeClose() {
+    if (!isGroupCommit()) {
+      return;
+    }
+    try {
+      if (!this.drf.RAFClosed) {
+        force(this.drf, this.drf.bytesFlushed);
+      }
+      if (!this.crf.RAFClosed) {
+        force(this.crf, this.crf.bytesFlushed);
+      }
+    } catch (IOException ex) {
+      getParent().getCancelCriterion().checkCancelInProgress(ex);
+      throw new DiskAccessException(
+          String.format("Failed writing key to %s", this.diskFile.getPath()),
+          ex, getParent());
+    }
+  }
+
+  private static boolean hasUnflushedRecords(OplogFile olf) {
+    return olf.writeBuf != null && olf.writeBuf.position() != 0;
+  }
+
   private static final int MAX_CHANNEL_RETRIES = 5;
 
   private void flush(OplogFile olf, boolean doSync) throws IOException {
@@ -5778,6 +5977,17 @@ public class Oplog implements CompactableOplog, Flushable {
     return false;
   }
 
+  /**
+   * Returns the fraction of the records written to this oplog that are still live.
+   */
+  double getLiveRatio() {
+    long total = this.totalCount.get();
+    if (total <= 0) {
+      return 0;
+    }
+    return Math.max(0, this.totalLiveCount.get()) / (double) total;
+  }
+
   public boolean hadLiveEntries() {
     return this.totalCount.get() != 0;
   }
@@ -5964,11 +6174,15 @@ public class Oplog implements CompactableOplog, Flushable {
                                  * getParent().getOwner().isDestroyed ||
                                  */!compactor.keepCompactorRunning();
         int totalCount = 0;
+        // the crf is deleted as soon as its last live entry has been copied forward
+        final long crfSize = this.crf.currSize;
+        long copiedBytes = 0;
         for (DiskRegionInfo dri : this.regionMap.values()) {
           final DiskRegionView dr = dri.getDiskRegion();
           if (dr == null)
             continue;
           boolean didCompact = false;
+          int copiedSize = 0;
           while ((de = dri.getNextLiveEntry()) != null) {
             if (/*
                  * getParent().getOwner().isDestroyed ||
@@ -6004,6 +6218,7 @@ public class Oplog implements CompactableOplog, Flushable {
                     }
                     continue;
                   }
+                  copiedSize = wrapper.getSize();
                   // write it to the current oplog
                   getOplogSet().getChild().copyForwardModifyForCompact(dr, de, wrapper);
                   // the did's oplogId will now be set to the current active oplog
@@ -6013,7 +6228,9 @@ public class Oplog implements CompactableOplog, Flushable {
             } // de
             if (didCompact) {
               totalCount++;
+              copiedBytes += copiedSize;
               getStats().endCompactionUpdate(opStart);
+              long pauseNanos = compactor.copiedForward(copiedSize);
               opStart = getStats().getStatTime();
               // Check if the value byte array happens to be any of the
               // constant
@@ -6025,10 +6242,26 @@ public class Oplog implements CompactableOplog, Flushable {
               if (!wrapper.isReusable()) {
                 wrapper = new BytesAndBitsForCompactor();
               }
+              if (pauseNanos > 0) {
+                compactor.pause(pauseNanos, this.compactorLock);
+                opStart = getStats().getStatTime();
+                if (getDRI(dr.getId()) != dri || dri.getDiskRegion() != dr) {
+                  // the region was closed, and maybe recreated, while the locks were released.
+                  // This oplog may still hold its entries, so it is not compacted yet.
+                  compactFailed = true;
+                  break;
+                }
+              }
             }
           }
+          if (compactFailed) {
+            break;
+          }
         }
 
+        if (!compactFailed) {
+          getStats().incCompactReclaimedBytes(Math.max(0, crfSize - copiedBytes));
+        }
         cleanupAfterCompaction(compactFailed);
         return totalCount;
       } finally {
@@ -6487,6 +6720,7 @@ public class Oplog implements CompactableOplog, Flushable {
     public ByteBuffer writeBuf;
     public long currSize;
     public long bytesFlushed;
+    public volatile long bytesSynced;
     public boolean unpreblown;
   }
 
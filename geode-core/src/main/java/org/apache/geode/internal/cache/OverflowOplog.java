@@ -1252,6 +1252,7 @@ class OverflowOplog implements CompactableOplog, Flushable {
         boolean compactFailed = !compactor.keepCompactorRunning();
         int totalCount = 0;
         boolean didCompact = false;
+        int copiedSize = 0;
         while ((de = getNextLiveEntry()) != null) {
           if (!compactor.keepCompactorRunning()) {
             compactFailed = true;
@@ -1306,12 +1307,14 @@ class OverflowOplog implements CompactableOplog, Flushable {
                 getOplogSet().copyForwardForOverflowCompact(de, valueBytes, length, userBits);
                 // the did's oplogId will now be set to the current active oplog
                 didCompact = true;
+                copiedSize = length;
               }
             } // did
           } // de
           if (didCompact) {
             totalCount++;
             getStats().endCompactionUpdate(opStart);
+            long pauseNanos = compactor.copiedForward(copiedSize);
             opStart = getStats().getStatTime();
             // Check if the value byte array happens to be any of the constant
             // static byte arrays or references the value byte array of underlying RegionEntry.
@@ -1321,6 +1324,12 @@ class OverflowOplog implements CompactableOplog, Flushable {
             if (!wrapper.isReusable()) {
               wrapper = new BytesAndBitsForCompactor();
             }
+            if (pauseNanos > 0) {
+              compactor.pause(pauseNanos, this.compactorLock);
+              opStart = getStats().getStatTime();
+              // a region closed during the pause removed its entries from the live list, and
+              // handleNoLiveValues only deletes this oplog once no live entries are left
+            }
           }
         }
 
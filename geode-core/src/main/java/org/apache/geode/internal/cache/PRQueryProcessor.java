@@ -42,13 +42,17 @@ import org.apache.geode.cache.RegionDestroyedException;
 import org.apache.geode.cache.query.QueryException;
 import org.apache.geode.cache.query.QueryInvocationTargetException;
 import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.internal.CompiledGroupBySelect;
 import org.apache.geode.cache.query.internal.CompiledSelect;
+import org.apache.geode.cache.query.internal.CompiledValue;
 import org.apache.geode.cache.query.internal.DefaultQuery;
 import org.apache.geode.cache.query.internal.ExecutionContext;
 import org.apache.geode.cache.query.internal.NWayMergeResults;
 import org.apache.geode.cache.query.internal.QueryExecutionContext;
 import org.apache.geode.cache.query.internal.QueryMonitor;
+import org.apache.geode.cache.query.internal.QueryUtils;
 import org.apache.geode.cache.query.types.ObjectType;
+import org.apache.geode.cache.query.types.StructType;
 import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.internal.Assert;
 import org.apache.geode.internal.DataSerializableFixedID;
@@ -174,7 +178,7 @@ public class PRQueryProcessor {
         if (cs != null && (cs.isOrderBy() || cs.isGroupBy())) {
           ExecutionContext context = new QueryExecutionContext(this.parameters, pr.getCache());
           int limit = this.query.getLimit(parameters);
-          Collection mergedResults = coalesceOrderedResults(resultCollector, context, cs, limit);
+          Collection mergedResults = mergeBucketResults(resultCollector, context, cs, limit);
           resultCollector.clear();
           resultCollector.add(mergedResults);
         }
@@ -203,7 +207,7 @@ public class PRQueryProcessor {
         context.setBucketList(singleBucket);
         executeQueryOnBuckets(resultCollector, context);
       }
-      Collection mergedResults = coalesceOrderedResults(resultCollector, context, cs, limit);
+      Collection mergedResults = mergeBucketResults(resultCollector, context, cs, limit);
       resultCollector.clear();
       resultCollector.add(mergedResults);
 
@@ -213,7 +217,40 @@ public class PRQueryProcessor {
     }
   }
 
-  private Collection coalesceOrderedResults(Collection<Collection> results,
+  /**
+   * Merges the results of the buckets. The partial aggregates of an aggregate query are combined so
+   * that one row per group, rather than one per bucket, is sent to the PR query node.
+   */
+  private Collection mergeBucketResults(Collection<Collection> results, ExecutionContext context,
+      CompiledSelect cs, int limit) throws QueryException {
+    if (cs.getType() != CompiledValue.GROUP_BY_SELECT) {
+      return coalesceOrderedResults(results, context, cs, limit);
+    }
+    SelectResults bucketResults;
+    if (cs.isOrderBy()) {
+      bucketResults = coalesceOrderedResults(results, context, cs, limit);
+    } else {
+      bucketResults = concatenateResults(results, context);
+    }
+    context.setBucketList(this._bucketsToQuery);
+    return ((CompiledGroupBySelect) cs).combineBucketResults(bucketResults, context);
+  }
+
+  private SelectResults concatenateResults(Collection<Collection> results,
+      ExecutionContext context) {
+    ObjectType elementType = this.resultType;
+    SelectResults concatenatedResults = elementType.isStructType()
+        ? QueryUtils.createStructCollection(false, (StructType) elementType, context)
+        : QueryUtils.createResultCollection(false, elementType, context);
+    for (Object o : results) {
+      if (o instanceof Collection) {
+        concatenatedResults.addAll((Collection) o);
+      }
+    }
+    return concatenatedResults;
+  }
+
+  private SelectResults coalesceOrderedResults(Collection<Collection> results,
       ExecutionContext context, CompiledSelect cs, int limit) {
     List<Collection> sortedResults = new ArrayList<Collection>(results.size());
     // TODO :Asif : Deal with UNDEFINED
@@ -17,6 +17,7 @@ package org.apache.geode.internal.cache;
 import java.io.File;
 import java.io.FilenameFilter;
 import java.io.PrintStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
@@ -456,35 +457,45 @@ public class PersistentOplogSet implements OplogSet {
     if (!oplogSet.isEmpty()) {
       long startOpLogRecovery = System.currentTimeMillis();
 
-      // first figure out all entries that have been destroyed
-      boolean latestOplog = true;
-      for (Oplog oplog : oplogSet) {
-        byteCount += oplog.recoverDrf(deletedIds, getAlreadyRecoveredOnce().get(), latestOplog);
-        latestOplog = false;
-        if (!getAlreadyRecoveredOnce().get()) {
-          updateOplogEntryId(oplog.getMaxRecoveredOplogEntryId());
+      // start loading krfs while the drfs are read
+      try (KrfPrefetcher krfPrefetcher = new KrfPrefetcher(parent.getName(), oplogSet,
+          getKrfPrefetchThreads(), parent.getStats())) {
+        // first figure out all entries that have been destroyed
+        boolean latestOplog = true;
+        for (Oplog oplog : oplogSet) {
+          byteCount += oplog.recoverDrf(deletedIds, getAlreadyRecoveredOnce().get(), latestOplog);
+          latestOplog = false;
+          if (!getAlreadyRecoveredOnce().get()) {
+            updateOplogEntryId(oplog.getMaxRecoveredOplogEntryId());
+          }
         }
-      }
 
-      parent.incDeadRecordCount(deletedIds.size());
+        parent.incDeadRecordCount(deletedIds.size());
 
-      // now figure out live entries
-      latestOplog = true;
-      for (Oplog oplog : oplogSet) {
-        long startOpLogRead = parent.getStats().startOplogRead();
-        long bytesRead = oplog.recoverCrf(deletedIds, recoverValues(), recoverValuesSync(),
-            getAlreadyRecoveredOnce().get(), oplogsNeedingValueRecovery, latestOplog);
-        latestOplog = false;
-        if (!getAlreadyRecoveredOnce().get()) {
-          updateOplogEntryId(oplog.getMaxRecoveredOplogEntryId());
-        }
-        byteCount += bytesRead;
-        parent.getStats().endOplogRead(startOpLogRead, bytesRead);
+        // now figure out live entries
+        latestOplog = true;
+        for (Oplog oplog : oplogSet) {
+          long startOpLogRead = parent.getStats().startOplogRead();
+          ByteBuffer krf = krfPrefetcher.take(oplog);
+          long bytesRead;
+          try {
+            bytesRead = oplog.recoverCrf(deletedIds, recoverValues(), recoverValuesSync(),
+                getAlreadyRecoveredOnce().get(), oplogsNeedingValueRecovery, latestOplog, krf);
+          } finally {
+            krfPrefetcher.release(krf);
+          }
+          latestOplog = false;
+          if (!getAlreadyRecoveredOnce().get()) {
+            updateOplogEntryId(oplog.getMaxRecoveredOplogEntryId());
+          }
+          byteCount += bytesRead;
+          parent.getStats().endOplogRead(startOpLogRead, bytesRead);
 
-        // Callback to the disk regions to indicate the oplog is recovered
-        // Used for offline export
-        for (DiskRecoveryStore drs : currentRecoveryMap.values()) {
-          drs.getDiskRegionView().oplogRecovered(oplog.oplogId);
+          // Callback to the disk regions to indicate the oplog is recovered
+          // Used for offline export
+          for (DiskRecoveryStore drs : currentRecoveryMap.values()) {
+            drs.getDiskRegionView().oplogRecovered(oplog.oplogId);
+          }
         }
       }
 
@@ -537,6 +548,16 @@ public class PersistentOplogSet implements OplogSet {
     return byteCount;
   }
 
+  /**
+   * Krfs are not read when values are recovered synchronously or, unless forced, by offline tools.
+   */
+  private int getKrfPrefetchThreads() {
+    if (recoverValuesSync() || (parent.isOffline() && !parent.FORCE_KRF_RECOVERY)) {
+      return 0;
+    }
+    return parent.RECOVERY_THREADS;
+  }
+
   private boolean recoverValuesSync() {
     return parent.RECOVER_VALUES_SYNC;
   }
@@ -1010,19 +1031,27 @@ public class PersistentOplogSet implements OplogSet {
   }
 
   /**
-   * Add compactable oplogs to the list, up to the maximum size.
+   * Adds the oplogs that need compaction, the ones with the most garbage first since they free the
+   * most space for the least copying. Oplogs with the same amount of garbage are added oldest
+   * first.
    */
   void getCompactableOplogs(List<CompactableOplog> compactableOplogs, int max) {
+    Map<Oplog, Double> liveRatios = new LinkedHashMap<>();
     synchronized (getOplogIdToOplog()) {
       for (Oplog oplog : getOplogIdToOplog().values()) {
-        if (compactableOplogs.size() >= max) {
-          return;
-        }
         if (oplog.needsCompaction()) {
-          compactableOplogs.add(oplog);
+          liveRatios.put(oplog, oplog.getLiveRatio());
         }
       }
     }
+    List<Oplog> candidates = new ArrayList<>(liveRatios.keySet());
+    candidates.sort(Comparator.comparingDouble(liveRatios::get));
+    for (Oplog oplog : candidates) {
+      if (compactableOplogs.size() >= max) {
+        return;
+      }
+      compactableOplogs.add(oplog);
+    }
   }
 
   void scheduleForRecovery(DiskRecoveryStore diskRecoveryStore) {
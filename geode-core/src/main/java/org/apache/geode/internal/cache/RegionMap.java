@@ -133,6 +133,22 @@ public interface RegionMap extends EvictableMap {
    */
   RegionEntry getEntry(Object key);
 
+  /**
+   * Same as {@code getEntry(Long.valueOf(key))}. The backing map may look the key up without
+   * boxing it.
+   */
+  default RegionEntry getEntryForLongKey(long key) {
+    return getEntry(key);
+  }
+
+  /**
+   * Same as {@code getEntry(Integer.valueOf(key))}. The backing map may look the key up without
+   * boxing it.
+   */
+  default RegionEntry getEntryForIntKey(int key) {
+    return getEntry(key);
+  }
+
   RegionEntry putEntryIfAbsent(Object key, RegionEntry re);
 
   /**
@@ -386,6 +402,12 @@ public interface RegionMap extends EvictableMap {
 
   int centralizedLruUpdateCallback();
 
+  /**
+   * Like {@link #centralizedLruUpdateCallback()} but when proactive is true an entry is evicted
+   * even if the memory usage has not reached the eviction threshold yet.
+   */
+  int centralizedLruUpdateCallback(boolean proactive);
+
   void updateEvictionCounter();
 
   ConcurrentMapWithReusableEntries<Object, Object> getCustomEntryConcurrentHashMap();
@@ -518,6 +518,11 @@ public class VMLRURegionMap extends AbstractRegionMap {
 
   @Override
   public int centralizedLruUpdateCallback() {
+    return centralizedLruUpdateCallback(false);
+  }
+
+  @Override
+  public int centralizedLruUpdateCallback(boolean proactive) {
     final boolean isDebugEnabled_LRU = logger.isTraceEnabled(LogMarker.LRU_VERBOSE);
 
     int evictedBytes = 0;
@@ -533,7 +538,7 @@ public class VMLRURegionMap extends AbstractRegionMap {
     }
     EvictionCounters stats = getEvictionList().getStatistics();
     try {
-      while (mustEvict() && evictedBytes == 0) {
+      while ((proactive ? this.sizeInVM() > 0 : mustEvict()) && evictedBytes == 0) {
         EvictableEntry removalEntry = getEvictionList().getEvictableEntry();
         if (removalEntry != null) {
           evictedBytes = evictEntry(removalEntry, stats);
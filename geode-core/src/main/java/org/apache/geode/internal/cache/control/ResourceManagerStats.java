@@ -70,6 +70,9 @@ public class ResourceManagerStats {
   private static final int evictionThresholdId;
   private static final int offHeapEvictionThresholdId;
   private static final int tenuredHeapUsageId;
+  private static final int tenuredHeapGrowthRateId;
+  private static final int proactiveEvictionsId;
+  private static final int proactiveEvictionBytesId;
   private static final int resourceEventsDeliveredId;
   private static final int resourceEventQueueSizeId;
   private static final int thresholdEventProcessorThreadJobsId;
@@ -180,6 +183,15 @@ public class ResourceManagerStats {
                 "The currently set off-heap eviction threshold value in bytes", "bytes"),
             f.createLongGauge("tenuredHeapUsed", "Total memory used in the tenured/old space",
                 "bytes"),
+            f.createLongGauge("tenuredHeapGrowthRate",
+                "The forecast rate at which the memory left in the tenured/old space after collections grows, when proactive heap eviction is enabled",
+                "bytes/second"),
+            f.createIntCounter("proactiveEvictions",
+                "Total number of times heap eviction was started before the eviction threshold was reached because heap usage was forecast to reach it.",
+                "operations"),
+            f.createLongCounter("proactiveEvictionBytes",
+                "Total number of bytes heap eviction was asked to evict before the eviction threshold was reached.",
+                "bytes"),
             f.createIntCounter("resourceEventsDelivered",
                 "Total number of resource events delivered to listeners", "events"),
             f.createIntGauge("resourceEventQueueSize",
@@ -228,6 +240,9 @@ public class ResourceManagerStats {
     evictionThresholdId = type.nameToId("evictionThreshold");
     offHeapEvictionThresholdId = type.nameToId("offHeapEvictionThreshold");
     tenuredHeapUsageId = type.nameToId("tenuredHeapUsed");
+    tenuredHeapGrowthRateId = type.nameToId("tenuredHeapGrowthRate");
+    proactiveEvictionsId = type.nameToId("proactiveEvictions");
+    proactiveEvictionBytesId = type.nameToId("proactiveEvictionBytes");
     resourceEventsDeliveredId = type.nameToId("resourceEventsDelivered");
     resourceEventQueueSizeId = type.nameToId("resourceEventQueueSize");
     thresholdEventProcessorThreadJobsId = type.nameToId("thresholdEventProcessorThreadJobs");
@@ -511,6 +526,27 @@ public class ResourceManagerStats {
     return this.stats.getLong(tenuredHeapUsageId);
   }
 
+  public void changeTenuredHeapGrowthRate(long newValue) {
+    this.stats.setLong(tenuredHeapGrowthRateId, newValue);
+  }
+
+  public long getTenuredHeapGrowthRate() {
+    return this.stats.getLong(tenuredHeapGrowthRateId);
+  }
+
+  public void incProactiveEvictions(long bytesToEvict) {
+    this.stats.incInt(proactiveEvictionsId, 1);
+    this.stats.incLong(proactiveEvictionBytesId, bytesToEvict);
+  }
+
+  public int getProactiveEvictions() {
+    return this.stats.getInt(proactiveEvictionsId);
+  }
+
+  public long getProactiveEvictionBytes() {
+    return this.stats.getLong(proactiveEvictionBytesId);
+  }
+
   public void incResourceEventQueueSize(int delta) {
     this.stats.incInt(resourceEventQueueSizeId, delta);
   }
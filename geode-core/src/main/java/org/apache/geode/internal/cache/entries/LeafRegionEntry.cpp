@@ -754,6 +754,11 @@ public class LEAF_CLASS extends PARENT_CLASS {
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(final int key) {
+    return key == this.key;
+  }
   
 #elif defined(KEY_LONG)
   @Override
@@ -768,6 +773,11 @@ public class LEAF_CLASS extends PARENT_CLASS {
     }
     return false;
   }
+
+  @Override
+  public boolean isLongKeyEqual(final long key) {
+    return key == this.key;
+  }
   
 #elif defined(KEY_UUID)
   @Override
@@ -349,5 +349,10 @@ public class VMStatsDiskLRURegionEntryHeapIntKey extends VMStatsDiskLRURegionEnt
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(final int key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
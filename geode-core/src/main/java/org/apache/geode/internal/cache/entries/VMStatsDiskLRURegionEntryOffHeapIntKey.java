@@ -411,5 +411,10 @@ public class VMStatsDiskLRURegionEntryOffHeapIntKey extends VMStatsDiskLRURegion
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(final int key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -411,5 +411,10 @@ public class VMStatsDiskLRURegionEntryOffHeapLongKey extends VMStatsDiskLRURegio
     }
     return false;
   }
+
+  @Override
+  public boolean isLongKeyEqual(final long key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
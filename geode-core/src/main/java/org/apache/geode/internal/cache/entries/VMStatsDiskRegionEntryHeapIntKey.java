@@ -231,5 +231,10 @@ public class VMStatsDiskRegionEntryHeapIntKey extends VMStatsDiskRegionEntryHeap
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(final int key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
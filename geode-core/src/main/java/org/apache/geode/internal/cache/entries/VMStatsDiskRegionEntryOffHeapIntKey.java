@@ -290,5 +290,10 @@ public class VMStatsDiskRegionEntryOffHeapIntKey extends VMStatsDiskRegionEntryO
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(final int key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
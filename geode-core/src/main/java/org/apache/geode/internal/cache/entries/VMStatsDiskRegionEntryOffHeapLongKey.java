@@ -290,5 +290,10 @@ public class VMStatsDiskRegionEntryOffHeapLongKey extends VMStatsDiskRegionEntry
     }
     return false;
   }
+
+  @Override
+  public boolean isLongKeyEqual(final long key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
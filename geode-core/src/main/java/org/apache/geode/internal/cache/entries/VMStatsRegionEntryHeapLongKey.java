@@ -189,5 +189,10 @@ public class VMStatsRegionEntryHeapLongKey extends VMStatsRegionEntryHeap {
     }
     return false;
   }
+
+  @Override
+  public boolean isLongKeyEqual(final long key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -111,5 +111,10 @@ public class VMThinRegionEntryHeapLongKey extends VMThinRegionEntryHeap {
     }
     return false;
   }
+
+  @Override
+  public boolean isLongKeyEqual(final long key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
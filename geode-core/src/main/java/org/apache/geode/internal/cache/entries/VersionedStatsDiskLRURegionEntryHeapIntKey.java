@@ -467,5 +467,10 @@ public class VersionedStatsDiskLRURegionEntryHeapIntKey
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(final int key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -467,5 +467,10 @@ public class VersionedStatsDiskLRURegionEntryHeapLongKey
     }
     return false;
   }
+
+  @Override
+  public boolean isLongKeyEqual(final long key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -526,5 +526,10 @@ public class VersionedStatsDiskLRURegionEntryOffHeapIntKey
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(final int key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
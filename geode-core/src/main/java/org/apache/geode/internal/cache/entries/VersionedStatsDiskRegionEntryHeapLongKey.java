@@ -349,5 +349,10 @@ public class VersionedStatsDiskRegionEntryHeapLongKey extends VersionedStatsDisk
     }
     return false;
   }
+
+  @Override
+  public boolean isLongKeyEqual(final long key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -409,5 +409,10 @@ public class VersionedStatsDiskRegionEntryOffHeapIntKey
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(final int key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -408,5 +408,10 @@ public class VersionedStatsLRURegionEntryHeapLongKey extends VersionedStatsLRURe
     }
     return false;
   }
+
+  @Override
+  public boolean isLongKeyEqual(final long key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -304,5 +304,10 @@ public class VersionedStatsRegionEntryHeapIntKey extends VersionedStatsRegionEnt
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(final int key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
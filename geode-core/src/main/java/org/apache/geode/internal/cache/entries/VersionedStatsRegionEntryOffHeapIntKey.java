@@ -366,5 +366,10 @@ public class VersionedStatsRegionEntryOffHeapIntKey extends VersionedStatsRegion
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(final int key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
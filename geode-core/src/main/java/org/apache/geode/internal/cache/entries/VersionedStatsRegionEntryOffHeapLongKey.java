@@ -366,5 +366,10 @@ public class VersionedStatsRegionEntryOffHeapLongKey extends VersionedStatsRegio
     }
     return false;
   }
+
+  @Override
+  public boolean isLongKeyEqual(final long key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -269,5 +269,10 @@ public class VersionedThinDiskRegionEntryHeapIntKey extends VersionedThinDiskReg
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(final int key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -269,5 +269,10 @@ public class VersionedThinDiskRegionEntryHeapLongKey extends VersionedThinDiskRe
     }
     return false;
   }
+
+  @Override
+  public boolean isLongKeyEqual(final long key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -387,5 +387,10 @@ public class VersionedThinLRURegionEntryOffHeapIntKey extends VersionedThinLRURe
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(final int key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
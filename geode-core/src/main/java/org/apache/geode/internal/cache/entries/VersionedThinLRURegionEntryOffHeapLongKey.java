@@ -387,5 +387,10 @@ public class VersionedThinLRURegionEntryOffHeapLongKey extends VersionedThinLRUR
     }
     return false;
   }
+
+  @Override
+  public boolean isLongKeyEqual(final long key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
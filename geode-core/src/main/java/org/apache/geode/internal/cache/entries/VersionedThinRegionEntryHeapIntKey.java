@@ -226,5 +226,10 @@ public class VersionedThinRegionEntryHeapIntKey extends VersionedThinRegionEntry
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(final int key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -226,5 +226,10 @@ public class VersionedThinRegionEntryHeapLongKey extends VersionedThinRegionEntr
     }
     return false;
   }
+
+  @Override
+  public boolean isLongKeyEqual(final long key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -286,5 +286,10 @@ public class VersionedThinRegionEntryOffHeapIntKey extends VersionedThinRegionEn
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(final int key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
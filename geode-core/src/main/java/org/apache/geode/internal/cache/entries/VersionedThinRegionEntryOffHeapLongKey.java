@@ -286,5 +286,10 @@ public class VersionedThinRegionEntryOffHeapLongKey extends VersionedThinRegionE
     }
     return false;
   }
+
+  @Override
+  public boolean isLongKeyEqual(final long key) {
+    return key == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
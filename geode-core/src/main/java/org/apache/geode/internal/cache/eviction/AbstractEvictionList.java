@@ -84,7 +84,7 @@ abstract class AbstractEvictionList implements EvictionList {
     }
   }
 
-  private synchronized void initEmptyList() {
+  synchronized void initEmptyList() {
     size.set(0);
     head.setNext(tail);
     tail.setPrevious(head);
@@ -112,6 +112,23 @@ abstract class AbstractEvictionList implements EvictionList {
     incrementSize();
   }
 
+  /**
+   * Adds an lru node to the head of the list, where it is the next one considered for eviction.
+   */
+  protected synchronized void prependEntry(final EvictionNode evictionNode) {
+    if (evictionNode.next() != null) {
+      // already in the list
+      return;
+    }
+
+    evictionNode.setPrevious(head);
+    head.next().setPrevious(evictionNode);
+    evictionNode.setNext(head.next());
+    head.setNext(evictionNode);
+
+    incrementSize();
+  }
+
   @Override
   public synchronized void destroyEntry(EvictionNode evictionNode) {
     if (logger.isTraceEnabled(LogMarker.LRU_CLOCK_VERBOSE)) {
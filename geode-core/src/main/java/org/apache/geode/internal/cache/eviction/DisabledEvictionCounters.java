@@ -53,6 +53,16 @@ class DisabledEvictionCounters implements EvictionCounters {
     // nothing
   }
 
+  @Override
+  public void incAdmissions() {
+    // nothing
+  }
+
+  @Override
+  public void incAdmissionRejections() {
+    // nothing
+  }
+
   @Override
   public void incEvictions() {
     // nothing
@@ -42,6 +42,10 @@ public interface EvictionCounters {
 
   void incGreedyReturns(long greedyReturns);
 
+  void incAdmissions();
+
+  void incAdmissionRejections();
+
   Statistics getStatistics();
 
   void close();
@@ -121,4 +121,14 @@ class EvictionCountersImpl implements EvictionCounters {
   public void incGreedyReturns(long greedyReturns) {
     this.stats.incGreedyReturns(greedyReturns);
   }
+
+  @Override
+  public void incAdmissions() {
+    this.stats.incAdmissions();
+  }
+
+  @Override
+  public void incAdmissionRejections() {
+    this.stats.incAdmissionRejections();
+  }
 }
@@ -36,4 +36,8 @@ public interface EvictionStats {
 
   void incGreedyReturns(long greedyReturns);
 
+  void incAdmissions();
+
+  void incAdmissionRejections();
+
 }
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+/**
+ * A count-min sketch of how often keys have been used, with four 4-bit counters per key packed
+ * sixteen to a long. Once the number of increments reaches ten times the table size every counter
+ * is halved, so the sketch keeps up with changes in the working set. Frequencies are estimates
+ * that may be too high but are never too low. Not thread safe; callers must synchronize.
+ */
+class FrequencySketch {
+
+  private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L,
+      0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+  private static final long RESET_MASK = 0x7777777777777777L;
+
+  private static final int MAX_FREQUENCY = 15;
+
+  private static final int MIN_CAPACITY = 16;
+
+  private static final int MAX_CAPACITY = 1 << 30;
+
+  private long[] table;
+
+  private int sampleSize;
+
+  private int additions;
+
+  FrequencySketch(int capacity) {
+    ensureCapacity(capacity);
+  }
+
+  /**
+   * Grows the table so that it can tell apart the frequencies of about the given number of keys.
+   * Growing the table forgets every frequency recorded so far.
+   */
+  void ensureCapacity(int capacity) {
+    int size = Math.max(MIN_CAPACITY, Math.min(capacity, MAX_CAPACITY));
+    size = Integer.highestOneBit(size - 1) << 1;
+    if (table != null && table.length >= size) {
+      return;
+    }
+    table = new long[size];
+    sampleSize = (int) Math.min(10L * size, Integer.MAX_VALUE);
+    additions = 0;
+  }
+
+  int capacity() {
+    return table.length;
+  }
+
+  /**
+   * Returns the estimated number of times the key with the given hash has been used, up to 15.
+   */
+  int frequency(int hash) {
+    int start = (spread(hash) & 3) << 2;
+    int frequency = MAX_FREQUENCY;
+    for (int i = 0; i < SEEDS.length; i++) {
+      int index = indexOf(hash, i);
+      int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  /**
+   * Records a use of the key with the given hash.
+   */
+  void increment(int hash) {
+    int start = (spread(hash) & 3) << 2;
+    boolean added = false;
+    for (int i = 0; i < SEEDS.length; i++) {
+      added |= incrementAt(indexOf(hash, i), start + i);
+    }
+    if (added && ++additions == sampleSize) {
+      reset();
+    }
+  }
+
+  private boolean incrementAt(int index, int counter) {
+    int offset = counter << 2;
+    long mask = 0xfL << offset;
+    if ((table[index] & mask) != mask) {
+      table[index] += 1L << offset;
+      return true;
+    }
+    return false;
+  }
+
+  /** Halves every counter so that old uses count for less than recent ones */
+  private void reset() {
+    for (int i = 0; i < table.length; i++) {
+      table[i] = (table[i] >>> 1) & RESET_MASK;
+    }
+    additions >>>= 1;
+  }
+
+  private int indexOf(int hash, int depth) {
+    long h = (hash + SEEDS[depth]) * SEEDS[depth];
+    h += h >>> 32;
+    return ((int) h) & (table.length - 1);
+  }
+
+  private static int spread(int hash) {
+    hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+    hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+    return (hash >>> 16) ^ hash;
+  }
+}
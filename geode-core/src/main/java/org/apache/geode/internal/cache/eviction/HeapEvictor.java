@@ -16,7 +16,12 @@ package org.apache.geode.internal.cache.eviction;
 
 import static org.apache.geode.distributed.internal.DistributionConfig.GEMFIRE_PREFIX;
 
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -24,11 +29,15 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
 import org.apache.logging.log4j.Logger;
 
+import org.apache.geode.CancelException;
 import org.apache.geode.cache.RegionDestroyedException;
 import org.apache.geode.distributed.internal.QueueStatHelper;
 import org.apache.geode.internal.cache.BucketRegion;
@@ -39,6 +48,7 @@ import org.apache.geode.internal.cache.control.HeapMemoryMonitor;
 import org.apache.geode.internal.cache.control.InternalResourceManager;
 import org.apache.geode.internal.cache.control.InternalResourceManager.ResourceType;
 import org.apache.geode.internal.cache.control.MemoryEvent;
+import org.apache.geode.internal.cache.control.MemoryThresholds;
 import org.apache.geode.internal.cache.control.ResourceListener;
 import org.apache.geode.internal.logging.LogService;
 import org.apache.geode.internal.logging.LoggingExecutors;
@@ -71,6 +81,25 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
   private static final boolean DISABLE_HEAP_EVICTOR_THREAD_POOL = Boolean
       .getBoolean(GEMFIRE_PREFIX + "HeapLRUCapacityController.DISABLE_HEAP_EVICTOR_THREAD_POOL");
 
+  /**
+   * When true, heap eviction starts before the eviction threshold is reached if the tenured heap is
+   * forecast to reach it, and keeps up with the rate at which the tenured heap grows. This spreads
+   * eviction out instead of evicting in bursts once the threshold has been crossed.
+   */
+  public static final boolean PROACTIVE_EVICTION =
+      Boolean.getBoolean(GEMFIRE_PREFIX + "HeapLRUCapacityController.proactiveEviction");
+
+  /** How often, in milliseconds, the tenured heap usage is sampled for proactive eviction */
+  private static final int PROACTIVE_EVICTION_INTERVAL = Math.max(1, Integer
+      .getInteger(GEMFIRE_PREFIX + "HeapLRUCapacityController.proactiveEvictionInterval", 500));
+
+  /** How far ahead, in milliseconds, proactive eviction forecasts the tenured heap usage */
+  private static final int PROACTIVE_EVICTION_HORIZON = Math.max(PROACTIVE_EVICTION_INTERVAL,
+      Integer.getInteger(GEMFIRE_PREFIX + "HeapLRUCapacityController.proactiveEvictionHorizon",
+          10000));
+
+  private static final double HEAP_GROWTH_SMOOTHING = 0.3;
+
   private static final long TOTAL_BYTES_TO_EVICT_FROM_HEAP = setTotalBytesToEvictFromHeap();
 
   private static final String EVICTOR_THREAD_NAME = "EvictorThread";
@@ -83,6 +112,21 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
 
   private final ExecutorService evictorThreadPool;
 
+  private final ScheduledExecutorService proactiveEvictionScheduler;
+
+  /** Only used by the proactive eviction thread */
+  private final HeapGrowthForecast heapGrowthForecast =
+      new HeapGrowthForecast(HEAP_GROWTH_SMOOTHING);
+
+  /** The collectors of the tenured space. Only used by the proactive eviction thread */
+  private List<GarbageCollectorMXBean> tenuredCollectors;
+
+  /** Only used by the proactive eviction thread */
+  private long lastTenuredCollectionCount;
+
+  /** Proactive eviction tasks that were submitted and have not finished running */
+  private final AtomicInteger pendingProactiveEvictionTasks = new AtomicInteger();
+
   private final InternalCache cache;
 
   private final AtomicBoolean isRunning = new AtomicBoolean(true);
@@ -117,6 +161,16 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
       // disabled
       this.evictorThreadPool = null;
     }
+
+    if (!DISABLE_HEAP_EVICTOR_THREAD_POOL && PROACTIVE_EVICTION
+        && getResourceType() == ResourceType.HEAP_MEMORY) {
+      this.proactiveEvictionScheduler =
+          LoggingExecutors.newSingleThreadScheduledExecutor("Proactive" + threadName);
+      this.proactiveEvictionScheduler.scheduleWithFixedDelay(this::evictProactively,
+          PROACTIVE_EVICTION_INTERVAL, PROACTIVE_EVICTION_INTERVAL, TimeUnit.MILLISECONDS);
+    } else {
+      this.proactiveEvictionScheduler = null;
+    }
   }
 
   protected InternalCache cache() {
@@ -212,6 +266,11 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
   }
 
   private void createAndSubmitWeightedRegionEvictionTasks() {
+    createAndSubmitWeightedRegionEvictionTasks(getTotalBytesToEvict(), false);
+  }
+
+  private void createAndSubmitWeightedRegionEvictionTasks(long totalBytesToEvict,
+      boolean proactive) {
     List<LocalRegion> allRegionList = getAllSortedRegionList();
     float numEntriesInVM = 0;
     for (LocalRegion region : allRegionList) {
@@ -231,12 +290,17 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
       }
 
       float percentage = regionEntryCount / numEntriesInVM;
-      long bytesToEvictPerTask = (long) (getTotalBytesToEvict() * percentage);
+      long bytesToEvictPerTask = (long) (totalBytesToEvict * percentage);
       List<LocalRegion> regionsForSingleTask = new ArrayList<>(1);
       regionsForSingleTask.add(region);
-      if (mustEvict()) {
+      // proactive eviction stops once regular eviction has started, and regular eviction stops
+      // once the heap usage is below the eviction threshold again
+      if (proactive != mustEvict()) {
+        if (proactive) {
+          pendingProactiveEvictionTasks.incrementAndGet();
+        }
         executeInThreadPool(new RegionEvictorTask(cache.getCachePerfStats(), regionsForSingleTask,
-            this, bytesToEvictPerTask));
+            this, bytesToEvictPerTask, proactive));
       } else {
         break;
       }
@@ -408,6 +472,96 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
     }
   }
 
+  /**
+   * Samples the tenured heap usage left after the latest collection and, if it is forecast to
+   * reach the eviction threshold within the horizon, submits tasks that evict what is expected to
+   * be promoted until the next sample plus a share of the forecast overshoot. Nothing is submitted
+   * while eviction is already running in response to an eviction event, or while the tasks
+   * submitted for an earlier sample have not finished.
+   */
+  void evictProactively() {
+    if (!isRunning()) {
+      return;
+    }
+    try {
+      InternalResourceManager resourceManager = cache.getInternalResourceManager();
+      MemoryThresholds thresholds = resourceManager.getHeapMonitor().getThresholds();
+      if (!thresholds.isEvictionThresholdEnabled()) {
+        return;
+      }
+      long nowMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+      sampleTenuredHeapAfterCollection(nowMillis);
+      resourceManager.getStats().changeTenuredHeapGrowthRate(heapGrowthForecast.getGrowthRate());
+
+      if (mustEvict() || pendingProactiveEvictionTasks.get() > 0) {
+        return;
+      }
+      long bytesToEvict = Math.min(getTotalBytesToEvict(),
+          heapGrowthForecast.getBytesToEvict(nowMillis, thresholds.getEvictionThresholdBytes(),
+              PROACTIVE_EVICTION_HORIZON, PROACTIVE_EVICTION_INTERVAL));
+      if (bytesToEvict <= 0) {
+        return;
+      }
+      if (logger.isDebugEnabled()) {
+        logger.debug("Proactively evicting {} bytes, tenured heap is growing {} bytes/second",
+            bytesToEvict, heapGrowthForecast.getGrowthRate());
+      }
+      resourceManager.getStats().incProactiveEvictions(bytesToEvict);
+      createAndSubmitWeightedRegionEvictionTasks(bytesToEvict, true);
+    } catch (RegionDestroyedException ignored) {
+      // a bucket moved while the regions were being sized, try again with the next sample
+    } catch (CancelException ignored) {
+      // the cache is closing
+    } catch (RuntimeException e) {
+      // the scheduler stops running a task that throws, so only log it
+      if (isRunning()) {
+        logger.warn("Exception occurred during proactive eviction", e);
+      }
+    }
+  }
+
+  /**
+   * Samples the tenured pool's collection usage if a collector of the tenured pool has run since
+   * the last sample. The current usage would also count the garbage that has been promoted but not
+   * collected yet, which makes the tenured heap look like it is growing faster than it is.
+   */
+  private void sampleTenuredHeapAfterCollection(long nowMillis) {
+    MemoryPoolMXBean tenuredPool = HeapMemoryMonitor.getTenuredMemoryPoolMXBean();
+    if (tenuredCollectors == null) {
+      tenuredCollectors = getCollectors(tenuredPool);
+    }
+    long collectionCount = 0;
+    for (GarbageCollectorMXBean collector : tenuredCollectors) {
+      collectionCount += Math.max(0, collector.getCollectionCount());
+    }
+    if (collectionCount == lastTenuredCollectionCount) {
+      return;
+    }
+    MemoryUsage collectionUsage = tenuredPool.getCollectionUsage();
+    if (collectionUsage == null) {
+      return;
+    }
+    lastTenuredCollectionCount = collectionCount;
+    heapGrowthForecast.sample(nowMillis, collectionUsage.getUsed());
+  }
+
+  private static List<GarbageCollectorMXBean> getCollectors(MemoryPoolMXBean memoryPool) {
+    List<GarbageCollectorMXBean> collectors = new ArrayList<>();
+    for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      if (Arrays.asList(collector.getMemoryPoolNames()).contains(memoryPool.getName())) {
+        collectors.add(collector);
+      }
+    }
+    return collectors;
+  }
+
+  /**
+   * Called by a proactive {@link RegionEvictorTask} once it has finished running.
+   */
+  void proactiveEvictionTaskDone() {
+    pendingProactiveEvictionTasks.decrementAndGet();
+  }
+
   protected int getEvictionLoopDelayTime() {
     int delayTime = 850; // The waiting period when running fast loops
     if (numEvictionLoopsCompleted - numFastLoops > 2) {
@@ -425,6 +579,9 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
 
   public void close() {
     if (isRunning.compareAndSet(true, false)) {
+      if (proactiveEvictionScheduler != null) {
+        proactiveEvictionScheduler.shutdownNow();
+      }
       evictorThreadPool.shutdownNow();
     }
   }
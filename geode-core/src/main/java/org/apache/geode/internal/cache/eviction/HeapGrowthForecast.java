@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+/**
+ * Forecasts how fast the tenured heap fills up from the usage left after each collection, and how
+ * much should be evicted ahead of time so that the usage stays below the eviction threshold.
+ * <p>
+ * The usage left after a collection is what survived it, so the growth between two samples is the
+ * growth of the live data in the tenured space. Garbage that has not been collected yet is not
+ * counted. The growth is smoothed with an exponentially weighted moving average. A sample that is
+ * lower than the previous one means the collection freed more than was promoted, for example a
+ * full collection or eviction. It says nothing about the growth rate and is only used as the base
+ * for the next sample. Not thread safe; callers must synchronize.
+ */
+class HeapGrowthForecast {
+
+  private final double smoothing;
+
+  private long lastSampleTime = -1;
+
+  private long lastBytesUsed;
+
+  /** Smoothed growth of the tenured space in bytes per millisecond */
+  private double growthRate;
+
+  /**
+   * @param smoothing the weight, between 0 and 1, given to each new sample of the growth rate
+   */
+  HeapGrowthForecast(double smoothing) {
+    if (smoothing <= 0 || smoothing > 1) {
+      throw new IllegalArgumentException("smoothing must be > 0 and <= 1 but was " + smoothing);
+    }
+    this.smoothing = smoothing;
+  }
+
+  /**
+   * Records the number of bytes used in the tenured space after a collection that completed at the
+   * given time in milliseconds.
+   */
+  void sample(long timeMillis, long bytesUsed) {
+    if (lastSampleTime >= 0 && timeMillis > lastSampleTime && bytesUsed >= lastBytesUsed) {
+      double rate = (double) (bytesUsed - lastBytesUsed) / (timeMillis - lastSampleTime);
+      growthRate += smoothing * (rate - growthRate);
+    }
+    lastSampleTime = timeMillis;
+    lastBytesUsed = bytesUsed;
+  }
+
+  /**
+   * Returns the smoothed growth rate of the tenured space in bytes per second.
+   */
+  long getGrowthRate() {
+    return (long) (growthRate * 1000);
+  }
+
+  /**
+   * Returns the number of bytes to evict in the next interval so that the usage is not forecast to
+   * go over the threshold within the horizon from now. That is what is expected to be promoted
+   * during the interval plus an even share of the forecast overshoot for each interval of the
+   * horizon, or zero if the usage is not forecast to reach the threshold.
+   */
+  long getBytesToEvict(long nowMillis, long thresholdBytes, long horizonMillis,
+      long intervalMillis) {
+    if (lastSampleTime < 0) {
+      return 0;
+    }
+    long elapsedMillis = Math.max(0, nowMillis - lastSampleTime);
+    double forecast = lastBytesUsed + growthRate * (elapsedMillis + horizonMillis);
+    if (forecast <= thresholdBytes) {
+      return 0;
+    }
+    double overshoot = forecast - thresholdBytes;
+    return (long) (growthRate * intervalMillis + overshoot * intervalMillis / horizonMillis);
+  }
+}
@@ -31,6 +31,8 @@ public class MemoryLRUStatistics implements EvictionStats {
   private static final int destroysId;
   private static final int evaluationsId;
   private static final int greedyReturnsId;
+  private static final int admissionsId;
+  private static final int admissionRejectionsId;
 
   static {
     StatisticsTypeFactory f = StatisticsTypeFactoryImpl.singleton();
@@ -42,6 +44,10 @@ public class MemoryLRUStatistics implements EvictionStats {
         "Number of entries destroyed in the region through both destroy cache operations and eviction.";
     final String lruEvaluationsDesc = "Number of entries evaluated during LRU operations.";
     final String lruGreedyReturnsDesc = "Number of non-LRU entries evicted during LRU operations";
+    final String lruAdmissionsDesc =
+        "Number of new entries kept by frequency-based eviction in place of an older entry.";
+    final String lruAdmissionRejectionsDesc =
+        "Number of new entries evicted by frequency-based eviction to keep a more frequently used entry.";
 
     statType = f.createType("MemLRUStatistics", "Statistics relates to memory based eviction",
         new StatisticDescriptor[] {f.createLongGauge("bytesAllowed", bytesAllowedDesc, "bytes"),
@@ -49,7 +55,9 @@ public class MemoryLRUStatistics implements EvictionStats {
             f.createLongCounter("lruEvictions", lruEvictionsDesc, "entries"),
             f.createLongCounter("lruDestroys", lruDestroysDesc, "entries"),
             f.createLongCounter("lruEvaluations", lruEvaluationsDesc, "entries"),
-            f.createLongCounter("lruGreedyReturns", lruGreedyReturnsDesc, "entries")});
+            f.createLongCounter("lruGreedyReturns", lruGreedyReturnsDesc, "entries"),
+            f.createLongCounter("lruAdmissions", lruAdmissionsDesc, "entries"),
+            f.createLongCounter("lruAdmissionRejections", lruAdmissionRejectionsDesc, "entries")});
 
     limitId = statType.nameToId("bytesAllowed");
     counterId = statType.nameToId("byteCount");
@@ -57,6 +65,8 @@ public class MemoryLRUStatistics implements EvictionStats {
     destroysId = statType.nameToId("lruDestroys");
     evaluationsId = statType.nameToId("lruEvaluations");
     greedyReturnsId = statType.nameToId("lruGreedyReturns");
+    admissionsId = statType.nameToId("lruAdmissions");
+    admissionRejectionsId = statType.nameToId("lruAdmissionRejections");
   }
 
   private final Statistics stats;
@@ -110,4 +120,13 @@ public class MemoryLRUStatistics implements EvictionStats {
     this.stats.incLong(greedyReturnsId, delta);
   }
 
+  @Override
+  public void incAdmissions() {
+    this.stats.incLong(admissionsId, 1);
+  }
+
+  @Override
+  public void incAdmissionRejections() {
+    this.stats.incLong(admissionRejectionsId, 1);
+  }
 }
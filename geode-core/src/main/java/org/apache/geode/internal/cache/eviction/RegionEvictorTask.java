@@ -42,12 +42,24 @@ public class RegionEvictorTask implements Runnable {
 
   private final long bytesToEvictPerTask;
 
+  private final boolean proactive;
+
   RegionEvictorTask(final CachePerfStats stats, final List<LocalRegion> regions,
       final HeapEvictor evictor, final long bytesToEvictPerTask) {
+    this(stats, regions, evictor, bytesToEvictPerTask, false);
+  }
+
+  /**
+   * @param proactive true if the task evicts before the eviction threshold is reached, in which
+   *        case it stops once the evictor starts evicting in response to an eviction event
+   */
+  RegionEvictorTask(final CachePerfStats stats, final List<LocalRegion> regions,
+      final HeapEvictor evictor, final long bytesToEvictPerTask, final boolean proactive) {
     this.stats = stats;
     this.evictor = evictor;
     this.regions = regions;
     this.bytesToEvictPerTask = bytesToEvictPerTask;
+    this.proactive = proactive;
   }
 
   List<LocalRegion> getRegionList() {
@@ -60,6 +72,14 @@ public class RegionEvictorTask implements Runnable {
     return this.evictor;
   }
 
+  private boolean mustEvict() {
+    if (this.proactive) {
+      // regular eviction takes over once the eviction threshold is reached
+      return !getHeapEvictor().mustEvict();
+    }
+    return getHeapEvictor().mustEvict();
+  }
+
   @Override
   public void run() {
     this.stats.incEvictorJobsStarted();
@@ -75,12 +95,13 @@ public class RegionEvictorTask implements Runnable {
           for (Iterator<LocalRegion> iterator = regions.iterator(); iterator.hasNext();) {
             LocalRegion region = iterator.next();
             try {
-              long bytesEvicted = region.getRegionMap().centralizedLruUpdateCallback();
+              long bytesEvicted =
+                  region.getRegionMap().centralizedLruUpdateCallback(this.proactive);
               if (bytesEvicted == 0) {
                 iterator.remove();
               }
               totalBytesEvicted += bytesEvicted;
-              if (totalBytesEvicted >= bytesToEvictPerTask || !getHeapEvictor().mustEvict()
+              if (totalBytesEvicted >= bytesToEvictPerTask || !mustEvict()
                   || this.regions.isEmpty()) {
                 return;
               }
@@ -99,6 +120,9 @@ public class RegionEvictorTask implements Runnable {
       }
     } finally {
       this.stats.incEvictorJobsCompleted();
+      if (this.proactive) {
+        getHeapEvictor().proactiveEvictionTaskDone();
+      }
     }
   }
 }
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.internal.cache.BucketRegion;
+import org.apache.geode.internal.cache.versions.RegionVersionVector;
+import org.apache.geode.internal.logging.LogService;
+import org.apache.geode.internal.logging.log4j.LogMarker;
+
+/**
+ * StripedLRUList spreads the eviction nodes of a map over a fixed number of stripes, each of which
+ * is a clock list with its own lock. A node always lives in the stripe picked by its identity hash,
+ * so appends and destroys of different entries rarely contend. Accesses only set the recently used
+ * bit on the entry and never touch a list. Evictions take stripes in turn and give each recently
+ * used node they meet a second chance by moving it to the tail of its stripe, so every stripe is
+ * kept in approximate LRU order without a lock over the whole list.
+ */
+public class StripedLRUList implements EvictionList {
+
+  private static final Logger logger = LogService.getLogger();
+
+  private static final int DEFAULT_MAX_EVICTION_ATTEMPTS = 10;
+
+  private final EvictionController controller;
+
+  private final Stripe[] stripes;
+
+  private final int maxEvictionAttempts;
+
+  /** The stripe the next eviction starts from */
+  private final AtomicInteger nextStripe = new AtomicInteger();
+
+  StripedLRUList(EvictionController controller, int stripeCount) {
+    this(controller, stripeCount, DEFAULT_MAX_EVICTION_ATTEMPTS);
+  }
+
+  StripedLRUList(EvictionController controller, int stripeCount, int maxEvictionAttempts) {
+    this.controller = controller;
+    this.maxEvictionAttempts = maxEvictionAttempts;
+    this.stripes = new Stripe[roundUpToPowerOfTwo(stripeCount)];
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new Stripe(controller);
+    }
+  }
+
+  private static int roundUpToPowerOfTwo(int stripeCount) {
+    if (stripeCount <= 1) {
+      return 1;
+    }
+    return Integer.highestOneBit(Math.min(stripeCount, 1 << 16) - 1) << 1;
+  }
+
+  int getStripeCount() {
+    return stripes.length;
+  }
+
+  private Stripe stripeFor(EvictionNode evictionNode) {
+    int hash = System.identityHashCode(evictionNode);
+    hash ^= hash >>> 16;
+    return stripes[hash & (stripes.length - 1)];
+  }
+
+  @Override
+  public void closeStats() {
+    getStatistics().close();
+  }
+
+  @Override
+  public EvictionCounters getStatistics() {
+    return controller.getCounters();
+  }
+
+  @Override
+  public void appendEntry(EvictionNode evictionNode) {
+    stripeFor(evictionNode).appendEntry(evictionNode);
+  }
+
+  @Override
+  public void destroyEntry(EvictionNode evictionNode) {
+    stripeFor(evictionNode).destroyEntry(evictionNode);
+  }
+
+  /**
+   * Remove and return an entry that has not been used since the clock last passed it, starting
+   * from the next stripe in turn and moving on to the others while stripes are empty.
+   */
+  @Override
+  public EvictableEntry getEvictableEntry() {
+    int start = nextStripe.getAndIncrement();
+    for (int i = 0; i < stripes.length; i++) {
+      EvictableEntry evictableEntry =
+          stripes[(start + i) & (stripes.length - 1)].getEvictableEntry();
+      if (evictableEntry != null) {
+        return evictableEntry;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void clear(RegionVersionVector regionVersionVector, BucketRegion bucketRegion) {
+    if (regionVersionVector != null) {
+      return; // when concurrency checks are enabled the clear operation removes entries iteratively
+    }
+
+    if (bucketRegion != null) {
+      getStatistics().decrementCounter(bucketRegion.getCounter());
+      bucketRegion.resetCounter();
+    } else {
+      getStatistics().resetCounter();
+    }
+    for (Stripe stripe : stripes) {
+      stripe.initEmptyList();
+    }
+  }
+
+  @Override
+  public int size() {
+    int size = 0;
+    for (Stripe stripe : stripes) {
+      size += stripe.size();
+    }
+    return size;
+  }
+
+  @Override
+  public void incrementRecentlyUsed() {
+    // nothing needed, the clock reads the recently used bit of each entry
+  }
+
+  private class Stripe extends AbstractEvictionList {
+
+    Stripe(EvictionController controller) {
+      super(controller);
+    }
+
+    @Override
+    public EvictableEntry getEvictableEntry() {
+      int evictionAttempts = 0;
+      long numEvals = 0;
+      for (;;) {
+        final EvictionNode evictionNode = unlinkHeadEntry();
+
+        if (evictionNode == null) {
+          // hit the end of the stripe
+          getStatistics().incEvaluations(numEvals);
+          return null;
+        }
+
+        if (logger.isTraceEnabled(LogMarker.LRU_CLOCK_VERBOSE)) {
+          logger.trace(LogMarker.LRU_CLOCK_VERBOSE, "lru considering {}", evictionNode);
+        }
+
+        numEvals++;
+
+        if (!isEvictable(evictionNode)) {
+          continue;
+        }
+
+        if (evictionNode.isRecentlyUsed() && evictionAttempts < maxEvictionAttempts) {
+          evictionAttempts++;
+          evictionNode.unsetRecentlyUsed();
+          appendEntry(evictionNode);
+          continue;
+        }
+
+        if (logger.isTraceEnabled(LogMarker.LRU_CLOCK_VERBOSE)) {
+          logger.trace(LogMarker.LRU_CLOCK_VERBOSE, "returning unused entry: {}", evictionNode);
+        }
+        if (evictionNode.isRecentlyUsed()) {
+          getStatistics().incGreedyReturns(1);
+        }
+        getStatistics().incEvaluations(numEvals);
+        return (EvictableEntry) evictionNode;
+      }
+    }
+
+    @Override
+    public void incrementRecentlyUsed() {
+      // nothing needed
+    }
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.internal.cache.RegionEntry;
+import org.apache.geode.internal.logging.LogService;
+import org.apache.geode.internal.logging.log4j.LogMarker;
+
+/**
+ * TinyLFUList is a clock list that only lets a new entry displace an older one if its key has been
+ * used more often. Uses of keys are counted in a {@link FrequencySketch}: each time an entry is
+ * added, and each time the clock finds an entry recently used. The sketch remembers keys whose
+ * entries have already been evicted, so a key that keeps coming back is eventually kept.
+ * <p>
+ * When an entry has to be evicted the clock picks a victim as {@link LRUListWithAsyncSorting}
+ * does. The entry added to the list last is then the candidate for admission, unless it has
+ * already been compared. If the candidate's key is not used more often than the victim's, the
+ * victim stays at the head of the list and the candidate is evicted instead. A scan that touches
+ * many keys once therefore evicts the entries it brought in rather than the frequently used ones.
+ */
+public class TinyLFUList extends AbstractEvictionList {
+
+  private static final Logger logger = LogService.getLogger();
+
+  private static final int DEFAULT_MAX_EVICTION_ATTEMPTS = 10;
+
+  private final int maxEvictionAttempts;
+
+  /** Guarded by this list */
+  private final FrequencySketch sketch = new FrequencySketch(0);
+
+  /** The entry most recently added to the list that has not been compared yet. Guarded by this */
+  private EvictionNode newestEntry;
+
+  TinyLFUList(EvictionController controller) {
+    this(controller, DEFAULT_MAX_EVICTION_ATTEMPTS);
+  }
+
+  TinyLFUList(EvictionController controller, int maxEvictionAttempts) {
+    super(controller);
+    this.maxEvictionAttempts = maxEvictionAttempts;
+  }
+
+  @Override
+  public synchronized void appendEntry(EvictionNode evictionNode) {
+    if (evictionNode.next() != null) {
+      // already in the list
+      return;
+    }
+    super.appendEntry(evictionNode);
+    if (size() > sketch.capacity()) {
+      growSketch();
+    } else {
+      sketch.increment(keyHash(evictionNode));
+    }
+    newestEntry = evictionNode;
+  }
+
+  /**
+   * Grows the sketch for the current size of the list. The sketch forgets every frequency when it
+   * grows, so each entry in the list is counted once again. The capacity doubles each time, so this
+   * is only done a few times while the list fills up.
+   */
+  private synchronized void growSketch() {
+    sketch.ensureCapacity(size());
+    for (EvictionNode node = head.next(); node != tail; node = node.next()) {
+      sketch.increment(keyHash(node));
+    }
+  }
+
+  /**
+   * Remove and return either the entry the clock considers least recently used or the newest
+   * entry, whichever key has been used less often.
+   */
+  @Override
+  public EvictableEntry getEvictableEntry() {
+    int evictionAttempts = 0;
+    long numEvals = 0;
+    for (;;) {
+      final EvictionNode victim = unlinkHeadEntry();
+
+      if (victim == null) {
+        // hit the end of the list
+        getStatistics().incEvaluations(numEvals);
+        return null;
+      }
+
+      if (logger.isTraceEnabled(LogMarker.LRU_CLOCK_VERBOSE)) {
+        logger.trace(LogMarker.LRU_CLOCK_VERBOSE, "lru considering {}", victim);
+      }
+
+      numEvals++;
+
+      if (!isEvictable(victim)) {
+        continue;
+      }
+
+      if (victim.isRecentlyUsed() && evictionAttempts < maxEvictionAttempts) {
+        evictionAttempts++;
+        victim.unsetRecentlyUsed();
+        synchronized (this) {
+          super.appendEntry(victim);
+          sketch.increment(keyHash(victim));
+        }
+        continue;
+      }
+
+      if (victim.isRecentlyUsed()) {
+        getStatistics().incGreedyReturns(1);
+      }
+      getStatistics().incEvaluations(numEvals);
+      return (EvictableEntry) chooseBetween(victim);
+    }
+  }
+
+  /**
+   * Returns the victim if the newest entry's key has been used more often, otherwise puts the
+   * victim back at the head of the list and unlinks and returns the newest entry.
+   */
+  private EvictionNode chooseBetween(EvictionNode victim) {
+    EvictionNode candidate;
+    synchronized (this) {
+      candidate = newestEntry;
+      newestEntry = null;
+      if (candidate == null || candidate == victim || candidate.next() == null) {
+        return victim;
+      }
+      if (sketch.frequency(keyHash(candidate)) > sketch.frequency(keyHash(victim))) {
+        getStatistics().incAdmissions();
+        return victim;
+      }
+    }
+
+    if (!isEvictable(candidate)) {
+      return victim;
+    }
+
+    synchronized (this) {
+      if (!removeEntry(candidate)) {
+        // the candidate was destroyed or evicted by someone else
+        return victim;
+      }
+      prependEntry(victim);
+    }
+    getStatistics().incAdmissionRejections();
+    if (logger.isTraceEnabled(LogMarker.LRU_CLOCK_VERBOSE)) {
+      logger.trace(LogMarker.LRU_CLOCK_VERBOSE, "keeping {} and returning less used new entry: {}",
+          victim, candidate);
+    }
+    return candidate;
+  }
+
+  private static int keyHash(EvictionNode evictionNode) {
+    Object key = evictionNode instanceof RegionEntry ? ((RegionEntry) evictionNode).getKey() : null;
+    return key != null ? key.hashCode() : System.identityHashCode(evictionNode);
+  }
+
+  @Override
+  public void incrementRecentlyUsed() {
+    // nothing needed, the clock reads the recently used bit of each entry
+  }
+}
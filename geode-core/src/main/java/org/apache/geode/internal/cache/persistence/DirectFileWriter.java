@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Appends to a file opened for direct I/O, so that the written bytes go to the device without
+ * being kept in the page cache. Only whole, aligned blocks can be written that way. Bytes are
+ * copied to an aligned buffer and the last, partial block is written padded with zeros and kept in
+ * the buffer so that it is written again, completed, by the next append.
+ * <p>
+ * The zeros after the last record read like the unwritten end of a preallocated oplog.
+ */
+public class DirectFileWriter {
+  private static final OpenOption DIRECT = lookupDirectOption();
+
+  private final File file;
+
+  private final Set<OpenOption> options;
+
+  private final DirectIOBufferPool pool;
+
+  private final int alignment;
+
+  private FileChannel channel;
+
+  private ByteBuffer buffer;
+
+  /**
+   * The file offset of the first byte in the buffer. Always a multiple of the alignment.
+   */
+  private long bufferStart;
+
+  /**
+   * Returns true if this JVM can open files for direct I/O. It needs Java 10 or later.
+   */
+  public static boolean isSupported() {
+    return DIRECT != null;
+  }
+
+  /**
+   * Opens the given file for direct writes.
+   *
+   * @param mode the RandomAccessFile mode the file is also opened with; "rwd" and "rws" make each
+   *        write synchronous as they do for the RandomAccessFile
+   * @throws IOException if direct I/O is not supported by this JVM or by the file system
+   */
+  public static DirectFileWriter open(File file, String mode, DirectIOBufferPool pool)
+      throws IOException {
+    if (!isSupported()) {
+      throw new IOException("Direct I/O requires Java 10 or later");
+    }
+    Set<OpenOption> options = new HashSet<>();
+    options.add(StandardOpenOption.READ);
+    options.add(StandardOpenOption.WRITE);
+    options.add(DIRECT);
+    if ("rwd".equals(mode)) {
+      options.add(StandardOpenOption.DSYNC);
+    } else if ("rws".equals(mode)) {
+      options.add(StandardOpenOption.SYNC);
+    }
+    return new DirectFileWriter(file, options, pool);
+  }
+
+  DirectFileWriter(File file, Set<OpenOption> options, DirectIOBufferPool pool)
+      throws IOException {
+    this.file = file;
+    this.options = options;
+    this.pool = pool;
+    this.alignment = pool.getAlignment();
+    this.channel = FileChannel.open(file.toPath(), options);
+    this.buffer = pool.acquire();
+  }
+
+  /**
+   * Writes the remaining bytes of the given buffers to the file, starting at the given position,
+   * and advances the positions of the buffers. Appending where the previous write ended does not
+   * read the file.
+   *
+   * @return the number of bytes written
+   */
+  public synchronized long write(long position, ByteBuffer[] srcs, int offset, int length)
+      throws IOException {
+    if (this.buffer == null) {
+      throw new ClosedChannelException();
+    }
+    if (position != this.bufferStart + this.buffer.position()) {
+      moveTo(position);
+    }
+    long written = 0;
+    for (int i = offset; i < offset + length; i++) {
+      ByteBuffer src = srcs[i];
+      while (src.hasRemaining()) {
+        int count = Math.min(src.remaining(), this.buffer.remaining());
+        ByteBuffer chunk = src.duplicate();
+        chunk.limit(chunk.position() + count);
+        this.buffer.put(chunk);
+        src.position(src.position() + count);
+        written += count;
+        if (!this.buffer.hasRemaining()) {
+          writeBuffer(this.buffer.capacity());
+          this.bufferStart += this.buffer.capacity();
+          this.buffer.clear();
+        }
+      }
+    }
+    if (this.buffer.position() > 0) {
+      writeTail();
+    }
+    return written;
+  }
+
+  public synchronized void close() throws IOException {
+    if (this.buffer == null) {
+      return;
+    }
+    this.pool.release(this.buffer);
+    this.buffer = null;
+    this.channel.close();
+  }
+
+  /**
+   * Writes the buffer up to the end of its last block, padded with zeros, and keeps the bytes of
+   * that block if it is partial.
+   */
+  private void writeTail() throws IOException {
+    int end = this.buffer.position();
+    int padded = alignUp(end);
+    for (int i = end; i < padded; i++) {
+      this.buffer.put(i, (byte) 0);
+    }
+    writeBuffer(padded);
+    int wholeBlocks = end - (end % this.alignment);
+    this.buffer.limit(end);
+    this.buffer.position(wholeBlocks);
+    this.buffer.compact();
+    this.bufferStart += wholeBlocks;
+  }
+
+  /**
+   * Starts appending at a position other than where the previous write ended. The bytes of the
+   * block before that position are read so that they are written back unchanged.
+   */
+  private void moveTo(long position) throws IOException {
+    long blockStart = position - (position % this.alignment);
+    int partial = (int) (position - blockStart);
+    this.buffer.clear();
+    if (partial > 0) {
+      ByteBuffer block = this.buffer.duplicate();
+      block.limit(this.alignment);
+      long readPosition = blockStart;
+      while (block.hasRemaining()) {
+        int count = read(block, readPosition);
+        if (count < 0) {
+          break;
+        }
+        readPosition += count;
+      }
+      for (int i = block.position(); i < partial; i++) {
+        this.buffer.put(i, (byte) 0);
+      }
+    }
+    this.buffer.position(partial);
+    this.bufferStart = blockStart;
+  }
+
+  private void writeBuffer(int length) throws IOException {
+    ByteBuffer out = this.buffer.duplicate();
+    out.position(0);
+    out.limit(length);
+    long position = this.bufferStart;
+    while (out.hasRemaining()) {
+      position += write(out, position);
+    }
+  }
+
+  private int write(ByteBuffer src, long position) throws IOException {
+    return (int) doUninterruptibly(channel -> channel.write(src, position), src);
+  }
+
+  private int read(ByteBuffer dst, long position) throws IOException {
+    return (int) doUninterruptibly(channel -> channel.read(dst, position), dst);
+  }
+
+  private interface ChannelOperation {
+    long doOp(FileChannel channel) throws IOException;
+  }
+
+  /**
+   * Performs a positional operation on the channel, reopening the channel and redoing the
+   * operation if the thread was interrupted during it, like {@link UninterruptibleRandomAccessFile}
+   * does for the channel of the oplog file.
+   */
+  private long doUninterruptibly(ChannelOperation op, ByteBuffer buffer) throws IOException {
+    boolean interrupted = false;
+    int startPosition = buffer.position();
+    try {
+      while (true) {
+        interrupted |= Thread.interrupted();
+        try {
+          return op.doOp(this.channel);
+        } catch (ClosedByInterruptException e) {
+          interrupted = true;
+          buffer.position(startPosition);
+          this.channel = FileChannel.open(this.file.toPath(), this.options);
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private int alignUp(int length) {
+    return (length + this.alignment - 1) & -this.alignment;
+  }
+
+  private static OpenOption lookupDirectOption() {
+    try {
+      Class<?> extendedOpenOption = Class.forName("com.sun.nio.file.ExtendedOpenOption");
+      for (Object option : extendedOpenOption.getEnumConstants()) {
+        if ("DIRECT".equals(((Enum<?>) option).name())) {
+          return (OpenOption) option;
+        }
+      }
+    } catch (ClassNotFoundException ignore) {
+      // not a JDK that supports direct I/O
+    }
+    return null;
+  }
+}
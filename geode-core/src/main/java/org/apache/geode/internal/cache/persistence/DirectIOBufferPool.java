@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.persistence;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The aligned buffers used by the {@link DirectFileWriter}s of a disk store. A file opened for
+ * direct I/O can only be written from memory whose address, like the file offset and the length,
+ * is a multiple of the block size. The buffers are kept for the files of the next oplog instead of
+ * being allocated for each file.
+ */
+public class DirectIOBufferPool {
+  private final int bufferSize;
+
+  private final int alignment;
+
+  private final int maxPooled;
+
+  private final Deque<ByteBuffer> buffers = new ArrayDeque<>();
+
+  private final AtomicBoolean openFailed = new AtomicBoolean();
+
+  /**
+   * @param bufferSize the size of each buffer, rounded up to a multiple of the alignment
+   * @param alignment the block size that addresses, offsets and lengths are aligned to
+   * @param maxPooled the number of released buffers that are kept
+   */
+  public DirectIOBufferPool(int bufferSize, int alignment, int maxPooled) {
+    if (alignment <= 0 || Integer.bitCount(alignment) != 1) {
+      throw new IllegalArgumentException("alignment must be a power of two: " + alignment);
+    }
+    this.alignment = alignment;
+    this.bufferSize = Math.max(alignment, (bufferSize + alignment - 1) & -alignment);
+    this.maxPooled = maxPooled;
+  }
+
+  public int getAlignment() {
+    return this.alignment;
+  }
+
+  public int getBufferSize() {
+    return this.bufferSize;
+  }
+
+  /**
+   * Returns a cleared buffer whose address is aligned. It must be given back to {@link #release}.
+   */
+  public ByteBuffer acquire() {
+    ByteBuffer buffer;
+    synchronized (this.buffers) {
+      buffer = this.buffers.poll();
+    }
+    if (buffer == null) {
+      buffer = allocateAligned(this.bufferSize, this.alignment);
+    }
+    buffer.clear();
+    return buffer;
+  }
+
+  public void release(ByteBuffer buffer) {
+    synchronized (this.buffers) {
+      if (this.buffers.size() < this.maxPooled) {
+        this.buffers.add(buffer);
+      }
+    }
+  }
+
+  int getPooledCount() {
+    synchronized (this.buffers) {
+      return this.buffers.size();
+    }
+  }
+
+  /**
+   * Records that a file could not be opened for direct I/O.
+   *
+   * @return true the first time, so that the failure is only logged once per disk store
+   */
+  boolean openFailed() {
+    return this.openFailed.compareAndSet(false, true);
+  }
+
+  /**
+   * Allocates a direct buffer of the given size whose address is a multiple of the alignment.
+   * ByteBuffer.alignedSlice is called reflectively because it was added in Java 9; direct I/O
+   * itself requires Java 10, so on older versions the buffer is never used for direct I/O.
+   */
+  static ByteBuffer allocateAligned(int size, int alignment) {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(size + alignment - 1);
+    try {
+      Method alignedSlice = ByteBuffer.class.getMethod("alignedSlice", int.class);
+      ByteBuffer aligned = (ByteBuffer) alignedSlice.invoke(buffer, alignment);
+      aligned.limit(size);
+      return aligned.slice();
+    } catch (ReflectiveOperationException e) {
+      buffer.limit(size);
+      return buffer.slice();
+    }
+  }
+}
@@ -24,18 +24,48 @@ import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
 
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.internal.logging.LogService;
+
 public class UninterruptibleRandomAccessFile {
+  private static final Logger logger = LogService.getLogger();
+
   private RandomAccessFile raf;
   private final UninterruptibleFileChannelImpl channel;
   private final File file;
   private final String mode;
+  private final DirectFileWriter directWriter;
   private boolean isClosed;
 
   public UninterruptibleRandomAccessFile(File file, String mode) throws FileNotFoundException {
+    this(file, mode, null);
+  }
+
+  /**
+   * @param directIOBuffers if not null, writes to the channel bypass the page cache using buffers
+   *        from this pool. Writes go through the page cache if the file cannot be opened for direct
+   *        I/O.
+   */
+  public UninterruptibleRandomAccessFile(File file, String mode,
+      DirectIOBufferPool directIOBuffers) throws FileNotFoundException {
     this.file = file;
     this.mode = mode;
     this.raf = new RandomAccessFile(file, mode);
     this.channel = new UninterruptibleFileChannelImpl();
+    this.directWriter = directIOBuffers == null ? null : openDirectWriter(directIOBuffers);
+  }
+
+  private DirectFileWriter openDirectWriter(DirectIOBufferPool directIOBuffers) {
+    try {
+      return DirectFileWriter.open(this.file, this.mode, directIOBuffers);
+    } catch (IOException | UnsupportedOperationException e) {
+      if (directIOBuffers.openFailed()) {
+        logger.warn("Could not open {} for direct I/O, it will be written through the page cache",
+            this.file, e);
+      }
+      return null;
+    }
   }
 
   public UninterruptibleFileChannel getChannel() {
@@ -57,7 +87,13 @@ public class UninterruptibleRandomAccessFile {
 
   public synchronized void close() throws IOException {
     this.isClosed = true;
-    this.raf.close();
+    try {
+      if (this.directWriter != null) {
+        this.directWriter.close();
+      }
+    } finally {
+      this.raf.close();
+    }
   }
 
   public synchronized void setLength(long newLength) throws IOException {
@@ -129,6 +165,19 @@ public class UninterruptibleRandomAccessFile {
       }
     }
 
+    /**
+     * Writes at the position of this channel with the direct writer and moves the position past
+     * the written bytes. Reads keep using the file, which sees what the direct writer wrote.
+     */
+    private long writeDirect(ByteBuffer[] srcs, int offset, int length) throws IOException {
+      synchronized (UninterruptibleRandomAccessFile.this) {
+        long position = position();
+        long written = directWriter.write(position, srcs, offset, length);
+        position(position + written);
+        return written;
+      }
+    }
+
     @Override
     public long read(final ByteBuffer[] dsts, final int offset, final int length)
         throws IOException {
@@ -153,6 +202,9 @@ public class UninterruptibleRandomAccessFile {
     @Override
     public long write(final ByteBuffer[] srcs, final int offset, final int length)
         throws IOException {
+      if (directWriter != null) {
+        return writeDirect(srcs, offset, length);
+      }
       return doUninterruptibly(new FileOperation() {
         @Override
         public long doOp(FileChannel channel) throws IOException {
@@ -163,6 +215,9 @@ public class UninterruptibleRandomAccessFile {
 
     @Override
     public long write(final ByteBuffer[] srcs) throws IOException {
+      if (directWriter != null) {
+        return writeDirect(srcs, 0, srcs.length);
+      }
       return doUninterruptibly(new FileOperation() {
         @Override
         public long doOp(FileChannel channel) throws IOException {
@@ -183,6 +238,9 @@ public class UninterruptibleRandomAccessFile {
 
     @Override
     public int write(final ByteBuffer src) throws IOException {
+      if (directWriter != null) {
+        return (int) writeDirect(new ByteBuffer[] {src}, 0, 1);
+      }
       return (int) doUninterruptibly(new FileOperation() {
         @Override
         public long doOp(FileChannel channel) throws IOException {
@@ -56,6 +56,8 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
+import javax.net.ssl.SSLEngine;
+
 import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.logging.log4j.Logger;
 
@@ -95,7 +97,11 @@ import org.apache.geode.internal.logging.LoggingExecutors;
 import org.apache.geode.internal.logging.LoggingThread;
 import org.apache.geode.internal.logging.LoggingThreadFactory.CommandWrapper;
 import org.apache.geode.internal.logging.LoggingThreadFactory.ThreadInitializer;
+import org.apache.geode.internal.logging.VirtualThreadFactory;
 import org.apache.geode.internal.monitoring.ThreadsMonitoring;
+import org.apache.geode.internal.net.BufferPool;
+import org.apache.geode.internal.net.NioSslEngine;
+import org.apache.geode.internal.net.NioSslSocket;
 import org.apache.geode.internal.net.SocketCreator;
 import org.apache.geode.internal.security.SecurityService;
 import org.apache.geode.internal.tcp.ConnectionTable;
@@ -339,6 +345,12 @@ public class AcceptorImpl implements Acceptor, Runnable {
 
   private final SocketCreator socketCreator;
 
+  /**
+   * The pool of the TLS buffers of selector managed connections, null unless SSL is used with a
+   * selector
+   */
+  private final BufferPool sslBufferPool;
+
   private final SecurityService securityService;
 
   private final ServerConnectionFactory serverConnectionFactory;
@@ -504,10 +516,6 @@ public class AcceptorImpl implements Acceptor, Runnable {
       final long tilt = System.currentTimeMillis() + timeLimitMillis;
 
       if (isSelector()) {
-        if (socketCreator.useSSL()) {
-          throw new IllegalArgumentException(
-              "Selector thread pooling can not be used with client/server SSL. The selector can be disabled by setting max-threads=0.");
-        }
         ServerSocketChannel channel = ServerSocketChannel.open();
         serverSock = channel.socket();
         serverSock.setReuseAddress(true);
@@ -608,6 +616,9 @@ public class AcceptorImpl implements Acceptor, Runnable {
 
     cache = internalCache;
     crHelper = new CachedRegionHelper(cache);
+    sslBufferPool = isSelector() && socketCreator.useSSL()
+        ? new BufferPool(internalCache.getDistributionManager().getStats())
+        : null;
 
     clientNotifier = cacheClientNotifierProvider.get(internalCache, stats, maximumMessageCount,
         messageTimeToLive, this.connectionListener, overflowAttributes, isGatewayReceiver());
@@ -676,6 +687,10 @@ public class AcceptorImpl implements Acceptor, Runnable {
             commandWrapper, maxThreads,
             getStats().getCnxPoolHelper(), Integer.MAX_VALUE, getThreadMonitorObj());
       }
+      if (VirtualThreadFactory.isEnabled()) {
+        return LoggingExecutors.newVirtualThreadPerTaskExecutor(threadName, threadInitializer,
+            commandWrapper, maxConnections);
+      }
       return LoggingExecutors.newThreadPoolWithSynchronousFeed(threadName, threadInitializer,
           commandWrapper,
           MINIMUM_MAX_CONNECTIONS, maxConnections, 0L);
@@ -1384,7 +1399,9 @@ public class AcceptorImpl implements Acceptor, Runnable {
   private ByteBuffer takeCommBuffer() {
     ByteBuffer result = commBufferQueue.poll();
     if (result == null) {
-      result = ByteBuffer.allocateDirect(socketBufferSize);
+      // TLS connections are read through streams, which need a heap buffer
+      result = sslBufferPool != null ? ByteBuffer.allocate(socketBufferSize)
+          : ByteBuffer.allocateDirect(socketBufferSize);
     }
     return result;
   }
@@ -1416,7 +1433,26 @@ public class AcceptorImpl implements Acceptor, Runnable {
     return notifyBySubscription;
   }
 
-  private void handleNewClientConnection(final Socket socket,
+  private void handleNewClientConnection(Socket socket,
+      final ServerConnectionFactory serverConnectionFactory) throws IOException {
+    if (sslBufferPool == null) {
+      initializeClientConnection(socket, serverConnectionFactory);
+      return;
+    }
+    Socket sslSocket = handshakeSelectorSocket(socket);
+    boolean finished = false;
+    try {
+      initializeClientConnection(sslSocket, serverConnectionFactory);
+      finished = true;
+    } finally {
+      if (!finished) {
+        // closing the TLS socket also returns the buffers of its engine to sslBufferPool
+        closeSocket(sslSocket);
+      }
+    }
+  }
+
+  private void initializeClientConnection(Socket socket,
       final ServerConnectionFactory serverConnectionFactory) throws IOException {
     // Read the first byte. If this socket is being used for 'client to server'
     // communication, create a ServerConnection. If this socket is being used
@@ -1424,7 +1460,9 @@ public class AcceptorImpl implements Acceptor, Runnable {
     // for processing.
     final CommunicationMode communicationMode;
     try {
-      if (isSelector()) {
+      if (sslBufferPool != null) {
+        communicationMode = getCommunicationModeForSSLSelector(socket);
+      } else if (isSelector()) {
         communicationMode = getCommunicationModeForSelector(socket);
       } else {
         communicationMode = getCommunicationModeForNonSelector(socket);
@@ -1483,7 +1521,20 @@ public class AcceptorImpl implements Acceptor, Runnable {
       incClientServerCnxCount();
     }
     if (isSelector()) {
-      serverConn.registerWithSelector();
+      if (serverConn.hasBufferedInput()) {
+        // the first message arrived along with the TLS handshake and the selector will not report
+        // it
+        serverConn.setProcessingMessage();
+        try {
+          stats.incThreadQueueSize();
+          pool.execute(serverConn);
+        } catch (RejectedExecutionException rejected) {
+          stats.decThreadQueueSize();
+          finishCon(serverConn);
+        }
+      } else {
+        serverConn.registerWithSelector();
+      }
     } else {
       try {
         pool.execute(serverConn);
@@ -1563,6 +1614,31 @@ public class AcceptorImpl implements Acceptor, Runnable {
     return CommunicationMode.fromModeNumber(communicationModeByte);
   }
 
+  /**
+   * Performs the TLS handshake of a socket accepted by a selector. The returned socket carries
+   * the application data through its streams while its channel can still be registered with the
+   * selector.
+   */
+  private Socket handshakeSelectorSocket(Socket socket) throws IOException {
+    SocketChannel socketChannel = socket.getChannel();
+    SSLEngine engine = socketCreator.createServerSSLEngine(
+        socket.getInetAddress().getHostAddress(), socket.getPort());
+    ByteBuffer peerNetBuffer = ByteBuffer.allocate(engine.getSession().getPacketBufferSize());
+    NioSslEngine nioSslEngine = socketCreator.handshakeSSLSocketChannel(socketChannel, engine,
+        acceptTimeout, false, peerNetBuffer, sslBufferPool);
+    return new NioSslSocket(socketChannel, nioSslEngine, peerNetBuffer);
+  }
+
+  private CommunicationMode getCommunicationModeForSSLSelector(Socket socket) throws IOException {
+    socket.setSoTimeout(acceptTimeout);
+    byte communicationModeByte = (byte) socket.getInputStream().read();
+    socket.setSoTimeout(0);
+    if (communicationModeByte == -1) {
+      throw new EOFException();
+    }
+    return CommunicationMode.fromModeNumber(communicationModeByte);
+  }
+
   private CommunicationMode getCommunicationModeForSelector(Socket socket) throws IOException {
     ByteBuffer byteBuffer = ByteBuffer.allocateDirect(1);
     final SocketChannel socketChannel = socket.getChannel();
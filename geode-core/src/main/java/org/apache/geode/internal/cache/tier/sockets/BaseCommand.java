@@ -712,7 +712,8 @@ public abstract class BaseCommand implements Command {
     queryResponseMsg.setNumberOfParts(2);
     queryResponseMsg.setLastChunk(lastChunk);
     queryResponseMsg.addObjPart(collectionType, false);
-    queryResponseMsg.addObjPart(queryResponseChunk, false);
+    // the chunk may reference off-heap values, which are written without copying them to the heap
+    queryResponseMsg.addObjPartNoCopying(queryResponseChunk);
     queryResponseMsg.sendChunk(serverConnection);
   }
 
@@ -42,6 +42,8 @@ import org.apache.geode.internal.Version;
 import org.apache.geode.internal.cache.CachedDeserializable;
 import org.apache.geode.internal.cache.tier.CachedRegionHelper;
 import org.apache.geode.internal.cache.tier.MessageType;
+import org.apache.geode.internal.offheap.StoredObject;
+import org.apache.geode.internal.offheap.annotations.Unretained;
 import org.apache.geode.internal.security.AuthorizeRequestPP;
 import org.apache.geode.internal.security.SecurityService;
 import org.apache.geode.security.ResourcePermission.Operation;
@@ -468,51 +470,58 @@ public abstract class BaseCommandQuery extends BaseCommand {
         logger.trace("{}: Creating chunk: {}", servConn.getName(), j);
       }
       ObjectPartList serializedObjs = new ObjectPartList(MAXIMUM_CHUNK_SIZE, false);
-      for (int i = 0; i < MAXIMUM_CHUNK_SIZE; i++) {
-        if ((resultIndex) == objs.size()) {
-          break;
-        }
-        if (logger.isTraceEnabled()) {
-          logger.trace("{}: Adding entry [{}] to query results: {}", servConn.getName(),
-              resultIndex, objs.get(resultIndex));
-        }
-        if (cqQuery != null) {
-          CqEntry e = (CqEntry) objs.get(resultIndex);
-          // The value may have become null because of entry invalidation.
-          if (e.getValue() == null) {
-            resultIndex++;
-            continue;
+      // off-heap values retained by the list are released even if the chunk is not sent
+      try {
+        for (int i = 0; i < MAXIMUM_CHUNK_SIZE; i++) {
+          if ((resultIndex) == objs.size()) {
+            break;
           }
-
-          // Add the key into CQ results cache.
-          // For PR the Result caching is not yet supported.
-          // cqQuery.cqResultsCacheInitialized is added to take care
-          // of CQ execute requests that are re-sent. In that case no
-          // need to update the Results cache.
-          if (!cqQuery.isPR()) {
-            cqQuery.addToCqResultKeys(e.getKey());
+          if (logger.isTraceEnabled()) {
+            logger.trace("{}: Adding entry [{}] to query results: {}", servConn.getName(),
+                resultIndex, objs.get(resultIndex));
           }
-
-          // Add to the Results object array.
-          if (sendCqResultsWithKey) {
-            result = e.getKeyValuePair();
+          if (cqQuery != null) {
+            CqEntry e = (CqEntry) objs.get(resultIndex);
+            // The value may have become null because of entry invalidation.
+            if (e.getValue() == null) {
+              resultIndex++;
+              continue;
+            }
+
+            // Add the key into CQ results cache.
+            // For PR the Result caching is not yet supported.
+            // cqQuery.cqResultsCacheInitialized is added to take care
+            // of CQ execute requests that are re-sent. In that case no
+            // need to update the Results cache.
+            if (!cqQuery.isPR()) {
+              cqQuery.addToCqResultKeys(e.getKey());
+            }
+
+            // Add to the Results object array.
+            if (sendCqResultsWithKey) {
+              result = e.getKeyValuePair();
+            } else {
+              result = e.getValue();
+            }
           } else {
-            result = e.getValue();
+            result = objs.get(resultIndex);
           }
-        } else {
-          result = objs.get(resultIndex);
+          if (sendResults) {
+            addToObjectPartList(serializedObjs, result, collectionType, false, servConn, isStructs,
+                securityService);
+          }
+          resultIndex++;
         }
+
         if (sendResults) {
-          addToObjectPartList(serializedObjs, result, collectionType, false, servConn, isStructs,
-              securityService);
+          writeQueryResponseChunk(serializedObjs, collectionType, ((j + 1) == numberOfChunks),
+              servConn);
         }
-        resultIndex++;
+      } finally {
+        serializedObjs.release();
       }
 
       if (sendResults) {
-        writeQueryResponseChunk(serializedObjs, collectionType, ((j + 1) == numberOfChunks),
-            servConn);
-
         if (logger.isDebugEnabled()) {
           logger.debug("{}: Sent chunk ({} of {}) of query response for query: {}",
               servConn.getName(), (j + 1), numberOfChunks, queryString);
@@ -528,20 +537,21 @@ public abstract class BaseCommandQuery extends BaseCommand {
       Object[] values = ((Struct) res).getFieldValues();
       // create another ObjectPartList for the struct
       ObjectPartList serializedValueObjs = new ObjectPartList(values.length, false);
+      // added first so that the values it retains are released with the chunk
+      serializedObjs.addPart(null, serializedValueObjs, ObjectPartList.OBJECT, null);
       for (Object value : values) {
         addObjectToPartList(serializedValueObjs, null, value, securityService);
       }
-      serializedObjs.addPart(null, serializedValueObjs, ObjectPartList.OBJECT, null);
     } else if (res instanceof Object[]) {// for CQ key-value pairs
       Object[] values = ((Object[]) res);
       // create another ObjectPartList for the Object[]
       ObjectPartList serializedValueObjs = new ObjectPartList(values.length, false);
+      serializedObjs.addPart(null, serializedValueObjs, ObjectPartList.OBJECT, null);
       for (int i = 0; i < values.length; i += 2) {
         Object key = values[i];
         Object value = values[i + 1];
         addObjectToPartList(serializedValueObjs, key, value, securityService);
       }
-      serializedObjs.addPart(null, serializedValueObjs, ObjectPartList.OBJECT, null);
     } else { // for deserialized objects
       addObjectToPartList(serializedObjs, null, res, securityService);
     }
@@ -551,7 +561,11 @@ public abstract class BaseCommandQuery extends BaseCommand {
       final SecurityService securityService) {
     Object object = value;
     boolean isObject = true;
-    if (value instanceof CachedDeserializable) {
+    if (value instanceof StoredObject
+        && retainOffHeapValue((StoredObject) value, securityService)) {
+      // the list writes the value from off-heap memory and releases it once the chunk is sent
+      object = value;
+    } else if (value instanceof CachedDeserializable) {
       object = ((CachedDeserializable) value).getSerializedValue();
     } else if (value instanceof byte[]) {
       isObject = false;
@@ -565,4 +579,12 @@ public abstract class BaseCommandQuery extends BaseCommand {
         null);
   }
 
+  /**
+   * Returns true if the off-heap value could be retained so that it can be sent to the client
+   * without copying it to the heap. A post processor needs a heap copy of the value to process it.
+   */
+  private static boolean retainOffHeapValue(@Unretained StoredObject value,
+      SecurityService securityService) {
+    return !securityService.needPostProcess() && value.hasRefCount() && value.retain();
+  }
 }
@@ -222,9 +222,7 @@ public class ChunkedMessage extends Message {
    */
   public void receiveChunk() throws IOException {
     if (this.socket != null) {
-      synchronized (getCommBuffer()) {
-        readChunk();
-      }
+      withCommBufferLock(getCommBuffer(), this::readChunk);
     } else {
       throw new IOException("Dead Connection");
     }
@@ -280,13 +278,13 @@ public class ChunkedMessage extends Message {
    */
   public void sendHeader() throws IOException {
     if (this.socket != null) {
-      synchronized (getCommBuffer()) {
+      withCommBufferLock(getCommBuffer(), () -> {
         getDSCODEsForWrite();
         flushBuffer();
         // Darrel says: I see no need for the following os.flush() call
         // so I've deadcoded it for performance.
         // this.os.flush();
-      }
+      });
       this.currentPart = 0;
       this.headerSent = true;
     } else {
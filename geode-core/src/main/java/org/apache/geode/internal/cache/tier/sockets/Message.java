@@ -25,6 +25,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 
 import org.apache.logging.log4j.Logger;
 
@@ -573,78 +574,110 @@ public class Message {
       if (commBuffer == null) {
         throw new IOException("No buffer");
       }
-      synchronized (commBuffer) {
-        long totalPartLen = 0;
-        long headerLen = 0;
-        int partsToTransmit = this.numberOfParts;
-
-        for (int i = 0; i < this.numberOfParts; i++) {
-          Part part = this.partsList[i];
-          headerLen += PART_HEADER_SIZE;
-          totalPartLen += part.getLength();
-        }
+      withCommBufferLock(commBuffer, () -> sendParts(commBuffer));
+    } finally {
+      if (clearMessage) {
+        clearParts();
+      }
+    }
+  }
 
-        Part securityPart = this.getSecurityPart();
-        if (securityPart == null) {
-          securityPart = this.securePart;
-        }
-        if (securityPart != null) {
-          headerLen += PART_HEADER_SIZE;
-          totalPartLen += securityPart.getLength();
-          partsToTransmit++;
-        }
+  private void sendParts(ByteBuffer commBuffer) throws IOException {
+    long totalPartLen = 0;
+    long headerLen = 0;
+    int partsToTransmit = this.numberOfParts;
 
-        if (headerLen + totalPartLen > Integer.MAX_VALUE) {
-          throw new MessageTooLargeException(
-              "Message size (" + (headerLen + totalPartLen) + ") exceeds maximum integer value");
-        }
+    for (int i = 0; i < this.numberOfParts; i++) {
+      Part part = this.partsList[i];
+      headerLen += PART_HEADER_SIZE;
+      totalPartLen += part.getLength();
+    }
 
-        int msgLen = (int) (headerLen + totalPartLen);
+    Part securityPart = this.getSecurityPart();
+    if (securityPart == null) {
+      securityPart = this.securePart;
+    }
+    if (securityPart != null) {
+      headerLen += PART_HEADER_SIZE;
+      totalPartLen += securityPart.getLength();
+      partsToTransmit++;
+    }
 
-        if (msgLen > this.maxMessageSize) {
-          throw new MessageTooLargeException("Message size (" + msgLen
-              + ") exceeds gemfire.client.max-message-size setting (" + this.maxMessageSize + ")");
-        }
+    if (headerLen + totalPartLen > Integer.MAX_VALUE) {
+      throw new MessageTooLargeException(
+          "Message size (" + (headerLen + totalPartLen) + ") exceeds maximum integer value");
+    }
 
-        commBuffer.clear();
-        packHeaderInfoForSending(msgLen, securityPart != null);
-        for (int i = 0; i < partsToTransmit; i++) {
-          Part part = i == this.numberOfParts ? securityPart : this.partsList[i];
+    int msgLen = (int) (headerLen + totalPartLen);
 
-          if (commBuffer.remaining() < PART_HEADER_SIZE) {
-            flushBuffer();
-          }
+    if (msgLen > this.maxMessageSize) {
+      throw new MessageTooLargeException("Message size (" + msgLen
+          + ") exceeds gemfire.client.max-message-size setting (" + this.maxMessageSize + ")");
+    }
 
-          int partLen = part.getLength();
-          commBuffer.putInt(partLen);
-          commBuffer.put(part.getTypeCode());
-          if (partLen <= commBuffer.remaining()) {
-            part.writeTo(commBuffer);
-          } else {
-            flushBuffer();
-            if (this.socketChannel != null) {
-              part.writeTo(this.socketChannel, commBuffer);
-            } else {
-              part.writeTo(this.outputStream, commBuffer);
-            }
-            if (this.messageStats != null) {
-              this.messageStats.incSentBytes(partLen);
-            }
-          }
-        }
-        if (commBuffer.position() != 0) {
-          flushBuffer();
+    commBuffer.clear();
+    packHeaderInfoForSending(msgLen, securityPart != null);
+    for (int i = 0; i < partsToTransmit; i++) {
+      Part part = i == this.numberOfParts ? securityPart : this.partsList[i];
+
+      if (commBuffer.remaining() < PART_HEADER_SIZE) {
+        flushBuffer();
+      }
+
+      int partLen = part.getLength();
+      commBuffer.putInt(partLen);
+      commBuffer.put(part.getTypeCode());
+      ByteBuffer partBuffer;
+      if (partLen <= commBuffer.remaining()) {
+        part.writeTo(commBuffer);
+      } else if (this.socketChannel != null
+          && (partBuffer = part.createByteBufferForWriting()) != null) {
+        flushBufferWith(partBuffer);
+      } else {
+        flushBuffer();
+        if (this.socketChannel != null) {
+          part.writeTo(this.socketChannel, commBuffer);
+        } else {
+          part.writeTo(this.outputStream, commBuffer);
         }
-        this.messageModified = false;
-        if (this.socketChannel == null) {
-          this.outputStream.flush();
+        if (this.messageStats != null) {
+          this.messageStats.incSentBytes(partLen);
         }
       }
-    } finally {
-      if (clearMessage) {
-        clearParts();
+    }
+    if (commBuffer.position() != 0) {
+      flushBuffer();
+    }
+    this.messageModified = false;
+    if (this.socketChannel == null) {
+      this.outputStream.flush();
+    }
+  }
+
+  /**
+   * Runs an I/O operation while holding the lock of the comm buffer. Server connections lock their
+   * buffer with a {@link Lock}, which unlike a monitor does not pin a virtual thread to its
+   * carrier thread while the operation blocks on the socket.
+   */
+  void withCommBufferLock(ByteBuffer commBuffer, CommBufferOperation operation)
+      throws IOException {
+    Lock lock = this.serverConnection != null ? this.serverConnection.getCommBufferLock() : null;
+    if (lock == null) {
+      synchronized (commBuffer) {
+        operation.run();
       }
+      return;
     }
+    lock.lock();
+    try {
+      operation.run();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  interface CommBufferOperation {
+    void run() throws IOException;
   }
 
   void flushBuffer() throws IOException {
@@ -663,6 +696,24 @@ public class Message {
     cb.clear();
   }
 
+  /**
+   * Writes the comm buffer followed by an off-heap part that does not fit into it with one
+   * gathering write, so the part goes to the channel straight from its off-heap memory.
+   */
+  private void flushBufferWith(ByteBuffer partBuffer) throws IOException {
+    final ByteBuffer cb = getCommBuffer();
+    cb.flip();
+    final int bytesToSend = cb.remaining() + partBuffer.remaining();
+    final ByteBuffer[] buffers = {cb, partBuffer};
+    do {
+      this.socketChannel.write(buffers);
+    } while (partBuffer.remaining() > 0);
+    if (this.messageStats != null) {
+      this.messageStats.incSentBytes(bytesToSend);
+    }
+    cb.clear();
+  }
+
   private void readHeaderAndBody(boolean setHeaderReadTimeout, int headerReadTimeoutMillis)
       throws IOException {
     clearParts();
@@ -1136,9 +1187,7 @@ public class Message {
    */
   public void receiveWithHeaderReadTimeout(int timeoutMillis) throws IOException {
     if (this.socket != null) {
-      synchronized (getCommBuffer()) {
-        readHeaderAndBody(true, timeoutMillis);
-      }
+      withCommBufferLock(getCommBuffer(), () -> readHeaderAndBody(true, timeoutMillis));
     } else {
       throw new IOException("Dead Connection");
     }
@@ -1149,9 +1198,7 @@ public class Message {
    */
   public void receive() throws IOException {
     if (this.socket != null) {
-      synchronized (getCommBuffer()) {
-        readHeaderAndBody(false, -1);
-      }
+      withCommBufferLock(getCommBuffer(), () -> readHeaderAndBody(false, -1));
     } else {
       throw new IOException("Dead Connection");
     }
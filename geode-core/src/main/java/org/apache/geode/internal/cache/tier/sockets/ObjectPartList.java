@@ -252,7 +252,12 @@ public class ObjectPartList implements DataSerializableFixedID, Releasable {
   @Override
   public void release() {
     for (Object v : this.objects) {
-      OffHeapHelper.release(v);
+      if (v instanceof ObjectPartList) {
+        // the fields of a struct in query results
+        ((ObjectPartList) v).release();
+      } else {
+        OffHeapHelper.release(v);
+      }
     }
   }
 }
@@ -434,6 +434,19 @@ public class Part {
     }
   }
 
+  /**
+   * Returns a direct buffer over the off-heap memory of this part, so that it can be written to a
+   * channel without being copied. Returns null for heap parts: the JDK copies a heap buffer written
+   * to a channel into a temporary direct buffer as large as the part, so they are copied through
+   * the comm buffer by {@link #writeTo(SocketChannel, ByteBuffer)} instead.
+   */
+  ByteBuffer createByteBufferForWriting() {
+    if (this.part instanceof StoredObject) {
+      return ((StoredObject) this.part).createDirectByteBuffer();
+    }
+    return null;
+  }
+
   /**
    * Write the contents of this part to the specified socket channel using the specified byte
    * buffer. This is only called for parts that will not fit into the commBuffer so they need to be
@@ -37,6 +37,8 @@ import java.util.Random;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.commons.lang3.mutable.MutableInt;
 import org.apache.logging.log4j.Logger;
@@ -68,6 +70,7 @@ import org.apache.geode.internal.cache.tier.ServerSideHandshake;
 import org.apache.geode.internal.cache.tier.sockets.command.Default;
 import org.apache.geode.internal.logging.InternalLogWriter;
 import org.apache.geode.internal.logging.LogService;
+import org.apache.geode.internal.net.NioSslSocket;
 import org.apache.geode.internal.security.AuthorizeRequest;
 import org.apache.geode.internal.security.AuthorizeRequestPP;
 import org.apache.geode.internal.security.SecurityService;
@@ -165,6 +168,12 @@ public abstract class ServerConnection implements Runnable {
 
   Socket theSocket;
   private ByteBuffer commBuffer;
+
+  /**
+   * Serializes the use of the comm buffer by the messages of this connection. A Lock is used
+   * instead of a monitor so that a virtual thread blocked on the socket does not pin its carrier.
+   */
+  private final Lock commBufferLock = new ReentrantLock();
   protected final CachedRegionHelper crHelper;
   protected String name;
 
@@ -1179,6 +1188,11 @@ public abstract class ServerConnection implements Runnable {
         if (!isTerminated()) {
           getAcceptor().setTLCommBuffer();
           doOneMessage();
+          // a TLS connection may already have decrypted the next message, which the selector
+          // would never report
+          while (processMessages && !crHelper.isShutdown() && hasBufferedInput()) {
+            doOneMessage();
+          }
           if (processMessages && !crHelper.isShutdown()) {
             // finished message so reregister
             registerWithSelector();
@@ -1239,9 +1253,19 @@ public abstract class ServerConnection implements Runnable {
   }
 
   SelectableChannel getSelectableChannel() {
+    if (theSocket instanceof NioSslSocket) {
+      return ((NioSslSocket) theSocket).getSocketChannel();
+    }
     return theSocket.getChannel();
   }
 
+  /**
+   * @return true if a TLS connection has received data the selector does not know about
+   */
+  boolean hasBufferedInput() {
+    return theSocket instanceof NioSslSocket && ((NioSslSocket) theSocket).hasBufferedInput();
+  }
+
   void registerWithSelector2(Selector s) throws ClosedChannelException {
     getSelectableChannel().register(s, SelectionKey.OP_READ, this);
   }
@@ -1250,7 +1274,7 @@ public abstract class ServerConnection implements Runnable {
    * Switch this connection to blocking mode so we can use oldIO to read and write messages.
    */
   void makeBlocking() throws IOException {
-    SelectableChannel c = theSocket.getChannel();
+    SelectableChannel c = getSelectableChannel();
     c.configureBlocking(true);
   }
 
@@ -1362,6 +1386,10 @@ public abstract class ServerConnection implements Runnable {
     return latestBatchIdReplied;
   }
 
+  Lock getCommBufferLock() {
+    return commBufferLock;
+  }
+
   void initStreams(Socket s, int socketBufferSize, MessageStats messageStats) {
     try {
       if (getAcceptor().isSelector()) {
@@ -58,6 +58,23 @@ public class SystemPropertyHelper {
 
   public static final String EVICTION_SEARCH_MAX_ENTRIES = "lru.maxSearchEntries";
 
+  /**
+   * When set to a value greater than 1, LRU eviction lists are split into that many independently
+   * locked stripes (rounded up to a power of two) instead of sharing a single list lock. Defaults
+   * to 0, which keeps the single list selected by {@link #EVICTION_SCAN_ASYNC}. For more details
+   * see {@link org.apache.geode.internal.cache.eviction.StripedLRUList}.
+   */
+  public static final String EVICTION_LIST_STRIPES = "EvictionListStripes";
+
+  /**
+   * When set to "true" LRU eviction only lets a new entry displace an older one if its key has been
+   * used more often, as counted by a frequency sketch (defaults to false). This keeps frequently
+   * used entries from being evicted by scans. Takes precedence over {@link #EVICTION_LIST_STRIPES}
+   * and {@link #EVICTION_SCAN_ASYNC}. For more details see
+   * {@link org.apache.geode.internal.cache.eviction.TinyLFUList}.
+   */
+  public static final String EVICTION_FREQUENCY_ADMISSION = "EvictionFrequencyAdmission";
+
   public static final String EARLY_ENTRY_EVENT_SERIALIZATION = "earlyEntryEventSerialization";
 
   public static final String DEFAULT_DISK_DIRS_PROPERTY = "defaultDiskDirs";
@@ -273,6 +273,19 @@ public class LoggingExecutors {
     return command -> new LoggingThread(threadName, command).start();
   }
 
+  /**
+   * Creates an executor that runs each command in a new virtual thread. Commands submitted while
+   * maxThreads commands are running are rejected. See {@link VirtualThreadFactory}.
+   */
+  public static ExecutorService newVirtualThreadPerTaskExecutor(String threadName,
+      ThreadInitializer threadInitializer, CommandWrapper commandWrapper, int maxThreads) {
+    ThreadFactory threadFactory =
+        new VirtualThreadFactory(threadName, threadInitializer, commandWrapper);
+    // virtual threads are not worth keeping, so they exit as soon as their command is done
+    return new ThreadPoolExecutor(0, maxThreads, 0L, TimeUnit.SECONDS,
+        new SynchronousQueue<Runnable>(), threadFactory);
+  }
+
   public static ScheduledExecutorService newScheduledThreadPool(String threadName, int poolSize) {
     return newScheduledThreadPool(threadName, poolSize, true);
   }
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.logging;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.annotations.Immutable;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.logging.LoggingThreadFactory.CommandWrapper;
+import org.apache.geode.internal.logging.LoggingThreadFactory.ThreadInitializer;
+
+/**
+ * Threads produced by instances of this class are virtual threads that log uncaught exceptions
+ * and have unique names that contain the "baseName" passed to the constructor. Virtual threads
+ * are cheap enough to dedicate one to every blocked socket reader.
+ * <p>
+ * Virtual threads are only used if the system property "gemfire.useVirtualThreads" is true and
+ * the JVM supports them (JDK 21 or later). Use {@link #isEnabled()} to decide whether to create
+ * this factory.
+ */
+public class VirtualThreadFactory implements ThreadFactory {
+
+  private static final Logger logger = LogService.getLogger();
+
+  public static final String USE_VIRTUAL_THREADS_PROPERTY =
+      DistributionConfig.GEMFIRE_PREFIX + "useVirtualThreads";
+
+  /**
+   * The factory of the JVM, null if virtual threads are not enabled
+   */
+  @Immutable
+  private static final ThreadFactory virtualThreadFactory = createVirtualThreadFactory();
+
+  private final String baseName;
+  private final CommandWrapper commandWrapper;
+  private final ThreadInitializer threadInitializer;
+  private final AtomicInteger threadCount = new AtomicInteger(1);
+
+  /**
+   * Create a factory that produces virtual threads that log uncaught exceptions
+   *
+   * @param baseName the base name will be included in every thread name
+   * @param threadInitializer if not null, will be invoked with the thread each time a thread is
+   *        created
+   * @param commandWrapper if not null, will be invoked by each thread created by this factory
+   */
+  public VirtualThreadFactory(String baseName, ThreadInitializer threadInitializer,
+      CommandWrapper commandWrapper) {
+    if (virtualThreadFactory == null) {
+      throw new IllegalStateException("Virtual threads are not enabled");
+    }
+    this.baseName = baseName;
+    this.threadInitializer = threadInitializer;
+    this.commandWrapper = commandWrapper;
+  }
+
+  /**
+   * Returns true if virtual threads were requested and are supported by this JVM
+   */
+  public static boolean isEnabled() {
+    return virtualThreadFactory != null;
+  }
+
+  private static ThreadFactory createVirtualThreadFactory() {
+    if (!Boolean.getBoolean(USE_VIRTUAL_THREADS_PROPERTY)) {
+      return null;
+    }
+    try {
+      // Thread.ofVirtual().factory(), which does not exist in the JDK this is compiled for
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory")
+          .invoke(builder);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      logger.warn("{} is set but this JVM does not support virtual threads, using platform threads",
+          USE_VIRTUAL_THREADS_PROPERTY);
+      return null;
+    }
+  }
+
+  private String getUniqueName() {
+    return baseName + threadCount.getAndIncrement();
+  }
+
+  @Override
+  public Thread newThread(Runnable runnable) {
+    Runnable commandToRun;
+    if (commandWrapper != null) {
+      commandToRun = () -> commandWrapper.invoke(runnable);
+    } else {
+      commandToRun = runnable;
+    }
+    Thread thread = virtualThreadFactory.newThread(commandToRun);
+    thread.setName(getUniqueName());
+    LoggingUncaughtExceptionHandler.setOnThread(thread);
+    if (threadInitializer != null) {
+      threadInitializer.initialize(thread);
+    }
+    return thread;
+  }
+}
@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.net;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * A Socket whose streams carry the application data of a TLS session that a {@link NioSslEngine}
+ * established over a {@link SocketChannel}. This lets code written against socket streams use a
+ * connection that is otherwise watched by a {@link java.nio.channels.Selector}.
+ * <p>
+ * {@link #getChannel()} returns null so that callers do not bypass the engine; the channel is
+ * available from {@link #getSocketChannel()} for selector registration. The channel must be in
+ * blocking mode while the streams are used. Reads honor {@link #setSoTimeout(int)}.
+ * <p>
+ * A read may decrypt more data than was asked for. The selector does not know about such data, so
+ * {@link #hasBufferedInput()} must be checked before waiting on the selector again.
+ */
+public class NioSslSocket extends Socket {
+
+  private final SocketChannel channel;
+
+  private final Socket socket;
+
+  private final NioSslEngine engine;
+
+  private final InputStream inputStream = new SslInputStream();
+
+  private final OutputStream outputStream = new SslOutputStream();
+
+  /**
+   * bytes received from the network that have not been decrypted yet, ready for writing
+   */
+  private final ByteBuffer wrappedBuffer;
+
+  /**
+   * decrypted bytes, ready for reading
+   */
+  private ByteBuffer appData;
+
+  /**
+   * true if the bytes in wrappedBuffer do not form a complete TLS record
+   */
+  private boolean needMoreData;
+
+  /**
+   * @param channel a connected channel
+   * @param engine the engine returned by
+   *        {@link SocketCreator#handshakeSSLSocketChannel(SocketChannel, javax.net.ssl.SSLEngine, int, boolean, ByteBuffer, BufferPool)}
+   * @param peerNetBuffer the heap buffer given to the handshake, which may already hold data
+   *        received after it. It must be at least as large as the packet buffer size of the
+   *        session.
+   */
+  public NioSslSocket(SocketChannel channel, NioSslEngine engine, ByteBuffer peerNetBuffer) {
+    this.channel = channel;
+    this.socket = channel.socket();
+    this.engine = engine;
+    this.wrappedBuffer = peerNetBuffer;
+    this.appData = engine.getUnwrappedBuffer(peerNetBuffer);
+    this.appData.flip();
+  }
+
+  public SocketChannel getSocketChannel() {
+    return channel;
+  }
+
+  /**
+   * @return true if data was received that has not been read from the input stream yet
+   */
+  public synchronized boolean hasBufferedInput() {
+    return appData.hasRemaining() || (wrappedBuffer.position() > 0 && !needMoreData);
+  }
+
+  private synchronized int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    while (!appData.hasRemaining()) {
+      if (wrappedBuffer.position() == 0 || needMoreData) {
+        int bytesRead = socket.getInputStream().read(wrappedBuffer.array(),
+            wrappedBuffer.arrayOffset() + wrappedBuffer.position(), wrappedBuffer.remaining());
+        if (bytesRead < 0) {
+          return -1;
+        }
+        wrappedBuffer.position(wrappedBuffer.position() + bytesRead);
+      }
+      wrappedBuffer.flip();
+      appData.compact();
+      appData = engine.unwrap(wrappedBuffer);
+      appData.flip();
+      // unwrap leaves only a partial record in the buffer
+      needMoreData = wrappedBuffer.position() > 0;
+    }
+    int count = Math.min(len, appData.remaining());
+    appData.get(b, off, count);
+    return count;
+  }
+
+  private void write(byte[] b, int off, int len) throws IOException {
+    synchronized (outputStream) {
+      ByteBuffer wrapped = engine.wrap(ByteBuffer.wrap(b, off, len));
+      while (wrapped.hasRemaining()) {
+        if (channel.write(wrapped) < 0) {
+          throw new EOFException();
+        }
+      }
+    }
+  }
+
+  private class SslInputStream extends InputStream {
+    @Override
+    public int read() throws IOException {
+      byte[] b = new byte[1];
+      int count;
+      do {
+        count = NioSslSocket.this.read(b, 0, 1);
+      } while (count == 0);
+      return count < 0 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      return NioSslSocket.this.read(b, off, len);
+    }
+
+    @Override
+    public int available() {
+      synchronized (NioSslSocket.this) {
+        return appData.remaining();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      NioSslSocket.this.close();
+    }
+  }
+
+  private class SslOutputStream extends OutputStream {
+    @Override
+    public void write(int b) throws IOException {
+      NioSslSocket.this.write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      NioSslSocket.this.write(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+      NioSslSocket.this.close();
+    }
+  }
+
+  @Override
+  public InputStream getInputStream() throws IOException {
+    return inputStream;
+  }
+
+  @Override
+  public OutputStream getOutputStream() throws IOException {
+    return outputStream;
+  }
+
+  @Override
+  public SocketChannel getChannel() {
+    return null;
+  }
+
+  /**
+   * Closes the socket first, without the monitor of this socket, so that a reader blocked on the
+   * network is woken up instead of holding up the close. The engine and its buffers are released
+   * afterwards, under the monitor of the engine that its wrap and unwrap also hold.
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      socket.close();
+    } finally {
+      synchronized (engine) {
+        engine.close(channel);
+      }
+    }
+  }
+
+  @Override
+  public boolean isClosed() {
+    return socket.isClosed();
+  }
+
+  @Override
+  public boolean isConnected() {
+    return socket.isConnected();
+  }
+
+  @Override
+  public boolean isBound() {
+    return socket.isBound();
+  }
+
+  @Override
+  public boolean isInputShutdown() {
+    return socket.isInputShutdown();
+  }
+
+  @Override
+  public boolean isOutputShutdown() {
+    return socket.isOutputShutdown();
+  }
+
+  @Override
+  public void shutdownInput() throws IOException {
+    socket.shutdownInput();
+  }
+
+  @Override
+  public void shutdownOutput() throws IOException {
+    socket.shutdownOutput();
+  }
+
+  @Override
+  public InetAddress getInetAddress() {
+    return socket.getInetAddress();
+  }
+
+  @Override
+  public InetAddress getLocalAddress() {
+    return socket.getLocalAddress();
+  }
+
+  @Override
+  public int getPort() {
+    return socket.getPort();
+  }
+
+  @Override
+  public int getLocalPort() {
+    return socket.getLocalPort();
+  }
+
+  @Override
+  public SocketAddress getRemoteSocketAddress() {
+    return socket.getRemoteSocketAddress();
+  }
+
+  @Override
+  public SocketAddress getLocalSocketAddress() {
+    return socket.getLocalSocketAddress();
+  }
+
+  @Override
+  public void setSoTimeout(int timeout) throws SocketException {
+    socket.setSoTimeout(timeout);
+  }
+
+  @Override
+  public int getSoTimeout() throws SocketException {
+    return socket.getSoTimeout();
+  }
+
+  @Override
+  public void setTcpNoDelay(boolean on) throws SocketException {
+    socket.setTcpNoDelay(on);
+  }
+
+  @Override
+  public boolean getTcpNoDelay() throws SocketException {
+    return socket.getTcpNoDelay();
+  }
+
+  @Override
+  public void setSoLinger(boolean on, int linger) throws SocketException {
+    socket.setSoLinger(on, linger);
+  }
+
+  @Override
+  public int getSoLinger() throws SocketException {
+    return socket.getSoLinger();
+  }
+
+  @Override
+  public void setKeepAlive(boolean on) throws SocketException {
+    socket.setKeepAlive(on);
+  }
+
+  @Override
+  public boolean getKeepAlive() throws SocketException {
+    return socket.getKeepAlive();
+  }
+
+  @Override
+  public void setSendBufferSize(int size) throws SocketException {
+    socket.setSendBufferSize(size);
+  }
+
+  @Override
+  public int getSendBufferSize() throws SocketException {
+    return socket.getSendBufferSize();
+  }
+
+  @Override
+  public void setReceiveBufferSize(int size) throws SocketException {
+    socket.setReceiveBufferSize(size);
+  }
+
+  @Override
+  public int getReceiveBufferSize() throws SocketException {
+    return socket.getReceiveBufferSize();
+  }
+
+  @Override
+  public String toString() {
+    return "NioSslSocket[" + socket + "]";
+  }
+}
@@ -217,13 +217,13 @@ public class AddressableMemoryManager {
       }
       try {
         m = c.getDeclaredMethod("address");
-      } catch (NoSuchMethodException | SecurityException e) {
+        m.setAccessible(true);
+      } catch (NoSuchMethodException | RuntimeException e) {
         // throw new IllegalStateException("Could not get method DirectByteBuffer.address()", e);
         dbbClass = null;
         dbbAddressFailed = true;
         return 0L;
       }
-      m.setAccessible(true);
       dbbAddressMethod = m;
     }
     try {
@@ -264,18 +264,22 @@ public class AddressableMemoryManager {
         dbbClass = c;
       }
       try {
-        ctor = c.getDeclaredConstructor(long.class, int.class);
-      } catch (NoSuchMethodException | SecurityException e) {
+        ctor = getDirectByteBufferConstructor(c);
+        ctor.setAccessible(true);
+      } catch (NoSuchMethodException | RuntimeException e) {
         // throw new IllegalStateException("Could not get constructor DirectByteBuffer(long, int)",
         // e);
+        // a RuntimeException is thrown if java.nio is not opened to us
         dbbClass = null;
         dbbCreateFailed = true;
         return null;
       }
-      ctor.setAccessible(true);
       dbbCtor = ctor;
     }
     try {
+      if (ctor.getParameterTypes()[1] == long.class) {
+        return (ByteBuffer) ctor.newInstance(address, (long) size);
+      }
       return (ByteBuffer) ctor.newInstance(address, size);
     } catch (InstantiationException | IllegalAccessException | IllegalArgumentException
         | InvocationTargetException e) {
@@ -288,4 +292,18 @@ public class AddressableMemoryManager {
     }
   }
 
+  /**
+   * DirectByteBuffer(long, int) became DirectByteBuffer(long, long) in JDK 21.
+   */
+  @SuppressWarnings("rawtypes")
+  private static Constructor getDirectByteBufferConstructor(Class c)
+      throws NoSuchMethodException {
+    try {
+      return c.getDeclaredConstructor(long.class, int.class);
+    } catch (NoSuchMethodException e) {
+      return c.getDeclaredConstructor(long.class, long.class);
+    }
+  }
+
+
 }
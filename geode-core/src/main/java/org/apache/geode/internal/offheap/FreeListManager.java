@@ -26,6 +26,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.logging.log4j.Logger;
 
@@ -287,6 +288,13 @@ public class FreeListManager {
   }
 
   protected final AtomicInteger defragmentationCount = new AtomicInteger();
+
+  /** Number of chunks freed since the free chunks were last coalesced */
+  private final LongAdder freesSinceCoalescing = new LongAdder();
+
+  /** Set once the slabs have been freed. Guarded by this */
+  private boolean slabsFreed;
+
   /*
    * Set this to "true" to perform data integrity checks on allocated and reused Chunks. This may
    * clobber performance so turn on only when necessary.
@@ -423,7 +431,8 @@ public class FreeListManager {
 
     public void add(long l) {
       if (size >= data.length) {
-        long[] newData = new long[data.length + SORT_ARRAY_BLOCK_SIZE];
+        // grow by half so that adding n longs copies O(n) of them
+        long[] newData = new long[data.length + Math.max(SORT_ARRAY_BLOCK_SIZE, data.length >> 1)];
         System.arraycopy(data, 0, newData, 0, data.length);
         data = newData;
       }
@@ -431,6 +440,10 @@ public class FreeListManager {
       size++;
     }
 
+    public void sort() {
+      Arrays.sort(data, 0, size);
+    }
+
     public void insert(int idx, long l) {
       if (size >= data.length) {
         long[] newData = new long[data.length + SORT_ARRAY_BLOCK_SIZE];
@@ -457,39 +470,9 @@ public class FreeListManager {
     collectFreeChunks(freeChunks);
     ResizableLongArray sorted = new ResizableLongArray();
     for (LongStack l : freeChunks) {
-      long addr = l.poll();
-      while (addr != 0) {
-        int idx = sorted.binarySearch(addr);
-        idx = -idx;
-        idx--;
-        int sortedSize = sorted.size();
-        if (idx == sortedSize) {
-          // addr is > everything in the array
-          if (sortedSize == 0) {
-            // nothing was in the array
-            sorted.add(addr);
-          } else {
-            if (!combineIfAdjacentAndSmallEnough(sorted.get(idx - 1), addr)) {
-              sorted.add(addr);
-            }
-          }
-        } else {
-          if (combineIfAdjacentAndSmallEnough(addr, sorted.get(idx))) {
-            sorted.set(idx, addr);
-          } else {
-            if (idx == 0 || !combineIfAdjacentAndSmallEnough(sorted.get(idx - 1), addr)) {
-              sorted.insert(idx, addr);
-            }
-          }
-        }
-        addr = l.poll();
-      }
-    }
-    for (int i = sorted.size() - 1; i > 0; i--) {
-      if (combineIfAdjacentAndSmallEnough(sorted.get(i - 1), sorted.get(i))) {
-        sorted.set(i, 0L);
-      }
+      addAll(l, sorted);
     }
+    combineAdjacentChunks(sorted);
 
     int largestFragment = 0;
     this.lastFragmentAllocation.set(0);
@@ -522,6 +505,110 @@ public class FreeListManager {
     return result;
   }
 
+  private static void addAll(LongStack l, ResizableLongArray addrs) {
+    for (long addr = l.poll(); addr != 0L; addr = l.poll()) {
+      addrs.add(addr);
+    }
+  }
+
+  /**
+   * Sorts the chunk addresses and combines each chunk with the adjacent chunks that follow it. The
+   * addresses of the chunks that were combined into the chunk before them are set to 0.
+   */
+  private void combineAdjacentChunks(ResizableLongArray addrs) {
+    addrs.sort();
+    int lowIdx = 0;
+    for (int i = 1; i < addrs.size(); i++) {
+      if (combineIfAdjacentAndSmallEnough(addrs.get(lowIdx), addrs.get(i))) {
+        addrs.set(i, 0L);
+      } else {
+        lowIdx = i;
+      }
+    }
+  }
+
+  /**
+   * Combines adjacent chunks on the tiny and huge free lists into new fragments. Unlike
+   * {@link #defragment(int)} the existing fragments are left alone, so allocations keep using them
+   * while this runs, and chunks that are not adjacent to another free chunk are put back on their
+   * free list. It is meant to be called in the background so that enough free memory is available
+   * in fragments before an allocation fails and has to wait for a full defragmentation. Returns the
+   * number of free chunks that were combined into new fragments.
+   */
+  int coalesceFreeChunks() {
+    final long startTime = this.ma.getStats().startBackgroundDefragmentation();
+    int coalescedChunks = 0;
+    try {
+      synchronized (this) {
+        if (this.slabsFreed) {
+          return 0;
+        }
+        this.freesSinceCoalescing.reset();
+        ArrayList<LongStack> freeChunks = new ArrayList<LongStack>();
+        collectFreeHugeChunks(freeChunks);
+        collectFreeTinyChunks(freeChunks);
+        ResizableLongArray sorted = new ResizableLongArray();
+        for (LongStack l : freeChunks) {
+          addAll(l, sorted);
+        }
+        combineAdjacentChunks(sorted);
+
+        ArrayList<Fragment> newFragments = new ArrayList<Fragment>();
+        for (int i = 0; i < sorted.size(); i++) {
+          long addr = sorted.get(i);
+          if (addr == 0L) {
+            continue;
+          }
+          int combined = 1;
+          while (i + combined < sorted.size() && sorted.get(i + combined) == 0L) {
+            combined++;
+          }
+          if (combined > 1) {
+            newFragments.add(createFragment(addr, OffHeapStoredObject.getSize(addr)));
+            coalescedChunks += combined;
+          } else {
+            free(addr, false);
+          }
+        }
+        if (this.validateMemoryWithFill) {
+          for (Fragment fragment : newFragments) {
+            fragment.fill();
+          }
+        }
+        // fragments that are completely allocated can never be used again
+        this.fragmentList
+            .removeIf(fragment -> fragment.freeSpace() == 0);
+        this.fragmentList.addAll(newFragments);
+
+        int largestFragment = 0;
+        for (Fragment fragment : this.fragmentList) {
+          largestFragment = Math.max(largestFragment, fragment.freeSpace());
+        }
+        this.ma.getStats().setLargestFragment(largestFragment);
+        this.ma.getStats().setFragments(this.fragmentList.size());
+        this.ma.getStats().setFragmentation(getFragmentation());
+
+        // Allocations waiting to defragment retry before doing a full defragmentation.
+        this.defragmentationCount.incrementAndGet();
+      }
+    } finally {
+      this.ma.getStats().endBackgroundDefragmentation(startTime, coalescedChunks);
+    }
+    return coalescedChunks;
+  }
+
+  /**
+   * Returns true if chunks have been freed since free chunks were last coalesced, and less than
+   * half of the free memory is left in fragments. Most of the free memory is then on the free lists
+   * where it can only be used for chunks of the same size.
+   */
+  boolean shouldCoalesceFreeChunks() {
+    if (this.freesSinceCoalescing.sum() == 0) {
+      return false;
+    }
+    return getFreeFragmentMemory() < getFreeMemory() / 2;
+  }
+
   /**
    * Unit tests override this method to get better test coverage
    */
@@ -782,6 +869,7 @@ public class FreeListManager {
   private void free(long addr, boolean updateStats) {
     int cSize = OffHeapStoredObject.getSize(addr);
     if (updateStats) {
+      this.freesSinceCoalescing.increment();
       OffHeapMemoryStats stats = this.ma.getStats();
       stats.incObjects(-1);
       this.allocatedSize.addAndGet(-cSize);
@@ -973,7 +1061,8 @@ public class FreeListManager {
     return this.totalSlabSize;
   }
 
-  void freeSlabs() {
+  synchronized void freeSlabs() {
+    this.slabsFreed = true;
     for (int i = 0; i < slabs.length; i++) {
       slabs[i].free();
     }
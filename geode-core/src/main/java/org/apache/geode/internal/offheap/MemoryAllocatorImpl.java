@@ -22,6 +22,8 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.logging.log4j.Logger;
@@ -37,6 +39,7 @@ import org.apache.geode.internal.cache.PartitionedRegion;
 import org.apache.geode.internal.cache.PartitionedRegionDataStore;
 import org.apache.geode.internal.cache.RegionEntry;
 import org.apache.geode.internal.logging.LogService;
+import org.apache.geode.internal.logging.LoggingExecutors;
 import org.apache.geode.internal.offheap.annotations.OffHeapIdentifier;
 import org.apache.geode.internal.offheap.annotations.Unretained;
 
@@ -69,6 +72,8 @@ public class MemoryAllocatorImpl implements MemoryAllocator {
 
   private MemoryInspector memoryInspector;
 
+  private final ScheduledExecutorService backgroundDefragmenter;
+
   private volatile MemoryUsageListener[] memoryUsageListeners = new MemoryUsageListener[0];
 
   @MakeNotStatic
@@ -85,6 +90,14 @@ public class MemoryAllocatorImpl implements MemoryAllocator {
   private static final boolean DO_EXPENSIVE_VALIDATION =
       Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "OFF_HEAP_DO_EXPENSIVE_VALIDATION");
 
+  /**
+   * How often, in milliseconds, to check whether adjacent free chunks should be combined into new
+   * fragments in the background. Doing so keeps enough free memory in fragments that allocations
+   * rarely have to wait for a full defragmentation. Zero, the default, disables it.
+   */
+  static final long BACKGROUND_DEFRAGMENTATION_INTERVAL = Long.getLong(
+      DistributionConfig.GEMFIRE_PREFIX + "OFF_HEAP_BACKGROUND_DEFRAGMENTATION_INTERVAL", 0);
+
   public static MemoryAllocator create(OutOfOffHeapMemoryListener ooohml, OffHeapMemoryStats stats,
       int slabCount, long offHeapMemorySize, long maxSlabSize) {
     return create(ooohml, stats, slabCount, offHeapMemorySize, maxSlabSize, null,
@@ -223,6 +236,27 @@ public class MemoryAllocatorImpl implements MemoryAllocator {
 
     this.stats.incMaxMemory(this.freeList.getTotalMemory());
     this.stats.incFreeMemory(this.freeList.getTotalMemory());
+
+    if (BACKGROUND_DEFRAGMENTATION_INTERVAL > 0) {
+      this.backgroundDefragmenter =
+          LoggingExecutors.newSingleThreadScheduledExecutor("OffHeapBackgroundDefragmenter");
+      this.backgroundDefragmenter.scheduleWithFixedDelay(this::defragmentInBackground,
+          BACKGROUND_DEFRAGMENTATION_INTERVAL, BACKGROUND_DEFRAGMENTATION_INTERVAL,
+          TimeUnit.MILLISECONDS);
+    } else {
+      this.backgroundDefragmenter = null;
+    }
+  }
+
+  private void defragmentInBackground() {
+    try {
+      if (this.freeList.shouldCoalesceFreeChunks()) {
+        this.freeList.coalesceFreeChunks();
+      }
+    } catch (RuntimeException e) {
+      // the executor stops running a task that throws, so only log it
+      logger.warn("Exception occurred during background off-heap defragmentation", e);
+    }
   }
 
   public List<OffHeapStoredObject> getLostChunks(InternalCache cache) {
@@ -387,6 +421,9 @@ public class MemoryAllocatorImpl implements MemoryAllocator {
   private void realClose() {
     // Removing this memory immediately can lead to a SEGV. See 47885.
     if (setClosed()) {
+      if (this.backgroundDefragmenter != null) {
+        this.backgroundDefragmenter.shutdownNow();
+      }
       this.freeList.freeSlabs();
       this.stats.close();
       singleton = null;
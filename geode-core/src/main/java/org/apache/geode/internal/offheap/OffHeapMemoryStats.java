@@ -41,6 +41,10 @@ public interface OffHeapMemoryStats {
 
   void endDefragmentation(long start);
 
+  long startBackgroundDefragmentation();
+
+  void endBackgroundDefragmentation(long start, int coalescedChunks);
+
   void setFragmentation(int value);
 
   long getFreeMemory();
@@ -65,6 +69,12 @@ public interface OffHeapMemoryStats {
 
   long getDefragmentationTime();
 
+  int getBackgroundDefragmentations();
+
+  long getBackgroundDefragmentationTime();
+
+  long getCoalescedChunks();
+
   Statistics getStats();
 
   void close();
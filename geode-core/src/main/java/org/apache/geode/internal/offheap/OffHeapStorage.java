@@ -61,6 +61,9 @@ public class OffHeapStorage implements OffHeapMemoryStats {
   private static final int defragmentationTimeId;
   private static final int fragmentationId;
   private static final int defragmentationsInProgressId;
+  private static final int backgroundDefragmentationsId;
+  private static final int backgroundDefragmentationTimeId;
+  private static final int coalescedChunksId;
   // NOTE!!!! When adding new stats make sure and update the initialize method on this class
 
   // creates and registers the statistics type
@@ -74,6 +77,12 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     final String defragmentationsInProgressDesc =
         "Current number of defragment operations currently in progress.";
     final String defragmentationTimeDesc = "The total time spent defragmenting off-heap memory.";
+    final String backgroundDefragmentationsDesc =
+        "The total number of times adjacent free chunks of off-heap memory have been combined into new fragments in the background.";
+    final String backgroundDefragmentationTimeDesc =
+        "The total time spent combining adjacent free chunks of off-heap memory in the background.";
+    final String coalescedChunksDesc =
+        "The total number of free chunks of off-heap memory combined into new fragments in the background.";
     final String fragmentationDesc =
         "The percentage of off-heap free memory that is fragmented.  Updated every time a defragmentation is performed.";
     final String fragmentsDesc =
@@ -92,6 +101,9 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     final String defragmentations = "defragmentations";
     final String defragmentationsInProgress = "defragmentationsInProgress";
     final String defragmentationTime = "defragmentationTime";
+    final String backgroundDefragmentations = "backgroundDefragmentations";
+    final String backgroundDefragmentationTime = "backgroundDefragmentationTime";
+    final String coalescedChunks = "coalescedChunks";
     final String fragmentation = "fragmentation";
     final String fragments = "fragments";
     final String freeMemory = "freeMemory";
@@ -106,6 +118,11 @@ public class OffHeapStorage implements OffHeapMemoryStats {
             f.createIntGauge(defragmentationsInProgress, defragmentationsInProgressDesc,
                 "operations"),
             f.createLongCounter(defragmentationTime, defragmentationTimeDesc, "nanoseconds", false),
+            f.createIntCounter(backgroundDefragmentations, backgroundDefragmentationsDesc,
+                "operations"),
+            f.createLongCounter(backgroundDefragmentationTime, backgroundDefragmentationTimeDesc,
+                "nanoseconds", false),
+            f.createLongCounter(coalescedChunks, coalescedChunksDesc, "chunks"),
             f.createIntGauge(fragmentation, fragmentationDesc, "percentage"),
             f.createLongGauge(fragments, fragmentsDesc, "fragments"),
             f.createLongGauge(freeMemory, freeMemoryDesc, "bytes"),
@@ -118,6 +135,9 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     defragmentationId = statsType.nameToId(defragmentations);
     defragmentationsInProgressId = statsType.nameToId(defragmentationsInProgress);
     defragmentationTimeId = statsType.nameToId(defragmentationTime);
+    backgroundDefragmentationsId = statsType.nameToId(backgroundDefragmentations);
+    backgroundDefragmentationTimeId = statsType.nameToId(backgroundDefragmentationTime);
+    coalescedChunksId = statsType.nameToId(coalescedChunks);
     fragmentationId = statsType.nameToId(fragmentation);
     fragmentsId = statsType.nameToId(fragments);
     freeMemoryId = statsType.nameToId(freeMemory);
@@ -377,6 +397,35 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     return stats.getLong(defragmentationTimeId);
   }
 
+  @Override
+  public long startBackgroundDefragmentation() {
+    return DistributionStats.getStatTime();
+  }
+
+  @Override
+  public void endBackgroundDefragmentation(long start, int coalescedChunks) {
+    this.stats.incInt(backgroundDefragmentationsId, 1);
+    this.stats.incLong(coalescedChunksId, coalescedChunks);
+    if (DistributionStats.enableClockStats) {
+      stats.incLong(backgroundDefragmentationTimeId, DistributionStats.getStatTime() - start);
+    }
+  }
+
+  @Override
+  public int getBackgroundDefragmentations() {
+    return this.stats.getInt(backgroundDefragmentationsId);
+  }
+
+  @Override
+  public long getBackgroundDefragmentationTime() {
+    return this.stats.getLong(backgroundDefragmentationTimeId);
+  }
+
+  @Override
+  public long getCoalescedChunks() {
+    return this.stats.getLong(coalescedChunksId);
+  }
+
   @Override
   public void setFragmentation(int value) {
     this.stats.setInt(fragmentationId, value);
@@ -410,6 +459,9 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     setLargestFragment(oldStats.getLargestFragment());
     setDefragmentationTime(oldStats.getDefragmentationTime());
     setFragmentation(oldStats.getFragmentation());
+    setBackgroundDefragmentations(oldStats.getBackgroundDefragmentations());
+    setBackgroundDefragmentationTime(oldStats.getBackgroundDefragmentationTime());
+    setCoalescedChunks(oldStats.getCoalescedChunks());
 
     oldStats.close();
   }
@@ -418,6 +470,18 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     stats.setLong(defragmentationTimeId, value);
   }
 
+  private void setBackgroundDefragmentations(int value) {
+    this.stats.setInt(backgroundDefragmentationsId, value);
+  }
+
+  private void setBackgroundDefragmentationTime(long value) {
+    this.stats.setLong(backgroundDefragmentationTimeId, value);
+  }
+
+  private void setCoalescedChunks(long value) {
+    this.stats.setLong(coalescedChunksId, value);
+  }
+
   private void setDefragmentations(int value) {
     this.stats.setInt(defragmentationId, value);
   }
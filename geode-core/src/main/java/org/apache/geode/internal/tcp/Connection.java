@@ -38,6 +38,8 @@ import java.util.Map;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLException;
@@ -214,8 +216,11 @@ public class Connection implements Runnable {
   /** the socket entrusted to this connection */
   private final Socket socket;
 
-  /** output stream/channel lock */
-  private final Object outLock = new Object();
+  /**
+   * output stream/channel lock. This is not a monitor so that a virtual thread blocked in a write
+   * does not pin its carrier thread.
+   */
+  private final Lock outLock = new ReentrantLock();
 
   /** the ID string of the conduit (for logging) */
   private String conduitIdStr;
@@ -2556,7 +2561,8 @@ public class Connection implements Runnable {
     int retries = 0;
     int totalAmtWritten = 0;
     try {
-      synchronized (this.outLock) {
+      this.outLock.lock();
+      try {
         if (!forceAsync) {
           // check one more time while holding outLock in case a pusher was created
           if (this.asyncQueuingInProgress) {
@@ -2692,6 +2698,8 @@ public class Connection implements Runnable {
         } finally {
           channel.configureBlocking(true);
         }
+      } finally {
+        this.outLock.unlock();
       }
     } finally {
       if (socketWriteStarted) {
@@ -2723,7 +2731,8 @@ public class Connection implements Runnable {
         // fall through
       }
       long startLock = stats.startSocketLock();
-      synchronized (this.outLock) {
+      this.outLock.lock();
+      try {
         stats.endSocketLock(startLock);
         if (this.asyncQueuingInProgress) {
           if (addToQueue(buffer, msg, false)) {
@@ -2741,8 +2750,9 @@ public class Connection implements Runnable {
             stats.endSocketWrite(true, start, amtWritten, 0);
           }
         }
-
-      } // synchronized
+      } finally {
+        this.outLock.unlock();
+      }
     } else {
       writeAsync(channel, buffer, forceAsync, msg, stats);
     }
@@ -48,6 +48,7 @@ import org.apache.geode.internal.SystemTimer;
 import org.apache.geode.internal.alerting.AlertingAction;
 import org.apache.geode.internal.logging.LogService;
 import org.apache.geode.internal.logging.LoggingExecutors;
+import org.apache.geode.internal.logging.VirtualThreadFactory;
 import org.apache.geode.internal.net.BufferPool;
 import org.apache.geode.internal.net.SocketCloser;
 
@@ -206,6 +207,12 @@ public class ConnectionTable {
   }
 
   private Executor createThreadPoolForIO(boolean conserveSockets) {
+    if (VirtualThreadFactory.isEnabled()) {
+      // readers spend most of their time blocked in a socket read
+      return LoggingExecutors.newVirtualThreadPerTaskExecutor(
+          conserveSockets ? "SharedP2PReader" : "UnsharedP2PReader", null, null,
+          Integer.MAX_VALUE);
+    }
     if (conserveSockets) {
       return LoggingExecutors.newThreadOnEachExecute("SharedP2PReader");
     } else {
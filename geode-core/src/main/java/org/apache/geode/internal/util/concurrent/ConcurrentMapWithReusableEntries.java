@@ -47,4 +47,20 @@ public interface ConcurrentMapWithReusableEntries<K, V> extends ConcurrentMap<K,
    *        Thread is created.
    */
   void clearWithExecutor(Executor executor);
+
+  /**
+   * Returns the value of the Long key with the given value. Implementations that can look the key
+   * up without boxing it override this.
+   */
+  default V getLong(long key) {
+    return get(key);
+  }
+
+  /**
+   * Returns the value of the Integer key with the given value. Implementations that can look the
+   * key up without boxing it override this.
+   */
+  default V getInt(int key) {
+    return get(key);
+  }
 }
@@ -222,7 +222,26 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
    * bits.
    */
   public static int keyHash(final Object o, final boolean compareValues) {
-    int h = compareValues ? o.hashCode() : System.identityHashCode(o);
+    return spreadHash(compareValues ? o.hashCode() : System.identityHashCode(o));
+  }
+
+  /**
+   * Returns the same hash as {@link #keyHash} does for the Long with the given value when values
+   * are compared with equals.
+   */
+  public static int longKeyHash(final long key) {
+    return spreadHash((int) (key ^ (key >>> 32)));
+  }
+
+  /**
+   * Returns the same hash as {@link #keyHash} does for the Integer with the given value when values
+   * are compared with equals.
+   */
+  public static int intKeyHash(final int key) {
+    return spreadHash(key);
+  }
+
+  private static int spreadHash(int h) {
     // Spread bits to regularize both segment and index locations,
     // using variant of single-word Wang/Jenkins hash.
     h += (h << 15) ^ 0xffffcd7d;
@@ -273,6 +292,24 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
      */
     boolean isKeyEqual(Object k);
 
+    /**
+     * Return true if the entry's key is the Long with the given value. Entries that store a long
+     * key inline compare it without boxing.
+     */
+    default boolean isLongKeyEqual(long k) {
+      Object key = getKey();
+      return key instanceof Long && ((Long) key).longValue() == k;
+    }
+
+    /**
+     * Return true if the entry's key is the Integer with the given value. Entries that store an int
+     * key inline compare it without boxing.
+     */
+    default boolean isIntKeyEqual(int k) {
+      Object key = getKey();
+      return key instanceof Integer && ((Integer) key).intValue() == k;
+    }
+
     /**
      * Get the value for this entry.
      */
@@ -401,6 +438,20 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
      * Get the hashCode for given key object.
      */
     int keyHashCode(Object key, boolean compareValues);
+
+    /**
+     * Get the hashCode for the Long with the given value.
+     */
+    default int longKeyHashCode(long key, boolean compareValues) {
+      return keyHashCode(key, compareValues);
+    }
+
+    /**
+     * Get the hashCode for the Integer with the given value.
+     */
+    default int intKeyHashCode(int key, boolean compareValues) {
+      return keyHashCode(key, compareValues);
+    }
   }
 
   // End Geode addition
@@ -591,6 +642,39 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
       return null;
     }
 
+    /**
+     * Same as {@link #get(Object, int)} for a Long or Integer key given as a primitive. Only used
+     * when keys are compared with equals.
+     */
+    V getPrimitive(final long key, final boolean intKey, final int hash) {
+      if (this.count != 0) { // read-volatile
+        final ReentrantReadWriteLock.ReadLock listLock = this.listUpdateLock.readLock();
+        listLock.lock();
+        boolean lockAcquired = true;
+        HashEntry<K, V> e = getFirst(hash);
+        try {
+          while (e != null) {
+            if (e.getEntryHash() == hash
+                && (intKey ? e.isIntKeyEqual((int) key) : e.isLongKeyEqual(key))) {
+              final V v = e.getMapValue();
+              if (v != null) {
+                return v;
+              }
+              listLock.unlock();
+              lockAcquired = false;
+              return readValueUnderLock(e); // recheck
+            }
+            e = e.getNextEntry();
+          }
+        } finally {
+          if (lockAcquired) {
+            listLock.unlock();
+          }
+        }
+      }
+      return null;
+    }
+
     V getNoLock(final Object key, final int hash, final boolean lockListForRead) {
       if (this.count != 0) { // read-volatile
         // Geode change to acquire the read lock on list updates
@@ -1225,6 +1309,16 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
     public int keyHashCode(final Object key, final boolean compareValues) {
       return keyHash(key, compareValues);
     }
+
+    @Override
+    public int longKeyHashCode(final long key, final boolean compareValues) {
+      return compareValues ? longKeyHash(key) : keyHash(key, false);
+    }
+
+    @Override
+    public int intKeyHashCode(final int key, final boolean compareValues) {
+      return compareValues ? intKeyHash(key) : keyHash(key, false);
+    }
   }
 
   // End Geode addition
@@ -1389,6 +1483,31 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
     return segmentFor(hash).get(key, hash);
   }
 
+  /**
+   * Same as {@code get(Long.valueOf(key))} without boxing the key.
+   */
+  @Override
+  public V getLong(final long key) {
+    if (!this.compareValues) {
+      return get(key);
+    }
+    final int hash = this.entryCreator.longKeyHashCode(key, true);
+    return segmentFor(hash).getPrimitive(key, false, hash);
+  }
+
+  /**
+   * Same as {@code get(Integer.valueOf(key))} without boxing the key.
+   */
+  @Override
+  public V getInt(final int key) {
+    if (!this.compareValues) {
+      return get(key);
+    }
+    final int hash = this.entryCreator.intKeyHashCode(key, true);
+    return segmentFor(hash).getPrimitive(key, true, hash);
+  }
+
+
   /**
    * Tests if the specified object is a key in this table.
    *
@@ -619,6 +619,16 @@ public class PdxInstanceImpl extends PdxReaderImpl implements InternalPdxInstanc
     return super.readField(fieldName);
   }
 
+  @Override
+  public synchronized Object readField(PdxField ft) {
+    return super.readField(ft);
+  }
+
+  @Override
+  public synchronized Object readRawField(PdxField ft) {
+    return super.readRawField(ft);
+  }
+
   @Override
   protected synchronized Object basicGetObject() {
     DMStats stats = InternalDataSerializer.getDMStats(null);
@@ -661,6 +671,14 @@ public class PdxInstanceImpl extends PdxReaderImpl implements InternalPdxInstanc
     return getUnmodifiableReader(fieldName).readRawField(fieldName);
   }
 
+  /**
+   * Same as {@link #getRawField(String)} for a field that was already looked up in the type of this
+   * instance.
+   */
+  public Object getRawField(PdxField field) {
+    return getUnmodifiableReader(field.getFieldName()).readRawField(field);
+  }
+
   @Override
   public boolean isDeserializable() {
     if (this.getClassName().equals(JSONFormatter.JSON_CLASSNAME)) {
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+import org.apache.geode.cache.EntryDestroyedException;
+import org.apache.geode.cache.query.NameNotFoundException;
+import org.apache.geode.cache.query.QueryInvocationTargetException;
+import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.security.NotAuthorizedException;
+
+public class AttributeDescriptorTest {
+
+  private final MethodInvocationAuthorizer authorizer = mock(MethodInvocationAuthorizer.class);
+
+  private Object read(Object target, String name) throws Exception {
+    return new AttributeDescriptor(null, authorizer, name).read(target);
+  }
+
+  @Test
+  public void readsPublicField() throws Exception {
+    assertThat(read(new Person(), "name")).isEqualTo("Bob");
+  }
+
+  @Test
+  public void readsBeanGetterAndBoxesPrimitives() throws Exception {
+    assertThat(read(new Person(), "age")).isEqualTo(42);
+  }
+
+  @Test
+  public void readsMethodNamedLikeTheAttribute() throws Exception {
+    assertThat(read(new Person(), "city")).isEqualTo("Paris");
+  }
+
+  @Test
+  public void readsStaticMembers() throws Exception {
+    assertThat(read(new Person(), "species")).isEqualTo("human");
+    assertThat(read(new Person(), "planet")).isEqualTo("earth");
+  }
+
+  @Test
+  public void readsPublicMethodOfNonPublicClass() throws Exception {
+    assertThat(read(new Person().getAddress(), "street")).isEqualTo("Main");
+  }
+
+  @Test
+  public void authorizesMethodInvocations() throws Exception {
+    Person person = new Person();
+    Method getAge = Person.class.getMethod("getAge");
+    doThrow(new NotAuthorizedException("no")).when(authorizer)
+        .authorizeMethodInvocation(eq(getAge), any());
+
+    assertThatThrownBy(() -> read(person, "age")).isInstanceOf(NotAuthorizedException.class);
+    verify(authorizer).authorizeMethodInvocation(getAge, person);
+  }
+
+  @Test
+  public void unknownAttributeIsNotFound() {
+    assertThatThrownBy(() -> read(new Person(), "unknown"))
+        .isInstanceOf(NameNotFoundException.class);
+    assertThatThrownBy(() -> read(new Person(), "unknown"))
+        .isInstanceOf(NameNotFoundException.class);
+  }
+
+  @Test
+  public void exceptionOfTheMethodIsWrapped() {
+    assertThatThrownBy(() -> read(new Person(), "broken"))
+        .isInstanceOf(QueryInvocationTargetException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void destroyedEntryIsUndefined() throws Exception {
+    assertThat(read(new Person(), "destroyed")).isSameAs(QueryService.UNDEFINED);
+  }
+
+  @Test
+  public void nullTargetIsUndefined() throws Exception {
+    assertThat(read(null, "name")).isSameAs(QueryService.UNDEFINED);
+  }
+
+  @Test
+  public void readMemberIsTheFieldOrMethod() throws Exception {
+    AttributeDescriptor descriptor = new AttributeDescriptor(null, authorizer, "age");
+
+    assertThat(descriptor.getReadMember(Person.class)).isEqualTo(Person.class.getMethod("getAge"));
+    assertThat(descriptor.validateReadType(Person.class)).isTrue();
+    assertThat(descriptor.validateReadType(String.class)).isFalse();
+  }
+
+  public static class Person {
+    public static final String species = "human";
+
+    public final String name = "Bob";
+
+    public static String getPlanet() {
+      return "earth";
+    }
+
+    public int getAge() {
+      return 42;
+    }
+
+    public String city() {
+      return "Paris";
+    }
+
+    public String getBroken() {
+      throw new IllegalStateException();
+    }
+
+    public String getDestroyed() {
+      throw new EntryDestroyedException();
+    }
+
+    public Object getAddress() {
+      return new Address();
+    }
+  }
+
+  private static class Address {
+    public String getStreet() {
+      return "Main";
+    }
+  }
+}
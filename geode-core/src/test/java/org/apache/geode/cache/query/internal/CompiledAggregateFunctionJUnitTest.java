@@ -29,12 +29,14 @@ import org.apache.geode.cache.query.internal.aggregate.Avg;
 import org.apache.geode.cache.query.internal.aggregate.AvgBucketNode;
 import org.apache.geode.cache.query.internal.aggregate.AvgDistinct;
 import org.apache.geode.cache.query.internal.aggregate.AvgDistinctPRQueryNode;
+import org.apache.geode.cache.query.internal.aggregate.AvgMemberNode;
 import org.apache.geode.cache.query.internal.aggregate.AvgPRQueryNode;
 import org.apache.geode.cache.query.internal.aggregate.Count;
 import org.apache.geode.cache.query.internal.aggregate.CountDistinct;
 import org.apache.geode.cache.query.internal.aggregate.CountDistinctPRQueryNode;
 import org.apache.geode.cache.query.internal.aggregate.CountPRQueryNode;
 import org.apache.geode.cache.query.internal.aggregate.DistinctAggregator;
+import org.apache.geode.cache.query.internal.aggregate.DistinctMemberNode;
 import org.apache.geode.cache.query.internal.aggregate.MaxMin;
 import org.apache.geode.cache.query.internal.aggregate.Sum;
 import org.apache.geode.cache.query.internal.aggregate.SumDistinct;
@@ -155,6 +157,26 @@ public class CompiledAggregateFunctionJUnitTest {
     assertThat(caf6.evaluate(context6)).isInstanceOf(DistinctAggregator.class);
   }
 
+  @Test
+  public void testMemberNode() throws Exception {
+    ExecutionContext context = new QueryExecutionContext(null, cache);
+    context.setBucketList(bucketList);
+    context.setIsPRMemberNode(true);
+
+    assertThat(new CompiledAggregateFunction(null, OQLLexerTokenTypes.COUNT).evaluate(context))
+        .isInstanceOf(CountPRQueryNode.class);
+    assertThat(new CompiledAggregateFunction(null, OQLLexerTokenTypes.COUNT, true)
+        .evaluate(context)).isInstanceOf(DistinctMemberNode.class);
+    assertThat(new CompiledAggregateFunction(null, OQLLexerTokenTypes.SUM).evaluate(context))
+        .isInstanceOf(Sum.class);
+    assertThat(new CompiledAggregateFunction(null, OQLLexerTokenTypes.SUM, true)
+        .evaluate(context)).isInstanceOf(DistinctMemberNode.class);
+    assertThat(new CompiledAggregateFunction(null, OQLLexerTokenTypes.AVG).evaluate(context))
+        .isInstanceOf(AvgMemberNode.class);
+    assertThat(new CompiledAggregateFunction(null, OQLLexerTokenTypes.AVG, true)
+        .evaluate(context)).isInstanceOf(DistinctMemberNode.class);
+  }
+
   @Test
   public void testMaxMin() throws Exception {
     CompiledAggregateFunction caf1 = new CompiledAggregateFunction(null, OQLLexerTokenTypes.MAX);
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Date;
+
+import org.junit.Test;
+
+import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.pdx.internal.PdxString;
+
+public class HashJoinTableTest {
+
+  private final HashJoinTable table = new HashJoinTable();
+
+  @Test
+  public void findsElementsWithTheSameJoinValue() {
+    table.add("a", 1);
+    table.add("b", 2);
+    table.add("a", 3);
+
+    assertThat(table.getMatches("a")).containsExactly(1, 3);
+    assertThat(table.getMatches("c")).isEmpty();
+    assertThat(table.size()).isEqualTo(3);
+  }
+
+  @Test
+  public void numbersOfDifferentTypesMatchWhenTheirValuesAreEqual() {
+    table.add(7, "int");
+    table.add(7L, "long");
+    table.add((short) 7, "short");
+    table.add(7.0f, "float");
+    table.add(7.5, "double");
+
+    assertThat(table.getMatches((byte) 7)).containsExactly("int", "long", "short", "float");
+    assertThat(table.getMatches(7.0)).containsExactly("int", "long", "short", "float");
+    assertThat(table.getMatches(7.5f)).containsExactly("double");
+  }
+
+  @Test
+  public void pdxStringsMatchStrings() {
+    table.add(new PdxString("abc"), 1);
+
+    assertThat(table.getMatches("abc")).containsExactly(1);
+  }
+
+  @Test
+  public void nullAndUndefinedMatchThemselves() {
+    table.add(null, 1);
+    table.add(QueryService.UNDEFINED, 2);
+
+    assertThat(table.getMatches(null)).containsExactly(1);
+    assertThat(table.getMatches(QueryService.UNDEFINED)).containsExactly(2);
+  }
+
+  @Test
+  public void datesMatchOnTheirTime() {
+    table.add(new Date(1000), 1);
+    table.add(new Timestamp(1000), 2);
+
+    assertThat(table.getMatches(new java.sql.Date(1000))).containsExactly(1, 2);
+  }
+
+  @Test
+  public void unhashedJoinValuesMatchAnyJoinValue() {
+    table.add("a", 1);
+    table.add(new BigDecimal("2.0"), 2);
+
+    assertThat(table.getMatches("a")).containsExactlyInAnyOrder(1, 2);
+    assertThat(table.getMatches("b")).containsExactly(2);
+    assertThat(table.getMatches(new BigDecimal("1"))).containsExactlyInAnyOrder(1, 2);
+  }
+
+  @Test
+  public void matchesOfAnUnhashedJoinValueCanBeIteratedMoreThanOnce() {
+    table.add("a", 1);
+    table.add("b", 2);
+    table.add(new BigDecimal("2.0"), 3);
+
+    Iterable<Object> matches = table.getMatches(new BigDecimal("1"));
+
+    assertThat(matches).containsExactlyInAnyOrder(1, 2, 3);
+    assertThat(matches).containsExactlyInAnyOrder(1, 2, 3);
+  }
+
+  @Test
+  public void clearRemovesAllElements() {
+    table.add("a", 1);
+    table.add(new Object(), 2);
+
+    table.clear();
+
+    assertThat(table.size()).isZero();
+    assertThat(table.getMatches("a")).isEmpty();
+  }
+}
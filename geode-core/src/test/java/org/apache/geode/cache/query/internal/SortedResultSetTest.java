@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.junit.Test;
+
+public class SortedResultSetTest {
+
+  @Test
+  public void unboundedSetKeepsAllDistinctElements() {
+    SortedResultSet set = new SortedResultSet(Comparator.naturalOrder());
+
+    set.addAll(Arrays.asList(5, 3, 9, 3, 1));
+
+    assertThat(set).containsExactly(1, 3, 5, 9);
+  }
+
+  @Test
+  public void boundedSetKeepsFirstDistinctElements() {
+    SortedResultSet set = new SortedResultSet(Comparator.naturalOrder());
+    set.setMaxSize(3);
+
+    set.addAll(Arrays.asList(5, 7, 3, 9, 3, 5, 8, 1, 1));
+
+    assertThat(set).containsExactly(1, 3, 5);
+  }
+
+  @Test
+  public void boundedSetRejectsDuplicatesAndElementsAfterItsLastElement() {
+    SortedResultSet set = new SortedResultSet(Comparator.naturalOrder());
+    set.setMaxSize(2);
+    set.addAll(Arrays.asList(2, 4));
+
+    assertThat(set.add(2)).isFalse();
+    assertThat(set.add(4)).isFalse();
+    assertThat(set.add(6)).isFalse();
+    assertThat(set.add(3)).isTrue();
+
+    assertThat(set).containsExactly(2, 3);
+  }
+
+  @Test
+  public void boundedSetRemovesSortCriteriaOfDroppedElements() {
+    OrderByComparator comparator = naturalOrderByComparator();
+    SortedResultSet set = new SortedResultSet(comparator);
+    set.setMaxSize(2);
+    set.addAll(Arrays.asList(2, 4));
+
+    set.add(2);
+    set.add(4);
+    set.add(6);
+    set.add(3);
+
+    verify(comparator).removeEvaluatedSortCriteria(6);
+    verify(comparator).removeEvaluatedSortCriteria(4);
+    verify(comparator, never()).removeEvaluatedSortCriteria(2);
+    verify(comparator, never()).removeEvaluatedSortCriteria(3);
+  }
+
+  static OrderByComparator naturalOrderByComparator() {
+    OrderByComparator comparator = mock(OrderByComparator.class);
+    when(comparator.compare(any(), any()))
+        .thenAnswer(invocation -> ((Comparable) invocation.getArgument(0))
+            .compareTo(invocation.getArgument(1)));
+    return comparator;
+  }
+}
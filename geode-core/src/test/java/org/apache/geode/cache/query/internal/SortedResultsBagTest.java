@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.apache.geode.cache.query.internal.SortedResultSetTest.naturalOrderByComparator;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.Comparator;
+
+import org.junit.Test;
+
+public class SortedResultsBagTest {
+
+  @Test
+  public void unboundedBagKeepsAllElements() {
+    SortedResultsBag<Integer> bag =
+        new SortedResultsBag<>(Comparator.<Integer>naturalOrder(), true);
+
+    addAll(bag, 5, 3, 9, 3, 1);
+
+    assertThat(bag).containsExactly(1, 3, 3, 5, 9);
+  }
+
+  @Test
+  public void boundedBagKeepsFirstElementsWithDuplicates() {
+    SortedResultsBag<Integer> bag =
+        new SortedResultsBag<>(Comparator.<Integer>naturalOrder(), true);
+    bag.setMaxSize(4);
+
+    addAll(bag, 5, 7, 7, 9, 3, 7, 3, 8, 1);
+
+    assertThat(bag).containsExactly(1, 3, 3, 5);
+    assertThat(bag.size()).isEqualTo(4);
+  }
+
+  @Test
+  public void boundedBagRejectsElementsAfterItsLastElement() {
+    SortedResultsBag<Integer> bag =
+        new SortedResultsBag<>(Comparator.<Integer>naturalOrder(), true);
+    bag.setMaxSize(2);
+    addAll(bag, 2, 4);
+
+    assertThat(bag.add(4)).isFalse();
+    assertThat(bag.addAndGetOccurence(6)).isZero();
+    assertThat(bag.addAndGetOccurence(1)).isEqualTo(1);
+
+    assertThat(bag).containsExactly(1, 2);
+  }
+
+  @Test
+  public void boundedBagKeepsNullsAtStart() {
+    SortedResultsBag<Integer> bag =
+        new SortedResultsBag<>(Comparator.<Integer>naturalOrder(), true);
+    bag.setMaxSize(3);
+
+    addAll(bag, 4, 2, null, 3, null, 1, null);
+
+    assertThat(bag).containsExactly(null, null, null);
+  }
+
+  @Test
+  public void boundedBagDropsNullsAtEnd() {
+    SortedResultsBag<Integer> bag =
+        new SortedResultsBag<>(Comparator.<Integer>reverseOrder(), false);
+    bag.setMaxSize(3);
+
+    addAll(bag, null, 4, null, 2, null, 3, 1);
+
+    assertThat(bag).containsExactly(4, 3, 2);
+  }
+
+  @Test
+  public void boundedBagKeepsNullsAtEndWhileThereIsRoom() {
+    SortedResultsBag<Integer> bag =
+        new SortedResultsBag<>(Comparator.<Integer>reverseOrder(), false);
+    bag.setMaxSize(3);
+
+    addAll(bag, null, 4, null, null);
+
+    assertThat(bag).containsExactly(4, null, null);
+  }
+
+  @Test
+  public void boundedBagRemovesSortCriteriaOfDroppedElements() {
+    OrderByComparator comparator = naturalOrderByComparator();
+    SortedResultsBag<Integer> bag = new SortedResultsBag<>(comparator, true);
+    bag.setMaxSize(3);
+    addAll(bag, 2, 4, 4);
+
+    addAll(bag, 4, 6, 3, 1);
+
+    verify(comparator).removeEvaluatedSortCriteria(6);
+    verify(comparator).removeEvaluatedSortCriteria(4);
+    verify(comparator, never()).removeEvaluatedSortCriteria(2);
+    verify(comparator, never()).removeEvaluatedSortCriteria(3);
+    assertThat(bag).containsExactly(1, 2, 3);
+  }
+
+  private static void addAll(SortedResultsBag<Integer> bag, Integer... elements) {
+    for (Integer element : elements) {
+      bag.add(element);
+    }
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.apache.geode.cache.query.internal.types.ObjectTypeImpl;
+import org.apache.geode.cache.query.internal.types.StructTypeImpl;
+import org.apache.geode.cache.query.types.ObjectType;
+
+public class SortedStructSetTest {
+
+  private final StructTypeImpl structType = new StructTypeImpl(new String[] {"id", "name"},
+      new ObjectType[] {new ObjectTypeImpl(Integer.class), new ObjectTypeImpl(String.class)});
+
+  private final Comparator<Object[]> byId = Comparator.comparing(values -> (Integer) values[0]);
+
+  @Test
+  public void boundedSetKeepsFirstStructs() {
+    SortedStructSet set = new SortedStructSet(byId, structType);
+    set.setMaxSize(2);
+
+    set.addFieldValues(new Object[] {3, "c"});
+    set.addFieldValues(new Object[] {1, "a"});
+    set.add(new StructImpl(structType, new Object[] {4, "d"}));
+    set.add(new StructImpl(structType, new Object[] {2, "b"}));
+
+    assertThat(set.size()).isEqualTo(2);
+    assertThat(ids(set)).containsExactly(1, 2);
+  }
+
+  @Test
+  public void boundedSetRejectsStructsAfterItsLastStruct() {
+    SortedStructSet set = new SortedStructSet(byId, structType);
+    set.setMaxSize(1);
+    set.addFieldValues(new Object[] {2, "b"});
+
+    assertThat(set.addFieldValues(new Object[] {2, "b"})).isFalse();
+    assertThat(set.addFieldValues(new Object[] {3, "c"})).isFalse();
+    assertThat(set.addFieldValues(new Object[] {1, "a"})).isTrue();
+
+    assertThat(ids(set)).containsExactly(1);
+  }
+
+  private static List<Object> ids(SortedStructSet set) {
+    List<Object> ids = new ArrayList<>();
+    for (Iterator iterator = set.fieldValuesIterator(); iterator.hasNext();) {
+      ids.add(((Object[]) iterator.next())[0]);
+    }
+    return ids;
+  }
+}
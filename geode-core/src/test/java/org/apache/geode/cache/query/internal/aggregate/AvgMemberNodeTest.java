@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.aggregate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class AvgMemberNodeTest {
+  private AvgMemberNode avgMemberNode;
+
+  @Before
+  public void setUp() {
+    avgMemberNode = new AvgMemberNode();
+  }
+
+  @Test
+  public void accumulateShouldIncreaseAccumulatedCount() {
+    avgMemberNode.accumulate(new Integer[] {2, 10});
+    avgMemberNode.accumulate(new Integer[] {3, 30});
+
+    assertThat(avgMemberNode.getCount()).isEqualTo(5);
+    assertThat(avgMemberNode.getResult()).isEqualTo(40);
+  }
+
+  @Test
+  public void terminateShouldReturnCountAndSumForThePRQueryNode() {
+    avgMemberNode.accumulate(new Object[] {7, 43d});
+    avgMemberNode.accumulate(new Object[] {5, 273.5d});
+
+    Object result = avgMemberNode.terminate();
+    assertThat(result).isEqualTo(new Object[] {12, 316.5f});
+
+    AvgPRQueryNode avgPRQueryNode = new AvgPRQueryNode();
+    avgPRQueryNode.accumulate(result);
+    avgPRQueryNode.accumulate(new Object[] {4, 3});
+    assertThat(((Number) avgPRQueryNode.terminate()).floatValue()).isEqualTo(319.5f / 16);
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class CompactionRateLimiterTest {
+
+  private static final long MB = 1024 * 1024;
+
+  private final AtomicLong clock = new AtomicLong();
+
+  @Test
+  public void unlimitedRateNeverPauses() {
+    CompactionRateLimiter limiter = new CompactionRateLimiter(0, clock::get);
+
+    assertThat(limiter.isLimited()).isFalse();
+    assertThat(limiter.copied(100 * MB)).isZero();
+  }
+
+  @Test
+  public void doesNotPauseWithinAnIncrement() {
+    CompactionRateLimiter limiter = new CompactionRateLimiter(20 * MB, clock::get);
+
+    assertThat(limiter.copied(MB / 2)).isZero();
+    assertThat(limiter.copied(MB / 4)).isZero();
+  }
+
+  @Test
+  public void pausesForTheTimeTheIncrementShouldHaveTaken() {
+    CompactionRateLimiter limiter = new CompactionRateLimiter(20 * MB, clock::get);
+
+    limiter.copied(MB / 2);
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+
+    assertThat(limiter.copied(MB / 2)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(40));
+  }
+
+  @Test
+  public void doesNotPauseIfTheIncrementWasCopiedSlowerThanTheRate() {
+    CompactionRateLimiter limiter = new CompactionRateLimiter(20 * MB, clock::get);
+
+    limiter.copied(MB / 2);
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+    assertThat(limiter.copied(MB / 2)).isZero();
+  }
+
+  @Test
+  public void nextIncrementStartsAfterThePause() {
+    CompactionRateLimiter limiter = new CompactionRateLimiter(20 * MB, clock::get);
+
+    limiter.copied(MB);
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+
+    assertThat(limiter.copied(MB / 2)).isZero();
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(5));
+    assertThat(limiter.copied(MB / 2)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(45));
+  }
+
+  @Test
+  public void smallRatesUseAMinimumIncrement() {
+    CompactionRateLimiter limiter = new CompactionRateLimiter(64 * 1024, clock::get);
+
+    assertThat(limiter.copied(32 * 1024)).isZero();
+    assertThat(limiter.copied(32 * 1024)).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+  }
+}
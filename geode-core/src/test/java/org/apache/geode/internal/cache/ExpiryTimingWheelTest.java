@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class ExpiryTimingWheelTest {
+
+  private static final long TICK = 10;
+
+  private final ExpiryTimingWheel wheel = new ExpiryTimingWheel(TICK, 1000);
+
+  @Test
+  public void tickMustBePositive() {
+    assertThatThrownBy(() -> new ExpiryTimingWheel(0, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void taskRunsAtTheEndOfTheTickOfItsDeadline() {
+    ExpiryTask task = mock(ExpiryTask.class);
+
+    assertThat(wheel.schedule(task, 1025)).isTrue();
+
+    assertThat(wheel.expire(1029)).isZero();
+    verify(task, never()).run();
+    assertThat(wheel.expire(1030)).isEqualTo(1);
+    verify(task).run();
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  public void taskWithAPastDeadlineRunsAtTheNextTick() {
+    ExpiryTask task = mock(ExpiryTask.class);
+    wheel.expire(1100);
+
+    wheel.schedule(task, 1050);
+
+    assertThat(wheel.expire(1109)).isZero();
+    assertThat(wheel.expire(1110)).isEqualTo(1);
+  }
+
+  @Test
+  public void taskInAHigherLevelRunsOnTime() {
+    ExpiryTask task = mock(ExpiryTask.class);
+    long deadline = 1000 + TICK * (3L * ExpiryTimingWheel.SLOTS * ExpiryTimingWheel.SLOTS + 7);
+
+    wheel.schedule(task, deadline);
+
+    assertThat(wheel.expire(deadline - 1)).isZero();
+    assertThat(wheel.expire(deadline)).isEqualTo(1);
+  }
+
+  @Test
+  public void taskBeyondTheRangeOfTheWheelRunsOnTime() {
+    ExpiryTask task = mock(ExpiryTask.class);
+    long deadline = 1000 + TICK * ((1L << 32) * 3 + 12345);
+
+    wheel.schedule(task, deadline);
+
+    assertThat(wheel.expire(deadline - 1)).isZero();
+    assertThat(wheel.size()).isEqualTo(1);
+    assertThat(wheel.expire(deadline)).isEqualTo(1);
+  }
+
+  @Test
+  public void cancelledTaskIsRemovedAndDoesNotRun() {
+    ExpiryTask task = mock(ExpiryTask.class);
+    ExpiryTask otherTask = mock(ExpiryTask.class);
+    wheel.schedule(task, 1050);
+    wheel.schedule(otherTask, 1050);
+
+    assertThat(ExpiryTimingWheel.cancel(task)).isTrue();
+
+    assertThat(wheel.size()).isEqualTo(1);
+    assertThat(wheel.expire(1050)).isEqualTo(1);
+    verify(task, never()).run();
+    verify(otherTask).run();
+  }
+
+  @Test
+  public void taskCancelledBeforeItIsScheduledIsNotScheduled() {
+    ExpiryTask task = mock(ExpiryTask.class);
+
+    assertThat(ExpiryTimingWheel.cancel(task)).isFalse();
+
+    assertThat(wheel.schedule(task, 1050)).isFalse();
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  public void taskIsOnlyScheduledOnce() {
+    ExpiryTask task = mock(ExpiryTask.class);
+
+    assertThat(wheel.schedule(task, 1050)).isTrue();
+    assertThat(wheel.schedule(task, 1090)).isFalse();
+
+    assertThat(wheel.size()).isEqualTo(1);
+    assertThat(wheel.expire(1050)).isEqualTo(1);
+  }
+
+  @Test
+  public void taskThatRanCanNotBeCancelled() {
+    ExpiryTask task = mock(ExpiryTask.class);
+    wheel.schedule(task, 1050);
+    wheel.expire(1050);
+
+    assertThat(ExpiryTimingWheel.cancel(task)).isFalse();
+  }
+
+  @Test
+  public void clearDropsAllTasks() {
+    ExpiryTask task = mock(ExpiryTask.class);
+    wheel.schedule(task, 1050);
+    wheel.schedule(mock(ExpiryTask.class), 1000 + TICK * 100_000);
+
+    wheel.clear();
+
+    assertThat(wheel.size()).isZero();
+    assertThat(wheel.expire(1000 + TICK * 200_000)).isZero();
+    verify(task, never()).run();
+  }
+
+  @Test
+  public void tasksNeverRunEarlyOrLate() {
+    Random random = new Random(42);
+    List<ExpiryTask> tasks = new ArrayList<>();
+    List<Long> deadlines = new ArrayList<>();
+    Set<ExpiryTask> ran = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      ExpiryTask task = mock(ExpiryTask.class);
+      doAnswer(invocation -> ran.add(task)).when(task).run();
+      long deadline = 1000 + (long) (Math.pow(random.nextDouble(), 4) * TICK * 1_000_000);
+      tasks.add(task);
+      deadlines.add(deadline);
+      wheel.schedule(task, deadline);
+    }
+
+    long now = 1000;
+    while (ran.size() < tasks.size()) {
+      now += random.nextInt(200 * (int) TICK);
+      wheel.expire(now);
+      for (int i = 0; i < tasks.size(); i++) {
+        // due at the end of the tick of the deadline, but never at the start time
+        long dueTime = Math.max((deadlines.get(i) + TICK - 1 - 1000) / TICK * TICK, TICK) + 1000;
+        assertThat(ran.contains(tasks.get(i))).isEqualTo(now >= dueTime);
+      }
+    }
+    assertThat(wheel.size()).isZero();
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class KrfPrefetcherTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private DiskStoreStats stats;
+
+  @Before
+  public void setUp() {
+    stats = mock(DiskStoreStats.class);
+  }
+
+  @Test
+  public void takeReturnsTheContentsOfTheKrf() throws Exception {
+    Oplog oplog = oplogWithKrf(new byte[] {1, 2, 3});
+
+    try (KrfPrefetcher prefetcher =
+        new KrfPrefetcher("diskStore", Arrays.asList(oplog), 1, stats)) {
+      ByteBuffer krf = prefetcher.take(oplog);
+
+      assertThat(krf.remaining()).isEqualTo(3);
+      assertThat(krf.get(2)).isEqualTo((byte) 3);
+      prefetcher.release(krf);
+    }
+    verify(stats).endKrfPrefetch(0);
+  }
+
+  @Test
+  public void krfsAreLoadedOnlyAsFarAheadAsThereAreThreads() throws Exception {
+    Oplog first = oplogWithKrf(new byte[] {1});
+    Oplog second = oplogWithKrf(new byte[] {2});
+    Oplog third = oplogWithKrf(new byte[] {3});
+
+    try (KrfPrefetcher prefetcher =
+        new KrfPrefetcher("diskStore", Arrays.asList(first, second, third), 2, stats)) {
+      verify(third, never()).getRecoverableKrfFile();
+
+      prefetcher.release(prefetcher.take(first));
+
+      verify(third).getRecoverableKrfFile();
+      assertThat(prefetcher.take(second).get(0)).isEqualTo((byte) 2);
+      assertThat(prefetcher.take(third).get(0)).isEqualTo((byte) 3);
+    }
+  }
+
+  @Test
+  public void takeReturnsNullForAnOplogWithoutKrf() throws Exception {
+    Oplog oplog = mock(Oplog.class);
+
+    try (KrfPrefetcher prefetcher =
+        new KrfPrefetcher("diskStore", Arrays.asList(oplog), 1, stats)) {
+      assertThat(prefetcher.take(oplog)).isNull();
+    }
+    verify(stats, never()).startKrfPrefetch();
+  }
+
+  @Test
+  public void nothingIsPrefetchedWithoutThreads() throws Exception {
+    Oplog oplog = oplogWithKrf(new byte[] {1});
+
+    try (KrfPrefetcher prefetcher =
+        new KrfPrefetcher("diskStore", Arrays.asList(oplog), 0, stats)) {
+      assertThat(prefetcher.take(oplog)).isNull();
+    }
+    verify(oplog, never()).getRecoverableKrfFile();
+  }
+
+  @Test
+  public void closeReleasesKrfsThatWereNotTaken() throws Exception {
+    Oplog first = oplogWithKrf(new byte[] {1});
+    Oplog second = oplogWithKrf(new byte[] {2});
+
+    new KrfPrefetcher("diskStore", Arrays.asList(first, second), 2, stats).close();
+
+    verify(first, times(1)).getRecoverableKrfFile();
+    verify(second, times(1)).getRecoverableKrfFile();
+  }
+
+  @Test
+  public void inputStreamReportsTheEndOfTheBuffer() throws Exception {
+    InputStream in = KrfPrefetcher.newInputStream(ByteBuffer.wrap(new byte[] {0, 1, 2}));
+
+    assertThat(in.available()).isEqualTo(3);
+    assertThat(in.read()).isEqualTo(0);
+    byte[] bytes = new byte[4];
+    assertThat(in.read(bytes, 0, 4)).isEqualTo(2);
+    assertThat(in.read()).isEqualTo(-1);
+    assertThat(in.read(bytes, 0, 4)).isEqualTo(-1);
+  }
+
+  @Test(expected = EOFException.class)
+  public void dataInputThrowsEOFExceptionAtTheEndOfTheBuffer() throws Exception {
+    new DataInputStream(KrfPrefetcher.newInputStream(ByteBuffer.wrap(new byte[] {0, 1})))
+        .readInt();
+  }
+
+  private Oplog oplogWithKrf(byte[] contents) throws Exception {
+    File krf = temporaryFolder.newFile();
+    Files.write(krf.toPath(), contents);
+    Oplog oplog = mock(Oplog.class);
+    when(oplog.getRecoverableKrfFile()).thenReturn(krf);
+    return oplog;
+  }
+}
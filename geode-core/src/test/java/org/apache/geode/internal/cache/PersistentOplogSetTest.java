@@ -188,6 +188,24 @@ public class PersistentOplogSetTest {
         .doesNotContain(oplogNeedingCompaction3);
   }
 
+  @Test
+  public void getCompactableOplogsGathersOplogsWithMostGarbageFirst() {
+    Oplog mostlyLive = oplog(true);
+    Oplog mostlyGarbage = oplog(true);
+    Oplog halfLive = oplog(true);
+    when(mostlyLive.getLiveRatio()).thenReturn(0.9);
+    when(mostlyGarbage.getLiveRatio()).thenReturn(0.1);
+    when(halfLive.getLiveRatio()).thenReturn(0.5);
+    Map<Long, Oplog> oplogMap = persistentOplogSet.getOplogIdToOplog();
+    oplogMap.put(1L, mostlyLive);
+    oplogMap.put(2L, mostlyGarbage);
+    oplogMap.put(3L, halfLive);
+    List<CompactableOplog> compactableOplogs = new ArrayList<>();
+    persistentOplogSet.getCompactableOplogs(compactableOplogs, 2);
+
+    assertThat(compactableOplogs).containsExactly(mostlyGarbage, halfLive);
+  }
+
   @Test
   public void getCompactableOplogsGathersAdditionalOplogsUpToMaxSize() {
     Oplog oplogNeedingCompaction1 = oplog(true);
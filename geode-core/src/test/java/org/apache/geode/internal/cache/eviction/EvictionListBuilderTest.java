@@ -14,6 +14,8 @@
  */
 package org.apache.geode.internal.cache.eviction;
 
+import static org.apache.geode.internal.lang.SystemPropertyHelper.EVICTION_FREQUENCY_ADMISSION;
+import static org.apache.geode.internal.lang.SystemPropertyHelper.EVICTION_LIST_STRIPES;
 import static org.apache.geode.internal.lang.SystemPropertyHelper.EVICTION_SCAN_ASYNC;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -28,9 +30,12 @@ import org.apache.geode.cache.EvictionAlgorithm;
 
 public class EvictionListBuilderTest {
   private static final String EVICTION_PROPERTY_NAME = "geode." + EVICTION_SCAN_ASYNC;
+  private static final String STRIPES_PROPERTY_NAME = "geode." + EVICTION_LIST_STRIPES;
+  private static final String FREQUENCY_PROPERTY_NAME = "geode." + EVICTION_FREQUENCY_ADMISSION;
 
   @Rule
-  public ClearSystemProperties clearProperties = new ClearSystemProperties(EVICTION_PROPERTY_NAME);
+  public ClearSystemProperties clearProperties = new ClearSystemProperties(EVICTION_PROPERTY_NAME,
+      STRIPES_PROPERTY_NAME, FREQUENCY_PROPERTY_NAME);
 
   private EvictionListBuilder builder;
   private EvictionController controller;
@@ -74,4 +79,32 @@ public class EvictionListBuilderTest {
     assertThat(builder.create()).isInstanceOf(LRUListWithSyncSorting.class);
 
   }
+
+  @Test
+  public void createsStripedLruWhenSystemConfiguredWithStripes() {
+    System.setProperty(STRIPES_PROPERTY_NAME, "8");
+    builder = new EvictionListBuilder(controller);
+
+    EvictionList list = builder.create();
+    assertThat(list).isInstanceOf(StripedLRUList.class);
+    assertThat(((StripedLRUList) list).getStripeCount()).isEqualTo(8);
+  }
+
+  @Test
+  public void createsLIFOListWhenAlgorithmIsLifoEvenWithStripes() {
+    System.setProperty(STRIPES_PROPERTY_NAME, "8");
+    builder = new EvictionListBuilder(controller);
+    when(controller.getEvictionAlgorithm()).thenReturn(EvictionAlgorithm.LIFO_ENTRY);
+
+    assertThat(builder.create()).isInstanceOf(LIFOList.class);
+  }
+
+  @Test
+  public void createsTinyLfuWhenSystemConfiguredForFrequencyAdmission() {
+    System.setProperty(FREQUENCY_PROPERTY_NAME, "true");
+    System.setProperty(STRIPES_PROPERTY_NAME, "8");
+    builder = new EvictionListBuilder(controller);
+
+    assertThat(builder.create()).isInstanceOf(TinyLFUList.class);
+  }
 }
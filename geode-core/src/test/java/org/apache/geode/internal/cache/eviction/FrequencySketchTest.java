@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class FrequencySketchTest {
+
+  @Test
+  public void unusedKeyHasNoFrequency() {
+    FrequencySketch sketch = new FrequencySketch(64);
+
+    assertThat(sketch.frequency("key".hashCode())).isZero();
+  }
+
+  @Test
+  public void frequencyCountsIncrements() {
+    FrequencySketch sketch = new FrequencySketch(64);
+
+    for (int i = 0; i < 5; i++) {
+      sketch.increment("key".hashCode());
+    }
+
+    assertThat(sketch.frequency("key".hashCode())).isEqualTo(5);
+  }
+
+  @Test
+  public void frequencyStopsAtFifteen() {
+    FrequencySketch sketch = new FrequencySketch(64);
+
+    for (int i = 0; i < 20; i++) {
+      sketch.increment(42);
+    }
+
+    assertThat(sketch.frequency(42)).isEqualTo(15);
+  }
+
+  @Test
+  public void frequencyIsNeverUnderestimated() {
+    FrequencySketch sketch = new FrequencySketch(256);
+    for (int key = 0; key < 256; key++) {
+      for (int i = 0; i < key % 8; i++) {
+        sketch.increment(key);
+      }
+    }
+
+    for (int key = 0; key < 256; key++) {
+      assertThat(sketch.frequency(key)).isGreaterThanOrEqualTo(key % 8);
+    }
+  }
+
+  @Test
+  public void frequenciesAreHalvedAfterTheSampleSize() {
+    FrequencySketch sketch = new FrequencySketch(1024);
+    for (int i = 0; i < 8; i++) {
+      sketch.increment(-1);
+    }
+    assertThat(sketch.frequency(-1)).isEqualTo(8);
+
+    // the sample size is ten times the capacity
+    for (int key = 0; key < 10 * sketch.capacity() - 8; key++) {
+      sketch.increment(key);
+    }
+
+    assertThat(sketch.frequency(-1)).isBetween(4, 7);
+  }
+
+  @Test
+  public void capacityIsRoundedUpToAPowerOfTwo() {
+    assertThat(new FrequencySketch(0).capacity()).isEqualTo(16);
+    assertThat(new FrequencySketch(100).capacity()).isEqualTo(128);
+  }
+
+  @Test
+  public void growingForgetsFrequencies() {
+    FrequencySketch sketch = new FrequencySketch(16);
+    sketch.increment(7);
+
+    sketch.ensureCapacity(8);
+    assertThat(sketch.frequency(7)).isEqualTo(1);
+
+    sketch.ensureCapacity(1000);
+    assertThat(sketch.capacity()).isEqualTo(1024);
+    assertThat(sketch.frequency(7)).isZero();
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+
+public class HeapGrowthForecastTest {
+
+  @Test
+  public void smoothingMustBeAFraction() {
+    assertThatThrownBy(() -> new HeapGrowthForecast(0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new HeapGrowthForecast(1.5))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void nothingIsEvictedBeforeTheFirstSample() {
+    HeapGrowthForecast forecast = new HeapGrowthForecast(1);
+
+    assertThat(forecast.getGrowthRate()).isZero();
+    assertThat(forecast.getBytesToEvict(0, 0, 1000, 100)).isZero();
+  }
+
+  @Test
+  public void growthRateIsMeasuredInBytesPerSecond() {
+    HeapGrowthForecast forecast = new HeapGrowthForecast(1);
+
+    forecast.sample(1000, 1_000_000);
+    forecast.sample(1500, 1_500_000);
+
+    assertThat(forecast.getGrowthRate()).isEqualTo(1_000_000);
+  }
+
+  @Test
+  public void growthRateIsSmoothed() {
+    HeapGrowthForecast forecast = new HeapGrowthForecast(0.5);
+
+    forecast.sample(0, 0);
+    forecast.sample(1000, 1000);
+    assertThat(forecast.getGrowthRate()).isEqualTo(500);
+
+    forecast.sample(2000, 2000);
+    assertThat(forecast.getGrowthRate()).isEqualTo(750);
+  }
+
+  @Test
+  public void collectionDoesNotChangeTheGrowthRate() {
+    HeapGrowthForecast forecast = new HeapGrowthForecast(1);
+    forecast.sample(0, 5000);
+    forecast.sample(1000, 6000);
+
+    forecast.sample(2000, 1000);
+    assertThat(forecast.getGrowthRate()).isEqualTo(1000);
+
+    forecast.sample(3000, 3000);
+    assertThat(forecast.getGrowthRate()).isEqualTo(2000);
+  }
+
+  @Test
+  public void nothingIsEvictedIfTheThresholdIsNotReachedWithinTheHorizon() {
+    HeapGrowthForecast forecast = new HeapGrowthForecast(1);
+    forecast.sample(0, 0);
+    forecast.sample(1000, 1000);
+
+    // 1000 + 1 byte/ms * 10000 ms
+    assertThat(forecast.getBytesToEvict(1000, 11_000, 10_000, 500)).isZero();
+  }
+
+  @Test
+  public void promotionsOfTheIntervalAndAShareOfTheOvershootAreEvicted() {
+    HeapGrowthForecast forecast = new HeapGrowthForecast(1);
+    forecast.sample(0, 0);
+    forecast.sample(1000, 1000);
+
+    // the forecast is 11000, so the overshoot of 2000 is spread over 20 intervals of 500 ms
+    assertThat(forecast.getBytesToEvict(1000, 9_000, 10_000, 500)).isEqualTo(500 + 100);
+  }
+
+  @Test
+  public void forecastGrowsFromTheLastCollection() {
+    HeapGrowthForecast forecast = new HeapGrowthForecast(1);
+    forecast.sample(0, 0);
+    forecast.sample(1000, 1000);
+
+    // no collection for 2000 ms, so the forecast is 1000 + 1 byte/ms * (2000 + 10000) ms
+    assertThat(forecast.getBytesToEvict(3000, 13_000, 10_000, 500)).isZero();
+    assertThat(forecast.getBytesToEvict(3000, 11_000, 10_000, 500)).isEqualTo(500 + 100);
+  }
+}
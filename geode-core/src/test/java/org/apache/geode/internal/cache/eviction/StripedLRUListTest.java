@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.geode.internal.cache.BucketRegion;
+import org.apache.geode.internal.cache.RegionEntryContext;
+
+public class StripedLRUListTest {
+
+  private EvictionCounters stats;
+  private EvictionController controller;
+  private RegionEntryContext context;
+
+  @Before
+  public void setup() {
+    stats = mock(EvictionCounters.class);
+    controller = mock(EvictionController.class);
+    context = mock(RegionEntryContext.class);
+    when(controller.getCounters()).thenReturn(stats);
+  }
+
+  @Test
+  public void stripeCountIsRoundedUpToAPowerOfTwo() {
+    assertThat(new StripedLRUList(controller, 0).getStripeCount()).isEqualTo(1);
+    assertThat(new StripedLRUList(controller, 4).getStripeCount()).isEqualTo(4);
+    assertThat(new StripedLRUList(controller, 5).getStripeCount()).isEqualTo(8);
+  }
+
+  @Test
+  public void evictingFromEmptyListReturnsNull() {
+    StripedLRUList list = new StripedLRUList(controller, 4);
+
+    assertThat(list.getEvictableEntry()).isNull();
+    assertThat(list.size()).isZero();
+  }
+
+  @Test
+  public void everyAppendedEntryIsEvictedOnce() {
+    StripedLRUList list = new StripedLRUList(controller, 4);
+    List<LRUTestEntry> entries = appendEntries(list, 100);
+    assertThat(list.size()).isEqualTo(100);
+
+    Set<EvictableEntry> evicted = new HashSet<>();
+    for (int i = 0; i < 100; i++) {
+      assertThat(evicted.add(list.getEvictableEntry())).isTrue();
+    }
+
+    assertThat(evicted).containsExactlyInAnyOrderElementsOf(entries);
+    assertThat(list.getEvictableEntry()).isNull();
+    assertThat(list.size()).isZero();
+  }
+
+  @Test
+  public void singleStripeEvictsInInsertionOrder() {
+    StripedLRUList list = new StripedLRUList(controller, 1);
+    appendEntries(list, 10);
+
+    for (int i = 0; i < 10; i++) {
+      assertThat(((LRUTestEntry) list.getEvictableEntry()).id()).isEqualTo(i);
+    }
+  }
+
+  @Test
+  public void recentlyUsedEntriesAreEvictedLastWithinAStripe() {
+    StripedLRUList list = new StripedLRUList(controller, 1);
+    List<LRUTestEntry> entries = appendEntries(list, 20);
+    for (int i = 0; i < 20; i += 2) {
+      entries.get(i).setRecentlyUsed(context);
+    }
+
+    for (int i = 0; i < 10; i++) {
+      assertThat(((LRUTestEntry) list.getEvictableEntry()).id() % 2).isEqualTo(1);
+    }
+    for (int i = 0; i < 10; i++) {
+      assertThat(((LRUTestEntry) list.getEvictableEntry()).id() % 2).isEqualTo(0);
+    }
+  }
+
+  @Test
+  public void recentlyUsedEntryIsReturnedAfterMaxEvictionAttempts() {
+    StripedLRUList list = new StripedLRUList(controller, 1, 2);
+    List<LRUTestEntry> entries = appendEntries(list, 3);
+    entries.forEach(entry -> entry.setRecentlyUsed(context));
+
+    assertThat(list.getEvictableEntry()).isSameAs(entries.get(2));
+    verify(stats).incGreedyReturns(1);
+  }
+
+  @Test
+  public void destroyedEntryIsNotEvicted() {
+    StripedLRUList list = new StripedLRUList(controller, 4);
+    List<LRUTestEntry> entries = appendEntries(list, 10);
+
+    list.destroyEntry(entries.get(3));
+
+    assertThat(list.size()).isEqualTo(9);
+    verify(stats).incDestroys();
+    for (int i = 0; i < 9; i++) {
+      assertThat(list.getEvictableEntry()).isNotSameAs(entries.get(3));
+    }
+    assertThat(list.getEvictableEntry()).isNull();
+  }
+
+  @Test
+  public void evictedEntryIsSkipped() {
+    StripedLRUList list = new StripedLRUList(controller, 1);
+    List<LRUTestEntry> entries = appendEntries(list, 2);
+    entries.get(0).setEvicted();
+
+    assertThat(list.getEvictableEntry()).isSameAs(entries.get(1));
+    assertThat(list.getEvictableEntry()).isNull();
+  }
+
+  @Test
+  public void clearEmptiesEveryStripe() {
+    StripedLRUList list = new StripedLRUList(controller, 4);
+    appendEntries(list, 10);
+
+    list.clear(null, null);
+
+    assertThat(list.size()).isZero();
+    assertThat(list.getEvictableEntry()).isNull();
+    verify(stats).resetCounter();
+  }
+
+  @Test
+  public void clearOfABucketDecrementsTheBucketCounterOnce() {
+    StripedLRUList list = new StripedLRUList(controller, 4);
+    appendEntries(list, 10);
+    BucketRegion bucketRegion = mock(BucketRegion.class);
+    when(bucketRegion.getCounter()).thenReturn(10L);
+
+    list.clear(null, bucketRegion);
+
+    assertThat(list.size()).isZero();
+    verify(stats).decrementCounter(10L);
+    verify(bucketRegion).resetCounter();
+  }
+
+  @Test
+  public void concurrentAppendsAndEvictionsKeepTheSizeConsistent() throws Exception {
+    StripedLRUList list = new StripedLRUList(controller, 8);
+    int threads = 8;
+    int entriesPerThread = 10_000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<Integer>> evictions = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        int first = t * entriesPerThread;
+        evictions.add(executor.submit(() -> {
+          start.await();
+          int evicted = 0;
+          for (int i = 0; i < entriesPerThread; i++) {
+            list.appendEntry(new LRUTestEntry(first + i));
+            if (i % 2 == 0 && list.getEvictableEntry() != null) {
+              evicted++;
+            }
+          }
+          return evicted;
+        }));
+      }
+      start.countDown();
+
+      int evicted = 0;
+      for (Future<Integer> future : evictions) {
+        evicted += future.get(1, TimeUnit.MINUTES);
+      }
+      assertThat(list.size()).isEqualTo(threads * entriesPerThread - evicted);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private List<LRUTestEntry> appendEntries(StripedLRUList list, int count) {
+    List<LRUTestEntry> entries = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      LRUTestEntry entry = new LRUTestEntry(i);
+      entries.add(entry);
+      list.appendEntry(entry);
+    }
+    return entries;
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.geode.internal.cache.RegionEntryContext;
+
+public class TinyLFUListTest {
+
+  private EvictionCounters stats;
+  private EvictionController controller;
+  private RegionEntryContext context;
+
+  @Before
+  public void setup() {
+    stats = mock(EvictionCounters.class);
+    controller = mock(EvictionController.class);
+    context = mock(RegionEntryContext.class);
+    when(controller.getCounters()).thenReturn(stats);
+  }
+
+  @Test
+  public void evictingFromEmptyListReturnsNull() {
+    TinyLFUList list = new TinyLFUList(controller);
+
+    assertThat(list.getEvictableEntry()).isNull();
+    assertThat(list.size()).isZero();
+  }
+
+  @Test
+  public void onlyEntryIsEvicted() {
+    TinyLFUList list = new TinyLFUList(controller);
+    KeyedEntry entry = append(list, "a");
+
+    assertThat(list.getEvictableEntry()).isSameAs(entry);
+    assertThat(list.size()).isZero();
+  }
+
+  @Test
+  public void newEntryIsEvictedWhenItsKeyIsNotUsedMoreOften() {
+    TinyLFUList list = new TinyLFUList(controller);
+    KeyedEntry oldest = append(list, "a");
+    append(list, "b");
+    KeyedEntry newest = append(list, "c");
+
+    assertThat(list.getEvictableEntry()).isSameAs(newest);
+    assertThat(list.size()).isEqualTo(2);
+    verify(stats).incAdmissionRejections();
+
+    // the victim is still the next one considered
+    assertThat(list.head.next()).isSameAs(oldest);
+  }
+
+  @Test
+  public void newEntryIsKeptWhenItsKeyIsUsedMoreOften() {
+    TinyLFUList list = new TinyLFUList(controller);
+    KeyedEntry oldest = append(list, "a");
+    append(list, "b");
+    for (int i = 0; i < 3; i++) {
+      list.destroyEntry(append(list, "c"));
+    }
+    KeyedEntry newest = append(list, "c");
+
+    assertThat(list.getEvictableEntry()).isSameAs(oldest);
+    assertThat(list.size()).isEqualTo(2);
+    verify(stats).incAdmissions();
+    verify(stats, never()).incAdmissionRejections();
+    assertThat(newest.next()).isNotNull();
+  }
+
+  @Test
+  public void recentlyUsedEntryIsGivenASecondChance() {
+    TinyLFUList list = new TinyLFUList(controller);
+    KeyedEntry hot = append(list, "hot");
+    append(list, "cold");
+    KeyedEntry newest = append(list, "new");
+    hot.setRecentlyUsed(context);
+
+    assertThat(list.getEvictableEntry()).isSameAs(newest);
+    assertThat(hot.isRecentlyUsed()).isFalse();
+    assertThat(hot.next()).isNotNull();
+  }
+
+  @Test
+  public void newEntryIsOnlyComparedOnce() {
+    TinyLFUList list = new TinyLFUList(controller);
+    KeyedEntry oldest = append(list, "a");
+    append(list, "b");
+    for (int i = 0; i < 3; i++) {
+      list.destroyEntry(append(list, "c"));
+    }
+    append(list, "c");
+
+    assertThat(list.getEvictableEntry()).isSameAs(oldest);
+    verify(stats).incAdmissions();
+    assertThat(((KeyedEntry) list.getEvictableEntry()).getKey()).isEqualTo("b");
+    verify(stats).incAdmissions();
+  }
+
+  @Test
+  public void evictedNewEntryIsNotChosen() {
+    TinyLFUList list = new TinyLFUList(controller);
+    KeyedEntry oldest = append(list, "a");
+    KeyedEntry newest = append(list, "b");
+    newest.setEvicted();
+
+    assertThat(list.getEvictableEntry()).isSameAs(oldest);
+  }
+
+  private KeyedEntry append(TinyLFUList list, String key) {
+    KeyedEntry entry = new KeyedEntry(list.size(), key);
+    list.appendEntry(entry);
+    return entry;
+  }
+
+  private static class KeyedEntry extends LRUTestEntry {
+    private final Object key;
+
+    KeyedEntry(int id, Object key) {
+      super(id);
+      this.key = key;
+    }
+
+    @Override
+    public Object getKey() {
+      return key;
+    }
+  }
+}
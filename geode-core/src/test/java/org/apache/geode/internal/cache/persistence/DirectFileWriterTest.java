@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Checks how the writer lays out blocks. The file is not opened for direct I/O, which not every
+ * file system in a test environment supports.
+ */
+public class DirectFileWriterTest {
+  private static final int ALIGNMENT = 16;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private DirectIOBufferPool pool;
+
+  private File file;
+
+  @Before
+  public void setUp() throws Exception {
+    pool = new DirectIOBufferPool(4 * ALIGNMENT, ALIGNMENT, 1);
+    file = temporaryFolder.newFile();
+  }
+
+  @Test
+  public void partialBlockIsPaddedAndRewrittenByTheNextWrite() throws Exception {
+    DirectFileWriter writer = newWriter();
+
+    assertThat(writer.write(0, buffers(bytes(0, 5)), 0, 1)).isEqualTo(5);
+    assertThat(Files.readAllBytes(file.toPath())).isEqualTo(padded(bytes(0, 5)));
+
+    assertThat(writer.write(5, buffers(bytes(5, 20)), 0, 1)).isEqualTo(20);
+    assertThat(Files.readAllBytes(file.toPath())).isEqualTo(padded(bytes(0, 25)));
+    writer.close();
+  }
+
+  @Test
+  public void writesLargerThanTheBufferAreWrittenABufferAtATime() throws Exception {
+    DirectFileWriter writer = newWriter();
+    byte[] data = bytes(0, 10 * ALIGNMENT + 3);
+    ByteBuffer src = ByteBuffer.wrap(data);
+
+    assertThat(writer.write(0, new ByteBuffer[] {src}, 0, 1)).isEqualTo(data.length);
+
+    assertThat(src.hasRemaining()).isFalse();
+    assertThat(Files.readAllBytes(file.toPath())).isEqualTo(padded(data));
+    writer.close();
+  }
+
+  @Test
+  public void gatheringWriteWritesEveryBuffer() throws Exception {
+    DirectFileWriter writer = newWriter();
+
+    long written =
+        writer.write(0, buffers(bytes(0, 7), bytes(7, 3 * ALIGNMENT), bytes(3 * ALIGNMENT + 7, 2)),
+            0, 3);
+
+    assertThat(written).isEqualTo(3 * ALIGNMENT + 9);
+    assertThat(Files.readAllBytes(file.toPath())).isEqualTo(padded(bytes(0, 3 * ALIGNMENT + 9)));
+    writer.close();
+  }
+
+  @Test
+  public void writeElsewhereKeepsTheBytesBeforeItInTheBlock() throws Exception {
+    Files.write(file.toPath(), bytes(0, 2 * ALIGNMENT));
+    DirectFileWriter writer = newWriter();
+
+    writer.write(ALIGNMENT + 3, buffers(new byte[] {-1, -1}), 0, 1);
+
+    byte[] expected = bytes(0, 2 * ALIGNMENT);
+    expected[ALIGNMENT + 3] = -1;
+    expected[ALIGNMENT + 4] = -1;
+    Arrays.fill(expected, ALIGNMENT + 5, 2 * ALIGNMENT, (byte) 0);
+    assertThat(Files.readAllBytes(file.toPath())).isEqualTo(expected);
+    writer.close();
+  }
+
+  @Test
+  public void closeReturnsTheBufferToThePool() throws Exception {
+    DirectFileWriter writer = newWriter();
+
+    writer.close();
+    writer.close();
+
+    assertThat(pool.getPooledCount()).isEqualTo(1);
+    assertThatThrownBy(() -> writer.write(0, buffers(bytes(0, 1)), 0, 1))
+        .isInstanceOf(ClosedChannelException.class);
+  }
+
+  @Test
+  public void poolRoundsBuffersUpToTheAlignment() {
+    DirectIOBufferPool pool = new DirectIOBufferPool(100, 64, 2);
+
+    assertThat(pool.getBufferSize()).isEqualTo(128);
+    assertThat(pool.acquire().capacity()).isEqualTo(128);
+  }
+
+  @Test
+  public void poolKeepsAtMostMaxPooledBuffers() {
+    ByteBuffer first = pool.acquire();
+    ByteBuffer second = pool.acquire();
+
+    pool.release(first);
+    pool.release(second);
+
+    assertThat(pool.getPooledCount()).isEqualTo(1);
+    assertThat(pool.acquire()).isSameAs(first);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void poolRejectsAnAlignmentThatIsNotAPowerOfTwo() {
+    new DirectIOBufferPool(4096, 1000, 1);
+  }
+
+  private DirectFileWriter newWriter() throws Exception {
+    return new DirectFileWriter(file,
+        new HashSet<OpenOption>(Arrays.asList(StandardOpenOption.READ, StandardOpenOption.WRITE)),
+        pool);
+  }
+
+  private static ByteBuffer[] buffers(byte[]... contents) {
+    ByteBuffer[] buffers = new ByteBuffer[contents.length];
+    for (int i = 0; i < contents.length; i++) {
+      buffers[i] = ByteBuffer.wrap(contents[i]);
+    }
+    return buffers;
+  }
+
+  private static byte[] bytes(int first, int count) {
+    byte[] bytes = new byte[count];
+    for (int i = 0; i < count; i++) {
+      bytes[i] = (byte) (first + i + 1);
+    }
+    return bytes;
+  }
+
+  private static byte[] padded(byte[] bytes) {
+    return Arrays.copyOf(bytes, (bytes.length + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT);
+  }
+}
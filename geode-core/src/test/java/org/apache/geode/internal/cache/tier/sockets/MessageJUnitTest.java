@@ -14,11 +14,15 @@
  */
 package org.apache.geode.internal.cache.tier.sockets;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -30,12 +34,16 @@ import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
 import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Random;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import org.apache.geode.internal.Version;
+import org.apache.geode.internal.offheap.StoredObject;
 import org.apache.geode.test.junit.categories.ClientServerTest;
 
 @Category({ClientServerTest.class})
@@ -218,4 +226,59 @@ public class MessageJUnitTest {
     }
   }
 
+  @Test
+  public void offHeapPartLargerThanCommBufferIsSentOverChannelWithoutCopying() throws Exception {
+    byte[] value = randomBytes(10000);
+    ByteBuffer offHeapValue = ByteBuffer.allocateDirect(value.length);
+    offHeapValue.put(value).flip();
+    StoredObject storedObject = mock(StoredObject.class);
+    when(storedObject.hasRefCount()).thenReturn(true);
+    when(storedObject.getDataSize()).thenReturn(value.length);
+    when(storedObject.createDirectByteBuffer()).thenReturn(offHeapValue);
+    Part part = spy(new Part());
+    part.setPartState(storedObject, true);
+    MessageStats messageStats = mock(MessageStats.class);
+
+    assertArrayEquals(value, sendOverChannel(part, messageStats));
+
+    verify(part, never()).writeTo(any(SocketChannel.class), any(ByteBuffer.class));
+    verify(messageStats).incSentBytes(this.message.getHeaderLength() + 5 + value.length);
+  }
+
+  @Test
+  public void heapPartLargerThanCommBufferIsCopiedThroughCommBuffer() throws Exception {
+    byte[] value = randomBytes(10000);
+    Part part = spy(new Part());
+    part.setPartState(value, true);
+
+    assertArrayEquals(value, sendOverChannel(part, mock(MessageStats.class)));
+
+    verify(part).writeTo(any(SocketChannel.class), any(ByteBuffer.class));
+  }
+
+  private byte[] randomBytes(int length) {
+    byte[] bytes = new byte[length];
+    new Random().nextBytes(bytes);
+    return bytes;
+  }
+
+  private byte[] sendOverChannel(Part part, MessageStats messageStats) throws Exception {
+    this.message.setParts(new Part[] {part});
+    this.message.setNumberOfParts(1);
+
+    try (ServerSocketChannel serverChannel = ServerSocketChannel.open()) {
+      serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+      try (SocketChannel sender = SocketChannel.open(serverChannel.getLocalAddress());
+          Socket receiver = serverChannel.accept().socket()) {
+        this.message.setComms(sender.socket(), ByteBuffer.allocate(1000), messageStats);
+        this.message.send();
+
+        Message received = new Message(1, Version.CURRENT);
+        received.setComms(receiver, ByteBuffer.allocate(1000), mock(MessageStats.class));
+        received.receive();
+        return received.getPart(0).getSerializedForm();
+      }
+    }
+  }
+
 }
@@ -16,6 +16,8 @@ package org.apache.geode.internal.cache.tier.sockets;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
 import java.util.List;
@@ -24,6 +26,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import org.apache.geode.CopyHelper;
+import org.apache.geode.internal.offheap.StoredObject;
 import org.apache.geode.internal.util.BlobHelper;
 import org.apache.geode.test.junit.categories.ClientServerTest;
 
@@ -103,6 +106,22 @@ public class ObjectPartListJUnitTest {
     assertNull(values.get(4));
   }
 
+  @Test
+  public void releaseReleasesOffHeapValuesOfNestedLists() {
+    StoredObject value = mock(StoredObject.class);
+    StoredObject fieldValue = mock(StoredObject.class);
+    ObjectPartList fields = new ObjectPartList(1, false);
+    fields.addPart(null, fieldValue, ObjectPartList.OBJECT, null);
+    ObjectPartList list = new ObjectPartList(2, false);
+    list.addPart(null, value, ObjectPartList.OBJECT, null);
+    list.addPart(null, fields, ObjectPartList.OBJECT, null);
+
+    list.release();
+
+    verify(value).release();
+    verify(fieldValue).release();
+  }
+
   private static class AssertionError extends Exception {
 
     public AssertionError(String message) {
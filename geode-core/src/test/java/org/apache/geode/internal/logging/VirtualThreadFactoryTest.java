@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.LoggingTest;
+
+/**
+ * Unit tests for {@link VirtualThreadFactory}.
+ */
+@Category(LoggingTest.class)
+public class VirtualThreadFactoryTest {
+
+  @Test
+  public void virtualThreadsAreDisabledByDefault() {
+    assertThat(Boolean.getBoolean(VirtualThreadFactory.USE_VIRTUAL_THREADS_PROPERTY)).isFalse();
+
+    assertThat(VirtualThreadFactory.isEnabled()).isFalse();
+  }
+
+  @Test
+  public void factoryCannotBeCreatedIfVirtualThreadsAreDisabled() {
+    assertThatThrownBy(() -> new VirtualThreadFactory("baseName", null, null))
+        .isInstanceOf(IllegalStateException.class);
+  }
+}
@@ -467,6 +467,60 @@ public class FreeListManagerTest {
     assertThat(this.freeListManager.defragment(SMALL_SLAB)).isTrue();
   }
 
+  @Test
+  public void coalesceCombinesAdjacentFreeChunksIntoANewFragment() {
+    setUpSingleSlabManager();
+    OffHeapStoredObject c1 = this.freeListManager.allocate(24);
+    OffHeapStoredObject c2 = this.freeListManager.allocate(24);
+    OffHeapStoredObject c3 = this.freeListManager.allocate(24);
+    OffHeapStoredObject c4 = this.freeListManager.allocate(24);
+    this.freeListManager.allocate(DEFAULT_SLAB_SIZE - (4 * 32) - 8);
+    OffHeapStoredObject.release(c1.getAddress(), this.freeListManager);
+    OffHeapStoredObject.release(c2.getAddress(), this.freeListManager);
+    OffHeapStoredObject.release(c4.getAddress(), this.freeListManager);
+
+    assertThat(this.freeListManager.coalesceFreeChunks()).isEqualTo(2);
+
+    assertThat(this.freeListManager.getFragmentList()).hasSize(1);
+    Fragment fragment = this.freeListManager.getFragmentList().get(0);
+    assertThat(fragment.getAddress()).isEqualTo(c1.getAddress());
+    assertThat(fragment.getSize()).isEqualTo(64);
+    // the chunk that was not adjacent to another free chunk is back on its free list
+    assertThat(this.freeListManager.allocate(24).getAddress()).isEqualTo(c4.getAddress());
+    assertThat(c3.getRefCount()).isEqualTo(1);
+    verify(this.stats).endBackgroundDefragmentation(0L, 2);
+  }
+
+  @Test
+  public void coalesceDoesNotUseFragmentsThatStillHaveFreeSpace() {
+    setUpSingleSlabManager();
+    OffHeapStoredObject c1 = this.freeListManager.allocate(24);
+    OffHeapStoredObject c2 = this.freeListManager.allocate(24);
+    OffHeapStoredObject.release(c1.getAddress(), this.freeListManager);
+    OffHeapStoredObject.release(c2.getAddress(), this.freeListManager);
+    Fragment original = this.freeListManager.getFragmentList().get(0);
+
+    assertThat(this.freeListManager.coalesceFreeChunks()).isEqualTo(2);
+
+    assertThat(this.freeListManager.getFragmentList()).hasSize(2);
+    assertThat(this.freeListManager.getFragmentList().get(0)).isSameAs(original);
+    assertThat(this.freeListManager.getFreeFragmentMemory()).isEqualTo(DEFAULT_SLAB_SIZE);
+  }
+
+  @Test
+  public void shouldCoalesceWhenMostFreeMemoryIsOnTheFreeLists() {
+    setUpSingleSlabManager();
+    assertThat(this.freeListManager.shouldCoalesceFreeChunks()).isFalse();
+
+    OffHeapStoredObject big = this.freeListManager.allocate(DEFAULT_SLAB_SIZE - 1024 - 8);
+    this.freeListManager.allocate(1024 - 8);
+    OffHeapStoredObject.release(big.getAddress(), this.freeListManager);
+    assertThat(this.freeListManager.shouldCoalesceFreeChunks()).isTrue();
+
+    this.freeListManager.coalesceFreeChunks();
+    assertThat(this.freeListManager.shouldCoalesceFreeChunks()).isFalse();
+  }
+
   @Test
   public void maxAllocationUsesAllMemory() {
     setUpSingleSlabManager();
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.util.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class CustomEntryConcurrentHashMapTest {
+
+  @Test
+  public void primitiveKeyHashesMatchTheBoxedKeyHashes() {
+    for (long key : new long[] {0, 1, -1, Integer.MAX_VALUE + 1L, Long.MIN_VALUE, 0x123456789L}) {
+      assertThat(CustomEntryConcurrentHashMap.longKeyHash(key))
+          .isEqualTo(CustomEntryConcurrentHashMap.keyHash(key, true));
+    }
+    for (int key : new int[] {0, 1, -1, Integer.MIN_VALUE, 0x12345678}) {
+      assertThat(CustomEntryConcurrentHashMap.intKeyHash(key))
+          .isEqualTo(CustomEntryConcurrentHashMap.keyHash(key, true));
+    }
+  }
+
+  @Test
+  public void getLongFindsLongKeys() {
+    CustomEntryConcurrentHashMap<Object, String> map = new CustomEntryConcurrentHashMap<>();
+    for (long i = 0; i < 1000; i++) {
+      map.put(i << 20, "value-" + i);
+    }
+
+    for (long i = 0; i < 1000; i++) {
+      assertThat(map.getLong(i << 20)).isEqualTo("value-" + i);
+    }
+    assertThat(map.getLong(1)).isNull();
+  }
+
+  @Test
+  public void getIntFindsIntegerKeys() {
+    CustomEntryConcurrentHashMap<Object, String> map = new CustomEntryConcurrentHashMap<>();
+    for (int i = 0; i < 1000; i++) {
+      map.put(i, "value-" + i);
+    }
+
+    for (int i = 0; i < 1000; i++) {
+      assertThat(map.getInt(i)).isEqualTo("value-" + i);
+    }
+    assertThat(map.getInt(1000)).isNull();
+  }
+
+  @Test
+  public void primitiveGetsDoNotMatchKeysOfAnotherType() {
+    CustomEntryConcurrentHashMap<Object, String> map = new CustomEntryConcurrentHashMap<>();
+    map.put(7, "int");
+    map.put(8L, "long");
+
+    assertThat(map.getLong(7)).isNull();
+    assertThat(map.getInt(8)).isNull();
+    assertThat(map.getLong(8)).isEqualTo("long");
+    assertThat(map.getInt(7)).isEqualTo("int");
+  }
+
+  @Test
+  public void primitiveGetsOfAnIdentityMapBoxTheKey() {
+    CustomEntryConcurrentHashMap<Object, String> map =
+        new CustomEntryConcurrentHashMap<>(16, 0.75f, 16, true);
+    Long key = 1000L;
+    map.put(key, "long");
+
+    assertThat(map.getLong(1000)).isNull();
+  }
+}
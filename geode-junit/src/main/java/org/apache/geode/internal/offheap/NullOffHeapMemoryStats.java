@@ -103,6 +103,29 @@ public class NullOffHeapMemoryStats implements OffHeapMemoryStats {
   @Override
   public void endDefragmentation(long start) {}
 
+  @Override
+  public long startBackgroundDefragmentation() {
+    return 0;
+  }
+
+  @Override
+  public void endBackgroundDefragmentation(long start, int coalescedChunks) {}
+
+  @Override
+  public int getBackgroundDefragmentations() {
+    return 0;
+  }
+
+  @Override
+  public long getBackgroundDefragmentationTime() {
+    return 0;
+  }
+
+  @Override
+  public long getCoalescedChunks() {
+    return 0;
+  }
+
   @Override
   public void setFragmentation(int value) {}
 
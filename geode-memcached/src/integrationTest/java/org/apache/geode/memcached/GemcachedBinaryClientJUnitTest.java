@@ -15,6 +15,7 @@
 package org.apache.geode.memcached;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
@@ -23,10 +24,12 @@ import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 
 import net.spy.memcached.BinaryConnectionFactory;
 import net.spy.memcached.MemcachedClient;
+import org.junit.Test;
 
 import org.apache.geode.cache.CacheLoader;
 import org.apache.geode.cache.CacheLoaderException;
@@ -57,6 +60,28 @@ public class GemcachedBinaryClientJUnitTest extends GemcachedDevelopmentJUnitTes
     return client;
   }
 
+  /**
+   * spymemcached sends a bulk get as a run of GETKQ requests terminated by a NOOP
+   */
+  @Test
+  public void testMultiGetManyKeys() throws Exception {
+    MemcachedClient client = createMemcachedClient();
+    List<String> keys = new ArrayList<String>();
+    for (int i = 0; i < 500; i++) {
+      keys.add("multiKey" + i);
+      if (i % 3 != 0) {
+        assertTrue(client.set("multiKey" + i, 0, "value" + i).get());
+      }
+    }
+    Map<String, Object> val = client.getBulk(keys);
+    assertEquals(333, val.size());
+    assertNull(val.get("multiKey0"));
+    assertEquals("value1", val.get("multiKey1"));
+    assertEquals("value499", val.get("multiKey499"));
+    // the connection is still usable once the batch is answered
+    assertEquals("value2", client.get("multiKey2"));
+  }
+
   @SuppressWarnings("unchecked")
   public void testCacheWriterException() throws Exception {
     MemcachedClient client = createMemcachedClient();
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.memcached;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import net.spy.memcached.MemcachedClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.internal.AvailablePort;
+
+/**
+ * Measures the get/set throughput of a few active clients while {@link #connections} other clients
+ * hold connections to the server, showing how the server copes with many mostly idle clients.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class ConnectionScalabilityBenchmark {
+
+  @Param({"10", "1000", "10000"})
+  public int connections;
+
+  private GemFireMemcachedServer server;
+  private MemcachedClient client;
+  private final List<SocketChannel> idleClients = new ArrayList<>();
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    new CacheFactory().set(LOG_LEVEL, "warn").set(MCAST_PORT, "0").set(LOCATORS, "").create();
+    int port = AvailablePort.getRandomAvailablePort(AvailablePort.SOCKET);
+    server = new GemFireMemcachedServer("localhost", port, GemFireMemcachedServer.Protocol.ASCII);
+    server.start();
+    InetSocketAddress address = new InetSocketAddress("localhost", port);
+    for (int i = 0; i < connections; i++) {
+      idleClients.add(SocketChannel.open(address));
+    }
+    client = new MemcachedClient(address);
+    client.set("key", 0, "value");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    client.shutdown();
+    for (SocketChannel idleClient : idleClients) {
+      idleClient.close();
+    }
+    server.shutdown();
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  @Threads(8)
+  public Object get() {
+    return client.get("key");
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  @Threads(8)
+  public Object set() throws Exception {
+    return client.set("key", 0, "value").get();
+  }
+}
@@ -14,76 +14,137 @@
  */
 package org.apache.geode.internal.memcached;
 
-import java.io.IOException;
-import java.net.Socket;
 import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 
 import org.apache.geode.LogWriter;
 import org.apache.geode.annotations.internal.MakeNotStatic;
 import org.apache.geode.cache.Cache;
 import org.apache.geode.cache.CacheClosedException;
 import org.apache.geode.internal.memcached.commands.ClientError;
+import org.apache.geode.internal.memcached.commands.GetCommand;
 import org.apache.geode.memcached.GemFireMemcachedServer;
 import org.apache.geode.memcached.GemFireMemcachedServer.Protocol;
 
 /**
  * One instance of ConnectionHandle is created for each client that connects to
- * {@link GemFireMemcachedServer} and is responsible for reading requests and sending responses to
- * this client.
+ * {@link GemFireMemcachedServer} and is responsible for processing the requests framed by
+ * {@link RequestDecoder} and sending responses to this client. Replies are written as they are
+ * produced and flushed once all the requests of a read have been processed.
  *
  *
  *
  */
-public class ConnectionHandler implements Runnable {
-
-  private final Socket socket;
+public class ConnectionHandler extends ChannelInboundHandlerAdapter {
 
   private final Cache cache;
 
   private final Protocol protocol;
 
+  private final RequestReader request;
+
+  /**
+   * Quiet gets received since the last other command. They are executed together when the client
+   * sends the command ending the run, usually a NOOP, since their replies may be deferred until
+   * then.
+   */
+  private final List<ByteBuffer> quietGets = new ArrayList<ByteBuffer>();
+
+  private static final int MAX_QUIET_GETS = 1000;
+
+  private final ExecutorService fanOutExecutor;
+
   @MakeNotStatic
   private static LogWriter logger;
 
-  public ConnectionHandler(Socket socket, Cache cache, Protocol protocol) {
-    this.socket = socket;
+  public ConnectionHandler(Cache cache, Protocol protocol, ExecutorService fanOutExecutor) {
     this.cache = cache;
     this.protocol = protocol;
+    this.fanOutExecutor = fanOutExecutor;
+    this.request = new RequestReader(protocol);
     if (logger == null) {
       logger = this.cache.getLogger();
     }
   }
 
   @Override
-  public void run() {
-    RequestReader request = new RequestReader(this.socket, this.protocol);
-    while (!Thread.currentThread().isInterrupted()) {
-      try {
-        Command command = request.readCommand();
-        if (logger.fineEnabled()) {
-          logger.fine("processing command:" + command);
+  public void channelRead(ChannelHandlerContext ctx, Object msg) throws CharacterCodingException {
+    ByteBuffer buffer = (ByteBuffer) msg;
+    this.request.setRequest(buffer);
+    Command command = null;
+    try {
+      command = this.request.readCommand();
+      if (command == Command.GETQ || command == Command.GETKQ) {
+        this.quietGets.add(buffer);
+        if (this.quietGets.size() >= MAX_QUIET_GETS) {
+          processQuietGets(ctx);
         }
-        ByteBuffer reply =
-            command.getCommandProcessor().processCommand(request, this.protocol, cache);
-        if (reply != null) {
-          request.sendReply(reply);
-        }
-        if (command == Command.QUIT || command == Command.QUITQ) {
-          socket.close();
-          break;
-        }
-      } catch (ClientError e) {
-        request.sendException(e);
-      } catch (IllegalArgumentException e) {
-        // thrown by Command.valueOf() when there is no matching command
-        request.sendException(e);
-      } catch (CacheClosedException cc) {
-        Thread.currentThread().interrupt();
-      } catch (IOException e) {
-        Thread.currentThread().interrupt();
+        return;
+      }
+      processQuietGets(ctx);
+      this.request.setRequest(buffer);
+      if (logger.fineEnabled()) {
+        logger.fine("processing command:" + command);
+      }
+      ByteBuffer reply =
+          command.getCommandProcessor().processCommand(this.request, this.protocol, cache);
+      if (reply != null) {
+        ctx.write(Unpooled.wrappedBuffer(this.request.getReply(reply)));
+      }
+    } catch (ClientError e) {
+      processQuietGets(ctx);
+      ctx.write(Unpooled.wrappedBuffer(this.request.getExceptionReply(e)));
+    } catch (IllegalArgumentException e) {
+      // thrown by Command.valueOf() when there is no matching command
+      processQuietGets(ctx);
+      ctx.write(Unpooled.wrappedBuffer(this.request.getExceptionReply(e)));
+    } catch (CacheClosedException cc) {
+      ctx.close();
+      return;
+    }
+    if (command == Command.QUIT || command == Command.QUITQ) {
+      ctx.writeAndFlush(Unpooled.EMPTY_BUFFER).addListener(ChannelFutureListener.CLOSE);
+    }
+  }
+
+  private void processQuietGets(ChannelHandlerContext ctx) {
+    if (this.quietGets.isEmpty()) {
+      return;
+    }
+    if (logger.fineEnabled()) {
+      logger.fine("processing " + this.quietGets.size() + " quiet gets");
+    }
+    List<ByteBuffer> replies =
+        GetCommand.processQuietGets(this.quietGets, this.request, cache, this.fanOutExecutor);
+    for (int i = 0; i < replies.size(); i++) {
+      ByteBuffer reply = replies.get(i);
+      if (reply != null) {
+        this.request.setRequest(this.quietGets.get(i));
+        ctx.write(Unpooled.wrappedBuffer(this.request.getReply(reply)));
       }
     }
-    logger.fine("Connection handler " + Thread.currentThread().getName() + " terminating");
+    this.quietGets.clear();
+  }
+
+  @Override
+  public void channelReadComplete(ChannelHandlerContext ctx) {
+    ctx.flush();
+  }
+
+  @Override
+  public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+    if (logger.fineEnabled()) {
+      logger.fine("Closing connection to " + ctx.channel().remoteAddress(), cause);
+    }
+    ctx.close();
   }
 
   protected static LogWriter getLogger() {
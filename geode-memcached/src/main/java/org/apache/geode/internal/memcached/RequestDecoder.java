@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.memcached;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+import org.apache.geode.internal.memcached.commands.AbstractCommand;
+import org.apache.geode.memcached.GemFireMemcachedServer.Protocol;
+
+/**
+ * Splits the bytes received from a memcached client into requests. Each request is handed to the
+ * next handler as a {@link ByteBuffer} positioned at the start of the request, holding exactly one
+ * request, so that commands can keep addressing header fields by absolute index.
+ * <p>
+ * A binary request is the 24 byte header followed by the body length given in the header. An
+ * ASCII request is the command line, followed by the data block and its "\r\n" for the storage
+ * commands.
+ */
+public class RequestDecoder extends ByteToMessageDecoder {
+
+  private static final int HEADER_LENGTH = 24;
+
+  /**
+   * Index of the length of the data block in the command line of an ASCII storage command
+   */
+  private static final int BYTES_TOKEN_INDEX = 4;
+
+  private final Protocol protocol;
+
+  public RequestDecoder(Protocol protocol) {
+    this.protocol = protocol;
+  }
+
+  @Override
+  protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+    int length =
+        protocol == Protocol.ASCII ? getAsciiRequestLength(in) : getBinaryRequestLength(in);
+    if (length < 0 || in.readableBytes() < length) {
+      // wait for the rest of the request
+      return;
+    }
+    ByteBuffer request = ByteBuffer.allocate(length);
+    in.readBytes(request);
+    request.flip();
+    out.add(request);
+  }
+
+  private int getBinaryRequestLength(ByteBuf in) {
+    if (in.readableBytes() < HEADER_LENGTH) {
+      return -1;
+    }
+    int bodyLength = in.getInt(in.readerIndex() + AbstractCommand.TOTAL_BODY_LENGTH_INDEX);
+    if (bodyLength < 0) {
+      throw new IllegalStateException("Not a valid request, negative body length");
+    }
+    return HEADER_LENGTH + bodyLength;
+  }
+
+  private int getAsciiRequestLength(ByteBuf in) {
+    int lineEnd = in.indexOf(in.readerIndex(), in.writerIndex(), (byte) '\n');
+    if (lineEnd < 0) {
+      return -1;
+    }
+    int lineLength = lineEnd + 1 - in.readerIndex();
+    int dataLength = getDataLength(in.toString(in.readerIndex(), lineLength,
+        StandardCharsets.US_ASCII));
+    return dataLength < 0 ? lineLength : lineLength + dataLength + 2;
+  }
+
+  /**
+   * @return the length of the data block following the command line, or -1 if the command does
+   *         not send one
+   */
+  private int getDataLength(String line) {
+    String[] tokens = line.trim().split(" ");
+    if (tokens.length <= BYTES_TOKEN_INDEX || !isStorageCommand(tokens[0])) {
+      return -1;
+    }
+    try {
+      return Math.max(Integer.parseInt(tokens[BYTES_TOKEN_INDEX]), 0);
+    } catch (NumberFormatException e) {
+      // let the command report the malformed request
+      return -1;
+    }
+  }
+
+  private boolean isStorageCommand(String command) {
+    return command.equalsIgnoreCase("set") || command.equalsIgnoreCase("add")
+        || command.equalsIgnoreCase("replace") || command.equalsIgnoreCase("append")
+        || command.equalsIgnoreCase("prepend") || command.equalsIgnoreCase("cas");
+  }
+}
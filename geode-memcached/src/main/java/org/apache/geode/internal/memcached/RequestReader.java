@@ -14,24 +14,20 @@
  */
 package org.apache.geode.internal.memcached;
 
-import java.io.IOException;
-import java.net.Socket;
-import java.net.SocketException;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
-import java.nio.channels.SocketChannel;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 
 import org.apache.geode.annotations.Immutable;
-import org.apache.geode.internal.memcached.commands.AbstractCommand;
 import org.apache.geode.internal.memcached.commands.ClientError;
 import org.apache.geode.memcached.GemFireMemcachedServer.Protocol;
 
 /**
  * Reads the first line from the request and interprets the {@link Command} from the memcached
- * client
+ * client. One instance exists per connection, holding the request currently being processed as
+ * framed by {@link RequestDecoder}.
  *
  *
  */
@@ -50,122 +46,58 @@ public class RequestReader {
 
   private ByteBuffer buffer;
 
-  private ByteBuffer response;
-
   private static final int RESPONSE_HEADER_LENGTH = 24;
 
   private static final byte RESPONSE_MAGIC = (byte) 0x81;
 
-  private static final int HEADER_LENGTH = 24;
-
   private static final byte REQUEST_MAGIC = (byte) 0x80;
 
   private static final int POSITION_OPCODE = 1;
 
   private static final int POSITION_OPAQUE = 12;
 
-  private Socket socket;
-
   private final Protocol protocol;
 
   private CharBuffer commandBuffer = CharBuffer.allocate(11); // no command exceeds 9 chars
 
-  public RequestReader(Socket socket, Protocol protocol) {
-    buffer = ByteBuffer.allocate(getBufferSize(socket.getChannel()));
-    // set position to limit so that first read attempt
-    // returns hasRemaining() false
-    buffer.position(buffer.limit());
-    this.socket = socket;
+  public RequestReader(Protocol protocol) {
     this.protocol = protocol;
   }
 
-  public Command readCommand() throws IOException {
+  /**
+   * @param request a buffer holding exactly one request
+   */
+  public void setRequest(ByteBuffer request) {
+    this.buffer = request;
+  }
+
+  public Command readCommand() throws CharacterCodingException {
     if (protocol == Protocol.ASCII) {
       return readAsciiCommand();
     }
     return readBinaryCommand();
   }
 
-  private Command readBinaryCommand() throws IOException {
-    SocketChannel channel = this.socket.getChannel();
-    if (channel == null || !channel.isOpen()) {
-      throw new IllegalStateException("cannot read from channel");
+  private Command readBinaryCommand() {
+    buffer.rewind();
+    byte magic = buffer.get();
+    if (magic != REQUEST_MAGIC) {
+      throw new IllegalStateException("Not a valid request, magic byte incorrect");
     }
-    Command cmd = null;
-    boolean done = false;
-    boolean read = false;
-    while (!done) {
-      if (!buffer.hasRemaining()) {
-        buffer.clear();
-        read = true;
-      } else if (!read) {
-        // compact is meant for partial writes, but we want to use
-        // it partial reads, so the new limit should be the position
-        // after the compact operation and we want to start reading
-        // from the beginning
-        buffer.compact();
-        buffer.limit(buffer.position());
-        buffer.position(0);
-      }
-      if (read) {
-        int bytesRead = channel.read(buffer);
-        if (bytesRead == -1) {
-          throw new IOException("EOF");
-        }
-        buffer.flip();
-      }
-      // read again if we did not read enough bytes
-      if (buffer.limit() < HEADER_LENGTH) {
-        buffer.compact();
-        read = true;
-        continue;
-      }
-      int requestLength = buffer.remaining();
-      byte magic = buffer.get();
-      if (magic != REQUEST_MAGIC) {
-        throw new IllegalStateException("Not a valid request, magic byte incorrect");
-      }
-      byte opCode = buffer.get();
-      if (ConnectionHandler.getLogger().finerEnabled()) {
-        String str = Command.buffertoString(buffer);
-        ConnectionHandler.getLogger().finer("Request:" + buffer + str.toString());
-      }
-      int bodyLength = buffer.getInt(AbstractCommand.TOTAL_BODY_LENGTH_INDEX);
-      if ((HEADER_LENGTH + bodyLength) > requestLength) {
-        // set the position back to the start of the request
-        buffer.position(buffer.position() - 2 /* since we read two bytes */);
-        buffer.compact();
-        // ensure that the buffer is big enough
-        if (buffer.capacity() < (HEADER_LENGTH + bodyLength)) {
-          // allocate bigger buffer and copy the bytes to the bigger buffer
-          ByteBuffer oldBuffer = buffer;
-          oldBuffer.position(0);
-          buffer = ByteBuffer.allocate(HEADER_LENGTH + bodyLength);
-          buffer.put(oldBuffer);
-        }
-        read = true;
-        continue;
-      }
-      cmd = Command.getCommandFromOpCode(opCode);
-      done = true;
+    byte opCode = buffer.get();
+    if (ConnectionHandler.getLogger().finerEnabled()) {
+      String str = Command.buffertoString(buffer);
+      ConnectionHandler.getLogger().finer("Request:" + buffer + str.toString());
     }
+    Command cmd = Command.getCommandFromOpCode(opCode);
     if (ConnectionHandler.getLogger().fineEnabled()) {
       ConnectionHandler.getLogger().fine("read command " + cmd);
     }
     return cmd;
   }
 
-  private Command readAsciiCommand() throws IOException {
-    SocketChannel channel = this.socket.getChannel();
-    if (channel == null || !channel.isOpen()) {
-      throw new IllegalStateException("cannot read from channel");
-    }
-    buffer.clear();
-    int bytesRead = channel.read(buffer);
-    if (bytesRead == -1) {
-      throw new IOException("EOF");
-    }
-    buffer.flip();
+  private Command readAsciiCommand() throws CharacterCodingException {
+    buffer.rewind();
     return Command.valueOf(readCommand(buffer));
   }
 
@@ -196,16 +128,6 @@ public class RequestReader {
     return retVal;
   }
 
-  private int getBufferSize(SocketChannel channel) {
-    int size = 1024;
-    try {
-      size = channel.socket().getReceiveBufferSize();
-    } catch (SocketException e) {
-      // use default size
-    }
-    return size;
-  }
-
   public ByteBuffer getRequest() {
     this.buffer.rewind();
     return this.buffer;
@@ -216,51 +138,25 @@ public class RequestReader {
   }
 
   /**
-   * Returns an initialized byteBuffer for sending the reply
+   * Returns an initialized byteBuffer for sending the reply. A new buffer is returned for every
+   * reply since it is handed to the channel without copying.
    *
    * @param size size of ByteBuffer
    * @return the initialized response buffer
    */
   public ByteBuffer getResponse(int size) {
-    if (this.response == null || this.response.capacity() < size) {
-      this.response = ByteBuffer.allocate(size);
-    }
-    clear(this.response);
-    this.response.put(RESPONSE_MAGIC);
-    this.response.rewind();
-    this.response.limit(size);
-    return this.response;
-  }
-
-  private void clear(ByteBuffer response) {
-    response.position(0);
-    response.limit(response.capacity());
-    response.put(getCleanByteArray());
-    while (response.remaining() > getCleanByteArray().length) {
-      response.put(getCleanByteArray());
-    }
-    while (response.remaining() > 0) {
-      response.put((byte) 0);
-    }
-    response.clear();
-  }
-
-  @Immutable
-  private static final byte[] cleanByteArray = createCleanByteArray();
-
-  private static byte[] createCleanByteArray() {
-    byte[] cleanByteArray = new byte[RESPONSE_HEADER_LENGTH];
-    for (int i = 0; i < cleanByteArray.length; i++) {
-      cleanByteArray[i] = 0;
-    }
-    return cleanByteArray;
+    ByteBuffer response = ByteBuffer.allocate(size);
+    response.put(RESPONSE_MAGIC);
+    response.rewind();
+    return response;
   }
 
-  private byte[] getCleanByteArray() {
-    return cleanByteArray;
-  }
-
-  public void sendReply(ByteBuffer reply) throws IOException {
+  /**
+   * Prepares the reply to the current request for sending
+   *
+   * @return the reply, positioned at its first byte
+   */
+  public ByteBuffer getReply(ByteBuffer reply) {
     // for binary set the response opCode
     if (this.protocol == Protocol.BINARY) {
       reply.rewind();
@@ -271,25 +167,16 @@ public class RequestReader {
             .finer("sending reply:" + reply + " " + Command.buffertoString(reply));
       }
     }
-    SocketChannel channel = this.socket.getChannel();
-    if (channel == null || !channel.isOpen()) {
-      throw new IllegalStateException("cannot write to channel");
-    }
-    channel.write(reply);
+    return reply;
   }
 
-  public void sendException(Exception e) {
-    SocketChannel channel = this.socket.getChannel();
-    if (channel == null || !channel.isOpen()) {
-      throw new IllegalStateException("cannot write to channel");
-    }
-    try {
-      if (e instanceof ClientError) {
-        channel.write(charsetASCII.encode(Reply.CLIENT_ERROR.toString()));
-      } else {
-        channel.write(charsetASCII.encode(Reply.ERROR.toString()));
-      }
-    } catch (IOException ex) {
+  /**
+   * @return the reply to send to the client when processing the current request failed
+   */
+  public ByteBuffer getExceptionReply(Exception e) {
+    if (e instanceof ClientError) {
+      return charsetASCII.encode(Reply.CLIENT_ERROR.toString());
     }
+    return charsetASCII.encode(Reply.ERROR.toString());
   }
 }
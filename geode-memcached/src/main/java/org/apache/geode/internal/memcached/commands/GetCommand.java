@@ -16,15 +16,26 @@ package org.apache.geode.internal.memcached.commands;
 
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.geode.annotations.Immutable;
 import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.Operation;
 import org.apache.geode.cache.Region;
+import org.apache.geode.internal.cache.PartitionedRegion;
+import org.apache.geode.internal.cache.PartitionedRegionDataStore;
+import org.apache.geode.internal.cache.PartitionedRegionHelper;
+import org.apache.geode.internal.memcached.Command;
 import org.apache.geode.internal.memcached.KeyWrapper;
 import org.apache.geode.internal.memcached.Reply;
 import org.apache.geode.internal.memcached.RequestReader;
@@ -66,24 +77,10 @@ public class GetCommand extends AbstractCommand {
     return result;
   }
 
-  /**
-   * buffer used to compose one line of reply
-   */
-  private static final ThreadLocal<CharBuffer> lineBuffer = new ThreadLocal<CharBuffer>();
-
-  /**
-   * defaults to the default send buffer size on socket
-   */
-  private static final int REPLY_BUFFER_CAPACITY =
-      Integer.getInteger("replyBufferCapacity", 146988);
-
-  /**
-   * buffer for sending get replies, one per thread
-   */
-  private static final ThreadLocal<ByteBuffer> replyBuffer = new ThreadLocal<ByteBuffer>();
-
   private static final int EXTRAS_LENGTH = 4;
 
+  private static final int POSITION_OPCODE = 1;
+
   @Override
   public ByteBuffer processCommand(RequestReader request, Protocol protocol, Cache cache) {
     if (protocol == Protocol.ASCII) {
@@ -111,32 +108,116 @@ public class GetCommand extends AbstractCommand {
         return null;
       }
       response.putShort(POSITION_RESPONSE_STATUS, ResponseStatus.KEY_NOT_FOUND.asShort());
-    } else {
-      byte[] realValue = val.getValue();
-      int responseLength = HEADER_LENGTH + realValue.length + EXTRAS_LENGTH
-          + (sendKeysInResponse() ? key.getKey().length : 0);
-      if (response.capacity() < responseLength) {
-        response = request.getResponse(responseLength);
-      }
-      response.limit(responseLength);
-      response.putShort(POSITION_RESPONSE_STATUS, ResponseStatus.NO_ERROR.asShort());
-      if (sendKeysInResponse()) {
-        response.putShort(KEY_LENGTH_INDEX, (short) key.getKey().length);
+      return response;
+    }
+    return composeBinaryReply(key, val, request);
+  }
+
+  private ByteBuffer composeBinaryReply(KeyWrapper key, ValueWrapper val, RequestReader request) {
+    byte[] realValue = val.getValue();
+    int responseLength = HEADER_LENGTH + realValue.length + EXTRAS_LENGTH
+        + (sendKeysInResponse() ? key.getKey().length : 0);
+    ByteBuffer response = request.getResponse(responseLength);
+    response.putShort(POSITION_RESPONSE_STATUS, ResponseStatus.NO_ERROR.asShort());
+    if (sendKeysInResponse()) {
+      response.putShort(KEY_LENGTH_INDEX, (short) key.getKey().length);
+    }
+    response.put(EXTRAS_LENGTH_INDEX, (byte) EXTRAS_LENGTH);
+    response.putInt(TOTAL_BODY_LENGTH_INDEX,
+        EXTRAS_LENGTH + realValue.length + (sendKeysInResponse() ? key.getKey().length : 0));
+    response.putLong(POSITION_CAS, val.getVersion());
+    response.position(HEADER_LENGTH);
+    response.putInt(val.getFlags());
+    if (sendKeysInResponse()) {
+      response.put(key.getKey());
+    }
+    response.put(realValue);
+
+    response.flip();
+    return response;
+  }
+
+  /**
+   * Processes a run of quiet gets (GETQ and GETKQ) with a single fetch of all their keys. The keys
+   * of a partitioned region are grouped by bucket, and the buckets hosted by other members are
+   * fetched in parallel on the given executor.
+   *
+   * @param requests the binary requests of the run, in the order they were received
+   * @return the reply to each request, null for the keys that were not found
+   */
+  public static List<ByteBuffer> processQuietGets(List<ByteBuffer> requests, RequestReader request,
+      Cache cache, ExecutorService executor) {
+    List<GetCommand> commands = new ArrayList<GetCommand>(requests.size());
+    List<KeyWrapper> keys = new ArrayList<KeyWrapper>(requests.size());
+    for (ByteBuffer buffer : requests) {
+      GetCommand command = (GetCommand) Command.getCommandFromOpCode(buffer.get(POSITION_OPCODE))
+          .getCommandProcessor();
+      commands.add(command);
+      keys.add(command.getKey(buffer, HEADER_LENGTH));
+    }
+
+    Region<Object, ValueWrapper> r = getMemcachedRegion(cache);
+    Map<Object, ValueWrapper> values;
+    try {
+      values = getAll(r, keys, executor);
+    } catch (Exception e) {
+      // let each get report its own failure
+      values = null;
+    }
+
+    List<ByteBuffer> replies = new ArrayList<ByteBuffer>(requests.size());
+    for (int i = 0; i < requests.size(); i++) {
+      request.setRequest(requests.get(i));
+      if (values == null) {
+        replies.add(commands.get(i).processBinaryCommand(request.getRequest(), request, cache,
+            request.getResponse()));
+      } else {
+        ValueWrapper val = values.get(keys.get(i));
+        replies.add(val == null ? null
+            : commands.get(i).composeBinaryReply(keys.get(i), val,
+                request));
       }
-      response.put(EXTRAS_LENGTH_INDEX, (byte) EXTRAS_LENGTH);
-      response.putInt(TOTAL_BODY_LENGTH_INDEX,
-          EXTRAS_LENGTH + realValue.length + (sendKeysInResponse() ? key.getKey().length : 0));
-      response.putLong(POSITION_CAS, val.getVersion());
-      response.position(HEADER_LENGTH);
-      response.putInt(val.getFlags());
-      if (sendKeysInResponse()) {
-        response.put(key.getKey());
+    }
+    return replies;
+  }
+
+  private static Map<Object, ValueWrapper> getAll(Region<Object, ValueWrapper> r,
+      List<KeyWrapper> keys, ExecutorService executor)
+      throws InterruptedException, ExecutionException {
+    if (!(r instanceof PartitionedRegion)) {
+      return r.getAll(keys);
+    }
+    PartitionedRegion pr = (PartitionedRegion) r;
+    PartitionedRegionDataStore dataStore = pr.getDataStore();
+    List<KeyWrapper> localKeys = new ArrayList<KeyWrapper>();
+    Map<Integer, List<KeyWrapper>> remoteKeys = new HashMap<Integer, List<KeyWrapper>>();
+    for (KeyWrapper key : keys) {
+      int bucketId = PartitionedRegionHelper.getHashKey(pr, Operation.GET, key, null, null);
+      if (dataStore != null && dataStore.isManagingBucket(bucketId)) {
+        localKeys.add(key);
+      } else {
+        List<KeyWrapper> bucketKeys = remoteKeys.get(bucketId);
+        if (bucketKeys == null) {
+          bucketKeys = new ArrayList<KeyWrapper>();
+          remoteKeys.put(bucketId, bucketKeys);
+        }
+        bucketKeys.add(key);
       }
-      response.put(realValue);
+    }
 
-      response.flip();
+    List<Future<Map<Object, ValueWrapper>>> fetches =
+        new ArrayList<Future<Map<Object, ValueWrapper>>>(remoteKeys.size());
+    for (final List<KeyWrapper> bucketKeys : remoteKeys.values()) {
+      fetches.add(executor.submit(() -> r.getAll(bucketKeys)));
     }
-    return response;
+    Map<Object, ValueWrapper> results = new HashMap<Object, ValueWrapper>();
+    if (!localKeys.isEmpty()) {
+      results.putAll(r.getAll(localKeys));
+    }
+    for (Future<Map<Object, ValueWrapper>> fetch : fetches) {
+      results.putAll(fetch.get());
+    }
+    return results;
   }
 
   /**
@@ -174,11 +255,15 @@ public class GetCommand extends AbstractCommand {
     return composeReply(results, isGets);
   }
 
-  @edu.umd.cs.findbugs.annotations.SuppressWarnings(value = "NP_NULL_PARAM_DEREF",
-      justification = "findbugs complains that v is null while putting into buffer, but it is not")
+  /**
+   * Composes a reply sized exactly for the values found, which is handed to the channel without
+   * copying
+   */
   private ByteBuffer composeReply(Map<Object, ValueWrapper> results, boolean isGets) {
+    List<byte[]> lines = new ArrayList<byte[]>();
+    List<byte[]> values = new ArrayList<byte[]>();
+    int length = END_BUF.length;
     Iterator<Entry<Object, ValueWrapper>> it = results.entrySet().iterator();
-    ByteBuffer buffer = getReplyBuffer();
     while (it.hasNext()) {
       Entry<Object, ValueWrapper> e = it.next();
       if (getLogger().fineEnabled()) {
@@ -187,48 +272,34 @@ public class GetCommand extends AbstractCommand {
       ValueWrapper valWrapper = e.getValue();
       if (valWrapper != null) {
         byte[] v = valWrapper.getValue();
-        CharBuffer reply = getLineBuffer();
-        reply.put(VALUE).put(W_SPACE);
-        reply.put(e.getKey().toString()).put(W_SPACE);
-        reply.put(Integer.toString(valWrapper.getFlags())).put(W_SPACE); // flags
-
-        String valBytes = v == null ? Integer.toString(0) : Integer.toString(v.length);
-        reply.put(valBytes);
+        StringBuilder reply = new StringBuilder();
+        reply.append(VALUE).append(W_SPACE);
+        reply.append(e.getKey().toString()).append(W_SPACE);
+        reply.append(valWrapper.getFlags()).append(W_SPACE); // flags
+        reply.append(v == null ? 0 : v.length);
         if (isGets) {
           // send the version for gets command
-          reply.put(W_SPACE);
-          reply.put(Long.toString(valWrapper.getVersion()));
+          reply.append(W_SPACE);
+          reply.append(valWrapper.getVersion());
         }
-        reply.put(RN);
-        reply.flip();
-        getAsciiEncoder().encode(reply, buffer, false);
-        // put the actual value
-        buffer.put(v);
-        buffer.put(RN_BUF);
+        reply.append(RN);
+        byte[] line = toEncodedArray(reply.toString());
+        lines.add(line);
+        values.add(v);
+        length += line.length + (v == null ? 0 : v.length) + RN_BUF.length;
+      }
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    for (int i = 0; i < lines.size(); i++) {
+      buffer.put(lines.get(i));
+      // put the actual value
+      if (values.get(i) != null) {
+        buffer.put(values.get(i));
       }
+      buffer.put(RN_BUF);
     }
     buffer.put(END_BUF);
     buffer.flip();
     return buffer;
   }
-
-  private ByteBuffer getReplyBuffer() {
-    ByteBuffer retVal = replyBuffer.get();
-    if (retVal == null) {
-      retVal = ByteBuffer.allocate(REPLY_BUFFER_CAPACITY);
-      replyBuffer.set(retVal);
-    }
-    retVal.clear();
-    return retVal;
-  }
-
-  private CharBuffer getLineBuffer() {
-    CharBuffer retVal = lineBuffer.get();
-    if (retVal == null) {
-      retVal = CharBuffer.allocate(1024);
-      lineBuffer.set(retVal);
-    }
-    retVal.clear();
-    return retVal;
-  }
 }
@@ -17,26 +17,40 @@ package org.apache.geode.memcached;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
 import java.net.UnknownHostException;
-import java.nio.channels.ClosedByInterruptException;
-import java.nio.channels.ServerSocketChannel;
-import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GlobalEventExecutor;
+
 import org.apache.geode.LogWriter;
 import org.apache.geode.annotations.internal.MakeNotStatic;
 import org.apache.geode.cache.Cache;
 import org.apache.geode.cache.CacheFactory;
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.distributed.internal.InternalDistributedSystem;
 import org.apache.geode.internal.cache.GemFireCacheImpl;
+import org.apache.geode.internal.logging.LoggingExecutors;
 import org.apache.geode.internal.memcached.ConnectionHandler;
+import org.apache.geode.internal.memcached.RequestDecoder;
 import org.apache.geode.internal.net.SocketCreator;
 
 /**
@@ -88,29 +102,45 @@ public class GemFireMemcachedServer {
   private final int DEFAULT_PORT = 11212;
 
   /**
-   * the thread executor pool to handle requests from clients. We create one thread for each client.
+   * The number of threads executing commands, shared by all the clients. Commands may block on
+   * distributed operations so they do not run on the threads reading from the sockets.
    */
-  private ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactory() {
-    private final AtomicInteger counter = new AtomicInteger();
-
-    @Override
-    public Thread newThread(Runnable r) {
-      Thread t = new Thread(r);
-      t.setName("Gemcached-" + counter.incrementAndGet());
-      t.setDaemon(true);
-      return t;
-    }
-  });
+  private static final int NUM_WORKER_THREADS = Integer.getInteger(
+      DistributionConfig.GEMFIRE_PREFIX + "memcached.workerThreads",
+      Runtime.getRuntime().availableProcessors() * 4);
+
+  private static final long SHUTDOWN_TIMEOUT = 15;
+
+  private static final int FAN_OUT_KEEP_ALIVE = 60;
 
   /**
-   * GemFire cache where data will be stored
+   * selector thread accepting client connections
    */
-  private Cache cache;
+  private EventLoopGroup bossGroup;
 
   /**
-   * thread that listens for client connections
+   * selector threads reading requests from and writing replies to the clients
    */
-  private Thread acceptor;
+  private EventLoopGroup ioGroup;
+
+  /**
+   * threads executing commands, a client is always served by the same thread
+   */
+  private EventExecutorGroup workerGroup;
+
+  /**
+   * threads fetching the buckets hosted by other members in parallel for batched gets
+   */
+  private ExecutorService fanOutExecutor;
+
+  private Channel serverChannel;
+
+  private final ChannelGroup clientChannels = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+
+  /**
+   * GemFire cache where data will be stored
+   */
+  private Cache cache;
 
   /**
    * The protocol that this server understands, ASCII by default
@@ -175,44 +205,46 @@ public class GemFireMemcachedServer {
   }
 
   private void startMemcachedServer() throws IOException, InterruptedException {
-    ServerSocketChannel channel = ServerSocketChannel.open();
-    final ServerSocket serverSocket = channel.socket();
-    serverSocket.setReceiveBufferSize(getSocketBufferSize());
-    serverSocket.setReuseAddress(true);
-    serverSocket.bind(new InetSocketAddress(getBindAddress(), serverPort));
+    bossGroup = new NioEventLoopGroup(1, createThreadFactory("Gemcached-Acceptor-"));
+    ioGroup = new NioEventLoopGroup(0, createThreadFactory("Gemcached-Selector-"));
+    workerGroup =
+        new DefaultEventExecutorGroup(NUM_WORKER_THREADS, createThreadFactory("Gemcached-"));
+    fanOutExecutor = LoggingExecutors.newFixedThreadPoolWithTimeout("Gemcached-FanOut-",
+        NUM_WORKER_THREADS, FAN_OUT_KEEP_ALIVE);
+    ServerBootstrap b = new ServerBootstrap();
+    b.group(bossGroup, ioGroup).channel(NioServerSocketChannel.class)
+        .childHandler(new ChannelInitializer<SocketChannel>() {
+          @Override
+          public void initChannel(SocketChannel ch) {
+            clientChannels.add(ch);
+            ChannelPipeline p = ch.pipeline();
+            p.addLast(RequestDecoder.class.getSimpleName(), new RequestDecoder(protocol));
+            p.addLast(workerGroup, ConnectionHandler.class.getSimpleName(),
+                new ConnectionHandler(cache, protocol, fanOutExecutor));
+          }
+        }).option(ChannelOption.SO_REUSEADDR, true)
+        .option(ChannelOption.SO_RCVBUF, getSocketBufferSize())
+        .childOption(ChannelOption.SO_KEEPALIVE, SocketCreator.ENABLE_TCP_KEEP_ALIVE);
     if (logger.fineEnabled()) {
       logger.fine("GemFireMemcachedServer configured socket buffer size:" + getSocketBufferSize());
     }
-    final CountDownLatch latch = new CountDownLatch(1);
-    acceptor = new Thread(new Runnable() {
+    serverChannel = b.bind(new InetSocketAddress(getBindAddress(), serverPort)).sync().channel();
+    logger.config("GemFireMemcachedServer server started on host:" + SocketCreator.getLocalHost()
+        + " port: " + this.serverPort + " worker threads: " + NUM_WORKER_THREADS);
+  }
+
+  private static ThreadFactory createThreadFactory(final String namePrefix) {
+    return new ThreadFactory() {
+      private final AtomicInteger counter = new AtomicInteger();
+
       @Override
-      public void run() {
-        for (;;) {
-          Socket s = null;
-          try {
-            latch.countDown();
-            s = serverSocket.accept();
-            s.setKeepAlive(SocketCreator.ENABLE_TCP_KEEP_ALIVE);
-            handleNewClient(s);
-          } catch (ClosedByInterruptException e) {
-            try {
-              serverSocket.close();
-            } catch (IOException e1) {
-              e1.printStackTrace();
-            }
-            break;
-          } catch (IOException e) {
-            e.printStackTrace();
-            break;
-          }
-        }
+      public Thread newThread(Runnable r) {
+        Thread t = new Thread(r);
+        t.setName(namePrefix + counter.incrementAndGet());
+        t.setDaemon(true);
+        return t;
       }
-    }, "AcceptorThread");
-    acceptor.setDaemon(true);
-    acceptor.start();
-    latch.await();
-    logger.config("GemFireMemcachedServer server started on host:" + SocketCreator.getLocalHost()
-        + " port: " + this.serverPort);
+    };
   }
 
   private InetAddress getBindAddress() throws UnknownHostException {
@@ -225,19 +257,21 @@ public class GemFireMemcachedServer {
     return system.getConfig().getSocketBufferSize();
   }
 
-  private void handleNewClient(Socket s) {
-    ConnectionHandler connHandler = new ConnectionHandler(s, cache, protocol);
-    executor.execute(connHandler);
-  }
-
   /**
    * shuts down this server and closes the embedded GemFire caching node
    */
   public void shutdown() {
-    if (acceptor != null) {
-      this.acceptor.interrupt();
+    if (serverChannel != null) {
+      serverChannel.close().syncUninterruptibly();
+      // close the client connections while their handlers can still run
+      clientChannels.close().syncUninterruptibly();
+      workerGroup.shutdownGracefully(0, SHUTDOWN_TIMEOUT, TimeUnit.SECONDS).syncUninterruptibly();
+      Future<?> boss = bossGroup.shutdownGracefully(0, SHUTDOWN_TIMEOUT, TimeUnit.SECONDS);
+      Future<?> io = ioGroup.shutdownGracefully(0, SHUTDOWN_TIMEOUT, TimeUnit.SECONDS);
+      boss.syncUninterruptibly();
+      io.syncUninterruptibly();
+      fanOutExecutor.shutdownNow();
     }
-    this.executor.shutdownNow();
     this.cache.close();
   }
 
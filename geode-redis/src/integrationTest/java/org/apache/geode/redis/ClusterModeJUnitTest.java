@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.redis;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.contrib.java.lang.system.RestoreSystemProperties;
+import org.junit.experimental.categories.Category;
+import redis.clients.jedis.Jedis;
+
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.GemFireCache;
+import org.apache.geode.internal.AvailablePortHelper;
+import org.apache.geode.test.junit.categories.RedisTest;
+
+@Category({RedisTest.class})
+public class ClusterModeJUnitTest {
+
+  @ClassRule
+  public static RestoreSystemProperties restoreSystemProperties = new RestoreSystemProperties();
+
+  private static Jedis jedis;
+  private static GeodeRedisServer server;
+  private static GemFireCache cache;
+
+  @BeforeClass
+  public static void setUp() {
+    System.setProperty(GeodeRedisServer.CLUSTER_MODE_SYS_PROP_NAME, "true");
+    CacheFactory cf = new CacheFactory();
+    cf.set(LOG_LEVEL, "error");
+    cf.set(MCAST_PORT, "0");
+    cf.set(LOCATORS, "");
+    cache = cf.create();
+    int port = AvailablePortHelper.getRandomAvailableTCPPort();
+    server = new GeodeRedisServer("localhost", port);
+    server.start();
+    jedis = new Jedis("localhost", port, 10000000);
+  }
+
+  @Test
+  public void clusterSlotsCoverAllSlotsWithThisServer() {
+    jedis.set("{user}.name", "value");
+
+    List<Object> slots = jedis.clusterSlots();
+
+    assertThat(slots).hasSize(1);
+    List<?> range = (List<?>) slots.get(0);
+    assertThat(range.get(0)).isEqualTo(0L);
+    assertThat(range.get(1)).isEqualTo(16383L);
+    List<?> node = (List<?>) range.get(2);
+    assertThat(node.get(1)).isEqualTo((long) jedis.getClient().getPort());
+    assertThat(jedis.clusterNodes()).startsWith(new String((byte[]) node.get(2)));
+  }
+
+  @Test
+  public void clusterNodesListsThisServer() {
+    String nodes = jedis.clusterNodes();
+
+    assertThat(nodes.split("\n")).hasSize(1);
+    assertThat(nodes.split(" ")[0]).hasSize(40);
+    assertThat(nodes).contains("myself,master").contains(" 0-16383");
+  }
+
+  @Test
+  public void keySlotAndLocalCommands() {
+    assertThat(jedis.clusterKeySlot("foo")).isEqualTo(12182L);
+    assertThat(jedis.clusterKeySlot("{foo}bar")).isEqualTo(12182L);
+    assertThat(jedis.clusterInfo()).contains("cluster_state:ok");
+
+    jedis.set("foo", "bar");
+    jedis.hset("{foo}hash", "field", "value");
+    assertThat(jedis.get("foo")).isEqualTo("bar");
+    assertThat(jedis.hget("{foo}hash", "field")).isEqualTo("value");
+  }
+
+  @AfterClass
+  public static void tearDown() {
+    jedis.close();
+    cache.close();
+    server.shutdown();
+  }
+}
@@ -407,6 +407,17 @@ public class GeoJUnitTest {
     assertTrue(ex.getMessage().contains("could not decode requested zset member"));
   }
 
+  @Test
+  public void testDelRemovesGeoAndSortedSetMembers() {
+    jedis.geoadd("Sicily", 13.361389, 38.115556, "Palermo");
+    jedis.zadd("Sicily", 1.0, "Catania");
+
+    assertEquals(Long.valueOf(1), jedis.del("Sicily"));
+
+    assertNull(cache.getRegion("Sicily"));
+    assertEquals(Long.valueOf(0), jedis.zcard("Sicily"));
+  }
+
   @After
   public void flushAll() {
     jedis.flushAll();
@@ -25,6 +25,7 @@ import static org.junit.Assert.assertTrue;
 import java.io.IOException;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -228,6 +229,7 @@ public class SortedSetsJUnitTest {
     }
   }
 
+  @Test
   public void testZRevRangeByScore() {
     Double min;
     Double max;
@@ -255,10 +257,46 @@ public class SortedSetsJUnitTest {
       Collections.sort(expected, new EntryRevCmp());
 
       assertEquals(expected, resultList);
+
+      results = jedis.zrevrangeByScoreWithScores(key, max, min, 3, 10);
+      resultList = new ArrayList<Entry<String, Double>>();
+      for (Tuple t : results)
+        resultList.add(new AbstractMap.SimpleEntry<String, Double>(t.getElement(), t.getScore()));
+
+      assertEquals(expected.subList(Math.min(3, expected.size()),
+          Math.min(13, expected.size())), resultList);
       jedis.del(key);
     }
   }
 
+  @Test
+  public void testZRevRangeByScoreWithExclusiveBoundsAndLimit() {
+    String key = randString();
+    Map<String, Double> scoreMembers = new HashMap<String, Double>();
+    for (int i = 1; i <= 5; i++) {
+      scoreMembers.put("m" + i, (double) i);
+    }
+    jedis.zadd(key, scoreMembers);
+
+    assertEquals(Arrays.asList("m5", "m4", "m3", "m2", "m1"),
+        new ArrayList<String>(jedis.zrevrangeByScore(key, "5", "1")));
+    assertEquals(Arrays.asList("m4", "m3", "m2"),
+        new ArrayList<String>(jedis.zrevrangeByScore(key, "(5", "(1")));
+    assertEquals(Arrays.asList("m4", "m3"),
+        new ArrayList<String>(jedis.zrevrangeByScore(key, "(5", "1", 0, 2)));
+    assertEquals(Arrays.asList("m3", "m2"),
+        new ArrayList<String>(jedis.zrevrangeByScore(key, "5", "(1", 2, 5)));
+
+    List<Entry<String, Double>> resultList = new ArrayList<Entry<String, Double>>();
+    for (Tuple t : jedis.zrevrangeByScoreWithScores(key, "(4", "2", 1, 5))
+      resultList.add(new AbstractMap.SimpleEntry<String, Double>(t.getElement(), t.getScore()));
+    assertEquals(Collections.singletonList(new AbstractMap.SimpleEntry<String, Double>("m2", 2.0)),
+        resultList);
+
+    assertTrue(jedis.zrevrangeByScore(key, "1", "5").isEmpty());
+    jedis.del(key);
+  }
+
   @Test
   public void testZRemZScore() {
     Double min;
@@ -35,6 +35,8 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.exceptions.JedisDataException;
 
 import org.apache.geode.cache.CacheFactory;
 import org.apache.geode.cache.GemFireCache;
@@ -294,6 +296,34 @@ public class StringsJunitTest {
     assertNull(result);
   }
 
+  @Test
+  public void testPipelinedSets() {
+    String hashKey = randString();
+    jedis.hset(hashKey, "field", "value");
+    String key1 = randString();
+    String key2 = randString();
+
+    Pipeline p = jedis.pipelined();
+    p.set(key1, "a");
+    p.set(key2, "b");
+    p.set(hashKey, "c");
+    p.set(key1, "d");
+    p.get(key1);
+    p.set(key2, "e");
+    p.get(key2);
+    List<Object> results = p.syncAndReturnAll();
+
+    assertEquals(7, results.size());
+    assertEquals("OK", results.get(0));
+    assertEquals("OK", results.get(1));
+    assertTrue(results.get(2) instanceof JedisDataException);
+    assertEquals("OK", results.get(3));
+    assertEquals("d", results.get(4));
+    assertEquals("OK", results.get(5));
+    assertEquals("e", results.get(6));
+    assertEquals("value", jedis.hget(hashKey, "field"));
+  }
+
   private String randString() {
     return Long.toHexString(Double.doubleToLongBits(Math.random()));
   }
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.redis;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.internal.AvailablePort;
+
+/**
+ * Compares SET throughput of a client sending one command per round trip against a client
+ * pipelining {@link #PIPELINE_SIZE} commands per round trip, which the server executes as one
+ * batch.
+ */
+@State(Scope.Thread)
+@Fork(1)
+public class PipelinedSetBenchmark {
+  private static final int PIPELINE_SIZE = 100;
+  private static final int KEYS = 10_000;
+
+  private Cache cache;
+  private GeodeRedisServer server;
+  private Jedis jedis;
+  private int counter;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    cache = new CacheFactory().set(LOG_LEVEL, "warn").set(MCAST_PORT, "0").set(LOCATORS, "")
+        .create();
+    int port = AvailablePort.getRandomAvailablePort(AvailablePort.SOCKET);
+    server = new GeodeRedisServer("localhost", port);
+    server.start();
+    jedis = new Jedis("localhost", port, 100000);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    jedis.close();
+    server.shutdown();
+    cache.close();
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  @OperationsPerInvocation(PIPELINE_SIZE)
+  public void sequentialSets() {
+    for (int i = 0; i < PIPELINE_SIZE; i++) {
+      jedis.set(nextKey(), "value");
+    }
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  @OperationsPerInvocation(PIPELINE_SIZE)
+  public List<Object> pipelinedSets() {
+    Pipeline pipeline = jedis.pipelined();
+    for (int i = 0; i < PIPELINE_SIZE; i++) {
+      pipeline.set(nextKey(), "value");
+    }
+    return pipeline.syncAndReturnAll();
+  }
+
+  private String nextKey() {
+    counter = (counter + 1) % KEYS;
+    return "key" + counter;
+  }
+}
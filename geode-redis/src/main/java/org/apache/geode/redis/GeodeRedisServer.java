@@ -55,6 +55,7 @@ import org.apache.geode.cache.Cache;
 import org.apache.geode.cache.CacheFactory;
 import org.apache.geode.cache.DataPolicy;
 import org.apache.geode.cache.EntryEvent;
+import org.apache.geode.cache.PartitionAttributesFactory;
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.RegionDestroyedException;
 import org.apache.geode.cache.RegionFactory;
@@ -68,10 +69,16 @@ import org.apache.geode.internal.hll.HyperLogLogPlus;
 import org.apache.geode.internal.net.SocketCreator;
 import org.apache.geode.redis.internal.ByteArrayWrapper;
 import org.apache.geode.redis.internal.ByteToCommandDecoder;
+import org.apache.geode.redis.internal.ClusterTopology;
 import org.apache.geode.redis.internal.Coder;
 import org.apache.geode.redis.internal.ExecutionHandlerContext;
 import org.apache.geode.redis.internal.RedisDataType;
+import org.apache.geode.redis.internal.RedisHash;
+import org.apache.geode.redis.internal.RedisList;
+import org.apache.geode.redis.internal.RedisSet;
+import org.apache.geode.redis.internal.RedisSortedSet;
 import org.apache.geode.redis.internal.RegionProvider;
+import org.apache.geode.redis.internal.SlotPartitionResolver;
 
 /**
  * The GeodeRedisServer is a server that understands the Redis protocol. As commands are sent to the
@@ -90,6 +97,12 @@ import org.apache.geode.redis.internal.RegionProvider;
  * size is used or a default size of 4 * {@link Runtime#availableProcessors()} if the property is
  * not set.
  * <p>
+ * If the {@link GeodeRedisServer#CLUSTER_MODE_SYS_PROP_NAME} system property is set to true and the
+ * Region type is partitioned, the servers present themselves to clients as the nodes of a Redis
+ * Cluster. Keys are placed into buckets by their Redis hash slot, CLUSTER SLOTS and CLUSTER NODES
+ * describe which server holds the primary of each slot, and a command sent to a server that does
+ * not hold the primary of its key is answered with a MOVED redirect.
+ * <p>
  * Setting the AUTH password requires setting the property "redis-password" just as "redis-port"
  * would be in xml or through GFSH.
  * <p>
@@ -118,7 +131,7 @@ import org.apache.geode.redis.internal.RegionProvider;
  * <p>
  * Supported Transaction commands - DISCARD, EXEC, MULTI
  * <P>
- * Supported Server commands - AUTH, ECHO, PING, TIME, QUIT
+ * Supported Server commands - AUTH, CLUSTER, ECHO, PING, TIME, QUIT
  * <p>
  * <p>
  * The command executors are not explicitly documented but the functionality can be found at
@@ -209,6 +222,16 @@ public class GeodeRedisServer {
 
   private final MetaCacheListener metaListener;
 
+  /**
+   * True if the server presents itself as a node of a Redis Cluster
+   */
+  private final boolean clusterMode;
+
+  /**
+   * Redis Cluster view of the servers, null unless in cluster mode
+   */
+  private ClusterTopology clusterTopology;
+
   private EventLoopGroup bossGroup;
   private EventLoopGroup workerGroup;
   private static final int numExpirationThreads = 1;
@@ -232,12 +255,43 @@ public class GeodeRedisServer {
    */
   public static final String HLL_REGION = "ReDiS_HlL";
 
+  /**
+   * The field that defines the name of the {@link Region} which holds all of the sorted sets. The
+   * current value of this field is {@code SORTED_SET_REGION}.
+   */
+  public static final String SORTED_SET_REGION = "ReDiS_SoRtEdSeTs";
+
+  /**
+   * The field that defines the name of the {@link Region} which holds all of the hashes. The
+   * current value of this field is {@code HASH_REGION}.
+   */
+  public static final String HASH_REGION = "ReDiS_HaShEs";
+
+  /**
+   * The field that defines the name of the {@link Region} which holds all of the sets. The current
+   * value of this field is {@code SET_REGION}.
+   */
+  public static final String SET_REGION = "ReDiS_SeTs";
+
+  /**
+   * The field that defines the name of the {@link Region} which holds all of the lists. The current
+   * value of this field is {@code LIST_REGION}.
+   */
+  public static final String LIST_REGION = "ReDiS_LiStS";
+
   /**
    * The field that defines the name of the {@link Region} which holds all of the Redis meta data.
    * The current value of this field is {@code REDIS_META_DATA_REGION}.
    */
   public static final String REDIS_META_DATA_REGION = "ReDiS_MeTa_DaTa";
 
+  /**
+   * The field that defines the name of the {@link Region} which holds the Redis address of every
+   * server running in cluster mode. The current value of this field is
+   * {@code CLUSTER_NODES_REGION}.
+   */
+  public static final String CLUSTER_NODES_REGION = "ReDiS_ClUsTeR_NoDeS";
+
   /**
    * The system property name used to set the default {@link Region} creation type. The property
    * name is {@code DEFAULT_REGION_SYS_PROP_NAME} and the acceptable values are types defined by
@@ -251,6 +305,12 @@ public class GeodeRedisServer {
    */
   public static final String NUM_THREADS_SYS_PROP_NAME = "gemfireredis.numthreads";
 
+  /**
+   * System property name that can be set to true to make the GeodeRedisServer act as a node of a
+   * Redis Cluster
+   */
+  public static final String CLUSTER_MODE_SYS_PROP_NAME = "gemfireredis.clustermode";
+
   /**
    * The actual {@link RegionShortcut} type specified by the system property
    * {@value #DEFAULT_REGION_SYS_PROP_NAME}.
@@ -355,6 +415,8 @@ public class GeodeRedisServer {
 
         });
     this.DEFAULT_REGION_TYPE = setRegionType();
+    this.clusterMode =
+        Boolean.getBoolean(CLUSTER_MODE_SYS_PROP_NAME) && this.DEFAULT_REGION_TYPE.isPartition();
     this.shutdown = false;
     this.started = false;
   }
@@ -377,7 +439,10 @@ public class GeodeRedisServer {
       try {
         startGemFire();
         initializeRedis();
+        initializeCluster();
         startRedisServer();
+        if (this.clusterTopology != null)
+          this.clusterTopology.register();
       } catch (IOException e) {
         throw new RuntimeException("Could not start Server", e);
       } catch (InterruptedException e) {
@@ -414,19 +479,43 @@ public class GeodeRedisServer {
       Region<ByteArrayWrapper, ByteArrayWrapper> stringsRegion;
 
       Region<ByteArrayWrapper, HyperLogLogPlus> hLLRegion;
+      Region<ByteArrayWrapper, RedisSortedSet> sortedSetRegion;
+      Region<ByteArrayWrapper, RedisHash> hashRegion;
+      Region<ByteArrayWrapper, RedisSet> setRegion;
+      Region<ByteArrayWrapper, RedisList> listRegion;
       Region<String, RedisDataType> redisMetaData;
       InternalCache gemFireCache = (InternalCache) cache;
       try {
         if ((stringsRegion = cache.getRegion(STRING_REGION)) == null) {
           RegionFactory<ByteArrayWrapper, ByteArrayWrapper> regionFactory =
-              gemFireCache.createRegionFactory(this.DEFAULT_REGION_TYPE);
+              createRegionFactory(gemFireCache, false);
           stringsRegion = regionFactory.create(STRING_REGION);
         }
         if ((hLLRegion = cache.getRegion(HLL_REGION)) == null) {
           RegionFactory<ByteArrayWrapper, HyperLogLogPlus> regionFactory =
-              gemFireCache.createRegionFactory(this.DEFAULT_REGION_TYPE);
+              createRegionFactory(gemFireCache, true);
           hLLRegion = regionFactory.create(HLL_REGION);
         }
+        if ((sortedSetRegion = cache.getRegion(SORTED_SET_REGION)) == null) {
+          RegionFactory<ByteArrayWrapper, RedisSortedSet> regionFactory =
+              createRegionFactory(gemFireCache, true);
+          sortedSetRegion = regionFactory.create(SORTED_SET_REGION);
+        }
+        if ((hashRegion = cache.getRegion(HASH_REGION)) == null) {
+          RegionFactory<ByteArrayWrapper, RedisHash> regionFactory =
+              createRegionFactory(gemFireCache, true);
+          hashRegion = regionFactory.create(HASH_REGION);
+        }
+        if ((setRegion = cache.getRegion(SET_REGION)) == null) {
+          RegionFactory<ByteArrayWrapper, RedisSet> regionFactory =
+              createRegionFactory(gemFireCache, true);
+          setRegion = regionFactory.create(SET_REGION);
+        }
+        if ((listRegion = cache.getRegion(LIST_REGION)) == null) {
+          RegionFactory<ByteArrayWrapper, RedisList> regionFactory =
+              createRegionFactory(gemFireCache, true);
+          listRegion = regionFactory.create(LIST_REGION);
+        }
         if ((redisMetaData = cache.getRegion(REDIS_META_DATA_REGION)) == null) {
           AttributesFactory af = new AttributesFactory();
           af.addCacheListener(metaListener);
@@ -435,6 +524,13 @@ public class GeodeRedisServer {
               new InternalRegionArguments().setInternalRegion(true).setIsUsedForMetaRegion(true);
           redisMetaData = gemFireCache.createVMRegion(REDIS_META_DATA_REGION, af.create(), ira);
         }
+        if (this.clusterMode && cache.getRegion(CLUSTER_NODES_REGION) == null) {
+          AttributesFactory af = new AttributesFactory();
+          af.setDataPolicy(DataPolicy.REPLICATE);
+          InternalRegionArguments ira =
+              new InternalRegionArguments().setInternalRegion(true).setIsUsedForMetaRegion(true);
+          gemFireCache.createVMRegion(CLUSTER_NODES_REGION, af.create(), ira);
+        }
       } catch (IOException | ClassNotFoundException e) {
         // only if loading snapshot, not here
         InternalGemFireError assErr = new InternalGemFireError(
@@ -442,15 +538,52 @@ public class GeodeRedisServer {
         assErr.initCause(e);
         throw assErr;
       }
-      this.regionCache = new RegionProvider(stringsRegion, hLLRegion, redisMetaData,
-          expirationFutures, expirationExecutor, this.DEFAULT_REGION_TYPE);
+      this.regionCache =
+          new RegionProvider(stringsRegion, hLLRegion, sortedSetRegion, hashRegion, setRegion,
+              listRegion, redisMetaData,
+              expirationFutures, expirationExecutor, this.DEFAULT_REGION_TYPE);
       redisMetaData.put(REDIS_META_DATA_REGION, RedisDataType.REDIS_PROTECTED);
       redisMetaData.put(HLL_REGION, RedisDataType.REDIS_PROTECTED);
+      redisMetaData.put(SORTED_SET_REGION, RedisDataType.REDIS_PROTECTED);
+      redisMetaData.put(HASH_REGION, RedisDataType.REDIS_PROTECTED);
+      redisMetaData.put(SET_REGION, RedisDataType.REDIS_PROTECTED);
+      redisMetaData.put(LIST_REGION, RedisDataType.REDIS_PROTECTED);
       redisMetaData.put(STRING_REGION, RedisDataType.REDIS_PROTECTED);
+      if (this.clusterMode)
+        redisMetaData.put(CLUSTER_NODES_REGION, RedisDataType.REDIS_PROTECTED);
     }
     checkForRegions();
   }
 
+  /**
+   * Creates the factory of a Redis data region. In cluster mode keys are placed by their Redis
+   * hash slot and all data regions are colocated with the strings region, so that the owner of a
+   * slot is the same for every data type.
+   */
+  private <V> RegionFactory<ByteArrayWrapper, V> createRegionFactory(InternalCache gemFireCache,
+      boolean colocated) {
+    RegionFactory<ByteArrayWrapper, V> regionFactory =
+        gemFireCache.createRegionFactory(this.DEFAULT_REGION_TYPE);
+    if (this.clusterMode) {
+      PartitionAttributesFactory<ByteArrayWrapper, V> paf =
+          new PartitionAttributesFactory<ByteArrayWrapper, V>();
+      paf.setPartitionResolver(new SlotPartitionResolver<V>());
+      if (colocated)
+        paf.setColocatedWith(STRING_REGION);
+      regionFactory.setPartitionAttributes(paf.create());
+    }
+    return regionFactory;
+  }
+
+  private void initializeCluster() throws UnknownHostException {
+    if (!this.clusterMode)
+      return;
+    Region<ByteArrayWrapper, ByteArrayWrapper> stringsRegion = cache.getRegion(STRING_REGION);
+    Region<String, String> nodesRegion = cache.getRegion(CLUSTER_NODES_REGION);
+    this.clusterTopology = new ClusterTopology((InternalCache) cache, stringsRegion, nodesRegion,
+        getBindAddress().getHostAddress(), serverPort);
+  }
+
   private void checkForRegions() {
     Collection<Entry<String, RedisDataType>> entrySet = this.regionCache.metaEntrySet();
     for (Entry<String, RedisDataType> entry : entrySet) {
@@ -524,7 +657,8 @@ public class GeodeRedisServer {
             ChannelPipeline p = ch.pipeline();
             p.addLast(ByteToCommandDecoder.class.getSimpleName(), new ByteToCommandDecoder());
             p.addLast(ExecutionHandlerContext.class.getSimpleName(),
-                new ExecutionHandlerContext(ch, cache, regionCache, GeodeRedisServer.this, pwdB));
+                new ExecutionHandlerContext(ch, cache, regionCache, GeodeRedisServer.this, pwdB,
+                    clusterTopology));
           }
         }).option(ChannelOption.SO_REUSEADDR, true).option(ChannelOption.SO_RCVBUF, getBufferSize())
         .childOption(ChannelOption.SO_KEEPALIVE, true)
@@ -547,8 +681,8 @@ public class GeodeRedisServer {
 
   /**
    * Takes an entry event and processes it. If the entry denotes that a
-   * {@link RedisDataType#REDIS_LIST} or {@link RedisDataType#REDIS_SORTEDSET} was created then this
-   * function will call the necessary calls to create the parameterized queries for those keys.
+   * {@link RedisDataType#REDIS_SORTEDSET} was created then this function will call the necessary
+   * calls to create the parameterized queries for that key.
    *
    * @param event EntryEvent from meta data region
    */
@@ -622,6 +756,8 @@ public class GeodeRedisServer {
       this.serverChannel.close();
       c.syncUninterruptibly();
       c2.syncUninterruptibly();
+      if (this.clusterTopology != null)
+        this.clusterTopology.unregister();
       this.regionCache.close();
       if (mainThread != null)
         mainThread.interrupt();
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.redis.internal;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.geode.cache.CacheClosedException;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionDestroyedException;
+import org.apache.geode.distributed.DistributedMember;
+import org.apache.geode.distributed.internal.membership.InternalDistributedMember;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.internal.cache.PartitionedRegion;
+
+/**
+ * Presents the members running a {@link org.apache.geode.redis.GeodeRedisServer} as the nodes of a
+ * Redis Cluster. The Redis data regions are partitioned with a {@link SlotPartitionResolver} and
+ * colocated, so the primary of a bucket is the natural owner of the hash slots mapped to it. Every
+ * server registers its Redis address in a replicated region so that any member can redirect a
+ * client to the one holding the primary of a slot.
+ * <p>
+ * Any member can still serve any key, a redirect only saves the hop to the primary. Slots whose
+ * bucket has no primary yet are therefore served by whichever member the client asked.
+ */
+public class ClusterTopology {
+
+  private final InternalCache cache;
+
+  /**
+   * The region all other Redis data regions are colocated with
+   */
+  private final PartitionedRegion slotRegion;
+
+  /**
+   * Node id to "host:port" of every registered server
+   */
+  private final Region<String, String> nodesRegion;
+
+  private final InternalDistributedMember localMember;
+
+  private final String localNodeId;
+
+  private final String localHost;
+
+  private final int localPort;
+
+  public ClusterTopology(InternalCache cache, Region<?, ?> slotRegion,
+      Region<String, String> nodesRegion, String host, int port) {
+    if (!(slotRegion instanceof PartitionedRegion))
+      throw new IllegalArgumentException("Cluster mode requires partitioned regions");
+    this.cache = cache;
+    this.slotRegion = (PartitionedRegion) slotRegion;
+    this.nodesRegion = nodesRegion;
+    this.localMember = cache.getMyId();
+    this.localNodeId = getNodeId(this.localMember);
+    this.localHost = host;
+    this.localPort = port;
+  }
+
+  /**
+   * Advertises the address of this server to the other members
+   */
+  public void register() {
+    this.nodesRegion.put(this.localNodeId, this.localHost + ":" + this.localPort);
+  }
+
+  public void unregister() {
+    try {
+      this.nodesRegion.remove(this.localNodeId);
+    } catch (CacheClosedException | RegionDestroyedException ignore) {
+      // The member is leaving anyway
+    }
+  }
+
+  /**
+   * @param slot Hash slot of the key a command operates on
+   * @return The "host:port" address of the server holding the primary of the slot, or null if the
+   *         command should be executed by this server
+   */
+  public String getRedirect(int slot) {
+    int bucketId = SlotPartitionResolver.getBucketId(slot, getTotalBuckets());
+    InternalDistributedMember primary = getPrimary(bucketId);
+    if (primary == null || primary.equals(this.localMember))
+      return null;
+    return this.nodesRegion.get(getNodeId(primary));
+  }
+
+  /**
+   * @return The slot ranges in the format of a CLUSTER SLOTS response, each element holding the
+   *         first slot, the last slot and the host, port and node id of the owning server
+   */
+  public List<List<Object>> getSlots() {
+    List<List<Object>> slots = new ArrayList<List<Object>>();
+    Map<String, String> addresses = getLiveNodes();
+    int totalBuckets = getTotalBuckets();
+    String rangeOwner = null;
+    int rangeStart = 0;
+    for (int bucketId = 0; bucketId < totalBuckets; bucketId++) {
+      String owner = getOwnerNodeId(bucketId, addresses);
+      if (rangeOwner != null && !owner.equals(rangeOwner)) {
+        int rangeEnd = SlotPartitionResolver.getFirstSlot(bucketId, totalBuckets) - 1;
+        slots.add(getSlotRange(rangeStart, rangeEnd, rangeOwner, addresses));
+        rangeStart = rangeEnd + 1;
+      }
+      rangeOwner = owner;
+    }
+    slots.add(getSlotRange(rangeStart, SlotPartitionResolver.SLOTS - 1, rangeOwner, addresses));
+    return slots;
+  }
+
+  /**
+   * @return The description of the nodes in the format of a CLUSTER NODES response
+   */
+  public String getNodes() {
+    Map<String, String> addresses = getLiveNodes();
+    Map<String, StringBuilder> nodeSlots = new HashMap<String, StringBuilder>();
+    for (List<Object> range : getSlots()) {
+      String nodeId = (String) ((List<?>) range.get(2)).get(2);
+      StringBuilder builder = nodeSlots.get(nodeId);
+      if (builder == null) {
+        builder = new StringBuilder();
+        nodeSlots.put(nodeId, builder);
+      }
+      builder.append(' ').append(range.get(0)).append('-').append(range.get(1));
+    }
+
+    StringBuilder nodes = new StringBuilder();
+    for (Map.Entry<String, String> node : addresses.entrySet()) {
+      String nodeId = node.getKey();
+      String address = node.getValue();
+      String port = address.substring(address.lastIndexOf(':') + 1);
+      nodes.append(nodeId).append(' ').append(address).append('@').append(port);
+      nodes.append(nodeId.equals(this.localNodeId) ? " myself,master" : " master");
+      nodes.append(" - 0 0 0 connected");
+      StringBuilder slots = nodeSlots.get(nodeId);
+      if (slots != null)
+        nodes.append(slots);
+      nodes.append('\n');
+    }
+    return nodes.toString();
+  }
+
+  public String getLocalNodeId() {
+    return this.localNodeId;
+  }
+
+  /**
+   * @return The number of servers currently registered and alive
+   */
+  public int getNodeCount() {
+    return getLiveNodes().size();
+  }
+
+  private List<Object> getSlotRange(int first, int last, String nodeId,
+      Map<String, String> addresses) {
+    String address = addresses.get(nodeId);
+    int separator = address.lastIndexOf(':');
+    List<Object> node = Arrays.<Object>asList(address.substring(0, separator),
+        Long.valueOf(address.substring(separator + 1)), nodeId);
+    return Arrays.<Object>asList(Long.valueOf(first), Long.valueOf(last), node);
+  }
+
+  private String getOwnerNodeId(int bucketId, Map<String, String> addresses) {
+    InternalDistributedMember primary = getPrimary(bucketId);
+    if (primary != null) {
+      String nodeId = getNodeId(primary);
+      if (addresses.containsKey(nodeId))
+        return nodeId;
+    }
+    return this.localNodeId;
+  }
+
+  private Map<String, String> getLiveNodes() {
+    Set<InternalDistributedMember> members = this.cache.getDistributionManager()
+        .getDistributionManagerIds();
+    Map<String, String> nodes = new HashMap<String, String>();
+    for (InternalDistributedMember member : members) {
+      String nodeId = getNodeId(member);
+      String address = this.nodesRegion.get(nodeId);
+      if (address != null)
+        nodes.put(nodeId, address);
+    }
+    nodes.put(this.localNodeId, this.localHost + ":" + this.localPort);
+    return nodes;
+  }
+
+  private InternalDistributedMember getPrimary(int bucketId) {
+    return this.slotRegion.getRegionAdvisor().getBucketAdvisor(bucketId).basicGetPrimaryMember();
+  }
+
+  private int getTotalBuckets() {
+    return this.slotRegion.getTotalNumberOfBuckets();
+  }
+
+  /**
+   * @return A 40 character hexadecimal id, as Redis uses for its nodes, derived from the member id
+   */
+  static String getNodeId(DistributedMember member) {
+    byte[] digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-1").digest(Coder.stringToBytes(member.getUniqueId()));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    StringBuilder id = new StringBuilder(digest.length * 2);
+    for (byte b : digest) {
+      id.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return id.toString();
+  }
+}
@@ -92,6 +92,8 @@ public class Coder {
   public static final byte[] noAuth = stringToBytes("NOAUTH ");
   @MakeImmutable
   public static final byte[] wrongType = stringToBytes("WRONGTYPE ");
+  @MakeImmutable
+  public static final byte[] moved = stringToBytes("MOVED ");
 
   /**
    * The charset being used by this coder, {@value #CHARSET}.
@@ -179,6 +181,36 @@ public class Coder {
     return response;
   }
 
+  /**
+   * Same as {@link #getBulkStringArrayResponse(ByteBufAllocator, Collection)} except that
+   * {@link Integer} and {@link Long} items are written as integers
+   */
+  public static ByteBuf getArrayResponse(ByteBufAllocator alloc, Collection<?> items)
+      throws CoderException {
+    ByteBuf response = alloc.buffer();
+    response.writeByte(ARRAY_ID);
+    response.writeBytes(intToBytes(items.size()));
+    response.writeBytes(CRLFar);
+    for (Object next : items) {
+      ByteBuf tmp = null;
+      try {
+        if (next instanceof Collection)
+          tmp = getArrayResponse(alloc, (Collection<?>) next);
+        else if (next instanceof Integer || next instanceof Long)
+          tmp = getIntegerResponse(alloc, ((Number) next).longValue());
+        else
+          tmp = getBulkStringResponse(alloc, next);
+        response.writeBytes(tmp);
+      } finally {
+        if (tmp != null) {
+          tmp.release();
+        }
+      }
+    }
+
+    return response;
+  }
+
   public static ByteBuf getKeyValArrayResponse(ByteBufAllocator alloc,
       Collection<Entry<ByteArrayWrapper, ByteArrayWrapper>> items) {
     ByteBuf response = alloc.buffer();
@@ -299,6 +331,19 @@ public class Coder {
     return response;
   }
 
+  /**
+   * Redis Cluster redirection of a client to the node serving a hash slot
+   */
+  public static ByteBuf getMovedResponse(ByteBufAllocator alloc, int slot, String address) {
+    byte[] errorAr = stringToBytes(slot + " " + address);
+    ByteBuf response = alloc.buffer(errorAr.length + 27);
+    response.writeByte(ERROR_ID);
+    response.writeBytes(moved);
+    response.writeBytes(errorAr);
+    response.writeBytes(CRLFar);
+    return response;
+  }
+
   public static ByteBuf getIntegerResponse(ByteBufAllocator alloc, int integer) {
     ByteBuf response = alloc.buffer(15);
     response.writeByte(INTEGER_ID);
@@ -371,20 +416,8 @@ public class Coder {
     int size = 0;
 
     for (Object entry : list) {
-      ByteArrayWrapper key;
-      DoubleWrapper score;
-      if (entry instanceof Entry) {
-        try {
-          key = (ByteArrayWrapper) ((Entry<?, ?>) entry).getKey();
-          score = (DoubleWrapper) ((Entry<?, ?>) entry).getValue();
-        } catch (EntryDestroyedException e) {
-          continue;
-        }
-      } else {
-        Object[] fieldVals = ((Struct) entry).getFieldValues();
-        key = (ByteArrayWrapper) fieldVals[0];
-        score = (DoubleWrapper) fieldVals[1];
-      }
+      ByteArrayWrapper key = (ByteArrayWrapper) ((Entry<?, ?>) entry).getKey();
+      Double score = (Double) ((Entry<?, ?>) entry).getValue();
       byte[] byteAr = key.toBytes();
       tmp.writeByte(Coder.BULK_STRING_ID);
       tmp.writeBytes(intToBytes(byteAr.length));
@@ -393,7 +426,7 @@ public class Coder {
       tmp.writeBytes(Coder.CRLFar);
       size++;
       if (withScores) {
-        String scoreString = score.toString();
+        String scoreString = doubleToString(score);
         byte[] scoreAr = stringToBytes(scoreString);
         tmp.writeByte(Coder.BULK_STRING_ID);
         tmp.writeBytes(intToBytes(scoreString.length()));
@@ -15,6 +15,8 @@
 package org.apache.geode.redis.internal;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -38,6 +40,7 @@ import org.apache.geode.cache.UnsupportedOperationInTransactionException;
 import org.apache.geode.cache.query.QueryInvocationTargetException;
 import org.apache.geode.cache.query.RegionNotFoundException;
 import org.apache.geode.redis.GeodeRedisServer;
+import org.apache.geode.redis.internal.executor.string.SetExecutor;
 import org.apache.geode.redis.internal.executor.transactions.TransactionExecutor;
 
 /**
@@ -49,6 +52,11 @@ import org.apache.geode.redis.internal.executor.transactions.TransactionExecutor
  * Besides being part of Netty's pipeline, this class also serves as a context to the execution of a
  * command. It abstracts transactions, provides access to the {@link RegionProvider} and anything
  * else an executing {@link Command} may need.
+ * <p>
+ * Pipelined commands decoded from a single read are executed back to back and their responses are
+ * flushed once, in {@link #channelReadComplete(ChannelHandlerContext)}. Consecutive plain SET
+ * commands of a pipeline are grouped and stored with a single putAll, see
+ * {@link SetExecutor#executeBatch(List, ExecutionHandlerContext)}.
  *
  *
  */
@@ -58,6 +66,10 @@ public class ExecutionHandlerContext extends ChannelInboundHandlerAdapter {
   private static final int MAXIMUM_NUM_RETRIES = (1000 * 60) / WAIT_REGION_DSTRYD_MILLIS; // 60
                                                                                           // seconds
                                                                                           // total
+  /**
+   * Maximum number of pipelined SET commands grouped into a single putAll
+   */
+  private static final int MAX_BATCH_SIZE = 1000;
 
   private final Cache cache;
   private final GeodeRedisServer server;
@@ -67,6 +79,17 @@ public class ExecutionHandlerContext extends ChannelInboundHandlerAdapter {
   private final Runnable flusher;
   private final EventExecutor lastExecutor;
   private final ByteBufAllocator byteBufAllocator;
+
+  /**
+   * Pipelined SET commands waiting to be executed as one batch
+   */
+  private final List<Command> batchedSets;
+
+  /**
+   * True while commands of a read are being processed, responses are then flushed once the read
+   * completes instead of by the {@link #flusher}
+   */
+  private boolean readInProgress;
   /**
    * TransactionId for any transactions started by this client
    */
@@ -77,6 +100,11 @@ public class ExecutionHandlerContext extends ChannelInboundHandlerAdapter {
    */
   private Queue<Command> transactionQueue;
   private final RegionProvider regionProvider;
+
+  /**
+   * Redis Cluster view of the servers, null unless the server runs in cluster mode
+   */
+  private final ClusterTopology clusterTopology;
   private final byte[] authPwd;
 
   private boolean isAuthenticated;
@@ -90,9 +118,10 @@ public class ExecutionHandlerContext extends ChannelInboundHandlerAdapter {
    * @param server Instance of the server it is attached to, only used so that any execution can
    *        initiate a shutdwon
    * @param pwd Authentication password for each context, can be null
+   * @param clusterTopology Cluster view used to redirect clients, null if not in cluster mode
    */
   public ExecutionHandlerContext(Channel ch, Cache cache, RegionProvider regionProvider,
-      GeodeRedisServer server, byte[] pwd) {
+      GeodeRedisServer server, byte[] pwd, ClusterTopology clusterTopology) {
     if (ch == null || cache == null || regionProvider == null || server == null)
       throw new IllegalArgumentException("Only the authentication password may be null");
     this.cache = cache;
@@ -110,9 +139,12 @@ public class ExecutionHandlerContext extends ChannelInboundHandlerAdapter {
     };
     this.lastExecutor = channel.pipeline().lastContext().executor();
     this.byteBufAllocator = channel.alloc();
+    this.batchedSets = new ArrayList<Command>();
+    this.readInProgress = false;
     this.transactionID = null;
     this.transactionQueue = null; // Lazy
     this.regionProvider = regionProvider;
+    this.clusterTopology = clusterTopology;
     this.authPwd = pwd;
     this.isAuthenticated = pwd != null ? false : true;
   }
@@ -125,7 +157,7 @@ public class ExecutionHandlerContext extends ChannelInboundHandlerAdapter {
 
   private void writeToChannel(ByteBuf message) {
     channel.write(message, channel.voidPromise());
-    if (!needChannelFlush.getAndSet(true)) {
+    if (!needChannelFlush.getAndSet(true) && !readInProgress) {
       this.lastExecutor.execute(flusher);
     }
   }
@@ -135,10 +167,59 @@ public class ExecutionHandlerContext extends ChannelInboundHandlerAdapter {
    */
   @Override
   public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+    this.readInProgress = true;
     Command command = (Command) msg;
+    if (isAuthenticated && !hasTransaction() && SetExecutor.isBatchable(command)
+        && getRedirect(command) == null) {
+      batchedSets.add(command);
+      if (batchedSets.size() >= MAX_BATCH_SIZE)
+        executeBatchedSets(ctx);
+      return;
+    }
+    executeBatchedSets(ctx);
     executeCommand(ctx, command);
   }
 
+  /**
+   * Executes whatever is left of the current batch and flushes all responses of the read
+   */
+  @Override
+  public void channelReadComplete(ChannelHandlerContext ctx) {
+    executeBatchedSets(ctx);
+    this.readInProgress = false;
+    flushChannel();
+  }
+
+  private void executeBatchedSets(ChannelHandlerContext ctx) {
+    if (batchedSets.isEmpty())
+      return;
+    try {
+      if (batchedSets.size() == 1) {
+        executeCommand(ctx, batchedSets.get(0));
+        return;
+      }
+      SetExecutor exec = (SetExecutor) RedisCommandType.SET.getExecutor();
+      try {
+        exec.executeBatch(batchedSets, this);
+      } catch (Exception e) {
+        for (Command command : batchedSets) {
+          ByteBuf response = command.getResponse();
+          if (response != null)
+            response.release();
+          command.setResponse(null);
+          exceptionCaught(ctx, e);
+        }
+        return;
+      }
+      for (Command command : batchedSets)
+        writeToChannel(command.getResponse());
+    } catch (Exception e) {
+      exceptionCaught(ctx, e);
+    } finally {
+      batchedSets.clear();
+    }
+  }
+
   /**
    * Exception handler for the entire pipeline
    */
@@ -193,6 +274,12 @@ public class ExecutionHandlerContext extends ChannelInboundHandlerAdapter {
         this.server.shutdown();
         return;
       }
+      String redirect = getRedirect(command);
+      if (redirect != null) {
+        int slot = SlotPartitionResolver.getSlot(command.getProcessedCommand().get(1));
+        writeToChannel(Coder.getMovedResponse(this.byteBufAllocator, slot, redirect));
+        return;
+      }
       if (hasTransaction() && !(exec instanceof TransactionExecutor))
         executeWithTransaction(ctx, exec, command);
       else
@@ -220,6 +307,44 @@ public class ExecutionHandlerContext extends ChannelInboundHandlerAdapter {
     }
   }
 
+  /**
+   * In cluster mode, finds the server a client should have sent a command to. Only the first key of
+   * a command is considered, any server is able to execute the command so a redirect merely saves
+   * the hop to the primary of the key.
+   *
+   * @param command Command to route
+   * @return The "host:port" address of the server owning the slot of the command's key, or null if
+   *         the command should be executed here
+   */
+  private String getRedirect(Command command) {
+    if (clusterTopology == null || hasTransaction())
+      return null;
+    List<byte[]> commandElems = command.getProcessedCommand();
+    if (commandElems.size() < 2 || !isKeyCommand(command.getCommandType()))
+      return null;
+    return clusterTopology.getRedirect(SlotPartitionResolver.getSlot(commandElems.get(1)));
+  }
+
+  private static boolean isKeyCommand(RedisCommandType type) {
+    if (type.getDataType() != RedisDataType.NONE)
+      return true;
+    switch (type) {
+      case DEL:
+      case EXISTS:
+      case EXPIRE:
+      case EXPIREAT:
+      case PERSIST:
+      case PEXPIRE:
+      case PEXPIREAT:
+      case PTTL:
+      case TTL:
+      case TYPE:
+        return true;
+      default:
+        return false;
+    }
+  }
+
   /**
    * Private helper method to execute a command without a transaction, done for special exception
    * handling neatness
@@ -360,6 +485,15 @@ public class ExecutionHandlerContext extends ChannelInboundHandlerAdapter {
    * public Channel getChannel() { return this.channel; }
    */
 
+  /**
+   * Getter for the Redis Cluster view of the servers
+   *
+   * @return The cluster topology, null if the server does not run in cluster mode
+   */
+  public ClusterTopology getClusterTopology() {
+    return this.clusterTopology;
+  }
+
   /**
    * Get the authentication password, this will be same server wide. It is exposed here as opposed
    * to {@link GeodeRedisServer}.
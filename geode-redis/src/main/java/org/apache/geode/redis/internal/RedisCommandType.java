@@ -16,6 +16,7 @@
 package org.apache.geode.redis.internal;
 
 import org.apache.geode.redis.internal.executor.AuthExecutor;
+import org.apache.geode.redis.internal.executor.ClusterExecutor;
 import org.apache.geode.redis.internal.executor.DBSizeExecutor;
 import org.apache.geode.redis.internal.executor.DelExecutor;
 import org.apache.geode.redis.internal.executor.EchoExecutor;
@@ -2866,6 +2867,30 @@ public enum RedisCommandType {
     }
   },
 
+  /**
+   * CLUSTER SLOTS|NODES|INFO|MYID|KEYSLOT key
+   * <p>
+   * Describe the Redis Cluster formed by the servers, only supported in cluster mode
+   */
+  CLUSTER {
+    private Executor executor;
+
+    @Override
+    public Executor getExecutor() {
+      if (executor == null) {
+        executor = new ClusterExecutor();
+      }
+      return executor;
+    }
+
+    private final RedisDataType dataType = RedisDataType.NONE;
+
+    @Override
+    public RedisDataType getDataType() {
+      return this.dataType;
+    }
+  },
+
   /**
    * ECHO message
    * <p>
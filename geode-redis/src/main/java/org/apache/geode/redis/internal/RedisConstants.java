@@ -17,7 +17,7 @@ package org.apache.geode.redis.internal;
 
 public class RedisConstants {
 
-  public static final int NUM_DEFAULT_KEYS = 3;
+  public static final int NUM_DEFAULT_KEYS = 7;
 
   /*
    * Responses
@@ -62,6 +62,7 @@ public class RedisConstants {
   public static final String ERROR_INVALID_PWD =
       "Attemping to authenticate with an invalid password";
   public static final String ERROR_NOT_AUTH = "Must authenticate before sending any requests";
+  public static final String ERROR_CLUSTER_DISABLED = "This instance has cluster support disabled";
   public static final String ERROR_ZSET_MEMBER_NOT_FOUND = "could not decode requested zset member";
 
   public static class ArityDef {
@@ -72,6 +73,8 @@ public class RedisConstants {
     public static final int DBSIZE_ARITY = 0;
     public static final String AUTH =
         "The wrong number of arguments or syntax was provided, the format for the AUTH command is \"AUTH password\"";
+    public static final String CLUSTER =
+        "The wrong number of arguments or syntax was provided, the format for the CLUSTER command is \"CLUSTER SLOTS|NODES|INFO|MYID|KEYSLOT key\"";
     public static final String DBSIZE = null;
     public static final String DEL =
         "The wrong number of arguments or syntax was provided, the format for the DEL command is \"DEL key [key ...]\"";
@@ -153,7 +156,8 @@ public class RedisConstants {
      */
     public static final String LINDEX =
         "The wrong number of arguments or syntax was provided, the format for the LINDEX command is \"LINDEX key index";
-    public static final String LINSERT = null;
+    public static final String LINSERT =
+        "The wrong number of arguments or syntax was provided, the format for the LINSERT command is \"LINSERT key BEFORE|AFTER pivot value";
     public static final String LLEN =
         "The wrong number of arguments or syntax was provided, the format for the LLEN command is \"LLEN key";
     public static final String LPOP =
@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.redis.internal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.geode.DataSerializable;
+import org.apache.geode.DataSerializer;
+import org.apache.geode.Delta;
+import org.apache.geode.InvalidDeltaException;
+
+/**
+ * The value of a {@link RedisDataType#REDIS_HASH} key. The whole hash is stored as a single entry
+ * of the hash {@link org.apache.geode.cache.Region}.
+ *
+ * Like Redis, a small hash is kept as a {@link ZipList} of alternating fields and values and is
+ * converted to a {@link HashMap} once it holds more than {@link #MAX_ZIPLIST_ENTRIES} fields or a
+ * field or value longer than {@link #MAX_ZIPLIST_VALUE} bytes. Modifications are shipped as a
+ * {@link Delta} holding only the changed fields. Callers must invoke {@link #clearDelta()} once the
+ * modified hash has been put back into the region.
+ */
+public class RedisHash implements DataSerializable, Delta {
+
+  private static final long serialVersionUID = 3518372390458233406L;
+
+  static final int MAX_ZIPLIST_ENTRIES = 128;
+
+  static final int MAX_ZIPLIST_VALUE = 64;
+
+  /**
+   * Compact encoding, null once converted to {@link #map}
+   */
+  private transient ZipList zipList = new ZipList();
+
+  private transient HashMap<ByteArrayWrapper, ByteArrayWrapper> map;
+
+  /**
+   * Fields changed since the last {@link #clearDelta()}, a null value is a removal
+   */
+  private transient LinkedHashMap<ByteArrayWrapper, ByteArrayWrapper> deltas =
+      new LinkedHashMap<>();
+
+  /**
+   * Empty constructor for serialization
+   */
+  public RedisHash() {}
+
+  public synchronized int size() {
+    return this.zipList != null ? this.zipList.size() / 2 : this.map.size();
+  }
+
+  public synchronized boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * @return true if the hash is held in its compact encoding
+   */
+  synchronized boolean isCompact() {
+    return this.zipList != null;
+  }
+
+  public synchronized ByteArrayWrapper get(ByteArrayWrapper field) {
+    if (this.zipList != null) {
+      int index = this.zipList.indexOf(field, 0, 2);
+      return index < 0 ? null : this.zipList.get(index + 1);
+    }
+    return this.map.get(field);
+  }
+
+  public synchronized boolean containsKey(ByteArrayWrapper field) {
+    if (this.zipList != null) {
+      return this.zipList.indexOf(field, 0, 2) >= 0;
+    }
+    return this.map.containsKey(field);
+  }
+
+  /**
+   * @return the previous value of the field or null if the field is new
+   */
+  public synchronized ByteArrayWrapper put(ByteArrayWrapper field, ByteArrayWrapper value) {
+    this.deltas.put(field, value);
+    return doPut(field, value);
+  }
+
+  /**
+   * @return the existing value of the field, or null if the field was absent and has been set
+   */
+  public synchronized ByteArrayWrapper putIfAbsent(ByteArrayWrapper field,
+      ByteArrayWrapper value) {
+    ByteArrayWrapper existing = get(field);
+    if (existing == null) {
+      put(field, value);
+    }
+    return existing;
+  }
+
+  public synchronized void putAll(Map<ByteArrayWrapper, ByteArrayWrapper> fields) {
+    for (Entry<ByteArrayWrapper, ByteArrayWrapper> entry : fields.entrySet()) {
+      put(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /**
+   * @return the removed value or null if the field did not exist
+   */
+  public synchronized ByteArrayWrapper remove(ByteArrayWrapper field) {
+    ByteArrayWrapper oldValue = doRemove(field);
+    if (oldValue != null) {
+      this.deltas.put(field, null);
+    }
+    return oldValue;
+  }
+
+  private ByteArrayWrapper doPut(ByteArrayWrapper field, ByteArrayWrapper value) {
+    if (this.zipList != null) {
+      int index = this.zipList.indexOf(field, 0, 2);
+      if (index >= 0) {
+        ByteArrayWrapper oldValue = this.zipList.get(index + 1);
+        this.zipList.set(index + 1, value);
+        if (value.length() > MAX_ZIPLIST_VALUE) {
+          convertToMap();
+        }
+        return oldValue;
+      }
+      if (this.zipList.size() / 2 < MAX_ZIPLIST_ENTRIES && field.length() <= MAX_ZIPLIST_VALUE
+          && value.length() <= MAX_ZIPLIST_VALUE) {
+        this.zipList.add(field);
+        this.zipList.add(value);
+        return null;
+      }
+      convertToMap();
+    }
+    return this.map.put(field, value);
+  }
+
+  private ByteArrayWrapper doRemove(ByteArrayWrapper field) {
+    if (this.zipList != null) {
+      int index = this.zipList.indexOf(field, 0, 2);
+      if (index < 0) {
+        return null;
+      }
+      ByteArrayWrapper oldValue = this.zipList.get(index + 1);
+      this.zipList.removeRange(index, 2);
+      return oldValue;
+    }
+    return this.map.remove(field);
+  }
+
+  private void convertToMap() {
+    List<ByteArrayWrapper> elements = this.zipList.toList();
+    this.map = new HashMap<>(elements.size());
+    for (int i = 0; i < elements.size(); i += 2) {
+      this.map.put(elements.get(i), elements.get(i + 1));
+    }
+    this.zipList = null;
+  }
+
+  /**
+   * @return a copy of the field to value pairs
+   */
+  public synchronized List<Entry<ByteArrayWrapper, ByteArrayWrapper>> entries() {
+    List<Entry<ByteArrayWrapper, ByteArrayWrapper>> entries = new ArrayList<>(size());
+    if (this.zipList != null) {
+      List<ByteArrayWrapper> elements = this.zipList.toList();
+      for (int i = 0; i < elements.size(); i += 2) {
+        entries.add(new SimpleImmutableEntry<>(elements.get(i), elements.get(i + 1)));
+      }
+    } else {
+      for (Entry<ByteArrayWrapper, ByteArrayWrapper> entry : this.map.entrySet()) {
+        entries.add(new SimpleImmutableEntry<>(entry.getKey(), entry.getValue()));
+      }
+    }
+    return entries;
+  }
+
+  /**
+   * @return a copy of the fields
+   */
+  public synchronized List<ByteArrayWrapper> keys() {
+    return elements(0);
+  }
+
+  /**
+   * @return a copy of the values
+   */
+  public synchronized List<ByteArrayWrapper> values() {
+    return elements(1);
+  }
+
+  private List<ByteArrayWrapper> elements(int start) {
+    if (this.map != null) {
+      return new ArrayList<>(start == 0 ? this.map.keySet() : this.map.values());
+    }
+    List<ByteArrayWrapper> elements = this.zipList.toList();
+    List<ByteArrayWrapper> result = new ArrayList<>(elements.size() / 2);
+    for (int i = start; i < elements.size(); i += 2) {
+      result.add(elements.get(i));
+    }
+    return result;
+  }
+
+  public synchronized void clearDelta() {
+    this.deltas.clear();
+  }
+
+  @Override
+  public synchronized boolean hasDelta() {
+    return !this.deltas.isEmpty();
+  }
+
+  @Override
+  public synchronized void toDelta(DataOutput out) throws IOException {
+    out.writeInt(this.deltas.size());
+    for (Entry<ByteArrayWrapper, ByteArrayWrapper> delta : this.deltas.entrySet()) {
+      DataSerializer.writeByteArray(delta.getKey().toBytes(), out);
+      ByteArrayWrapper value = delta.getValue();
+      DataSerializer.writeByteArray(value == null ? null : value.toBytes(), out);
+    }
+  }
+
+  @Override
+  public synchronized void fromDelta(DataInput in) throws IOException, InvalidDeltaException {
+    int size = in.readInt();
+    for (int i = 0; i < size; i++) {
+      ByteArrayWrapper field = new ByteArrayWrapper(DataSerializer.readByteArray(in));
+      byte[] value = DataSerializer.readByteArray(in);
+      if (value == null) {
+        doRemove(field);
+      } else {
+        doPut(field, new ByteArrayWrapper(value));
+      }
+    }
+  }
+
+  @Override
+  public synchronized void toData(DataOutput out) throws IOException {
+    out.writeBoolean(this.zipList != null);
+    if (this.zipList != null) {
+      this.zipList.toData(out);
+      return;
+    }
+    out.writeInt(this.map.size());
+    for (Entry<ByteArrayWrapper, ByteArrayWrapper> entry : this.map.entrySet()) {
+      DataSerializer.writeByteArray(entry.getKey().toBytes(), out);
+      DataSerializer.writeByteArray(entry.getValue().toBytes(), out);
+    }
+  }
+
+  @Override
+  public synchronized void fromData(DataInput in) throws IOException, ClassNotFoundException {
+    if (in.readBoolean()) {
+      this.zipList = new ZipList();
+      this.zipList.fromData(in);
+      this.map = null;
+      return;
+    }
+    int size = in.readInt();
+    this.zipList = null;
+    this.map = new HashMap<>(Math.max(16, (int) (size / 0.75f) + 1));
+    for (int i = 0; i < size; i++) {
+      this.map.put(new ByteArrayWrapper(DataSerializer.readByteArray(in)),
+          new ByteArrayWrapper(DataSerializer.readByteArray(in)));
+    }
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "RedisHash" + entries();
+  }
+}
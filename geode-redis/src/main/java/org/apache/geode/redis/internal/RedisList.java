@@ -0,0 +1,504 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.redis.internal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.geode.DataSerializable;
+import org.apache.geode.DataSerializer;
+import org.apache.geode.Delta;
+import org.apache.geode.InvalidDeltaException;
+
+/**
+ * The value of a {@link RedisDataType#REDIS_LIST} key. The whole list is stored as a single entry
+ * of the list {@link org.apache.geode.cache.Region}.
+ *
+ * Like the Redis quicklist, the elements are kept in a sequence of {@link ZipList} nodes of at most
+ * {@link #MAX_NODE_BYTES} bytes each, so pushes and pops at either end are cheap and a small list
+ * is a single packed array. Modifications are recorded as a log of primitive operations and shipped
+ * as a {@link Delta}, which the receiving member replays. Callers must invoke {@link #clearDelta()}
+ * once the modified list has been put back into the region.
+ *
+ * All indexes taken by this class are zero based and must already be inside the list.
+ */
+public class RedisList implements DataSerializable, Delta {
+
+  private static final long serialVersionUID = 6124937460219743985L;
+
+  static final int MAX_NODE_BYTES = 8 * 1024;
+
+  private static final byte PUSH_LEFT = 0;
+  private static final byte PUSH_RIGHT = 1;
+  private static final byte POP_LEFT = 2;
+  private static final byte POP_RIGHT = 3;
+  private static final byte SET = 4;
+  private static final byte INSERT = 5;
+  private static final byte REMOVE = 6;
+  private static final byte TRIM = 7;
+
+  private transient ArrayList<ZipList> nodes = new ArrayList<>();
+
+  private transient int size;
+
+  /**
+   * Operations applied since the last {@link #clearDelta()}
+   */
+  private transient ArrayList<Operation> deltas = new ArrayList<>();
+
+  /**
+   * Empty constructor for serialization
+   */
+  public RedisList() {}
+
+  public synchronized int size() {
+    return this.size;
+  }
+
+  public synchronized boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  /**
+   * @return the number of {@link ZipList} nodes holding the elements
+   */
+  synchronized int nodeCount() {
+    return this.nodes.size();
+  }
+
+  public synchronized ByteArrayWrapper get(int index) {
+    int[] position = locate(index);
+    return this.nodes.get(position[0]).get(position[1]);
+  }
+
+  public synchronized void pushLeft(ByteArrayWrapper value) {
+    this.deltas.add(new Operation(PUSH_LEFT, 0, 0, value));
+    doPushLeft(value);
+  }
+
+  public synchronized void pushRight(ByteArrayWrapper value) {
+    this.deltas.add(new Operation(PUSH_RIGHT, 0, 0, value));
+    doPushRight(value);
+  }
+
+  /**
+   * @return the removed head of the list or null if the list is empty
+   */
+  public synchronized ByteArrayWrapper popLeft() {
+    if (this.size == 0) {
+      return null;
+    }
+    this.deltas.add(new Operation(POP_LEFT, 0, 0, null));
+    return doPopLeft();
+  }
+
+  /**
+   * @return the removed tail of the list or null if the list is empty
+   */
+  public synchronized ByteArrayWrapper popRight() {
+    if (this.size == 0) {
+      return null;
+    }
+    this.deltas.add(new Operation(POP_RIGHT, 0, 0, null));
+    return doPopRight();
+  }
+
+  public synchronized void set(int index, ByteArrayWrapper value) {
+    this.deltas.add(new Operation(SET, index, 0, value));
+    doSet(index, value);
+  }
+
+  /**
+   * Inserts the value before or after the first occurrence of pivot
+   *
+   * @return the new size of the list, or -1 if pivot was not found
+   */
+  public synchronized int insert(ByteArrayWrapper pivot, ByteArrayWrapper value, boolean before) {
+    int index = indexOf(pivot);
+    if (index < 0) {
+      return -1;
+    }
+    if (!before) {
+      index++;
+    }
+    this.deltas.add(new Operation(INSERT, index, 0, value));
+    doInsert(index, value);
+    return this.size;
+  }
+
+  /**
+   * Removes occurrences of value, as LREM does
+   *
+   * @param count remove at most count occurrences from the head if positive, at most -count from
+   *        the tail if negative and all occurrences if zero
+   * @return the number of removed elements
+   */
+  public synchronized int remove(int count, ByteArrayWrapper value) {
+    List<Integer> matches = new ArrayList<>();
+    int index = 0;
+    for (ZipList node : this.nodes) {
+      for (ByteArrayWrapper element : node.toList()) {
+        if (element.equals(value)) {
+          matches.add(index);
+        }
+        index++;
+      }
+    }
+    if (count > 0 && matches.size() > count) {
+      matches = matches.subList(0, count);
+    } else if (count < 0 && matches.size() > -count) {
+      matches = matches.subList(matches.size() + count, matches.size());
+    }
+    // Remove from the tail so the remaining indexes stay valid
+    for (int i = matches.size() - 1; i >= 0; i--) {
+      int removeIndex = matches.get(i);
+      this.deltas.add(new Operation(REMOVE, removeIndex, 0, null));
+      doRemove(removeIndex);
+    }
+    return matches.size();
+  }
+
+  /**
+   * Keeps only the elements from start to stop inclusive, an empty range clears the list
+   */
+  public synchronized void trim(int start, int stop) {
+    this.deltas.add(new Operation(TRIM, start, stop, null));
+    doTrim(start, stop);
+  }
+
+  /**
+   * @return the elements from start to stop inclusive, in order
+   */
+  public synchronized List<ByteArrayWrapper> range(int start, int stop) {
+    List<ByteArrayWrapper> range = new ArrayList<>(Math.max(0, stop - start + 1));
+    if (start > stop || start >= this.size) {
+      return range;
+    }
+    stop = Math.min(stop, this.size - 1);
+    int[] position = locate(start);
+    int nodeIndex = position[0];
+    int localIndex = position[1];
+    int remaining = stop - start + 1;
+    while (remaining > 0) {
+      ZipList node = this.nodes.get(nodeIndex);
+      int localStop = Math.min(node.size() - 1, localIndex + remaining - 1);
+      range.addAll(node.subList(localIndex, localStop));
+      remaining -= localStop - localIndex + 1;
+      nodeIndex++;
+      localIndex = 0;
+    }
+    return range;
+  }
+
+  /**
+   * @return a copy of all elements in order
+   */
+  public synchronized List<ByteArrayWrapper> elements() {
+    return range(0, this.size - 1);
+  }
+
+  private int indexOf(ByteArrayWrapper value) {
+    int base = 0;
+    for (ZipList node : this.nodes) {
+      int index = node.indexOf(value);
+      if (index >= 0) {
+        return base + index;
+      }
+      base += node.size();
+    }
+    return -1;
+  }
+
+  /**
+   * @return the node index and the index within that node of the element at the given list index
+   */
+  private int[] locate(int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+    }
+    if (index < this.size / 2) {
+      for (int i = 0; i < this.nodes.size(); i++) {
+        int nodeSize = this.nodes.get(i).size();
+        if (index < nodeSize) {
+          return new int[] {i, index};
+        }
+        index -= nodeSize;
+      }
+    } else {
+      int fromTail = this.size - 1 - index;
+      for (int i = this.nodes.size() - 1; i >= 0; i--) {
+        int nodeSize = this.nodes.get(i).size();
+        if (fromTail < nodeSize) {
+          return new int[] {i, nodeSize - 1 - fromTail};
+        }
+        fromTail -= nodeSize;
+      }
+    }
+    throw new IllegalStateException("Index " + index + " not found in " + this.size + " elements");
+  }
+
+  private void doPushLeft(ByteArrayWrapper value) {
+    if (this.nodes.isEmpty() || !fits(this.nodes.get(0), value)) {
+      this.nodes.add(0, new ZipList());
+    }
+    this.nodes.get(0).add(0, value);
+    this.size++;
+  }
+
+  private void doPushRight(ByteArrayWrapper value) {
+    if (this.nodes.isEmpty() || !fits(this.nodes.get(this.nodes.size() - 1), value)) {
+      this.nodes.add(new ZipList());
+    }
+    this.nodes.get(this.nodes.size() - 1).add(value);
+    this.size++;
+  }
+
+  private ByteArrayWrapper doPopLeft() {
+    ZipList node = this.nodes.get(0);
+    ByteArrayWrapper value = node.getFirst();
+    node.remove(0);
+    if (node.isEmpty()) {
+      this.nodes.remove(0);
+    }
+    this.size--;
+    return value;
+  }
+
+  private ByteArrayWrapper doPopRight() {
+    int last = this.nodes.size() - 1;
+    ZipList node = this.nodes.get(last);
+    ByteArrayWrapper value = node.getLast();
+    node.remove(node.size() - 1);
+    if (node.isEmpty()) {
+      this.nodes.remove(last);
+    }
+    this.size--;
+    return value;
+  }
+
+  private void doSet(int index, ByteArrayWrapper value) {
+    int[] position = locate(index);
+    ZipList node = this.nodes.get(position[0]);
+    node.set(position[1], value);
+    splitIfFull(position[0]);
+  }
+
+  private void doInsert(int index, ByteArrayWrapper value) {
+    if (index == this.size) {
+      doPushRight(value);
+      return;
+    }
+    int[] position = locate(index);
+    this.nodes.get(position[0]).add(position[1], value);
+    this.size++;
+    splitIfFull(position[0]);
+  }
+
+  private void doRemove(int index) {
+    int[] position = locate(index);
+    ZipList node = this.nodes.get(position[0]);
+    node.remove(position[1]);
+    if (node.isEmpty()) {
+      this.nodes.remove(position[0]);
+    }
+    this.size--;
+  }
+
+  private void doTrim(int start, int stop) {
+    if (start > stop || start >= this.size) {
+      this.nodes.clear();
+      this.size = 0;
+      return;
+    }
+    stop = Math.min(stop, this.size - 1);
+    removeFromTail(this.size - 1 - stop);
+    removeFromHead(start);
+  }
+
+  private void removeFromHead(int count) {
+    while (count > 0) {
+      ZipList node = this.nodes.get(0);
+      if (node.size() <= count) {
+        this.nodes.remove(0);
+        count -= node.size();
+        this.size -= node.size();
+      } else {
+        node.removeRange(0, count);
+        this.size -= count;
+        count = 0;
+      }
+    }
+  }
+
+  private void removeFromTail(int count) {
+    while (count > 0) {
+      int last = this.nodes.size() - 1;
+      ZipList node = this.nodes.get(last);
+      if (node.size() <= count) {
+        this.nodes.remove(last);
+        count -= node.size();
+        this.size -= node.size();
+      } else {
+        node.removeRange(node.size() - count, count);
+        this.size -= count;
+        count = 0;
+      }
+    }
+  }
+
+  private static boolean fits(ZipList node, ByteArrayWrapper value) {
+    return node.isEmpty() || node.byteSize() + value.length() <= MAX_NODE_BYTES;
+  }
+
+  /**
+   * Splits a node that has grown past {@link #MAX_NODE_BYTES} through inserts or sets into two
+   */
+  private void splitIfFull(int nodeIndex) {
+    ZipList node = this.nodes.get(nodeIndex);
+    if (node.byteSize() <= MAX_NODE_BYTES || node.size() < 2) {
+      return;
+    }
+    int half = node.size() / 2;
+    ZipList tail = new ZipList();
+    for (ByteArrayWrapper element : node.subList(half, node.size() - 1)) {
+      tail.add(element);
+    }
+    node.removeRange(half, node.size() - half);
+    this.nodes.add(nodeIndex + 1, tail);
+  }
+
+  public synchronized void clearDelta() {
+    this.deltas.clear();
+  }
+
+  @Override
+  public synchronized boolean hasDelta() {
+    return !this.deltas.isEmpty();
+  }
+
+  @Override
+  public synchronized void toDelta(DataOutput out) throws IOException {
+    out.writeInt(this.deltas.size());
+    for (Operation operation : this.deltas) {
+      out.writeByte(operation.type);
+      switch (operation.type) {
+        case PUSH_LEFT:
+        case PUSH_RIGHT:
+          DataSerializer.writeByteArray(operation.value.toBytes(), out);
+          break;
+        case SET:
+        case INSERT:
+          out.writeInt(operation.index);
+          DataSerializer.writeByteArray(operation.value.toBytes(), out);
+          break;
+        case REMOVE:
+          out.writeInt(operation.index);
+          break;
+        case TRIM:
+          out.writeInt(operation.index);
+          out.writeInt(operation.stop);
+          break;
+        default:
+          break;
+      }
+    }
+  }
+
+  @Override
+  public synchronized void fromDelta(DataInput in) throws IOException, InvalidDeltaException {
+    int count = in.readInt();
+    try {
+      for (int i = 0; i < count; i++) {
+        byte type = in.readByte();
+        switch (type) {
+          case PUSH_LEFT:
+            doPushLeft(new ByteArrayWrapper(DataSerializer.readByteArray(in)));
+            break;
+          case PUSH_RIGHT:
+            doPushRight(new ByteArrayWrapper(DataSerializer.readByteArray(in)));
+            break;
+          case POP_LEFT:
+            doPopLeft();
+            break;
+          case POP_RIGHT:
+            doPopRight();
+            break;
+          case SET:
+            doSet(in.readInt(), new ByteArrayWrapper(DataSerializer.readByteArray(in)));
+            break;
+          case INSERT:
+            doInsert(in.readInt(), new ByteArrayWrapper(DataSerializer.readByteArray(in)));
+            break;
+          case REMOVE:
+            doRemove(in.readInt());
+            break;
+          case TRIM:
+            doTrim(in.readInt(), in.readInt());
+            break;
+          default:
+            throw new InvalidDeltaException("Unknown list operation " + type);
+        }
+      }
+    } catch (InvalidDeltaException e) {
+      throw e;
+    } catch (RuntimeException e) {
+      // an operation that does not fit the local copy, the sender will send the full value instead
+      throw new InvalidDeltaException(e);
+    }
+  }
+
+  @Override
+  public synchronized void toData(DataOutput out) throws IOException {
+    out.writeInt(this.size);
+    out.writeInt(this.nodes.size());
+    for (ZipList node : this.nodes) {
+      node.toData(out);
+    }
+  }
+
+  @Override
+  public synchronized void fromData(DataInput in) throws IOException, ClassNotFoundException {
+    this.size = in.readInt();
+    int nodeCount = in.readInt();
+    this.nodes = new ArrayList<>(nodeCount);
+    for (int i = 0; i < nodeCount; i++) {
+      ZipList node = new ZipList();
+      node.fromData(in);
+      this.nodes.add(node);
+    }
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "RedisList" + elements();
+  }
+
+  private static class Operation {
+    private final byte type;
+    private final int index;
+    private final int stop;
+    private final ByteArrayWrapper value;
+
+    Operation(byte type, int index, int stop, ByteArrayWrapper value) {
+      this.type = type;
+      this.index = index;
+      this.stop = stop;
+      this.value = value;
+    }
+  }
+}
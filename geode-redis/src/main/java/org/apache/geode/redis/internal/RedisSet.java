@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.redis.internal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.apache.geode.DataSerializable;
+import org.apache.geode.DataSerializer;
+import org.apache.geode.Delta;
+import org.apache.geode.InvalidDeltaException;
+
+/**
+ * The value of a {@link RedisDataType#REDIS_SET} key. The whole set is stored as a single entry of
+ * the set {@link org.apache.geode.cache.Region}.
+ *
+ * A small set is kept as a {@link ZipList} and converted to a {@link HashSet} once it holds more
+ * than {@link #MAX_ZIPLIST_ENTRIES} members or a member longer than {@link #MAX_ZIPLIST_VALUE}
+ * bytes. Modifications are shipped as a {@link Delta} holding only the added and removed members.
+ * Callers must invoke {@link #clearDelta()} once the modified set has been put back into the
+ * region.
+ */
+public class RedisSet implements DataSerializable, Delta {
+
+  private static final long serialVersionUID = -2472689351826934121L;
+
+  static final int MAX_ZIPLIST_ENTRIES = 128;
+
+  static final int MAX_ZIPLIST_VALUE = 64;
+
+  /**
+   * Compact encoding, null once converted to {@link #set}
+   */
+  private transient ZipList zipList = new ZipList();
+
+  private transient HashSet<ByteArrayWrapper> set;
+
+  /**
+   * Members changed since the last {@link #clearDelta()}, true for an add and false for a removal
+   */
+  private transient LinkedHashMap<ByteArrayWrapper, Boolean> deltas = new LinkedHashMap<>();
+
+  /**
+   * Empty constructor for serialization
+   */
+  public RedisSet() {}
+
+  public synchronized int size() {
+    return this.zipList != null ? this.zipList.size() : this.set.size();
+  }
+
+  public synchronized boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * @return true if the set is held in its compact encoding
+   */
+  synchronized boolean isCompact() {
+    return this.zipList != null;
+  }
+
+  public synchronized boolean contains(ByteArrayWrapper member) {
+    if (this.zipList != null) {
+      return this.zipList.indexOf(member) >= 0;
+    }
+    return this.set.contains(member);
+  }
+
+  /**
+   * @return true if the member was not present before
+   */
+  public synchronized boolean add(ByteArrayWrapper member) {
+    boolean added = doAdd(member);
+    if (added) {
+      this.deltas.put(member, Boolean.TRUE);
+    }
+    return added;
+  }
+
+  /**
+   * @return the number of members that were not present before
+   */
+  public synchronized int addAll(Collection<ByteArrayWrapper> members) {
+    int added = 0;
+    for (ByteArrayWrapper member : members) {
+      if (add(member)) {
+        added++;
+      }
+    }
+    return added;
+  }
+
+  /**
+   * @return true if the member was present
+   */
+  public synchronized boolean remove(ByteArrayWrapper member) {
+    boolean removed = doRemove(member);
+    if (removed) {
+      this.deltas.put(member, Boolean.FALSE);
+    }
+    return removed;
+  }
+
+  private boolean doAdd(ByteArrayWrapper member) {
+    if (this.zipList != null) {
+      if (this.zipList.indexOf(member) >= 0) {
+        return false;
+      }
+      if (this.zipList.size() < MAX_ZIPLIST_ENTRIES && member.length() <= MAX_ZIPLIST_VALUE) {
+        this.zipList.add(member);
+        return true;
+      }
+      this.set = new HashSet<>(this.zipList.toList());
+      this.zipList = null;
+    }
+    return this.set.add(member);
+  }
+
+  private boolean doRemove(ByteArrayWrapper member) {
+    if (this.zipList != null) {
+      int index = this.zipList.indexOf(member);
+      if (index < 0) {
+        return false;
+      }
+      this.zipList.remove(index);
+      return true;
+    }
+    return this.set.remove(member);
+  }
+
+  /**
+   * @return a copy of the members
+   */
+  public synchronized List<ByteArrayWrapper> members() {
+    return this.zipList != null ? this.zipList.toList() : new ArrayList<>(this.set);
+  }
+
+  public synchronized void clearDelta() {
+    this.deltas.clear();
+  }
+
+  @Override
+  public synchronized boolean hasDelta() {
+    return !this.deltas.isEmpty();
+  }
+
+  @Override
+  public synchronized void toDelta(DataOutput out) throws IOException {
+    out.writeInt(this.deltas.size());
+    for (Entry<ByteArrayWrapper, Boolean> delta : this.deltas.entrySet()) {
+      DataSerializer.writeByteArray(delta.getKey().toBytes(), out);
+      out.writeBoolean(delta.getValue());
+    }
+  }
+
+  @Override
+  public synchronized void fromDelta(DataInput in) throws IOException, InvalidDeltaException {
+    int size = in.readInt();
+    for (int i = 0; i < size; i++) {
+      ByteArrayWrapper member = new ByteArrayWrapper(DataSerializer.readByteArray(in));
+      if (in.readBoolean()) {
+        doAdd(member);
+      } else {
+        doRemove(member);
+      }
+    }
+  }
+
+  @Override
+  public synchronized void toData(DataOutput out) throws IOException {
+    out.writeBoolean(this.zipList != null);
+    if (this.zipList != null) {
+      this.zipList.toData(out);
+      return;
+    }
+    out.writeInt(this.set.size());
+    for (ByteArrayWrapper member : this.set) {
+      DataSerializer.writeByteArray(member.toBytes(), out);
+    }
+  }
+
+  @Override
+  public synchronized void fromData(DataInput in) throws IOException, ClassNotFoundException {
+    if (in.readBoolean()) {
+      this.zipList = new ZipList();
+      this.zipList.fromData(in);
+      this.set = null;
+      return;
+    }
+    int size = in.readInt();
+    this.zipList = null;
+    this.set = new HashSet<>(Math.max(16, (int) (size / 0.75f) + 1));
+    for (int i = 0; i < size; i++) {
+      this.set.add(new ByteArrayWrapper(DataSerializer.readByteArray(in)));
+    }
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "RedisSet" + members();
+  }
+}
@@ -0,0 +1,314 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.redis.internal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.geode.DataSerializable;
+import org.apache.geode.DataSerializer;
+import org.apache.geode.Delta;
+import org.apache.geode.InvalidDeltaException;
+import org.apache.geode.redis.internal.SortedSetSkipList.Node;
+
+/**
+ * The value of a {@link RedisDataType#REDIS_SORTEDSET} key. The whole sorted set is stored as a
+ * single entry of the sorted set {@link org.apache.geode.cache.Region}, with a hash from member to
+ * skip list node for O(1) score lookups and a {@link SortedSetSkipList} for O(log n) rank and range
+ * operations.
+ *
+ * Modifications are recorded and shipped to other members as a {@link Delta}, so adding one member
+ * to a large set only distributes that member. Callers must invoke {@link #clearDelta()} once the
+ * modified set has been put back into the region.
+ */
+public class RedisSortedSet implements DataSerializable, Delta {
+
+  private static final long serialVersionUID = -8497314217342183642L;
+
+  private transient HashMap<ByteArrayWrapper, Node> members = new HashMap<>();
+
+  private transient SortedSetSkipList scores = new SortedSetSkipList();
+
+  /**
+   * Members changed since the last {@link #clearDelta()}, a null score is a removal
+   */
+  private transient LinkedHashMap<ByteArrayWrapper, Double> deltas = new LinkedHashMap<>();
+
+  /**
+   * Empty constructor for serialization
+   */
+  public RedisSortedSet() {}
+
+  public synchronized int size() {
+    return this.members.size();
+  }
+
+  public synchronized boolean isEmpty() {
+    return this.members.isEmpty();
+  }
+
+  public synchronized Double getScore(ByteArrayWrapper member) {
+    Node node = this.members.get(member);
+    return node == null ? null : node.score;
+  }
+
+  /**
+   * Adds the member or updates its score
+   *
+   * @return true if the member was not present before
+   */
+  public synchronized boolean add(ByteArrayWrapper member, double score) {
+    this.deltas.put(member, score);
+    return doAdd(member, score);
+  }
+
+  /**
+   * @return true if the member was present
+   */
+  public synchronized boolean remove(ByteArrayWrapper member) {
+    Node node = doRemove(member);
+    if (node != null) {
+      this.deltas.put(member, null);
+    }
+    return node != null;
+  }
+
+  private boolean doAdd(ByteArrayWrapper member, double score) {
+    Node old = this.members.get(member);
+    if (old != null) {
+      if (old.score == score) {
+        return false;
+      }
+      this.scores.delete(old.score, member);
+    }
+    this.members.put(member, this.scores.insert(score, member));
+    return old == null;
+  }
+
+  private Node doRemove(ByteArrayWrapper member) {
+    Node node = this.members.remove(member);
+    if (node != null) {
+      this.scores.delete(node.score, member);
+    }
+    return node;
+  }
+
+  /**
+   * @return the zero based rank of the member, or -1 if the member does not exist
+   */
+  public synchronized int rank(ByteArrayWrapper member, boolean reverse) {
+    Node node = this.members.get(member);
+    if (node == null) {
+      return -1;
+    }
+    int rank = this.scores.getRank(node.score, member);
+    return reverse ? this.members.size() - 1 - rank : rank;
+  }
+
+  /**
+   * @param start zero based inclusive start rank, already bounded to the size of the set
+   * @param stop zero based inclusive stop rank, already bounded to the size of the set
+   * @return the members in the rank range as member to score entries
+   */
+  public synchronized List<Entry<ByteArrayWrapper, Double>> rangeByRank(int start, int stop,
+      boolean reverse) {
+    int size = this.members.size();
+    if (start < 0 || start > stop || start >= size) {
+      return Collections.emptyList();
+    }
+    stop = Math.min(stop, size - 1);
+    List<Entry<ByteArrayWrapper, Double>> range = new ArrayList<>(stop - start + 1);
+    Node node = this.scores.getByRank(reverse ? size - 1 - start : start);
+    for (int i = start; i <= stop && node != null; i++) {
+      range.add(node);
+      node = reverse ? node.previous() : node.next();
+    }
+    return range;
+  }
+
+  /**
+   * @param offset number of matching members to skip
+   * @param limit maximum number of members to return, negative for no limit
+   * @return the members whose score is in the given range as member to score entries
+   */
+  public synchronized List<Entry<ByteArrayWrapper, Double>> rangeByScore(double min,
+      boolean minExclusive, double max, boolean maxExclusive, boolean reverse, int offset,
+      int limit) {
+    Node node = reverse ? this.scores.lastInScoreRange(min, minExclusive, max, maxExclusive)
+        : this.scores.firstInScoreRange(min, minExclusive, max, maxExclusive);
+    for (int i = 0; i < offset && node != null; i++) {
+      node = reverse ? node.previous() : node.next();
+    }
+    List<Entry<ByteArrayWrapper, Double>> range = new ArrayList<>();
+    while (node != null && (limit < 0 || range.size() < limit)) {
+      if (reverse ? !SortedSetSkipList.gteMin(node.score, min, minExclusive)
+          : !SortedSetSkipList.lteMax(node.score, max, maxExclusive)) {
+        break;
+      }
+      range.add(node);
+      node = reverse ? node.previous() : node.next();
+    }
+    return range;
+  }
+
+  public synchronized int countByScore(double min, boolean minExclusive, double max,
+      boolean maxExclusive) {
+    Node first = this.scores.firstInScoreRange(min, minExclusive, max, maxExclusive);
+    if (first == null) {
+      return 0;
+    }
+    Node last = this.scores.lastInScoreRange(min, minExclusive, max, maxExclusive);
+    return this.scores.getRank(last.score, last.member)
+        - this.scores.getRank(first.score, first.member) + 1;
+  }
+
+  /**
+   * Lexicographical ranges assume all members share the same score, as in Redis. A null bound is
+   * unbounded.
+   *
+   * @param offset number of matching members to skip
+   * @param limit maximum number of members to return, negative for no limit
+   */
+  public synchronized List<ByteArrayWrapper> rangeByLex(ByteArrayWrapper min,
+      boolean minInclusive, ByteArrayWrapper max, boolean maxInclusive, int offset, int limit) {
+    Node node = this.scores.firstInLexRange(min, minInclusive, max, maxInclusive);
+    for (int i = 0; i < offset && node != null; i++) {
+      node = node.next();
+    }
+    List<ByteArrayWrapper> range = new ArrayList<>();
+    while (node != null && (limit < 0 || range.size() < limit)
+        && SortedSetSkipList.lexLteMax(node.member, max, maxInclusive)) {
+      range.add(node.member);
+      node = node.next();
+    }
+    return range;
+  }
+
+  public synchronized int countByLex(ByteArrayWrapper min, boolean minInclusive,
+      ByteArrayWrapper max, boolean maxInclusive) {
+    Node first = this.scores.firstInLexRange(min, minInclusive, max, maxInclusive);
+    if (first == null) {
+      return 0;
+    }
+    Node last = this.scores.lastInLexRange(min, minInclusive, max, maxInclusive);
+    return this.scores.getRank(last.score, last.member)
+        - this.scores.getRank(first.score, first.member) + 1;
+  }
+
+  public synchronized int removeRangeByRank(int start, int stop) {
+    return removeAll(rangeByRank(start, stop, false));
+  }
+
+  public synchronized int removeRangeByScore(double min, boolean minExclusive, double max,
+      boolean maxExclusive) {
+    return removeAll(rangeByScore(min, minExclusive, max, maxExclusive, false, 0, -1));
+  }
+
+  public synchronized int removeRangeByLex(ByteArrayWrapper min, boolean minInclusive,
+      ByteArrayWrapper max, boolean maxInclusive) {
+    int removed = 0;
+    for (ByteArrayWrapper member : rangeByLex(min, minInclusive, max, maxInclusive, 0, -1)) {
+      if (remove(member)) {
+        removed++;
+      }
+    }
+    return removed;
+  }
+
+  private int removeAll(List<Entry<ByteArrayWrapper, Double>> entries) {
+    int removed = 0;
+    for (Entry<ByteArrayWrapper, Double> entry : entries) {
+      if (remove(entry.getKey())) {
+        removed++;
+      }
+    }
+    return removed;
+  }
+
+  /**
+   * @return all members in ascending score order as member to score entries
+   */
+  public synchronized List<Entry<ByteArrayWrapper, Double>> entries() {
+    return rangeByRank(0, this.members.size() - 1, false);
+  }
+
+  public synchronized void clearDelta() {
+    this.deltas.clear();
+  }
+
+  @Override
+  public synchronized boolean hasDelta() {
+    return !this.deltas.isEmpty();
+  }
+
+  @Override
+  public synchronized void toDelta(DataOutput out) throws IOException {
+    out.writeInt(this.deltas.size());
+    for (Map.Entry<ByteArrayWrapper, Double> delta : this.deltas.entrySet()) {
+      DataSerializer.writeByteArray(delta.getKey().toBytes(), out);
+      Double score = delta.getValue();
+      out.writeBoolean(score != null);
+      if (score != null) {
+        out.writeDouble(score);
+      }
+    }
+  }
+
+  @Override
+  public synchronized void fromDelta(DataInput in) throws IOException, InvalidDeltaException {
+    int size = in.readInt();
+    for (int i = 0; i < size; i++) {
+      ByteArrayWrapper member = new ByteArrayWrapper(DataSerializer.readByteArray(in));
+      if (in.readBoolean()) {
+        doAdd(member, in.readDouble());
+      } else {
+        doRemove(member);
+      }
+    }
+  }
+
+  @Override
+  public synchronized void toData(DataOutput out) throws IOException {
+    out.writeInt(this.members.size());
+    for (Node node = this.scores.first(); node != null; node = node.next()) {
+      DataSerializer.writeByteArray(node.member.toBytes(), out);
+      out.writeDouble(node.score);
+    }
+  }
+
+  @Override
+  public synchronized void fromData(DataInput in) throws IOException, ClassNotFoundException {
+    int size = in.readInt();
+    this.members = new HashMap<>(Math.max(16, (int) (size / 0.75f) + 1));
+    this.scores = new SortedSetSkipList();
+    for (int i = 0; i < size; i++) {
+      ByteArrayWrapper member = new ByteArrayWrapper(DataSerializer.readByteArray(in));
+      doAdd(member, in.readDouble());
+    }
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "RedisSortedSet" + entries();
+  }
+}
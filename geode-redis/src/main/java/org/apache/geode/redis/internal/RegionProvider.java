@@ -33,9 +33,6 @@ import org.apache.geode.cache.CacheTransactionManager;
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.RegionShortcut;
 import org.apache.geode.cache.TransactionId;
-import org.apache.geode.cache.query.IndexExistsException;
-import org.apache.geode.cache.query.IndexInvalidException;
-import org.apache.geode.cache.query.IndexNameConflictException;
 import org.apache.geode.cache.query.Query;
 import org.apache.geode.cache.query.QueryInvalidException;
 import org.apache.geode.cache.query.QueryService;
@@ -47,7 +44,6 @@ import org.apache.geode.management.internal.cli.commands.CreateRegionCommand;
 import org.apache.geode.management.internal.cli.result.model.ResultModel;
 import org.apache.geode.redis.GeodeRedisServer;
 import org.apache.geode.redis.internal.executor.ExpirationExecutor;
-import org.apache.geode.redis.internal.executor.ListQuery;
 import org.apache.geode.redis.internal.executor.SortedSetQuery;
 
 /**
@@ -78,6 +74,30 @@ public class RegionProvider implements Closeable {
    */
   private final Region<ByteArrayWrapper, HyperLogLogPlus> hLLRegion;
 
+  /**
+   * This is the {@link RedisDataType#REDIS_SORTEDSET} {@link Region}. This is the Region that
+   * stores all sorted set contents, one {@link RedisSortedSet} per key
+   */
+  private final Region<ByteArrayWrapper, RedisSortedSet> sortedSetRegion;
+
+  /**
+   * This is the {@link RedisDataType#REDIS_HASH} {@link Region}. This is the Region that stores all
+   * hash contents, one {@link RedisHash} per key
+   */
+  private final Region<ByteArrayWrapper, RedisHash> hashRegion;
+
+  /**
+   * This is the {@link RedisDataType#REDIS_SET} {@link Region}. This is the Region that stores all
+   * set contents, one {@link RedisSet} per key
+   */
+  private final Region<ByteArrayWrapper, RedisSet> setRegion;
+
+  /**
+   * This is the {@link RedisDataType#REDIS_LIST} {@link Region}. This is the Region that stores all
+   * list contents, one {@link RedisList} per key
+   */
+  private final Region<ByteArrayWrapper, RedisList> listRegion;
+
   private final Cache cache;
   private final QueryService queryService;
   private final ConcurrentMap<ByteArrayWrapper, Map<Enum<?>, Query>> preparedQueries =
@@ -91,14 +111,21 @@ public class RegionProvider implements Closeable {
 
   public RegionProvider(Region<ByteArrayWrapper, ByteArrayWrapper> stringsRegion,
       Region<ByteArrayWrapper, HyperLogLogPlus> hLLRegion,
-      Region<String, RedisDataType> redisMetaRegion,
+      Region<ByteArrayWrapper, RedisSortedSet> sortedSetRegion,
+      Region<ByteArrayWrapper, RedisHash> hashRegion, Region<ByteArrayWrapper, RedisSet> setRegion,
+      Region<ByteArrayWrapper, RedisList> listRegion, Region<String, RedisDataType> redisMetaRegion,
       ConcurrentMap<ByteArrayWrapper, ScheduledFuture<?>> expirationsMap,
       ScheduledExecutorService expirationExecutor, RegionShortcut defaultShortcut) {
-    if (stringsRegion == null || hLLRegion == null || redisMetaRegion == null)
+    if (stringsRegion == null || hLLRegion == null || sortedSetRegion == null || hashRegion == null
+        || setRegion == null || listRegion == null || redisMetaRegion == null)
       throw new NullPointerException();
     this.regions = new ConcurrentHashMap<>();
     this.stringsRegion = stringsRegion;
     this.hLLRegion = hLLRegion;
+    this.sortedSetRegion = sortedSetRegion;
+    this.hashRegion = hashRegion;
+    this.setRegion = setRegion;
+    this.listRegion = listRegion;
     this.redisMetaRegion = redisMetaRegion;
     this.cache = GemFireCacheImpl.getInstance();
     this.queryService = cache.getQueryService();
@@ -185,6 +212,19 @@ public class RegionProvider implements Closeable {
           return this.stringsRegion.remove(key) != null;
         } else if (type == RedisDataType.REDIS_HLL) {
           return this.hLLRegion.remove(key) != null;
+        } else if (type == RedisDataType.REDIS_SORTEDSET) {
+          // GEO members are kept in a region of their own, the same key can have both
+          boolean removed = this.sortedSetRegion.remove(key) != null;
+          if (this.regions.containsKey(key)) {
+            removed = destroyRegion(key, type) || removed;
+          }
+          return removed;
+        } else if (type == RedisDataType.REDIS_HASH) {
+          return this.hashRegion.remove(key) != null;
+        } else if (type == RedisDataType.REDIS_SET) {
+          return this.setRegion.remove(key) != null;
+        } else if (type == RedisDataType.REDIS_LIST) {
+          return this.listRegion.remove(key) != null;
         } else {
           return destroyRegion(key, type);
         }
@@ -211,7 +251,9 @@ public class RegionProvider implements Closeable {
   }
 
   public void createRemoteRegionReferenceLocally(ByteArrayWrapper key, RedisDataType type) {
-    if (type == null || type == RedisDataType.REDIS_STRING || type == RedisDataType.REDIS_HLL)
+    if (type == null || type == RedisDataType.REDIS_STRING || type == RedisDataType.REDIS_HLL
+        || type == RedisDataType.REDIS_HASH || type == RedisDataType.REDIS_SET
+        || type == RedisDataType.REDIS_LIST)
       return;
     Region<?, ?> r = this.regions.get(key);
     if (r != null)
@@ -236,14 +278,8 @@ public class RegionProvider implements Closeable {
           if (r == null)
             return;
 
-          if (type == RedisDataType.REDIS_LIST) {
-            doInitializeList(key, r);
-          } else if (type == RedisDataType.REDIS_SORTEDSET) {
-            try {
-              doInitializeSortedSet(key, r);
-            } catch (RegionNotFoundException | IndexInvalidException e) {
-              // ignore
-            }
+          if (type == RedisDataType.REDIS_SORTEDSET) {
+            doInitializeSortedSet(key, r);
           }
           this.regions.put(key, r);
         }
@@ -289,14 +325,8 @@ public class RegionProvider implements Closeable {
               concurrentCreateDestroyException = null;
               r = createRegionGlobally(stringKey);
               try {
-                if (type == RedisDataType.REDIS_LIST) {
-                  doInitializeList(key, r);
-                } else if (type == RedisDataType.REDIS_SORTEDSET) {
-                  try {
-                    doInitializeSortedSet(key, r);
-                  } catch (RegionNotFoundException | IndexInvalidException e) {
-                    concurrentCreateDestroyException = e;
-                  }
+                if (type == RedisDataType.REDIS_SORTEDSET) {
+                  doInitializeSortedSet(key, r);
                 }
               } catch (QueryInvalidException e) {
                 if (e.getCause() instanceof RegionNotFoundException) {
@@ -355,16 +385,8 @@ public class RegionProvider implements Closeable {
     this.regions.remove(key);
   }
 
-  private void doInitializeSortedSet(ByteArrayWrapper key, Region<?, ?> r)
-      throws RegionNotFoundException, IndexInvalidException {
+  private void doInitializeSortedSet(ByteArrayWrapper key, Region<?, ?> r) {
     String fullpath = r.getFullPath();
-    try {
-      queryService.createIndex("scoreIndex", "entry.value.score",
-          r.getFullPath() + ".entrySet entry");
-      queryService.createIndex("scoreIndex2", "value.score", r.getFullPath() + ".values value");
-    } catch (IndexNameConflictException | IndexExistsException | UnsupportedOperationException e) {
-      // ignore, these indexes already exist or unsupported but make sure prepared queries are made
-    }
     HashMap<Enum<?>, Query> queryList = new HashMap<>();
     for (SortedSetQuery lq : SortedSetQuery.values()) {
       String queryString = lq.getQueryString(fullpath);
@@ -374,19 +396,6 @@ public class RegionProvider implements Closeable {
     this.preparedQueries.put(key, queryList);
   }
 
-  private void doInitializeList(ByteArrayWrapper key, Region r) {
-    r.put("head", 0);
-    r.put("tail", 0);
-    String fullpath = r.getFullPath();
-    HashMap<Enum<?>, Query> queryList = new HashMap<>();
-    for (ListQuery lq : ListQuery.values()) {
-      String queryString = lq.getQueryString(fullpath);
-      Query query = this.queryService.newQuery(queryString);
-      queryList.put(lq, query);
-    }
-    this.preparedQueries.put(key, queryList);
-  }
-
   /**
    * This method creates a Region globally with the given name. If there is an error in the
    * creation, a runtime exception will be thrown.
@@ -454,6 +463,22 @@ public class RegionProvider implements Closeable {
     return this.hLLRegion;
   }
 
+  public Region<ByteArrayWrapper, RedisSortedSet> getSortedSetRegion() {
+    return this.sortedSetRegion;
+  }
+
+  public Region<ByteArrayWrapper, RedisHash> getHashRegion() {
+    return this.hashRegion;
+  }
+
+  public Region<ByteArrayWrapper, RedisSet> getSetRegion() {
+    return this.setRegion;
+  }
+
+  public Region<ByteArrayWrapper, RedisList> getListRegion() {
+    return this.listRegion;
+  }
+
   private RedisDataType getRedisDataType(String key) {
     return this.redisMetaRegion.get(key);
   }
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.redis.internal;
+
+import org.apache.geode.annotations.internal.MakeImmutable;
+import org.apache.geode.cache.EntryOperation;
+import org.apache.geode.cache.PartitionResolver;
+
+/**
+ * Places Redis keys into buckets according to their Redis Cluster hash slot. The slot of a key is
+ * the CRC16 of the key, or of its hash tag, modulo {@value #SLOTS}. Slots are assigned to buckets
+ * in contiguous ranges, so that each bucket owns slots {@link #getFirstSlot(int, int)} through
+ * {@link #getLastSlot(int, int)} and the slot map handed to cluster aware clients stays small.
+ * <p>
+ * The routing object returned is the bucket id itself, which Geode hashes back to the same bucket.
+ */
+public class SlotPartitionResolver<V> implements PartitionResolver<ByteArrayWrapper, V> {
+
+  /**
+   * Number of hash slots of a Redis Cluster
+   */
+  public static final int SLOTS = 16384;
+
+  @MakeImmutable
+  private static final int[] CRC16_TABLE = new int[256];
+
+  static {
+    for (int i = 0; i < 256; i++) {
+      int crc = i << 8;
+      for (int j = 0; j < 8; j++) {
+        crc = (crc & 0x8000) != 0 ? (crc << 1) ^ 0x1021 : crc << 1;
+      }
+      CRC16_TABLE[i] = crc & 0xFFFF;
+    }
+  }
+
+  @Override
+  public Object getRoutingObject(EntryOperation<ByteArrayWrapper, V> opDetails) {
+    int totalBuckets =
+        opDetails.getRegion().getAttributes().getPartitionAttributes().getTotalNumBuckets();
+    return getBucketId(getSlot(opDetails.getKey().toBytes()), totalBuckets);
+  }
+
+  @Override
+  public String getName() {
+    return getClass().getName();
+  }
+
+  @Override
+  public void close() {}
+
+  /**
+   * @param key Key to hash
+   * @return The Redis Cluster hash slot of the key
+   */
+  public static int getSlot(byte[] key) {
+    int start = 0;
+    int end = key.length;
+    for (int i = 0; i < key.length; i++) {
+      if (key[i] == '{') {
+        for (int j = i + 1; j < key.length; j++) {
+          if (key[j] == '}') {
+            if (j > i + 1) {
+              start = i + 1;
+              end = j;
+            }
+            break;
+          }
+        }
+        break;
+      }
+    }
+    return crc16(key, start, end) & (SLOTS - 1);
+  }
+
+  public static int getBucketId(int slot, int totalBuckets) {
+    return (int) ((long) slot * totalBuckets / SLOTS);
+  }
+
+  public static int getFirstSlot(int bucketId, int totalBuckets) {
+    return (int) (((long) bucketId * SLOTS + totalBuckets - 1) / totalBuckets);
+  }
+
+  public static int getLastSlot(int bucketId, int totalBuckets) {
+    return getFirstSlot(bucketId + 1, totalBuckets) - 1;
+  }
+
+  static int crc16(byte[] bytes, int start, int end) {
+    int crc = 0;
+    for (int i = start; i < end; i++) {
+      crc = ((crc << 8) ^ CRC16_TABLE[((crc >>> 8) ^ bytes[i]) & 0xFF]) & 0xFFFF;
+    }
+    return crc;
+  }
+}
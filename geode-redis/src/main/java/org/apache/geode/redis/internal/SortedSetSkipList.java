@@ -0,0 +1,345 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.redis.internal;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * An indexable skip list that orders the members of a {@link RedisSortedSet} by score and then by
+ * member. Every forward link records how many nodes it jumps over (its span), so looking up the
+ * rank of a member or the member at a rank costs O(log n), just like the zskiplist used by Redis.
+ *
+ * This class is not thread safe, all access is guarded by the owning {@link RedisSortedSet}.
+ */
+class SortedSetSkipList {
+
+  static final int MAX_LEVEL = 32;
+
+  private static final double LEVEL_PROBABILITY = 0.25;
+
+  private final Node header = new Node(null, 0, MAX_LEVEL);
+
+  private Node tail;
+
+  private int level = 1;
+
+  private int length;
+
+  int size() {
+    return this.length;
+  }
+
+  Node first() {
+    return this.header.forward[0];
+  }
+
+  Node last() {
+    return this.tail;
+  }
+
+  /**
+   * Inserts a new node. The caller must make sure the member is not already present.
+   */
+  Node insert(double score, ByteArrayWrapper member) {
+    Node[] update = new Node[MAX_LEVEL];
+    int[] rank = new int[MAX_LEVEL];
+    Node x = this.header;
+    for (int i = this.level - 1; i >= 0; i--) {
+      rank[i] = i == this.level - 1 ? 0 : rank[i + 1];
+      while (x.forward[i] != null && x.forward[i].lessThan(score, member)) {
+        rank[i] += x.span[i];
+        x = x.forward[i];
+      }
+      update[i] = x;
+    }
+
+    int newLevel = randomLevel();
+    if (newLevel > this.level) {
+      for (int i = this.level; i < newLevel; i++) {
+        rank[i] = 0;
+        update[i] = this.header;
+        update[i].span[i] = this.length;
+      }
+      this.level = newLevel;
+    }
+
+    x = new Node(member, score, newLevel);
+    for (int i = 0; i < newLevel; i++) {
+      x.forward[i] = update[i].forward[i];
+      update[i].forward[i] = x;
+      x.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+      update[i].span[i] = (rank[0] - rank[i]) + 1;
+    }
+    for (int i = newLevel; i < this.level; i++) {
+      update[i].span[i]++;
+    }
+
+    x.backward = update[0] == this.header ? null : update[0];
+    if (x.forward[0] != null) {
+      x.forward[0].backward = x;
+    } else {
+      this.tail = x;
+    }
+    this.length++;
+    return x;
+  }
+
+  /**
+   * Removes the node holding the given score and member.
+   *
+   * @return true if such a node existed
+   */
+  boolean delete(double score, ByteArrayWrapper member) {
+    Node[] update = new Node[MAX_LEVEL];
+    Node x = this.header;
+    for (int i = this.level - 1; i >= 0; i--) {
+      while (x.forward[i] != null && x.forward[i].lessThan(score, member)) {
+        x = x.forward[i];
+      }
+      update[i] = x;
+    }
+    x = x.forward[0];
+    if (x != null && x.score == score && x.member.equals(member)) {
+      deleteNode(x, update);
+      return true;
+    }
+    return false;
+  }
+
+  private void deleteNode(Node x, Node[] update) {
+    for (int i = 0; i < this.level; i++) {
+      if (update[i].forward[i] == x) {
+        update[i].span[i] += x.span[i] - 1;
+        update[i].forward[i] = x.forward[i];
+      } else {
+        update[i].span[i] -= 1;
+      }
+    }
+    if (x.forward[0] != null) {
+      x.forward[0].backward = x.backward;
+    } else {
+      this.tail = x.backward;
+    }
+    while (this.level > 1 && this.header.forward[this.level - 1] == null) {
+      this.level--;
+    }
+    this.length--;
+  }
+
+  /**
+   * @return the zero based rank of the node holding the given score and member, or -1 if there is
+   *         no such node
+   */
+  int getRank(double score, ByteArrayWrapper member) {
+    int rank = 0;
+    Node x = this.header;
+    for (int i = this.level - 1; i >= 0; i--) {
+      while (x.forward[i] != null && !x.forward[i].greaterThan(score, member)) {
+        rank += x.span[i];
+        x = x.forward[i];
+      }
+      if (x != this.header && x.score == score && x.member.equals(member)) {
+        return rank - 1;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @param rank zero based rank
+   * @return the node at the given rank or null if the rank is out of bounds
+   */
+  Node getByRank(int rank) {
+    if (rank < 0 || rank >= this.length) {
+      return null;
+    }
+    int target = rank + 1;
+    int traversed = 0;
+    Node x = this.header;
+    for (int i = this.level - 1; i >= 0; i--) {
+      while (x.forward[i] != null && traversed + x.span[i] <= target) {
+        traversed += x.span[i];
+        x = x.forward[i];
+      }
+      if (traversed == target) {
+        return x;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return the first node with a score inside the range or null if the range is empty
+   */
+  Node firstInScoreRange(double min, boolean minExclusive, double max, boolean maxExclusive) {
+    Node x = this.header;
+    for (int i = this.level - 1; i >= 0; i--) {
+      while (x.forward[i] != null && !gteMin(x.forward[i].score, min, minExclusive)) {
+        x = x.forward[i];
+      }
+    }
+    x = x.forward[0];
+    if (x == null || !lteMax(x.score, max, maxExclusive)) {
+      return null;
+    }
+    return x;
+  }
+
+  /**
+   * @return the last node with a score inside the range or null if the range is empty
+   */
+  Node lastInScoreRange(double min, boolean minExclusive, double max, boolean maxExclusive) {
+    Node x = this.header;
+    for (int i = this.level - 1; i >= 0; i--) {
+      while (x.forward[i] != null && lteMax(x.forward[i].score, max, maxExclusive)) {
+        x = x.forward[i];
+      }
+    }
+    if (x == this.header || !gteMin(x.score, min, minExclusive)) {
+      return null;
+    }
+    return x;
+  }
+
+  /**
+   * Lexicographical ranges are only meaningful when all members share the same score, in which
+   * case the list is ordered by member alone. A null bound is unbounded.
+   *
+   * @return the first node with a member inside the range or null if the range is empty
+   */
+  Node firstInLexRange(ByteArrayWrapper min, boolean minInclusive, ByteArrayWrapper max,
+      boolean maxInclusive) {
+    Node x = this.header;
+    for (int i = this.level - 1; i >= 0; i--) {
+      while (x.forward[i] != null && !lexGteMin(x.forward[i].member, min, minInclusive)) {
+        x = x.forward[i];
+      }
+    }
+    x = x.forward[0];
+    if (x == null || !lexLteMax(x.member, max, maxInclusive)) {
+      return null;
+    }
+    return x;
+  }
+
+  /**
+   * @return the last node with a member inside the range or null if the range is empty
+   */
+  Node lastInLexRange(ByteArrayWrapper min, boolean minInclusive, ByteArrayWrapper max,
+      boolean maxInclusive) {
+    Node x = this.header;
+    for (int i = this.level - 1; i >= 0; i--) {
+      while (x.forward[i] != null && lexLteMax(x.forward[i].member, max, maxInclusive)) {
+        x = x.forward[i];
+      }
+    }
+    if (x == this.header || !lexGteMin(x.member, min, minInclusive)) {
+      return null;
+    }
+    return x;
+  }
+
+  static boolean gteMin(double value, double min, boolean minExclusive) {
+    return minExclusive ? value > min : value >= min;
+  }
+
+  static boolean lteMax(double value, double max, boolean maxExclusive) {
+    return maxExclusive ? value < max : value <= max;
+  }
+
+  static boolean lexGteMin(ByteArrayWrapper value, ByteArrayWrapper min, boolean minInclusive) {
+    if (min == null) {
+      return true;
+    }
+    int cmp = value.compareTo(min);
+    return minInclusive ? cmp >= 0 : cmp > 0;
+  }
+
+  static boolean lexLteMax(ByteArrayWrapper value, ByteArrayWrapper max, boolean maxInclusive) {
+    if (max == null) {
+      return true;
+    }
+    int cmp = value.compareTo(max);
+    return maxInclusive ? cmp <= 0 : cmp < 0;
+  }
+
+  private static int randomLevel() {
+    int newLevel = 1;
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    while (newLevel < MAX_LEVEL && random.nextDouble() < LEVEL_PROBABILITY) {
+      newLevel++;
+    }
+    return newLevel;
+  }
+
+  /**
+   * A member and its score. Nodes are immutable from the point of view of callers, a score update
+   * is done by deleting the node and inserting a new one, so a node handed out by a range lookup
+   * stays valid after the owning set changes.
+   */
+  static class Node implements Map.Entry<ByteArrayWrapper, Double> {
+    final ByteArrayWrapper member;
+    final double score;
+    final Node[] forward;
+    final int[] span;
+    Node backward;
+
+    Node(ByteArrayWrapper member, double score, int level) {
+      this.member = member;
+      this.score = score;
+      this.forward = new Node[level];
+      this.span = new int[level];
+    }
+
+    Node next() {
+      return this.forward[0];
+    }
+
+    Node previous() {
+      return this.backward;
+    }
+
+    private boolean lessThan(double otherScore, ByteArrayWrapper otherMember) {
+      return this.score < otherScore
+          || (this.score == otherScore && this.member.compareTo(otherMember) < 0);
+    }
+
+    private boolean greaterThan(double otherScore, ByteArrayWrapper otherMember) {
+      return this.score > otherScore
+          || (this.score == otherScore && this.member.compareTo(otherMember) > 0);
+    }
+
+    @Override
+    public ByteArrayWrapper getKey() {
+      return this.member;
+    }
+
+    @Override
+    public Double getValue() {
+      return this.score;
+    }
+
+    @Override
+    public Double setValue(Double value) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String toString() {
+      return this.member + "=" + Coder.doubleToString(this.score);
+    }
+  }
+}
@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.redis.internal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.geode.internal.InternalDataSerializer;
+
+/**
+ * A packed sequence of byte arrays, modeled on the Redis ziplist. All elements live in a single
+ * byte array, each one prefixed by its length as an unsigned varint, so a small collection costs
+ * one array instead of a {@link ByteArrayWrapper} and a map entry per element. Positional access
+ * is linear, which is why the owning {@link RedisHash}, {@link RedisSet} and {@link RedisList}
+ * keep each ZipList small.
+ *
+ * This class is not thread safe, all access is guarded by the owning value.
+ */
+class ZipList {
+
+  private static final byte[] EMPTY = new byte[0];
+
+  private byte[] data = EMPTY;
+
+  /**
+   * Number of bytes of {@link #data} in use
+   */
+  private int used;
+
+  private int count;
+
+  int size() {
+    return this.count;
+  }
+
+  boolean isEmpty() {
+    return this.count == 0;
+  }
+
+  /**
+   * @return the number of bytes taken by the encoded elements
+   */
+  int byteSize() {
+    return this.used;
+  }
+
+  ByteArrayWrapper get(int index) {
+    return new ByteArrayWrapper(readAt(offsetOf(index)));
+  }
+
+  ByteArrayWrapper getFirst() {
+    return get(0);
+  }
+
+  ByteArrayWrapper getLast() {
+    return get(this.count - 1);
+  }
+
+  /**
+   * @param start index of the first element to compare
+   * @param step distance between compared elements, a hash compares every other element
+   * @return the index of the first compared element equal to value, or -1
+   */
+  int indexOf(ByteArrayWrapper value, int start, int step) {
+    byte[] bytes = value.toBytes();
+    int offset = 0;
+    for (int i = 0; i < this.count; i++) {
+      int length = readLength(offset);
+      int dataStart = offset + lengthSize(length);
+      if (i >= start && (i - start) % step == 0 && length == bytes.length
+          && regionMatches(dataStart, bytes)) {
+        return i;
+      }
+      offset = dataStart + length;
+    }
+    return -1;
+  }
+
+  int indexOf(ByteArrayWrapper value) {
+    return indexOf(value, 0, 1);
+  }
+
+  void add(ByteArrayWrapper value) {
+    insertAt(this.used, value.toBytes());
+  }
+
+  void add(int index, ByteArrayWrapper value) {
+    insertAt(index == this.count ? this.used : offsetOf(index), value.toBytes());
+  }
+
+  void set(int index, ByteArrayWrapper value) {
+    int offset = offsetOf(index);
+    removeAt(offset);
+    insertAt(offset, value.toBytes());
+  }
+
+  void remove(int index) {
+    removeRange(index, 1);
+  }
+
+  /**
+   * Removes {@code length} elements starting at {@code index}
+   */
+  void removeRange(int index, int length) {
+    if (length <= 0) {
+      return;
+    }
+    int start = offsetOf(index);
+    int end = start;
+    for (int i = 0; i < length; i++) {
+      end = nextOffset(end);
+    }
+    System.arraycopy(this.data, end, this.data, start, this.used - end);
+    this.used -= end - start;
+    this.count -= length;
+  }
+
+  /**
+   * @return all elements in order
+   */
+  List<ByteArrayWrapper> toList() {
+    List<ByteArrayWrapper> list = new ArrayList<>(this.count);
+    for (int offset = 0; offset < this.used; offset = nextOffset(offset)) {
+      list.add(new ByteArrayWrapper(readAt(offset)));
+    }
+    return list;
+  }
+
+  /**
+   * @return the elements from start to stop inclusive, in order
+   */
+  List<ByteArrayWrapper> subList(int start, int stop) {
+    List<ByteArrayWrapper> list = new ArrayList<>(stop - start + 1);
+    int offset = offsetOf(start);
+    for (int i = start; i <= stop; i++) {
+      list.add(new ByteArrayWrapper(readAt(offset)));
+      offset = nextOffset(offset);
+    }
+    return list;
+  }
+
+  void toData(DataOutput out) throws IOException {
+    InternalDataSerializer.writeArrayLength(this.count, out);
+    InternalDataSerializer.writeArrayLength(this.used, out);
+    out.write(this.data, 0, this.used);
+  }
+
+  void fromData(DataInput in) throws IOException {
+    this.count = InternalDataSerializer.readArrayLength(in);
+    this.used = InternalDataSerializer.readArrayLength(in);
+    this.data = new byte[this.used];
+    in.readFully(this.data);
+  }
+
+  private int offsetOf(int index) {
+    if (index < 0 || index >= this.count) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.count);
+    }
+    int offset = 0;
+    for (int i = 0; i < index; i++) {
+      offset = nextOffset(offset);
+    }
+    return offset;
+  }
+
+  private int nextOffset(int offset) {
+    int length = readLength(offset);
+    return offset + lengthSize(length) + length;
+  }
+
+  private byte[] readAt(int offset) {
+    int length = readLength(offset);
+    int start = offset + lengthSize(length);
+    return Arrays.copyOfRange(this.data, start, start + length);
+  }
+
+  private boolean regionMatches(int start, byte[] bytes) {
+    for (int i = 0; i < bytes.length; i++) {
+      if (this.data[start + i] != bytes[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void insertAt(int offset, byte[] bytes) {
+    int entrySize = lengthSize(bytes.length) + bytes.length;
+    ensureCapacity(this.used + entrySize);
+    System.arraycopy(this.data, offset, this.data, offset + entrySize, this.used - offset);
+    int position = writeLength(offset, bytes.length);
+    System.arraycopy(bytes, 0, this.data, position, bytes.length);
+    this.used += entrySize;
+    this.count++;
+  }
+
+  private void removeAt(int offset) {
+    int end = nextOffset(offset);
+    System.arraycopy(this.data, end, this.data, offset, this.used - end);
+    this.used -= end - offset;
+    this.count--;
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity > this.data.length) {
+      this.data = Arrays.copyOf(this.data, Math.max(capacity, this.data.length * 3 / 2 + 16));
+    }
+  }
+
+  private int readLength(int offset) {
+    int length = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = this.data[offset++];
+      length |= (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return length;
+  }
+
+  private int writeLength(int offset, int length) {
+    while ((length & ~0x7F) != 0) {
+      this.data[offset++] = (byte) ((length & 0x7F) | 0x80);
+      length >>>= 7;
+    }
+    this.data[offset++] = (byte) length;
+    return offset;
+  }
+
+  private static int lengthSize(int length) {
+    int size = 1;
+    while ((length & ~0x7F) != 0) {
+      length >>>= 7;
+      size++;
+    }
+    return size;
+  }
+}
@@ -42,7 +42,7 @@ public abstract class AbstractExecutor implements Executor {
   /**
    * Number of Regions used by GeodeRedisServer internally
    */
-  public static final int NUM_DEFAULT_REGIONS = 3;
+  public static final int NUM_DEFAULT_REGIONS = 7;
 
   /**
    * Max length of a list
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.redis.internal.executor;
+
+import java.util.List;
+
+import org.apache.geode.redis.internal.ClusterTopology;
+import org.apache.geode.redis.internal.Coder;
+import org.apache.geode.redis.internal.CoderException;
+import org.apache.geode.redis.internal.Command;
+import org.apache.geode.redis.internal.ExecutionHandlerContext;
+import org.apache.geode.redis.internal.RedisConstants;
+import org.apache.geode.redis.internal.RedisConstants.ArityDef;
+import org.apache.geode.redis.internal.SlotPartitionResolver;
+
+public class ClusterExecutor extends AbstractExecutor {
+
+  @Override
+  public void executeCommand(Command command, ExecutionHandlerContext context) {
+    List<byte[]> commandElems = command.getProcessedCommand();
+
+    if (commandElems.size() < 2) {
+      command.setResponse(Coder.getErrorResponse(context.getByteBufAllocator(), ArityDef.CLUSTER));
+      return;
+    }
+
+    ClusterTopology topology = context.getClusterTopology();
+    if (topology == null) {
+      command.setResponse(Coder.getErrorResponse(context.getByteBufAllocator(),
+          RedisConstants.ERROR_CLUSTER_DISABLED));
+      return;
+    }
+
+    String subCommand = Coder.bytesToString(commandElems.get(1));
+    if (subCommand.equalsIgnoreCase("SLOTS")) {
+      try {
+        command.setResponse(
+            Coder.getArrayResponse(context.getByteBufAllocator(), topology.getSlots()));
+      } catch (CoderException e) {
+        command.setResponse(Coder.getErrorResponse(context.getByteBufAllocator(),
+            RedisConstants.SERVER_ERROR_MESSAGE));
+      }
+    } else if (subCommand.equalsIgnoreCase("NODES")) {
+      respondBulkStrings(command, context, topology.getNodes());
+    } else if (subCommand.equalsIgnoreCase("MYID")) {
+      respondBulkStrings(command, context, topology.getLocalNodeId());
+    } else if (subCommand.equalsIgnoreCase("INFO")) {
+      int nodes = topology.getNodeCount();
+      respondBulkStrings(command, context,
+          "cluster_state:ok\r\ncluster_slots_assigned:" + SlotPartitionResolver.SLOTS
+              + "\r\ncluster_slots_ok:" + SlotPartitionResolver.SLOTS
+              + "\r\ncluster_slots_pfail:0\r\ncluster_slots_fail:0\r\ncluster_known_nodes:" + nodes
+              + "\r\ncluster_size:" + nodes + "\r\n");
+    } else if (subCommand.equalsIgnoreCase("KEYSLOT") && commandElems.size() == 3) {
+      command.setResponse(Coder.getIntegerResponse(context.getByteBufAllocator(),
+          SlotPartitionResolver.getSlot(commandElems.get(2))));
+    } else {
+      command.setResponse(Coder.getErrorResponse(context.getByteBufAllocator(), ArityDef.CLUSTER));
+    }
+  }
+
+}
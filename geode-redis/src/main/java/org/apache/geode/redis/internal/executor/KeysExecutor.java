@@ -53,7 +53,10 @@ public class KeysExecutor extends AbstractExecutor {
 
     for (String key : allKeys) {
       if (!(key.equals(GeodeRedisServer.REDIS_META_DATA_REGION)
-          || key.equals(GeodeRedisServer.STRING_REGION) || key.equals(GeodeRedisServer.HLL_REGION))
+          || key.equals(GeodeRedisServer.STRING_REGION) || key.equals(GeodeRedisServer.HLL_REGION)
+          || key.equals(GeodeRedisServer.SORTED_SET_REGION)
+          || key.equals(GeodeRedisServer.HASH_REGION) || key.equals(GeodeRedisServer.SET_REGION)
+          || key.equals(GeodeRedisServer.LIST_REGION))
           && pattern.matcher(key).matches())
         matchingKeys.add(key);
     }
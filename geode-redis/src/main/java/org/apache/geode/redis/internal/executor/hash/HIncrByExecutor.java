@@ -16,13 +16,12 @@ package org.apache.geode.redis.internal.executor.hash;
 
 import java.util.List;
 
-import org.apache.geode.cache.Region;
 import org.apache.geode.redis.internal.ByteArrayWrapper;
 import org.apache.geode.redis.internal.Coder;
 import org.apache.geode.redis.internal.Command;
 import org.apache.geode.redis.internal.ExecutionHandlerContext;
 import org.apache.geode.redis.internal.RedisConstants.ArityDef;
-import org.apache.geode.redis.internal.RedisDataType;
+import org.apache.geode.redis.internal.RedisHash;
 
 public class HIncrByExecutor extends HashExecutor {
 
@@ -58,8 +57,7 @@ public class HIncrByExecutor extends HashExecutor {
 
     ByteArrayWrapper key = command.getKey();
 
-    Region<ByteArrayWrapper, ByteArrayWrapper> keyRegion =
-        getOrCreateRegion(context, key, RedisDataType.REDIS_HASH);
+    RedisHash hash = getOrCreateHash(context, key);
 
     byte[] byteField = commandElems.get(FIELD_INDEX);
     ByteArrayWrapper field = new ByteArrayWrapper(byteField);
@@ -68,10 +66,11 @@ public class HIncrByExecutor extends HashExecutor {
      * Put incrememnt as value if field doesn't exist
      */
 
-    ByteArrayWrapper oldValue = keyRegion.get(field);
+    ByteArrayWrapper oldValue = hash.get(field);
 
     if (oldValue == null) {
-      keyRegion.put(field, new ByteArrayWrapper(incrArray));
+      hash.put(field, new ByteArrayWrapper(incrArray));
+      storeHash(context, key, hash);
       command.setResponse(Coder.getIntegerResponse(context.getByteBufAllocator(), increment));
       return;
     }
@@ -102,7 +101,8 @@ public class HIncrByExecutor extends HashExecutor {
     value += increment;
     // String newValue = String.valueOf(value);
 
-    keyRegion.put(field, new ByteArrayWrapper(Coder.longToBytes(value)));
+    hash.put(field, new ByteArrayWrapper(Coder.longToBytes(value)));
+    storeHash(context, key, hash);
 
     command.setResponse(Coder.getIntegerResponse(context.getByteBufAllocator(), value));
 
@@ -18,24 +18,69 @@ import org.apache.geode.cache.Region;
 import org.apache.geode.redis.internal.ByteArrayWrapper;
 import org.apache.geode.redis.internal.ExecutionHandlerContext;
 import org.apache.geode.redis.internal.RedisDataType;
+import org.apache.geode.redis.internal.RedisDataTypeMismatchException;
+import org.apache.geode.redis.internal.RedisHash;
 import org.apache.geode.redis.internal.executor.AbstractExecutor;
 
 public abstract class HashExecutor extends AbstractExecutor {
 
   protected final int FIELD_INDEX = 2;
 
-  @Override
-  @SuppressWarnings("unchecked")
-  protected Region<ByteArrayWrapper, ByteArrayWrapper> getOrCreateRegion(
-      ExecutionHandlerContext context, ByteArrayWrapper key, RedisDataType type) {
-    return (Region<ByteArrayWrapper, ByteArrayWrapper>) context.getRegionProvider()
-        .getOrCreateRegion(key, type, context);
+  protected Region<ByteArrayWrapper, RedisHash> getHashRegion(ExecutionHandlerContext context) {
+    return context.getRegionProvider().getHashRegion();
   }
 
-  @SuppressWarnings("unchecked")
-  protected Region<ByteArrayWrapper, ByteArrayWrapper> getRegion(ExecutionHandlerContext context,
-      ByteArrayWrapper key) {
-    return (Region<ByteArrayWrapper, ByteArrayWrapper>) context.getRegionProvider().getRegion(key);
+  /**
+   * Getter for the {@link RedisHash} stored at the given key
+   *
+   * @return the value or null if the key does not exist
+   */
+  protected RedisHash getHash(ExecutionHandlerContext context, ByteArrayWrapper key) {
+    return getHashRegion(context).get(key);
+  }
+
+  /**
+   * Getter for the {@link RedisHash} stored at the given key, creating an empty one if the key does
+   * not exist. The data type of the key is checked and set first.
+   */
+  protected RedisHash getOrCreateHash(ExecutionHandlerContext context, ByteArrayWrapper key) {
+    checkAndSetDataType(key, context);
+    Region<ByteArrayWrapper, RedisHash> region = getHashRegion(context);
+    RedisHash value = region.get(key);
+    if (value == null) {
+      RedisHash newValue = new RedisHash();
+      value = region.putIfAbsent(key, newValue);
+      if (value == null) {
+        value = newValue;
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Stores a modified {@link RedisHash}, only the changes are distributed. An empty value removes
+   * the key altogether, as Redis does.
+   */
+  protected void storeHash(ExecutionHandlerContext context, ByteArrayWrapper key,
+      RedisHash value) {
+    if (value.isEmpty()) {
+      context.getRegionProvider().removeKey(key, RedisDataType.REDIS_HASH);
+      return;
+    }
+    try {
+      getHashRegion(context).put(key, value);
+    } finally {
+      value.clearDelta();
+    }
+  }
+
+  protected void checkAndSetDataType(ByteArrayWrapper key, ExecutionHandlerContext context) {
+    Object oldVal = context.getRegionProvider().metaPutIfAbsent(key, RedisDataType.REDIS_HASH);
+    if (oldVal == RedisDataType.REDIS_PROTECTED)
+      throw new RedisDataTypeMismatchException("The key name \"" + key + "\" is protected");
+    if (oldVal != null && oldVal != RedisDataType.REDIS_HASH)
+      throw new RedisDataTypeMismatchException(
+          "The key name \"" + key + "\" is already used by a " + oldVal.toString());
   }
 
 }
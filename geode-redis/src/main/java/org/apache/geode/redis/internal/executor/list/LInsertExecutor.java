@@ -14,15 +14,55 @@
  */
 package org.apache.geode.redis.internal.executor.list;
 
+import java.util.List;
+
+import org.apache.geode.redis.internal.ByteArrayWrapper;
 import org.apache.geode.redis.internal.Coder;
 import org.apache.geode.redis.internal.Command;
 import org.apache.geode.redis.internal.ExecutionHandlerContext;
+import org.apache.geode.redis.internal.RedisConstants.ArityDef;
+import org.apache.geode.redis.internal.RedisDataType;
+import org.apache.geode.redis.internal.RedisList;
 
 public class LInsertExecutor extends ListExecutor {
 
+  private final int NOT_EXISTS = 0;
+
   @Override
   public void executeCommand(Command command, ExecutionHandlerContext context) {
-    command.setResponse(Coder.getErrorResponse(context.getByteBufAllocator(),
-        "Unfortunately GemFireRedis server does not support LINSERT"));
+    List<byte[]> commandElems = command.getProcessedCommand();
+
+    if (commandElems.size() < 5) {
+      command.setResponse(Coder.getErrorResponse(context.getByteBufAllocator(), ArityDef.LINSERT));
+      return;
+    }
+
+    String where = Coder.bytesToString(commandElems.get(2));
+    boolean before = where.equalsIgnoreCase("BEFORE");
+    if (!before && !where.equalsIgnoreCase("AFTER")) {
+      command.setResponse(Coder.getErrorResponse(context.getByteBufAllocator(), ArityDef.LINSERT));
+      return;
+    }
+
+    ByteArrayWrapper key = command.getKey();
+    ByteArrayWrapper pivot = new ByteArrayWrapper(commandElems.get(3));
+    ByteArrayWrapper value = new ByteArrayWrapper(commandElems.get(4));
+
+    checkDataType(key, RedisDataType.REDIS_LIST, context);
+    RedisList list = getList(context, key);
+
+    if (list == null) {
+      command.setResponse(Coder.getIntegerResponse(context.getByteBufAllocator(), NOT_EXISTS));
+      return;
+    }
+
+    int listSize;
+    synchronized (list) {
+      listSize = list.insert(pivot, value, before);
+      if (listSize > 0)
+        storeList(context, key, list);
+    }
+
+    command.setResponse(Coder.getIntegerResponse(context.getByteBufAllocator(), listSize));
   }
 }
@@ -16,13 +16,13 @@ package org.apache.geode.redis.internal.executor.list;
 
 import java.util.List;
 
-import org.apache.geode.cache.Region;
 import org.apache.geode.redis.internal.ByteArrayWrapper;
 import org.apache.geode.redis.internal.Coder;
 import org.apache.geode.redis.internal.Command;
 import org.apache.geode.redis.internal.ExecutionHandlerContext;
 import org.apache.geode.redis.internal.RedisConstants.ArityDef;
 import org.apache.geode.redis.internal.RedisDataType;
+import org.apache.geode.redis.internal.RedisList;
 
 public class LLenExecutor extends ListExecutor {
 
@@ -39,18 +39,14 @@ public class LLenExecutor extends ListExecutor {
 
     ByteArrayWrapper key = command.getKey();
 
-    int listSize = 0;
-
     checkDataType(key, RedisDataType.REDIS_LIST, context);
-    Region<Integer, ByteArrayWrapper> keyRegion = getRegion(context, key);
+    RedisList list = getList(context, key);
 
-    if (keyRegion == null) {
+    if (list == null) {
       command.setResponse(Coder.getIntegerResponse(context.getByteBufAllocator(), NOT_EXISTS));
       return;
     }
 
-    listSize = keyRegion.size() - LIST_EMPTY_SIZE;
-
-    command.setResponse(Coder.getIntegerResponse(context.getByteBufAllocator(), listSize));
+    command.setResponse(Coder.getIntegerResponse(context.getByteBufAllocator(), list.size()));
   }
 }
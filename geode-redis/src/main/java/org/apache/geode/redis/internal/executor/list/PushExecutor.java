@@ -16,13 +16,12 @@ package org.apache.geode.redis.internal.executor.list;
 
 import java.util.List;
 
-import org.apache.geode.cache.Region;
 import org.apache.geode.redis.internal.ByteArrayWrapper;
 import org.apache.geode.redis.internal.Coder;
 import org.apache.geode.redis.internal.Command;
 import org.apache.geode.redis.internal.ExecutionHandlerContext;
 import org.apache.geode.redis.internal.Extendable;
-import org.apache.geode.redis.internal.RedisDataType;
+import org.apache.geode.redis.internal.RedisList;
 
 public abstract class PushExecutor extends PushXExecutor implements Extendable {
 
@@ -39,11 +38,13 @@ public abstract class PushExecutor extends PushXExecutor implements Extendable {
 
     ByteArrayWrapper key = command.getKey();
 
-    Region<Integer, ByteArrayWrapper> keyRegion =
-        getOrCreateRegion(context, key, RedisDataType.REDIS_LIST);
-    pushElements(key, commandElems, START_VALUES_INDEX, commandElems.size(), keyRegion, pushType(),
-        context);
-    int listSize = keyRegion.size() - LIST_EMPTY_SIZE;
+    RedisList list = getOrCreateList(context, key);
+    int listSize;
+    synchronized (list) {
+      pushElements(commandElems, START_VALUES_INDEX, commandElems.size(), list, pushType());
+      listSize = list.size();
+      storeList(context, key, list);
+    }
     command.setResponse(Coder.getIntegerResponse(context.getByteBufAllocator(), listSize));
   }
 
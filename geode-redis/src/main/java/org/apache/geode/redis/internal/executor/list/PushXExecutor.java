@@ -16,13 +16,13 @@ package org.apache.geode.redis.internal.executor.list;
 
 import java.util.List;
 
-import org.apache.geode.cache.Region;
 import org.apache.geode.redis.internal.ByteArrayWrapper;
 import org.apache.geode.redis.internal.Coder;
 import org.apache.geode.redis.internal.Command;
 import org.apache.geode.redis.internal.ExecutionHandlerContext;
 import org.apache.geode.redis.internal.Extendable;
 import org.apache.geode.redis.internal.RedisDataType;
+import org.apache.geode.redis.internal.RedisList;
 
 public abstract class PushXExecutor extends ListExecutor implements Extendable {
 
@@ -39,19 +39,43 @@ public abstract class PushXExecutor extends ListExecutor implements Extendable {
 
     ByteArrayWrapper key = command.getKey();
 
-    Region<Integer, ByteArrayWrapper> keyRegion = getRegion(context, key);
-    if (keyRegion == null) {
+    checkDataType(key, RedisDataType.REDIS_LIST, context);
+    RedisList list = getList(context, key);
+    if (list == null) {
       command.setResponse(Coder.getIntegerResponse(context.getByteBufAllocator(), NOT_EXISTS));
       return;
     }
-    checkDataType(key, RedisDataType.REDIS_LIST, context);
-    pushElements(key, commandElems, 2, 3, keyRegion, pushType(), context);
-
-    int listSize = keyRegion.size() - LIST_EMPTY_SIZE;
+    int listSize;
+    synchronized (list) {
+      pushElements(commandElems, 2, 3, list, pushType());
+      listSize = list.size();
+      storeList(context, key, list);
+    }
 
     command.setResponse(Coder.getIntegerResponse(context.getByteBufAllocator(), listSize));
   }
 
+  /**
+   * Helper method to be used by the push commands to push elements onto a list
+   *
+   * @param commandElems Pieces of the command, this is where the elements that need to be pushed
+   *        live
+   * @param startIndex The index to start with in the commandElems list, inclusive
+   * @param endIndex The index to end with in the commandElems list, exclusive
+   * @param list The list to push onto
+   * @param pushType ListDirection.LEFT || ListDirection.RIGHT
+   */
+  protected void pushElements(List<byte[]> commandElems, int startIndex, int endIndex,
+      RedisList list, ListDirection pushType) {
+    for (int i = startIndex; i < endIndex; i++) {
+      ByteArrayWrapper wrapper = new ByteArrayWrapper(commandElems.get(i));
+      if (pushType == ListDirection.LEFT)
+        list.pushLeft(wrapper);
+      else
+        list.pushRight(wrapper);
+    }
+  }
+
   protected abstract ListDirection pushType();
 
 }
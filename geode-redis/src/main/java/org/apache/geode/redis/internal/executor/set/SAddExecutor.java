@@ -14,17 +14,14 @@
  */
 package org.apache.geode.redis.internal.executor.set;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
-import org.apache.geode.cache.Region;
 import org.apache.geode.redis.internal.ByteArrayWrapper;
 import org.apache.geode.redis.internal.Coder;
 import org.apache.geode.redis.internal.Command;
 import org.apache.geode.redis.internal.ExecutionHandlerContext;
 import org.apache.geode.redis.internal.RedisConstants.ArityDef;
-import org.apache.geode.redis.internal.RedisDataType;
+import org.apache.geode.redis.internal.RedisSet;
 
 public class SAddExecutor extends SetExecutor {
 
@@ -38,23 +35,17 @@ public class SAddExecutor extends SetExecutor {
     }
 
     ByteArrayWrapper key = command.getKey();
-    @SuppressWarnings("unchecked")
-    Region<ByteArrayWrapper, Boolean> keyRegion = (Region<ByteArrayWrapper, Boolean>) context
-        .getRegionProvider().getOrCreateRegion(key, RedisDataType.REDIS_SET, context);
-
-    if (commandElems.size() >= 4) {
-      Map<ByteArrayWrapper, Boolean> entries = new HashMap<ByteArrayWrapper, Boolean>();
-      for (int i = 2; i < commandElems.size(); i++)
-        entries.put(new ByteArrayWrapper(commandElems.get(i)), true);
-
-      keyRegion.putAll(entries);
-      command.setResponse(Coder.getIntegerResponse(context.getByteBufAllocator(), entries.size()));
-    } else {
-      Object v = keyRegion.put(new ByteArrayWrapper(commandElems.get(2)), true);
-      command
-          .setResponse(Coder.getIntegerResponse(context.getByteBufAllocator(), v == null ? 1 : 0));
+    RedisSet set = getOrCreateSet(context, key);
+
+    int numAdded = 0;
+    for (int i = 2; i < commandElems.size(); i++) {
+      if (set.add(new ByteArrayWrapper(commandElems.get(i))))
+        numAdded++;
     }
+    if (numAdded > 0)
+      storeSet(context, key, set);
 
+    command.setResponse(Coder.getIntegerResponse(context.getByteBufAllocator(), numAdded));
   }
 
 }
@@ -17,12 +17,13 @@ package org.apache.geode.redis.internal.executor.set;
 import java.util.List;
 import java.util.Random;
 
-import org.apache.geode.cache.Region;
 import org.apache.geode.redis.internal.ByteArrayWrapper;
 import org.apache.geode.redis.internal.Coder;
 import org.apache.geode.redis.internal.Command;
 import org.apache.geode.redis.internal.ExecutionHandlerContext;
 import org.apache.geode.redis.internal.RedisConstants.ArityDef;
+import org.apache.geode.redis.internal.RedisDataType;
+import org.apache.geode.redis.internal.RedisSet;
 
 public class SPopExecutor extends SetExecutor {
 
@@ -36,24 +37,21 @@ public class SPopExecutor extends SetExecutor {
     }
 
     ByteArrayWrapper key = command.getKey();
-    @SuppressWarnings("unchecked")
-    Region<ByteArrayWrapper, Boolean> keyRegion =
-        (Region<ByteArrayWrapper, Boolean>) context.getRegionProvider().getRegion(key);
-    if (keyRegion == null || keyRegion.isEmpty()) {
+    checkDataType(key, RedisDataType.REDIS_SET, context);
+    RedisSet set = getSet(context, key);
+
+    if (set == null || set.isEmpty()) {
       command.setResponse(Coder.getNilResponse(context.getByteBufAllocator()));
       return;
     }
 
     Random rand = new Random();
 
-    ByteArrayWrapper[] entries = keyRegion.keySet().toArray(new ByteArrayWrapper[keyRegion.size()]);
-
-    ByteArrayWrapper pop = entries[rand.nextInt(entries.length)];
+    List<ByteArrayWrapper> members = set.members();
+    ByteArrayWrapper pop = members.get(rand.nextInt(members.size()));
 
-    keyRegion.remove(pop);
-    if (keyRegion.isEmpty()) {
-      context.getRegionProvider().removeKey(key);
-    }
+    set.remove(pop);
+    storeSet(context, key, set);
 
     respondBulkStrings(command, context, pop);
   }
@@ -20,12 +20,13 @@ import java.util.List;
 import java.util.Random;
 import java.util.Set;
 
-import org.apache.geode.cache.Region;
 import org.apache.geode.redis.internal.ByteArrayWrapper;
 import org.apache.geode.redis.internal.Coder;
 import org.apache.geode.redis.internal.Command;
 import org.apache.geode.redis.internal.ExecutionHandlerContext;
 import org.apache.geode.redis.internal.RedisConstants.ArityDef;
+import org.apache.geode.redis.internal.RedisDataType;
+import org.apache.geode.redis.internal.RedisSet;
 
 public class SRandMemberExecutor extends SetExecutor {
 
@@ -42,9 +43,9 @@ public class SRandMemberExecutor extends SetExecutor {
     }
 
     ByteArrayWrapper key = command.getKey();
-    @SuppressWarnings("unchecked")
-    Region<ByteArrayWrapper, Boolean> keyRegion =
-        (Region<ByteArrayWrapper, Boolean>) context.getRegionProvider().getRegion(key);
+
+    checkDataType(key, RedisDataType.REDIS_SET, context);
+    RedisSet set = getSet(context, key);
 
     int count = 1;
 
@@ -58,29 +59,28 @@ public class SRandMemberExecutor extends SetExecutor {
       }
     }
 
-    if (keyRegion == null || count == 0) {
+    if (set == null || count == 0) {
       command.setResponse(Coder.getNilResponse(context.getByteBufAllocator()));
       return;
     }
 
-    int members = keyRegion.size();
+    List<ByteArrayWrapper> entries = set.members();
+    int members = entries.size();
 
     if (members <= count && count != 1) {
-      respondBulkStrings(command, context, new HashSet<ByteArrayWrapper>(keyRegion.keySet()));
+      respondBulkStrings(command, context, entries);
       return;
     }
 
     Random rand = new Random();
 
-    ByteArrayWrapper[] entries = keyRegion.keySet().toArray(new ByteArrayWrapper[members]);
-
     if (count == 1) {
-      ByteArrayWrapper randEntry = entries[rand.nextInt(entries.length)];
+      ByteArrayWrapper randEntry = entries.get(rand.nextInt(members));
       respondBulkStrings(command, context, randEntry);
     } else if (count > 0) {
       Set<ByteArrayWrapper> randEntries = new HashSet<ByteArrayWrapper>();
       do {
-        ByteArrayWrapper s = entries[rand.nextInt(entries.length)];
+        ByteArrayWrapper s = entries.get(rand.nextInt(members));
         randEntries.add(s);
       } while (randEntries.size() < count);
       respondBulkStrings(command, context, randEntries);
@@ -88,7 +88,7 @@ public class SRandMemberExecutor extends SetExecutor {
       count = -count;
       List<ByteArrayWrapper> randEntries = new ArrayList<ByteArrayWrapper>();
       for (int i = 0; i < count; i++) {
-        ByteArrayWrapper s = entries[rand.nextInt(entries.length)];
+        ByteArrayWrapper s = entries.get(rand.nextInt(members));
         randEntries.add(s);
       }
       respondBulkStrings(command, context, randEntries);
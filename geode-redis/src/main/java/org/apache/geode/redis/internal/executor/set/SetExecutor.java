@@ -14,8 +14,71 @@
  */
 package org.apache.geode.redis.internal.executor.set;
 
+import org.apache.geode.cache.Region;
+import org.apache.geode.redis.internal.ByteArrayWrapper;
+import org.apache.geode.redis.internal.ExecutionHandlerContext;
+import org.apache.geode.redis.internal.RedisDataType;
+import org.apache.geode.redis.internal.RedisDataTypeMismatchException;
+import org.apache.geode.redis.internal.RedisSet;
 import org.apache.geode.redis.internal.executor.AbstractExecutor;
 
 public abstract class SetExecutor extends AbstractExecutor {
 
+  protected Region<ByteArrayWrapper, RedisSet> getSetRegion(ExecutionHandlerContext context) {
+    return context.getRegionProvider().getSetRegion();
+  }
+
+  /**
+   * Getter for the {@link RedisSet} stored at the given key
+   *
+   * @return the value or null if the key does not exist
+   */
+  protected RedisSet getSet(ExecutionHandlerContext context, ByteArrayWrapper key) {
+    return getSetRegion(context).get(key);
+  }
+
+  /**
+   * Getter for the {@link RedisSet} stored at the given key, creating an empty one if the key does
+   * not exist. The data type of the key is checked and set first.
+   */
+  protected RedisSet getOrCreateSet(ExecutionHandlerContext context, ByteArrayWrapper key) {
+    checkAndSetDataType(key, context);
+    Region<ByteArrayWrapper, RedisSet> region = getSetRegion(context);
+    RedisSet value = region.get(key);
+    if (value == null) {
+      RedisSet newValue = new RedisSet();
+      value = region.putIfAbsent(key, newValue);
+      if (value == null) {
+        value = newValue;
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Stores a modified {@link RedisSet}, only the changes are distributed. An empty value removes
+   * the key altogether, as Redis does.
+   */
+  protected void storeSet(ExecutionHandlerContext context, ByteArrayWrapper key,
+      RedisSet value) {
+    if (value.isEmpty()) {
+      context.getRegionProvider().removeKey(key, RedisDataType.REDIS_SET);
+      return;
+    }
+    try {
+      getSetRegion(context).put(key, value);
+    } finally {
+      value.clearDelta();
+    }
+  }
+
+  protected void checkAndSetDataType(ByteArrayWrapper key, ExecutionHandlerContext context) {
+    Object oldVal = context.getRegionProvider().metaPutIfAbsent(key, RedisDataType.REDIS_SET);
+    if (oldVal == RedisDataType.REDIS_PROTECTED)
+      throw new RedisDataTypeMismatchException("The key name \"" + key + "\" is protected");
+    if (oldVal != null && oldVal != RedisDataType.REDIS_SET)
+      throw new RedisDataTypeMismatchException(
+          "The key name \"" + key + "\" is already used by a " + oldVal.toString());
+  }
+
 }
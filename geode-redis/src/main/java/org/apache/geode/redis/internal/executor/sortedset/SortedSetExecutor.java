@@ -17,9 +17,10 @@ package org.apache.geode.redis.internal.executor.sortedset;
 import org.apache.geode.cache.Region;
 import org.apache.geode.redis.internal.ByteArrayWrapper;
 import org.apache.geode.redis.internal.Coder;
-import org.apache.geode.redis.internal.DoubleWrapper;
 import org.apache.geode.redis.internal.ExecutionHandlerContext;
 import org.apache.geode.redis.internal.RedisDataType;
+import org.apache.geode.redis.internal.RedisDataTypeMismatchException;
+import org.apache.geode.redis.internal.RedisSortedSet;
 import org.apache.geode.redis.internal.executor.AbstractExecutor;
 
 public abstract class SortedSetExecutor extends AbstractExecutor {
@@ -27,21 +28,45 @@ public abstract class SortedSetExecutor extends AbstractExecutor {
   final ByteArrayWrapper minus = new ByteArrayWrapper(Coder.stringToBytes("-"));
   final ByteArrayWrapper plus = new ByteArrayWrapper(Coder.stringToBytes("+"));
 
-  @Override
-  protected Region<ByteArrayWrapper, DoubleWrapper> getOrCreateRegion(
-      ExecutionHandlerContext context, ByteArrayWrapper key, RedisDataType type) {
-    @SuppressWarnings("unchecked")
-    Region<ByteArrayWrapper, DoubleWrapper> r = (Region<ByteArrayWrapper, DoubleWrapper>) context
-        .getRegionProvider().getOrCreateRegion(key, type, context);
-    return r;
+  protected Region<ByteArrayWrapper, RedisSortedSet> getSortedSetRegion(
+      ExecutionHandlerContext context) {
+    return context.getRegionProvider().getSortedSetRegion();
   }
 
-  protected Region<ByteArrayWrapper, DoubleWrapper> getRegion(ExecutionHandlerContext context,
-      ByteArrayWrapper key) {
-    @SuppressWarnings("unchecked")
-    Region<ByteArrayWrapper, DoubleWrapper> r =
-        (Region<ByteArrayWrapper, DoubleWrapper>) context.getRegionProvider().getRegion(key);
-    return r;
+  /**
+   * Getter for the {@link RedisSortedSet} stored at the given key
+   *
+   * @return the sorted set or null if the key does not exist
+   */
+  protected RedisSortedSet getSortedSet(ExecutionHandlerContext context, ByteArrayWrapper key) {
+    return getSortedSetRegion(context).get(key);
+  }
+
+  /**
+   * Stores a modified {@link RedisSortedSet}, only the changed members are distributed. An empty
+   * set removes the key altogether, as Redis does.
+   */
+  protected void storeSortedSet(ExecutionHandlerContext context, ByteArrayWrapper key,
+      RedisSortedSet sortedSet) {
+    if (sortedSet.isEmpty()) {
+      context.getRegionProvider().removeKey(key, RedisDataType.REDIS_SORTEDSET);
+      return;
+    }
+    try {
+      getSortedSetRegion(context).put(key, sortedSet);
+    } finally {
+      sortedSet.clearDelta();
+    }
+  }
+
+  protected void checkAndSetDataType(ByteArrayWrapper key, ExecutionHandlerContext context) {
+    Object oldVal =
+        context.getRegionProvider().metaPutIfAbsent(key, RedisDataType.REDIS_SORTEDSET);
+    if (oldVal == RedisDataType.REDIS_PROTECTED)
+      throw new RedisDataTypeMismatchException("The key name \"" + key + "\" is protected");
+    if (oldVal != null && oldVal != RedisDataType.REDIS_SORTEDSET)
+      throw new RedisDataTypeMismatchException(
+          "The key name \"" + key + "\" is already used by a " + oldVal.toString());
   }
 
 }
@@ -14,18 +14,17 @@
  */
 package org.apache.geode.redis.internal.executor.sortedset;
 
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
-import org.apache.geode.cache.Region;
 import org.apache.geode.redis.internal.ByteArrayWrapper;
 import org.apache.geode.redis.internal.Coder;
 import org.apache.geode.redis.internal.Command;
-import org.apache.geode.redis.internal.DoubleWrapper;
 import org.apache.geode.redis.internal.ExecutionHandlerContext;
 import org.apache.geode.redis.internal.RedisConstants.ArityDef;
-import org.apache.geode.redis.internal.RedisDataType;
+import org.apache.geode.redis.internal.RedisSortedSet;
+
+
 
 public class ZAddExecutor extends SortedSetExecutor {
 
@@ -42,47 +41,31 @@ public class ZAddExecutor extends SortedSetExecutor {
     }
 
     ByteArrayWrapper key = command.getKey();
-    int numberOfAdds = 0;
+    List<ByteArrayWrapper> members = new ArrayList<>(commandElems.size() / 2);
+    double[] scores = new double[commandElems.size() / 2 - 1];
 
-    if (commandElems.size() > 4) {
-      Map<ByteArrayWrapper, DoubleWrapper> map = new HashMap<ByteArrayWrapper, DoubleWrapper>();
-      for (int i = 2; i < commandElems.size(); i++) {
-        byte[] scoreArray = commandElems.get(i++);
-        byte[] memberArray = commandElems.get(i);
-
-        Double score;
-        try {
-          score = Coder.bytesToDouble(scoreArray);
-        } catch (NumberFormatException e) {
-          command.setResponse(
-              Coder.getErrorResponse(context.getByteBufAllocator(), ERROR_NOT_NUMERICAL));
-          return;
-        }
-
-        map.put(new ByteArrayWrapper(memberArray), new DoubleWrapper(score));
-        numberOfAdds++;
-      }
-      Region<ByteArrayWrapper, DoubleWrapper> keyRegion =
-          getOrCreateRegion(context, key, RedisDataType.REDIS_SORTEDSET);
-      keyRegion.putAll(map);
-    } else {
-      byte[] scoreArray = commandElems.get(2);
-      byte[] memberArray = commandElems.get(3);
-      Double score;
+    for (int i = 2; i < commandElems.size(); i += 2) {
       try {
-        score = Coder.bytesToDouble(scoreArray);
+        scores[members.size()] = Coder.bytesToDouble(commandElems.get(i));
       } catch (NumberFormatException e) {
         command.setResponse(
             Coder.getErrorResponse(context.getByteBufAllocator(), ERROR_NOT_NUMERICAL));
         return;
       }
-      Region<ByteArrayWrapper, DoubleWrapper> keyRegion =
-          getOrCreateRegion(context, key, RedisDataType.REDIS_SORTEDSET);
-      Object oldVal = keyRegion.put(new ByteArrayWrapper(memberArray), new DoubleWrapper(score));
+      members.add(new ByteArrayWrapper(commandElems.get(i + 1)));
+    }
+
+    checkAndSetDataType(key, context);
+    RedisSortedSet sortedSet = getSortedSet(context, key);
+    if (sortedSet == null)
+      sortedSet = new RedisSortedSet();
 
-      if (oldVal == null)
-        numberOfAdds = 1;
+    int numberOfAdds = 0;
+    for (int i = 0; i < members.size(); i++) {
+      if (sortedSet.add(members.get(i), scores[i]))
+        numberOfAdds++;
     }
+    storeSortedSet(context, key, sortedSet);
 
     command.setResponse(Coder.getIntegerResponse(context.getByteBufAllocator(), numberOfAdds));
   }
@@ -16,14 +16,13 @@ package org.apache.geode.redis.internal.executor.sortedset;
 
 import java.util.List;
 
-import org.apache.geode.cache.Region;
 import org.apache.geode.redis.internal.ByteArrayWrapper;
 import org.apache.geode.redis.internal.Coder;
 import org.apache.geode.redis.internal.Command;
-import org.apache.geode.redis.internal.DoubleWrapper;
 import org.apache.geode.redis.internal.ExecutionHandlerContext;
 import org.apache.geode.redis.internal.RedisConstants.ArityDef;
 import org.apache.geode.redis.internal.RedisDataType;
+import org.apache.geode.redis.internal.RedisSortedSet;
 
 public class ZIncrByExecutor extends SortedSetExecutor {
 
@@ -41,8 +40,7 @@ public class ZIncrByExecutor extends SortedSetExecutor {
 
     ByteArrayWrapper key = command.getKey();
 
-    Region<ByteArrayWrapper, DoubleWrapper> keyRegion =
-        getOrCreateRegion(context, key, RedisDataType.REDIS_SORTEDSET);
+    checkDataType(key, RedisDataType.REDIS_SORTEDSET, context);
 
     ByteArrayWrapper member = new ByteArrayWrapper(commandElems.get(3));
 
@@ -56,21 +54,20 @@ public class ZIncrByExecutor extends SortedSetExecutor {
       return;
     }
 
-    DoubleWrapper score = keyRegion.get(member);
+    RedisSortedSet sortedSet = getSortedSet(context, key);
+    if (sortedSet == null)
+      sortedSet = new RedisSortedSet();
 
-    if (score == null) {
-      keyRegion.put(member, new DoubleWrapper(incr));
-      respondBulkStrings(command, context, incr);
-      return;
-    }
-    double result = score.score + incr;
+    Double score = sortedSet.getScore(member);
+    double result = score == null ? incr : score + incr;
     if (Double.isNaN(result)) {
       command.setResponse(Coder.getErrorResponse(context.getByteBufAllocator(), ERROR_NAN));
       return;
     }
-    score.score = result;
-    keyRegion.put(member, score);
-    respondBulkStrings(command, context, score.score);
+    checkAndSetDataType(key, context);
+    sortedSet.add(member, result);
+    storeSortedSet(context, key, sortedSet);
+    respondBulkStrings(command, context, result);
   }
 
 }
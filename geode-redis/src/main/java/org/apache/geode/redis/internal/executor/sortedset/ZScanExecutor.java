@@ -16,21 +16,19 @@ package org.apache.geode.redis.internal.executor.sortedset;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
-import org.apache.geode.cache.Region;
 import org.apache.geode.redis.internal.ByteArrayWrapper;
 import org.apache.geode.redis.internal.Coder;
 import org.apache.geode.redis.internal.Command;
-import org.apache.geode.redis.internal.DoubleWrapper;
 import org.apache.geode.redis.internal.ExecutionHandlerContext;
 import org.apache.geode.redis.internal.RedisConstants;
 import org.apache.geode.redis.internal.RedisConstants.ArityDef;
 import org.apache.geode.redis.internal.RedisDataType;
+import org.apache.geode.redis.internal.RedisSortedSet;
 import org.apache.geode.redis.internal.executor.AbstractScanExecutor;
 
 public class ZScanExecutor extends AbstractScanExecutor {
@@ -46,10 +44,9 @@ public class ZScanExecutor extends AbstractScanExecutor {
     }
 
     ByteArrayWrapper key = command.getKey();
-    Region<ByteArrayWrapper, DoubleWrapper> keyRegion =
-        (Region<ByteArrayWrapper, DoubleWrapper>) context.getRegionProvider().getRegion(key);
     checkDataType(key, RedisDataType.REDIS_SORTEDSET, context);
-    if (keyRegion == null) {
+    RedisSortedSet sortedSet = context.getRegionProvider().getSortedSetRegion().get(key);
+    if (sortedSet == null) {
       command.setResponse(
           Coder.getScanResponse(context.getByteBufAllocator(), new ArrayList<String>()));
       return;
@@ -115,7 +112,7 @@ public class ZScanExecutor extends AbstractScanExecutor {
     }
 
     List<ByteArrayWrapper> returnList =
-        (List<ByteArrayWrapper>) getIteration(new HashSet(keyRegion.entrySet()), matchPattern,
+        (List<ByteArrayWrapper>) getIteration(sortedSet.entries(), matchPattern,
             count, cursor);
 
     command.setResponse(Coder.getScanResponse(context.getByteBufAllocator(), returnList));
@@ -129,11 +126,11 @@ public class ZScanExecutor extends AbstractScanExecutor {
     int beforeCursor = 0;
     int numElements = 0;
     int i = -1;
-    for (Entry<ByteArrayWrapper, DoubleWrapper> entry : (Collection<Entry<ByteArrayWrapper, DoubleWrapper>>) list) {
+    for (Entry<ByteArrayWrapper, Double> entry : (Collection<Entry<ByteArrayWrapper, Double>>) list) {
       ByteArrayWrapper keyWrapper = entry.getKey();
       String key = keyWrapper.toString();
 
-      DoubleWrapper value = entry.getValue();
+      Double value = entry.getValue();
       i++;
       if (beforeCursor < cursor) {
         beforeCursor++;
@@ -142,12 +139,12 @@ public class ZScanExecutor extends AbstractScanExecutor {
         if (matchPattern != null) {
           if (matchPattern.matcher(key).matches()) {
             returnList.add(keyWrapper);
-            returnList.add(value.toString());
+            returnList.add(Coder.doubleToString(value));
             numElements++;
           }
         } else {
           returnList.add(keyWrapper);
-          returnList.add(value.toString());
+          returnList.add(Coder.doubleToString(value));
           numElements++;
         }
       } else
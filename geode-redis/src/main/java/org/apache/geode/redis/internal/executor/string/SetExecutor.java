@@ -14,14 +14,19 @@
  */
 package org.apache.geode.redis.internal.executor.string;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.geode.cache.Region;
 import org.apache.geode.redis.internal.ByteArrayWrapper;
 import org.apache.geode.redis.internal.Coder;
 import org.apache.geode.redis.internal.Command;
 import org.apache.geode.redis.internal.ExecutionHandlerContext;
+import org.apache.geode.redis.internal.RedisCommandType;
 import org.apache.geode.redis.internal.RedisConstants.ArityDef;
+import org.apache.geode.redis.internal.RedisDataTypeMismatchException;
 import org.apache.geode.redis.internal.executor.AbstractExecutor;
 
 public class SetExecutor extends StringExecutor {
@@ -110,6 +115,52 @@ public class SetExecutor extends StringExecutor {
 
   }
 
+  /**
+   * Checks if a command is a plain SET, without expiration or NX/XX flags, that can be grouped
+   * with its neighbours by {@link #executeBatch(List, ExecutionHandlerContext)}
+   *
+   * @param command Command to check
+   * @return True if the command can be batched, false otherwise
+   */
+  public static boolean isBatchable(Command command) {
+    return command.getCommandType() == RedisCommandType.SET
+        && command.getProcessedCommand().size() == 3;
+  }
+
+  /**
+   * Executes consecutive plain SET commands of a pipeline with a single putAll on the strings
+   * region. Every command gets the response it would have gotten if executed on its own; as only
+   * SETs are in the batch, the last value of a key repeated in the batch is the one stored.
+   *
+   * @param commands Commands for which {@link #isBatchable(Command)} is true, in arrival order
+   * @param context Context of the client that sent the commands
+   */
+  public void executeBatch(List<Command> commands, ExecutionHandlerContext context) {
+    Region<ByteArrayWrapper, ByteArrayWrapper> r = context.getRegionProvider().getStringsRegion();
+    Map<ByteArrayWrapper, ByteArrayWrapper> values = new HashMap<>();
+    List<Command> stored = new ArrayList<>(commands.size());
+
+    for (Command command : commands) {
+      ByteArrayWrapper key = command.getKey();
+      try {
+        checkDataType(key, context);
+        checkAndSetDataType(key, context);
+      } catch (RedisDataTypeMismatchException e) {
+        command.setResponse(
+            Coder.getWrongTypeResponse(context.getByteBufAllocator(), e.getMessage()));
+        continue;
+      }
+      values.put(key, new ByteArrayWrapper(command.getProcessedCommand().get(VALUE_INDEX)));
+      stored.add(command);
+    }
+
+    r.putAll(values);
+
+    for (Command command : stored) {
+      command.setResponse(Coder.getSimpleStringResponse(context.getByteBufAllocator(), SUCCESS));
+    }
+  }
+
   private boolean setNX(Region<ByteArrayWrapper, ByteArrayWrapper> r, Command command,
       ByteArrayWrapper key, ByteArrayWrapper valueWrapper, ExecutionHandlerContext context) {
     checkAndSetDataType(key, context);
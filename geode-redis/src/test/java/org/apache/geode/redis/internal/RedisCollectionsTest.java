@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.redis.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.DataSerializable;
+import org.apache.geode.Delta;
+import org.apache.geode.InvalidDeltaException;
+import org.apache.geode.test.junit.categories.RedisTest;
+
+@Category({RedisTest.class})
+public class RedisCollectionsTest {
+
+  @Test
+  public void zipListAddSetAndRemove() {
+    ZipList zipList = new ZipList();
+    zipList.add(value("b"));
+    zipList.add(0, value("a"));
+    zipList.add(value(new String(new char[200])));
+    zipList.set(1, value("c"));
+
+    assertThat(zipList.size()).isEqualTo(3);
+    assertThat(zipList.indexOf(value("c"))).isEqualTo(1);
+    assertThat(zipList.indexOf(value("c"), 0, 2)).isEqualTo(-1);
+
+    zipList.removeRange(0, 2);
+    assertThat(zipList.size()).isEqualTo(1);
+    assertThat(zipList.getFirst().length()).isEqualTo(200);
+  }
+
+  @Test
+  public void hashConvertsFromCompactEncodingWhenLarge() {
+    RedisHash hash = new RedisHash();
+    for (int i = 0; i < RedisHash.MAX_ZIPLIST_ENTRIES; i++) {
+      hash.put(value("f" + i), value("v" + i));
+    }
+    assertThat(hash.isCompact()).isTrue();
+    assertThat(hash.put(value("f0"), value("new"))).isEqualTo(value("v0"));
+
+    hash.put(value("another"), value("v"));
+
+    assertThat(hash.isCompact()).isFalse();
+    assertThat(hash.size()).isEqualTo(RedisHash.MAX_ZIPLIST_ENTRIES + 1);
+    assertThat(hash.get(value("f0"))).isEqualTo(value("new"));
+  }
+
+  @Test
+  public void hashDeltaOnlyCarriesChangedFields() throws Exception {
+    RedisHash hash = new RedisHash();
+    hash.put(value("a"), value("1"));
+    hash.put(value("b"), value("2"));
+    RedisHash copy = copy(hash, new RedisHash());
+    hash.clearDelta();
+
+    hash.remove(value("a"));
+    hash.put(value("c"), value("3"));
+    applyDelta(hash, copy);
+
+    assertThat(copy.containsKey(value("a"))).isFalse();
+    assertThat(copy.keys()).containsExactly(value("b"), value("c"));
+  }
+
+  @Test
+  public void setAddRemoveAndDelta() throws Exception {
+    RedisSet set = new RedisSet();
+    List<ByteArrayWrapper> members = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      members.add(value("m" + i));
+    }
+    assertThat(set.addAll(members)).isEqualTo(200);
+    assertThat(set.isCompact()).isFalse();
+    RedisSet copy = copy(set, new RedisSet());
+    set.clearDelta();
+
+    assertThat(set.add(value("m0"))).isFalse();
+    assertThat(set.remove(value("m1"))).isTrue();
+    applyDelta(set, copy);
+
+    assertThat(copy.size()).isEqualTo(199);
+    assertThat(copy.contains(value("m1"))).isFalse();
+  }
+
+  @Test
+  public void listPushPopAndSplitNodes() {
+    RedisList list = new RedisList();
+    for (int i = 0; i < 10000; i++) {
+      list.pushRight(value("e" + i));
+    }
+    list.pushLeft(value("first"));
+
+    assertThat(list.size()).isEqualTo(10001);
+    assertThat(list.nodeCount()).isGreaterThan(1);
+    assertThat(list.get(0)).isEqualTo(value("first"));
+    assertThat(list.get(5001)).isEqualTo(value("e5000"));
+    assertThat(list.popRight()).isEqualTo(value("e9999"));
+    assertThat(list.range(1, 3)).containsExactly(value("e0"), value("e1"), value("e2"));
+  }
+
+  @Test
+  public void listInsertRemoveAndTrim() {
+    RedisList list = new RedisList();
+    for (String element : new String[] {"a", "b", "a", "c", "a"}) {
+      list.pushRight(value(element));
+    }
+
+    assertThat(list.insert(value("c"), value("x"), true)).isEqualTo(6);
+    assertThat(list.insert(value("missing"), value("x"), true)).isEqualTo(-1);
+    assertThat(list.remove(-2, value("a"))).isEqualTo(2);
+    assertThat(list.elements()).containsExactly(value("a"), value("b"), value("x"), value("c"));
+
+    list.trim(1, 2);
+    assertThat(list.elements()).containsExactly(value("b"), value("x"));
+  }
+
+  @Test
+  public void listDeltaReplaysOperations() throws Exception {
+    RedisList list = new RedisList();
+    list.pushRight(value("a"));
+    list.pushRight(value("b"));
+    RedisList copy = copy(list, new RedisList());
+    list.clearDelta();
+
+    list.pushLeft(value("z"));
+    list.set(1, value("y"));
+    list.popRight();
+    list.insert(value("y"), value("w"), false);
+    applyDelta(list, copy);
+
+    assertThat(copy.elements()).isEqualTo(list.elements());
+  }
+
+  @Test
+  public void listDeltaThatDoesNotFitTheCopyIsInvalid() {
+    RedisList list = new RedisList();
+    list.pushRight(value("a"));
+    list.pushRight(value("b"));
+    list.clearDelta();
+
+    list.set(1, value("c"));
+    assertThatThrownBy(() -> applyDelta(list, new RedisList()))
+        .isInstanceOf(InvalidDeltaException.class);
+  }
+
+  private static <T extends DataSerializable> T copy(T value, T copy) throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    value.toData(new DataOutputStream(bytes));
+    copy.fromData(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    return copy;
+  }
+
+  private static void applyDelta(Delta value, Delta copy) throws Exception {
+    assertThat(value.hasDelta()).isTrue();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    value.toDelta(new DataOutputStream(bytes));
+    copy.fromDelta(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+  }
+
+  private static ByteArrayWrapper value(String value) {
+    return new ByteArrayWrapper(Coder.stringToBytes(value));
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.redis.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.RedisTest;
+
+@Category({RedisTest.class})
+public class RedisSortedSetTest {
+
+  private RedisSortedSet sortedSet;
+
+  @Before
+  public void setUp() {
+    sortedSet = new RedisSortedSet();
+  }
+
+  @Test
+  public void addUpdatesScoreAndKeepsScoreOrder() {
+    assertThat(sortedSet.add(member("c"), 3)).isTrue();
+    assertThat(sortedSet.add(member("a"), 1)).isTrue();
+    assertThat(sortedSet.add(member("b"), 2)).isTrue();
+    assertThat(sortedSet.add(member("a"), 4)).isFalse();
+
+    assertThat(sortedSet.size()).isEqualTo(3);
+    assertThat(sortedSet.getScore(member("a"))).isEqualTo(4d);
+    assertThat(keys(sortedSet.entries())).containsExactly("b", "c", "a");
+  }
+
+  @Test
+  public void rankAndRangeByRank() {
+    for (int i = 0; i < 100; i++) {
+      sortedSet.add(member("m" + i), i);
+    }
+
+    assertThat(sortedSet.rank(member("m0"), false)).isEqualTo(0);
+    assertThat(sortedSet.rank(member("m42"), false)).isEqualTo(42);
+    assertThat(sortedSet.rank(member("m42"), true)).isEqualTo(57);
+    assertThat(sortedSet.rank(member("missing"), false)).isEqualTo(-1);
+    assertThat(keys(sortedSet.rangeByRank(10, 12, false))).containsExactly("m10", "m11", "m12");
+    assertThat(keys(sortedSet.rangeByRank(0, 1, true))).containsExactly("m99", "m98");
+  }
+
+  @Test
+  public void rangeAndCountByScore() {
+    for (int i = 0; i < 10; i++) {
+      sortedSet.add(member("m" + i), i);
+    }
+
+    assertThat(keys(sortedSet.rangeByScore(2, false, 5, true, false, 0, -1)))
+        .containsExactly("m2", "m3", "m4");
+    assertThat(keys(sortedSet.rangeByScore(2, true, 5, false, true, 1, 2)))
+        .containsExactly("m4", "m3");
+    assertThat(sortedSet.countByScore(Double.NEGATIVE_INFINITY, false, 4, false)).isEqualTo(5);
+    assertThat(sortedSet.countByScore(20, false, 30, false)).isEqualTo(0);
+  }
+
+  @Test
+  public void rangeAndCountByLex() {
+    for (String member : new String[] {"a", "b", "c", "d", "e"}) {
+      sortedSet.add(member(member), 0);
+    }
+
+    assertThat(sortedSet.rangeByLex(member("b"), true, member("d"), false, 0, -1))
+        .extracting(ByteArrayWrapper::toString).containsExactly("b", "c");
+    assertThat(sortedSet.rangeByLex(null, true, null, true, 1, 2))
+        .extracting(ByteArrayWrapper::toString).containsExactly("b", "c");
+    assertThat(sortedSet.countByLex(member("b"), false, null, true)).isEqualTo(3);
+    assertThat(sortedSet.removeRangeByLex(null, true, member("b"), true)).isEqualTo(2);
+    assertThat(keys(sortedSet.entries())).containsExactly("c", "d", "e");
+  }
+
+  @Test
+  public void removeRanges() {
+    for (int i = 0; i < 10; i++) {
+      sortedSet.add(member("m" + i), i);
+    }
+
+    assertThat(sortedSet.removeRangeByRank(0, 2)).isEqualTo(3);
+    assertThat(sortedSet.removeRangeByScore(8, false, 100, false)).isEqualTo(2);
+    assertThat(sortedSet.remove(member("m5"))).isTrue();
+    assertThat(sortedSet.remove(member("m5"))).isFalse();
+    assertThat(keys(sortedSet.entries())).containsExactly("m3", "m4", "m6", "m7");
+  }
+
+  @Test
+  public void deltaOnlyCarriesChangedMembers() throws Exception {
+    sortedSet.add(member("a"), 1);
+    sortedSet.add(member("b"), 2);
+    RedisSortedSet copy = copy(sortedSet);
+    sortedSet.clearDelta();
+    assertThat(sortedSet.hasDelta()).isFalse();
+
+    sortedSet.add(member("c"), 0);
+    sortedSet.remove(member("a"));
+    assertThat(sortedSet.hasDelta()).isTrue();
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    sortedSet.toDelta(new DataOutputStream(bytes));
+    copy.fromDelta(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+    assertThat(keys(copy.entries())).containsExactly("c", "b");
+    assertThat(copy.getScore(member("c"))).isEqualTo(0d);
+  }
+
+  @Test
+  public void toDataAndFromDataRoundTrip() throws Exception {
+    for (int i = 0; i < 50; i++) {
+      sortedSet.add(member("m" + i), -i);
+    }
+
+    RedisSortedSet copy = copy(sortedSet);
+
+    assertThat(copy.size()).isEqualTo(50);
+    assertThat(keys(copy.entries())).isEqualTo(keys(sortedSet.entries()));
+    assertThat(copy.rank(member("m49"), false)).isEqualTo(0);
+  }
+
+  private static RedisSortedSet copy(RedisSortedSet sortedSet) throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    sortedSet.toData(new DataOutputStream(bytes));
+    RedisSortedSet copy = new RedisSortedSet();
+    copy.fromData(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    return copy;
+  }
+
+  private static ByteArrayWrapper member(String member) {
+    return new ByteArrayWrapper(Coder.stringToBytes(member));
+  }
+
+  private static List<String> keys(List<Entry<ByteArrayWrapper, Double>> entries) {
+    List<String> keys = new ArrayList<>();
+    for (Entry<ByteArrayWrapper, Double> entry : entries) {
+      keys.add(entry.getKey().toString());
+    }
+    return keys;
+  }
+}
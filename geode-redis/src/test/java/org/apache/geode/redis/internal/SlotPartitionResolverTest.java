@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.redis.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.RedisTest;
+
+@Category({RedisTest.class})
+public class SlotPartitionResolverTest {
+
+  @Test
+  public void slotMatchesRedisCluster() {
+    assertThat(SlotPartitionResolver.getSlot(Coder.stringToBytes("foo"))).isEqualTo(12182);
+    assertThat(SlotPartitionResolver.getSlot(Coder.stringToBytes("somekey"))).isEqualTo(11058);
+    assertThat(SlotPartitionResolver.getSlot(new byte[0])).isEqualTo(0);
+  }
+
+  @Test
+  public void hashTagSelectsHashedPart() {
+    int userSlot = SlotPartitionResolver.getSlot(Coder.stringToBytes("user1000"));
+
+    assertThat(SlotPartitionResolver.getSlot(Coder.stringToBytes("{user1000}.following")))
+        .isEqualTo(userSlot);
+    assertThat(SlotPartitionResolver.getSlot(Coder.stringToBytes("x{user1000}{y}")))
+        .isEqualTo(userSlot);
+    byte[] emptyTag = Coder.stringToBytes("{}user1000");
+    assertThat(SlotPartitionResolver.getSlot(emptyTag))
+        .isEqualTo(SlotPartitionResolver.crc16(emptyTag, 0, emptyTag.length) % 16384);
+  }
+
+  @Test
+  public void bucketsOwnContiguousSlotRanges() {
+    int totalBuckets = 113;
+    assertThat(SlotPartitionResolver.getFirstSlot(0, totalBuckets)).isEqualTo(0);
+    assertThat(SlotPartitionResolver.getLastSlot(totalBuckets - 1, totalBuckets))
+        .isEqualTo(SlotPartitionResolver.SLOTS - 1);
+
+    for (int bucketId = 0; bucketId < totalBuckets; bucketId++) {
+      int first = SlotPartitionResolver.getFirstSlot(bucketId, totalBuckets);
+      int last = SlotPartitionResolver.getLastSlot(bucketId, totalBuckets);
+      assertThat(SlotPartitionResolver.getBucketId(first, totalBuckets)).isEqualTo(bucketId);
+      assertThat(SlotPartitionResolver.getBucketId(last, totalBuckets)).isEqualTo(bucketId);
+      if (bucketId > 0) {
+        assertThat(SlotPartitionResolver.getLastSlot(bucketId - 1, totalBuckets))
+            .isEqualTo(first - 1);
+      }
+    }
+  }
+}